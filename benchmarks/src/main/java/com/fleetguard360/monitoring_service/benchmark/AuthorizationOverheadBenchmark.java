@@ -0,0 +1,85 @@
+package com.fleetguard360.monitoring_service.benchmark;
+
+import com.fleetguard360.monitoring_service.config.CompiledPreAuthorizeManager;
+import com.fleetguard360.monitoring_service.config.RoleAuthority;
+import com.fleetguard360.monitoring_service.config.RoleMaskAuthenticationToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coste por petición de @PreAuthorize("hasAnyRole('ADMIN', 'USER')").
+ *
+ * "spel" es la evaluación estándar de Spring Security (PreAuthorizeAuthorizationManager) y
+ * "compiled" la de CompiledPreAuthorizeManager, que reduce la expresión a una máscara de
+ * roles. Cada camino recibe las autoridades que produce en la aplicación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorizationOverheadBenchmark {
+
+    private SimpleMethodInvocation invocation;
+
+    private Supplier<Authentication> spelUser;
+
+    private Supplier<Authentication> compiledUser;
+
+    private PreAuthorizeAuthorizationManager spelManager;
+
+    private CompiledPreAuthorizeManager compiledManager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        invocation = new SimpleMethodInvocation(new VehicleEndpoint(), VehicleEndpoint.class.getMethod("list"));
+
+        Authentication spelAuthentication = UsernamePasswordAuthenticationToken.authenticated("user", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        RoleAuthority user = RoleAuthority.of("USER");
+        Authentication compiledAuthentication = new RoleMaskAuthenticationToken("user", List.of(user), user.getBit());
+        spelUser = () -> spelAuthentication;
+        compiledUser = () -> compiledAuthentication;
+
+        spelManager = new PreAuthorizeAuthorizationManager();
+        compiledManager = new CompiledPreAuthorizeManager();
+    }
+
+    @Benchmark
+    public AuthorizationDecision spel() {
+        return spelManager.check(spelUser, invocation);
+    }
+
+    @Benchmark
+    public AuthorizationDecision compiled() {
+        return compiledManager.check(compiledUser, invocation);
+    }
+
+    public static class VehicleEndpoint {
+
+        @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+        public void list() {
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.fleetguard360.monitoring_service.benchmark;
+
+import com.fleetguard360.monitoring_service.model.FuelType;
+import com.fleetguard360.monitoring_service.model.Vehicle;
+import com.fleetguard360.monitoring_service.model.VehicleStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Flota sintética y reproducible para los benchmarks.
+ *
+ * La misma semilla produce siempre los mismos vehículos, de modo que dos ejecuciones
+ * (antes y después de un cambio) miden exactamente los mismos datos.
+ */
+final class BenchmarkFleet {
+
+    static final String[] BRANDS = {"Chevrolet", "Mercedes-Benz", "Volvo", "Hino", "Hyundai", "Volkswagen", "Scania", "Agrale"};
+
+    static final String[] MODELS = {"NPR", "Sprinter", "B270F", "Serie 300", "County", "Crafter", "K310", "MA 9.2"};
+
+    static final String[] COLORS = {"Blanco", "Gris", "Azul", "Rojo", "Verde", "Amarillo"};
+
+    private static final VehicleStatus[] STATUSES = VehicleStatus.values();
+
+    private static final FuelType[] FUEL_TYPES = FuelType.values();
+
+    private static final long SEED = 360L;
+
+    private BenchmarkFleet() {
+    }
+
+    /**
+     * Vehículos con id y fechas asignados, como si vinieran de la base de datos
+     */
+    static List<Vehicle> vehicles(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 8, 0);
+        List<Vehicle> vehicles = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Vehicle vehicle = new Vehicle(licensePlate(i), MODELS[random.nextInt(MODELS.length)],
+                    1 + random.nextInt(60), STATUSES[random.nextInt(STATUSES.length)]);
+            vehicle.setId((long) i + 1);
+            vehicle.setBrand(BRANDS[random.nextInt(BRANDS.length)]);
+            vehicle.setYear(1995 + random.nextInt(31));
+            vehicle.setFuelType(FUEL_TYPES[random.nextInt(FUEL_TYPES.length)]);
+            vehicle.setMileage(random.nextInt(400_000));
+            vehicle.setColor(COLORS[random.nextInt(COLORS.length)]);
+            vehicle.setNotes(i % 4 == 0 ? "Revisión técnico-mecánica pendiente" : null);
+            vehicle.setCreatedAt(base.plusMinutes(i));
+            vehicle.setUpdatedAt(base.plusMinutes(i).plusDays(random.nextInt(300)));
+            vehicle.setCreatedBy("admin");
+            vehicle.setUpdatedBy(i % 3 == 0 ? "operador" : "admin");
+            vehicle.setLatitude(6.2 + random.nextDouble() * 0.1);
+            vehicle.setLongitude(-75.6 + random.nextDouble() * 0.1);
+            vehicles.add(vehicle);
+        }
+        return vehicles;
+    }
+
+    /**
+     * Placa única con el formato ABC123 (26³ × 1000 combinaciones)
+     */
+    static String licensePlate(int index) {
+        int letters = index / 1000;
+        char[] plate = new char[6];
+        plate[0] = (char) ('A' + letters / (26 * 26) % 26);
+        plate[1] = (char) ('A' + letters / 26 % 26);
+        plate[2] = (char) ('A' + letters % 26);
+        int digits = index % 1000;
+        plate[3] = (char) ('0' + digits / 100);
+        plate[4] = (char) ('0' + digits / 10 % 10);
+        plate[5] = (char) ('0' + digits % 10);
+        return new String(plate);
+    }
+}
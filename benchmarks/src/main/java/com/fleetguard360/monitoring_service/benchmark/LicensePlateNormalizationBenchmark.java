@@ -0,0 +1,38 @@
+package com.fleetguard360.monitoring_service.benchmark;
+
+import com.fleetguard360.monitoring_service.service.VehicleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalización de placas, que se ejecuta en cada alta, edición y búsqueda por placa.
+ *
+ * Las entradas cubren el caso ya normalizado (sin nada que reemplazar), el formato con
+ * guion de los formularios y una entrada en minúsculas con espacios.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LicensePlateNormalizationBenchmark {
+
+    @Param({"ABC123", "ABC-123", " abc 123 "})
+    public String licensePlate;
+
+    @Benchmark
+    public String normalize() {
+        return VehicleService.normalizeLicensePlate(licensePlate);
+    }
+}
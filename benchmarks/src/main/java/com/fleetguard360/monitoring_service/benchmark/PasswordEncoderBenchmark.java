@@ -0,0 +1,59 @@
+package com.fleetguard360.monitoring_service.benchmark;
+
+import com.fleetguard360.monitoring_service.config.AdaptiveBCryptPasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de BCrypt por nivel de work factor, para dimensionar el pool de verificación.
+ *
+ * "matches" es lo que paga cada login; "encode" lo que paga un alta, un cambio de contraseña
+ * o el rehash tras cambiar app.security.bcrypt.cost. Con N núcleos dedicados, los logins por
+ * segundo sostenibles son aproximadamente N × 1000 / (ms por matches). Para medir saturación
+ * con varios hilos: java -jar benchmarks.jar PasswordEncoderBenchmark -t 4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "Fleet#Guard360";
+
+    @Param({"10", "11", "12", "13"})
+    public int cost;
+
+    private AdaptiveBCryptPasswordEncoder encoder;
+
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encoder = new AdaptiveBCryptPasswordEncoder(cost);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+}
@@ -0,0 +1,116 @@
+package com.fleetguard360.monitoring_service.benchmark;
+
+import com.fleetguard360.monitoring_service.config.CacheConfig;
+import com.fleetguard360.monitoring_service.config.RoleAuthority;
+import com.fleetguard360.monitoring_service.model.Role;
+import com.fleetguard360.monitoring_service.model.User;
+import com.fleetguard360.monitoring_service.repository.UserRepository;
+import com.fleetguard360.monitoring_service.service.CachedUserAccount;
+import com.fleetguard360.monitoring_service.service.CustomUserDetailsService;
+import com.fleetguard360.monitoring_service.service.LoginLockoutTracker;
+import com.fleetguard360.monitoring_service.service.UserAccountCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción de UserDetails y autoridades en el camino de login.
+ *
+ * "buildAccount" es lo que se paga en un fallo de caché (copiar la entidad y crear las
+ * autoridades a partir de los roles); "loadUserByUsername" el camino habitual, con el
+ * usuario ya en la caché Caffeine configurada como en CacheConfig; "authorityMask" la
+ * reducción de autoridades a máscara, que se paga una vez por autenticación.
+ * El repositorio es un proxy en memoria: aquí no se mide la base de datos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDetailsBenchmark {
+
+    private static final String USERNAME = "operador";
+
+    private static final String[] ROLE_NAMES = {"ADMIN", "OPERATOR", "DRIVER", "AUDITOR"};
+
+    @Param({"1", "2", "4"})
+    public int roles;
+
+    private User user;
+
+    private CachedUserAccount account;
+
+    private CustomUserDetailsService userDetailsService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setUsername(USERNAME);
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3Jm9GZAjrDH/2Gdg.wDL8NK");
+        user.setEnabled(true);
+        Set<Role> userRoles = new HashSet<>();
+        for (int i = 0; i < roles; i++) {
+            Role role = new Role();
+            role.setId((long) i + 1);
+            role.setName(ROLE_NAMES[i]);
+            userRoles.add(role);
+        }
+        user.setRoles(userRoles);
+        account = CachedUserAccount.from(user);
+
+        UserRepository userRepository = inMemoryRepository(user);
+        UserAccountCache userAccountCache = new UserAccountCache(userRepository,
+                new CacheConfig().cacheManager(10_000, 300));
+        userDetailsService = new CustomUserDetailsService(userAccountCache,
+                new LoginLockoutTracker(3, 30, 15, 15, 16), userRepository);
+        // Precalienta la caché para medir el camino con acierto
+        userDetailsService.loadUserByUsername(USERNAME);
+    }
+
+    @Benchmark
+    public CachedUserAccount buildAccount() {
+        return CachedUserAccount.from(user);
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userDetailsService.loadUserByUsername(USERNAME);
+    }
+
+    @Benchmark
+    public long authorityMask() {
+        return RoleAuthority.maskOf(account.getAuthorities());
+    }
+
+    /**
+     * UserRepository que solo resuelve findByUsername contra un usuario fijo
+     */
+    private static UserRepository inMemoryRepository(User user) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[] {UserRepository.class},
+                (proxy, method, args) -> {
+                    if ("findByUsername".equals(method.getName())) {
+                        return Optional.of(user).filter(u -> u.getUsername().equals(args[0]));
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,70 @@
+package com.fleetguard360.monitoring_service.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fleetguard360.monitoring_service.dto.VehicleResponse;
+import com.fleetguard360.monitoring_service.dto.VehicleResponseFrontend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de las respuestas de listado, con un ObjectMapper configurado como
+ * el de Spring Boot (módulos registrados, fechas ISO-8601 en lugar de timestamps).
+ *
+ * Mide solo Jackson: los DTO se construyen en el setup. El tamaño del cuerpo generado se
+ * imprime una vez por trial para relacionar tiempo y bytes enviados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VehicleJsonSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int fleetSize;
+
+    private ObjectMapper objectMapper;
+
+    private List<VehicleResponse> responses;
+
+    private List<VehicleResponseFrontend> frontendResponses;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responses = BenchmarkFleet.vehicles(fleetSize).stream()
+                .map(VehicleResponse::from)
+                .toList();
+        frontendResponses = BenchmarkFleet.vehicles(fleetSize).stream()
+                .map(VehicleResponseFrontend::from)
+                .toList();
+        System.out.printf("%nTamaño del cuerpo: VehicleResponse %d bytes, VehicleResponseFrontend %d bytes%n",
+                serializeResponses().length, serializeFrontendResponses().length);
+    }
+
+    @Benchmark
+    public byte[] serializeResponses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] serializeFrontendResponses() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(frontendResponses);
+    }
+}
@@ -0,0 +1,73 @@
+package com.fleetguard360.monitoring_service.benchmark;
+
+import com.fleetguard360.monitoring_service.dto.VehicleResponse;
+import com.fleetguard360.monitoring_service.dto.VehicleResponseFrontend;
+import com.fleetguard360.monitoring_service.model.Vehicle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión entidad → DTO de los listados de vehículos.
+ *
+ * "single*" mide un vehículo (detalle); "list*" el mapeo de un listado completo de
+ * fleetSize elementos, tal como lo hacen VehicleService y VehicleFrontendController.
+ * VehicleResponseFrontend formatea dos fechas por vehículo, lo que domina su coste.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VehicleMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int fleetSize;
+
+    private List<Vehicle> vehicles;
+
+    private Vehicle vehicle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        vehicles = BenchmarkFleet.vehicles(fleetSize);
+        vehicle = vehicles.get(fleetSize / 2);
+    }
+
+    @Benchmark
+    public VehicleResponse singleResponse() {
+        return VehicleResponse.from(vehicle);
+    }
+
+    @Benchmark
+    public VehicleResponseFrontend singleFrontendResponse() {
+        return VehicleResponseFrontend.from(vehicle);
+    }
+
+    @Benchmark
+    public List<VehicleResponse> listResponse() {
+        return vehicles.stream()
+                .map(VehicleResponse::from)
+                .toList();
+    }
+
+    @Benchmark
+    public List<VehicleResponseFrontend> listFrontendResponse() {
+        return vehicles.stream()
+                .map(VehicleResponseFrontend::from)
+                .toList();
+    }
+}
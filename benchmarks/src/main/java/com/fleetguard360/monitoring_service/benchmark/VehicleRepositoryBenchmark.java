@@ -0,0 +1,158 @@
+package com.fleetguard360.monitoring_service.benchmark;
+
+import com.fleetguard360.monitoring_service.model.Vehicle;
+import com.fleetguard360.monitoring_service.model.VehicleStatus;
+import com.fleetguard360.monitoring_service.repository.VehicleRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de VehicleRepository contra H2 en memoria con flotas de distintos tamaños.
+ *
+ * Arranca un contexto mínimo (DataSource, Hibernate y repositorios JPA, sin web, seguridad
+ * ni planificadores) y carga la flota sintética con un insert por lotes. Cada consulta abre
+ * su propio EntityManager, así que no hay caché de primer nivel entre invocaciones.
+ * H2 no sustituye a MySQL para valores absolutos, pero sí para comparar el coste relativo
+ * de las consultas y detectar las que crecen con la flota.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VehicleRepositoryBenchmark {
+
+    private static final String INSERT_VEHICLE = "INSERT INTO vehicles (license_plate, model, brand, year, capacity, "
+            + "status, fuel_type, mileage, color, notes, created_at, updated_at, created_by, updated_by, latitude, longitude) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Param({"100", "1000", "10000"})
+    public int fleetSize;
+
+    private ConfigurableApplicationContext context;
+
+    private VehicleRepository vehicleRepository;
+
+    private String licensePlate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RepositoryContext.class)
+                .web(WebApplicationType.NONE)
+                // Como argumentos, para que prevalezcan sobre el application.properties del servicio
+                .run("--spring.datasource.url=jdbc:h2:mem:bench-" + fleetSize + ";DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.sql.init.mode=never",
+                        "--logging.level.root=WARN");
+        vehicleRepository = context.getBean(VehicleRepository.class);
+
+        List<Vehicle> fleet = BenchmarkFleet.vehicles(fleetSize);
+        context.getBean(JdbcTemplate.class).batchUpdate(INSERT_VEHICLE, fleet, 500, (statement, vehicle) -> {
+            statement.setString(1, vehicle.getLicensePlate());
+            statement.setString(2, vehicle.getModel());
+            statement.setString(3, vehicle.getBrand());
+            statement.setInt(4, vehicle.getYear());
+            statement.setInt(5, vehicle.getCapacity());
+            statement.setString(6, vehicle.getStatus().name());
+            statement.setString(7, vehicle.getFuelType().name());
+            statement.setInt(8, vehicle.getMileage());
+            statement.setString(9, vehicle.getColor());
+            statement.setString(10, vehicle.getNotes());
+            statement.setTimestamp(11, Timestamp.valueOf(vehicle.getCreatedAt()));
+            statement.setTimestamp(12, Timestamp.valueOf(vehicle.getUpdatedAt()));
+            statement.setString(13, vehicle.getCreatedBy());
+            statement.setString(14, vehicle.getUpdatedBy());
+            statement.setDouble(15, vehicle.getLatitude());
+            statement.setDouble(16, vehicle.getLongitude());
+        });
+        licensePlate = BenchmarkFleet.licensePlate(fleetSize / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Vehicle> findByLicensePlate() {
+        return vehicleRepository.findByLicensePlate(licensePlate);
+    }
+
+    @Benchmark
+    public boolean existsByLicensePlate() {
+        return vehicleRepository.existsByLicensePlate(licensePlate);
+    }
+
+    @Benchmark
+    public List<Vehicle> findAll() {
+        return vehicleRepository.findAll();
+    }
+
+    @Benchmark
+    public List<Vehicle> findActiveVehicles() {
+        return vehicleRepository.findActiveVehicles();
+    }
+
+    @Benchmark
+    public List<Vehicle> findByStatus() {
+        return vehicleRepository.findByStatus(VehicleStatus.MAINTENANCE);
+    }
+
+    @Benchmark
+    public List<Vehicle> findByModelContainingIgnoreCase() {
+        return vehicleRepository.findByModelContainingIgnoreCase("sprint");
+    }
+
+    @Benchmark
+    public List<Object[]> getFleetStatistics() {
+        return vehicleRepository.getFleetStatistics();
+    }
+
+    /**
+     * Contexto con lo justo para usar los repositorios JPA del servicio
+     */
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+            JdbcTemplateAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            JpaRepositoriesAutoConfiguration.class, TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = Vehicle.class)
+    @EnableJpaRepositories(basePackageClasses = VehicleRepository.class)
+    static class RepositoryContext {
+    }
+}
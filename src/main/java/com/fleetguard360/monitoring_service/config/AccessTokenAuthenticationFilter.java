@@ -0,0 +1,53 @@
+package com.fleetguard360.monitoring_service.config;
+
+import com.fleetguard360.monitoring_service.service.AccessTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Autentica peticiones con "Authorization: Bearer &lt;token&gt;" en el modo sin sesión.
+ *
+ * Solo verifica la firma HMAC, la expiración y la revocación; no consulta la base de datos
+ * ni crea sesión. Un token inválido deja la petición anónima y la cadena de seguridad
+ * decide (401/403). Se registra en SecurityConfig solo si app.security.token.enabled=true.
+ */
+public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    /**
+     * Atributo con el token verificado, para que logout pueda revocarlo
+     */
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = AccessTokenAuthenticationFilter.class.getName() + ".TOKEN";
+
+    private static final String BEARER = "Bearer ";
+
+    private final AccessTokenService accessTokenService;
+
+    public AccessTokenAuthenticationFilter(AccessTokenService accessTokenService) {
+        this.accessTokenService = accessTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            AccessTokenService.VerifiedToken token = accessTokenService.verifyAccessToken(header.substring(BEARER.length()).trim());
+            if (token != null) {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(new RoleMaskAuthenticationToken(
+                        token.getUsername(), token.getAuthorities(), token.getRoleMask()));
+                SecurityContextHolder.setContext(context);
+                request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, token);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
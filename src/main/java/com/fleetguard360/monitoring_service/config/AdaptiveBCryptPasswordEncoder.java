@@ -0,0 +1,100 @@
+package com.fleetguard360.monitoring_service.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.function.IntFunction;
+
+/**
+ * BCrypt con un coste fijo o, si se pide, calibrado para el hardware donde corre la aplicación.
+ *
+ * calibrate() mide el tiempo de un hash con el coste mínimo y elige el mayor coste cuyo
+ * tiempo estimado (se duplica por cada punto de coste) cabe en el presupuesto de latencia;
+ * nunca baja del mínimo configurado. upgradeEncoding pide rehash siempre que el hash guardado
+ * sea más débil que el coste actual, pero solo baja el coste cuando el guardado lo supera en
+ * DOWNGRADE_MARGIN puntos o más: una calibración con ruido, o nodos que difieren en un punto,
+ * no hacen oscilar los hashes entre reinicios ni los debilitan.
+ */
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveBCryptPasswordEncoder.class);
+
+    private static final String CALIBRATION_PASSWORD = "calibracion-bcrypt";
+
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    // Un punto de coste duplica el tiempo: solo se rebaja un hash que cuesta 4 veces el presupuesto
+    static final int DOWNGRADE_MARGIN = 2;
+
+    private final int cost;
+
+    public AdaptiveBCryptPasswordEncoder(int cost) {
+        super(cost);
+        this.cost = cost;
+    }
+
+    /**
+     * Mayor coste entre minCost y maxCost cuyo hash tarda como mucho targetMillis en este host
+     */
+    public static int calibrate(long targetMillis, int minCost, int maxCost) {
+        return calibrate(targetMillis, minCost, maxCost, BCryptPasswordEncoder::new);
+    }
+
+    static int calibrate(long targetMillis, int minCost, int maxCost, IntFunction<BCryptPasswordEncoder> encoders) {
+        int floor = Math.max(4, Math.min(minCost, 31));
+        int ceiling = Math.max(floor, Math.min(maxCost, 31));
+        BCryptPasswordEncoder encoder = encoders.apply(floor);
+
+        // El primer hash paga la carga de clases y el JIT; se descarta
+        encoder.encode(CALIBRATION_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        long targetNanos = targetMillis * 1_000_000L;
+        int cost = floor;
+        long estimated = best;
+        while (cost < ceiling && estimated * 2 <= targetNanos) {
+            estimated *= 2;
+            cost++;
+        }
+
+        if (best > targetNanos) {
+            logger.warn("BCrypt con coste mínimo {} tarda {} ms, por encima del presupuesto de {} ms",
+                    floor, best / 1_000_000, targetMillis);
+        }
+        logger.info("Coste BCrypt calibrado: {} (~{} ms por hash, presupuesto {} ms)",
+                cost, estimated / 1_000_000, targetMillis);
+        return cost;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int stored = costOf(encodedPassword);
+        return stored > 0 && (stored < cost || stored >= cost + DOWNGRADE_MARGIN);
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * Coste de un hash "$2a$10$...", o 0 si no es un hash BCrypt válido
+     */
+    static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+                || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return 0;
+        }
+        char tens = encodedPassword.charAt(4);
+        char units = encodedPassword.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(units)) {
+            return 0;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+}
@@ -0,0 +1,171 @@
+package com.fleetguard360.monitoring_service.config;
+
+import com.fleetguard360.monitoring_service.exception.LoginCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * PasswordEncoder que ejecuta los hashes de contraseñas en un pool propio y acotado.
+ *
+ * Solo "threads" hashes BCrypt corren a la vez y como mucho "queueCapacity" esperan turno;
+ * así un pico de logins ocupa a lo sumo threads + queueCapacity hilos de Tomcat y el resto
+ * sigue atendiendo la API. Si la cola está llena, o un intento esperó más de maxQueueWait
+ * antes de empezar, se lanza LoginCapacityExceededException sin calcular el hash (429).
+ * La verificación (matches) y la codificación (encode, incluido el rehash tras un login)
+ * pasan por el mismo pool; el rehash se aplaza a otro login si hay intentos en cola.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final long maxQueueWaitNanos;
+
+    private final Timer queueWait;
+
+    private final Timer hashTime;
+
+    private final Counter rejectedQueueFull;
+
+    private final Counter rejectedQueueTimeout;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  long maxQueueWaitMillis, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, maxQueueWaitMillis));
+
+        int poolSize = Math.max(1, threads);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verifier-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWait = Timer.builder("auth.password.queue.wait")
+                .description("Espera en cola antes de verificar una contraseña")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.hashTime = Timer.builder("auth.password.hash")
+                .description("Tiempo de CPU de los hashes BCrypt (verificación y codificación)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedQueueFull = Counter.builder("auth.password.rejected")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.rejectedQueueTimeout = Counter.builder("auth.password.rejected")
+                .tag("reason", "queue_timeout")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * El rehash tras un login correcto es aplazable: con logins esperando en la cola no se
+     * pide, y el hash con el coste anterior se actualiza en un login posterior
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return executor.getQueue().isEmpty() && delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        logger.info("Pool de verificación de contraseñas detenido");
+    }
+
+    /**
+     * Calcula el hash en el pool y espera el resultado en el hilo del llamador
+     */
+    private <T> T hash(Supplier<T> operation) {
+        long submitted = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> run(operation, submitted));
+        } catch (RejectedExecutionException e) {
+            rejectedQueueFull.increment();
+            throw new LoginCapacityExceededException("Cola de verificación de contraseñas llena");
+        }
+
+        T value;
+        try {
+            value = result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new LoginCapacityExceededException("Verificación de contraseña interrumpida");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Error al verificar la contraseña", cause);
+        }
+
+        if (value == null) {
+            rejectedQueueTimeout.increment();
+            throw new LoginCapacityExceededException("Tiempo de espera de verificación de contraseña agotado");
+        }
+        return value;
+    }
+
+    /**
+     * Ejecuta en el pool; null si el intento ya esperó demasiado y no merece el hash
+     */
+    private <T> T run(Supplier<T> operation, long submitted) {
+        long started = System.nanoTime();
+        long waited = started - submitted;
+        queueWait.record(waited, TimeUnit.NANOSECONDS);
+        if (waited > maxQueueWaitNanos) {
+            return null;
+        }
+        try {
+            return operation.get();
+        } finally {
+            hashTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+}
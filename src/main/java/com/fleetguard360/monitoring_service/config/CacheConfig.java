@@ -0,0 +1,40 @@
+package com.fleetguard360.monitoring_service.config;
+
+import com.fleetguard360.monitoring_service.service.UserAccountCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuración de cachés en memoria.
+ *
+ * Cada caché se registra con su propio tamaño máximo y TTL; las estadísticas quedan
+ * habilitadas para poder exponer la tasa de aciertos.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.security.user-cache.max-size:10000}") long userCacheMaxSize,
+            @Value("${app.security.user-cache.ttl-seconds:300}") long userCacheTtlSeconds) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Solo se crean las cachés registradas explícitamente
+        cacheManager.setCacheNames(List.of());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(UserAccountCache.CACHE_NAME, Caffeine.newBuilder()
+                .maximumSize(userCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(userCacheTtlSeconds))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
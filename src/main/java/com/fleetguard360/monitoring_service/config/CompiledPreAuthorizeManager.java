@@ -0,0 +1,100 @@
+package com.fleetguard360.monitoring_service.config;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * AuthorizationManager de @PreAuthorize que compila las expresiones de roles a máscaras.
+ *
+ * La primera invocación de cada método busca su @PreAuthorize (del método o de la clase):
+ * si es un hasRole/hasAnyRole con literales se reemplaza por un RoleMaskAuthorizationManager;
+ * cualquier otra expresión se delega al PreAuthorizeAuthorizationManager estándar (SpEL).
+ * El resultado se guarda por método y clase, así que las siguientes llamadas no analizan nada.
+ */
+public class CompiledPreAuthorizeManager implements AuthorizationManager<MethodInvocation> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompiledPreAuthorizeManager.class);
+
+    private static final Pattern ROLE_EXPRESSION = Pattern.compile("^\\s*(hasRole|hasAnyRole)\\s*\\((.*)\\)\\s*$");
+
+    private static final Pattern ROLE_LITERAL = Pattern.compile("^\\s*'([A-Za-z0-9_]+)'\\s*$");
+
+    private final PreAuthorizeAuthorizationManager fallback = new PreAuthorizeAuthorizationManager();
+
+    private final Map<MethodClassKey, AuthorizationManager<MethodInvocation>> compiled = new ConcurrentHashMap<>();
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis())
+                : invocation.getMethod().getDeclaringClass();
+        AuthorizationManager<MethodInvocation> manager = compiled.computeIfAbsent(
+                new MethodClassKey(invocation.getMethod(), targetClass),
+                key -> compile(invocation.getMethod(), targetClass));
+        return manager.check(authentication, invocation);
+    }
+
+    private AuthorizationManager<MethodInvocation> compile(Method method, Class<?> targetClass) {
+        Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+        PreAuthorize annotation = AnnotatedElementUtils.findMergedAnnotation(specific, PreAuthorize.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, PreAuthorize.class);
+        }
+        if (annotation == null) {
+            return fallback;
+        }
+
+        List<String> roles = parseRoles(annotation.value());
+        if (roles == null) {
+            logger.debug("Expresión @PreAuthorize evaluada con SpEL en {}: {}", specific, annotation.value());
+            return fallback;
+        }
+        try {
+            return RoleMaskAuthorizationManager.anyRole(roles.toArray(String[]::new));
+        } catch (IllegalStateException e) {
+            logger.warn("No se pudo compilar @PreAuthorize en {}: {}", specific, e.getMessage());
+            return fallback;
+        }
+    }
+
+    /**
+     * Roles de un hasRole('A') o hasAnyRole('A', 'B'); null si la expresión es otra cosa
+     */
+    static List<String> parseRoles(String expression) {
+        Matcher matcher = ROLE_EXPRESSION.matcher(expression);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String[] arguments = matcher.group(2).split(",", -1);
+        if ("hasRole".equals(matcher.group(1)) && arguments.length != 1) {
+            return null;
+        }
+        List<String> roles = new ArrayList<>(arguments.length);
+        for (String argument : arguments) {
+            Matcher literal = ROLE_LITERAL.matcher(argument);
+            if (!literal.matches()) {
+                return null;
+            }
+            roles.add(literal.group(1));
+        }
+        return roles;
+    }
+}
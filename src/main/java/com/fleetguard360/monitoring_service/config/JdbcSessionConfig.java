@@ -0,0 +1,46 @@
+package com.fleetguard360.monitoring_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.web.http.CookieSerializer;
+import org.springframework.session.web.http.DefaultCookieSerializer;
+
+import java.time.Duration;
+
+/**
+ * Sesiones HTTP en base de datos (app.session.store=jdbc), para ejecutar varias instancias
+ * detrás de un balanceador sin afinidad de sesión. Por defecto las sesiones siguen en la
+ * memoria de Tomcat.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.session.store", havingValue = "jdbc")
+@EnableSpringHttpSession
+public class JdbcSessionConfig {
+
+    @Bean
+    public JdbcSessionRepository sessionRepository(JdbcTemplate jdbcTemplate,
+            @Value("${app.session.jdbc.max-inactive-seconds:1800}") long maxInactiveSeconds,
+            @Value("${app.session.jdbc.touch-threshold-seconds:60}") long touchThresholdSeconds,
+            @Value("${app.session.jdbc.near-cache-ttl-seconds:5}") long nearCacheTtlSeconds,
+            @Value("${app.session.jdbc.near-cache-max-size:10000}") long nearCacheMaxSize,
+            @Value("${app.session.jdbc.single-session:true}") boolean singleSession,
+            @Value("${app.session.jdbc.cleanup-chunk-size:500}") int cleanupChunkSize) {
+        return new JdbcSessionRepository(jdbcTemplate, Duration.ofSeconds(maxInactiveSeconds),
+                Duration.ofSeconds(touchThresholdSeconds), Duration.ofSeconds(nearCacheTtlSeconds),
+                nearCacheMaxSize, singleSession, cleanupChunkSize);
+    }
+
+    /**
+     * Mantiene el nombre de cookie de Tomcat para que los clientes no noten el cambio
+     */
+    @Bean
+    public CookieSerializer cookieSerializer() {
+        DefaultCookieSerializer serializer = new DefaultCookieSerializer();
+        serializer.setCookieName("JSESSIONID");
+        return serializer;
+    }
+}
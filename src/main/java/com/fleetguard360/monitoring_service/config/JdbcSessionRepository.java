@@ -0,0 +1,424 @@
+package com.fleetguard360.monitoring_service.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.PrincipalNameIndexResolver;
+import org.springframework.session.Session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Repositorio de sesiones HTTP en base de datos con caché local, compartido entre nodos.
+ *
+ * Para que el coste por petición sea mínimo:
+ * - las lecturas se sirven de una caché local de vida corta (near-cache-ttl) y solo un
+ *   fallo consulta la tabla;
+ * - los cambios de atributos se acumulan en la sesión y se escriben en una sola sentencia
+ *   al terminar la petición (SessionRepositoryFilter llama a save una vez);
+ * - el último acceso solo se persiste cuando avanzó más que touch-threshold, por lo que una
+ *   sesión que solo se lee no escribe en cada petición;
+ * - las sesiones expiradas se borran en segundo plano por lotes.
+ *
+ * Con single-session, vincular un usuario a una sesión elimina sus demás sesiones en todos
+ * los nodos. Los otros nodos dejan de verlas como muy tarde al expirar su caché local.
+ */
+public class JdbcSessionRepository implements FindByIndexNameSessionRepository<JdbcSessionRepository.StoredSession> {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcSessionRepository.class);
+
+    private static final String COLUMNS =
+            "session_id, principal_name, creation_time, last_access_time, max_inactive_seconds, expiry_time, attributes";
+
+    private static final String SELECT_BY_ID = "SELECT " + COLUMNS + " FROM http_sessions WHERE session_id = ?";
+
+    private static final String SELECT_BY_PRINCIPAL = "SELECT " + COLUMNS + " FROM http_sessions WHERE principal_name = ?";
+
+    private static final String INSERT = "INSERT INTO http_sessions (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE = "UPDATE http_sessions SET principal_name = ?, last_access_time = ?, "
+            + "max_inactive_seconds = ?, expiry_time = ?, attributes = ? WHERE session_id = ?";
+
+    private static final String TOUCH = "UPDATE http_sessions SET last_access_time = ?, expiry_time = ? WHERE session_id = ?";
+
+    private static final String CHANGE_ID = "UPDATE http_sessions SET session_id = ? WHERE session_id = ?";
+
+    private static final String DELETE = "DELETE FROM http_sessions WHERE session_id = ?";
+
+    private static final String DELETE_OTHER_SESSIONS = "DELETE FROM http_sessions WHERE principal_name = ? AND session_id <> ?";
+
+    private static final String SELECT_EXPIRED = "SELECT session_id FROM http_sessions WHERE expiry_time < ?";
+
+    private static final int MAX_CLEANUP_CHUNKS_PER_RUN = 20;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Duration defaultMaxInactiveInterval;
+
+    private final long touchThresholdMillis;
+
+    private final boolean singleSession;
+
+    private final int cleanupChunkSize;
+
+    private final Cache<String, Snapshot> nearCache;
+
+    private final PrincipalNameIndexResolver<Session> principalNameResolver = new PrincipalNameIndexResolver<>();
+
+    private final SerializingConverter serializer = new SerializingConverter();
+
+    private final DeserializingConverter deserializer;
+
+    private final RowMapper<Snapshot> snapshotMapper = (rs, rowNum) -> new Snapshot(
+            rs.getString("session_id"),
+            rs.getString("principal_name"),
+            rs.getLong("creation_time"),
+            rs.getLong("last_access_time"),
+            rs.getInt("max_inactive_seconds"),
+            rs.getLong("last_access_time"),
+            deserialize(rs.getBytes("attributes")));
+
+    public JdbcSessionRepository(JdbcTemplate jdbcTemplate, Duration defaultMaxInactiveInterval, Duration touchThreshold,
+                                 Duration nearCacheTtl, long nearCacheMaxSize, boolean singleSession, int cleanupChunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        // Por encima de la mitad de la inactividad se arriesgaría a expirar sesiones activas
+        this.touchThresholdMillis = Math.min(touchThreshold.toMillis(), defaultMaxInactiveInterval.toMillis() / 2);
+        this.singleSession = singleSession;
+        this.cleanupChunkSize = Math.max(1, cleanupChunkSize);
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(nearCacheMaxSize)
+                .expireAfterWrite(nearCacheTtl)
+                .build();
+        this.deserializer = new DeserializingConverter(Thread.currentThread().getContextClassLoader());
+    }
+
+    @Override
+    public StoredSession createSession() {
+        return new StoredSession(defaultMaxInactiveInterval);
+    }
+
+    @Override
+    public void save(StoredSession session) {
+        long lastAccess = session.getLastAccessedTime().toEpochMilli();
+        if (session.isNew) {
+            String principal = principalNameResolver.resolveIndexValueFor(session);
+            jdbcTemplate.update(INSERT, session.id, principal, session.creationTime.toEpochMilli(), lastAccess,
+                    maxInactiveSeconds(session), expiryTime(session), serialize(session.attributes));
+            session.persistedLastAccess = lastAccess;
+            bindPrincipal(session, principal);
+        } else {
+            if (!session.id.equals(session.originalId)) {
+                jdbcTemplate.update(CHANGE_ID, session.id, session.originalId);
+                nearCache.invalidate(session.originalId);
+            }
+            int updated = -1;
+            if (session.attributesChanged || session.metadataChanged) {
+                String principal = principalNameResolver.resolveIndexValueFor(session);
+                updated = jdbcTemplate.update(UPDATE, principal, lastAccess, maxInactiveSeconds(session),
+                        expiryTime(session), serialize(session.attributes), session.id);
+                if (!Objects.equals(principal, session.principalName)) {
+                    bindPrincipal(session, principal);
+                }
+            } else if (lastAccess - session.persistedLastAccess >= touchThresholdMillis) {
+                updated = jdbcTemplate.update(TOUCH, lastAccess, expiryTime(session), session.id);
+            }
+            if (updated == 0) {
+                // Eliminada en otro nodo (logout o sesión única): no se resucita
+                nearCache.invalidate(session.id);
+                return;
+            }
+            if (updated > 0) {
+                session.persistedLastAccess = lastAccess;
+            }
+        }
+        session.markSaved();
+        nearCache.put(session.id, Snapshot.of(session));
+    }
+
+    @Override
+    public StoredSession findById(String id) {
+        Snapshot snapshot = nearCache.getIfPresent(id);
+        if (snapshot == null) {
+            List<Snapshot> rows = jdbcTemplate.query(SELECT_BY_ID, snapshotMapper, id);
+            if (rows.isEmpty()) {
+                return null;
+            }
+            snapshot = rows.get(0);
+            nearCache.put(id, snapshot);
+        }
+        StoredSession session = snapshot.toSession();
+        if (isExpired(session)) {
+            deleteById(id);
+            return null;
+        }
+        return session;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        jdbcTemplate.update(DELETE, id);
+        nearCache.invalidate(id);
+    }
+
+    @Override
+    public Map<String, StoredSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        if (!PRINCIPAL_NAME_INDEX_NAME.equals(indexName)) {
+            return Collections.emptyMap();
+        }
+        Map<String, StoredSession> sessions = new LinkedHashMap<>();
+        for (Snapshot snapshot : jdbcTemplate.query(SELECT_BY_PRINCIPAL, snapshotMapper, indexValue)) {
+            StoredSession session = snapshot.toSession();
+            if (!isExpired(session)) {
+                sessions.put(session.getId(), session);
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * Elimina las sesiones expiradas por lotes, para no bloquear la tabla con un único DELETE grande
+     */
+    @Scheduled(fixedDelayString = "${app.session.jdbc.cleanup-interval-ms:60000}")
+    public int cleanupExpiredSessions() {
+        // Margen por los accesos aún no persistidos (toque diferido)
+        long cutoff = System.currentTimeMillis() - touchThresholdMillis;
+        int deleted = 0;
+        for (int chunk = 0; chunk < MAX_CLEANUP_CHUNKS_PER_RUN; chunk++) {
+            List<String> ids = jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(SELECT_EXPIRED);
+                statement.setMaxRows(cleanupChunkSize);
+                statement.setLong(1, cutoff);
+                return statement;
+            }, (rs, rowNum) -> rs.getString(1));
+            if (ids.isEmpty()) {
+                break;
+            }
+            String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            deleted += jdbcTemplate.update("DELETE FROM http_sessions WHERE session_id IN (" + placeholders + ")", ids.toArray());
+            nearCache.invalidateAll(ids);
+            if (ids.size() < cleanupChunkSize) {
+                break;
+            }
+        }
+        if (deleted > 0) {
+            logger.debug("Eliminadas {} sesiones HTTP expiradas", deleted);
+        }
+        return deleted;
+    }
+
+    private void bindPrincipal(StoredSession session, String principal) {
+        session.principalName = principal;
+        if (singleSession && principal != null) {
+            int removed = jdbcTemplate.update(DELETE_OTHER_SESSIONS, principal, session.id);
+            if (removed > 0) {
+                logger.info("Cerradas {} sesiones anteriores del usuario: {}", removed, principal);
+                nearCache.asMap().values().removeIf(
+                        other -> principal.equals(other.principalName) && !other.id.equals(session.id));
+            }
+        }
+    }
+
+    private boolean isExpired(StoredSession session) {
+        if (session.maxInactiveInterval.isNegative()) {
+            return false;
+        }
+        // El último acceso leído puede estar atrasado hasta touch-threshold respecto al real
+        long deadline = session.lastAccessedTime.toEpochMilli() + session.maxInactiveInterval.toMillis() + touchThresholdMillis;
+        return deadline < System.currentTimeMillis();
+    }
+
+    private static int maxInactiveSeconds(StoredSession session) {
+        return (int) session.maxInactiveInterval.toSeconds();
+    }
+
+    private static long expiryTime(StoredSession session) {
+        return session.maxInactiveInterval.isNegative()
+                ? Long.MAX_VALUE
+                : session.lastAccessedTime.toEpochMilli() + session.maxInactiveInterval.toMillis();
+    }
+
+    private byte[] serialize(Map<String, Object> attributes) {
+        return attributes.isEmpty() ? null : serializer.convert(new HashMap<>(attributes));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap((Map<String, Object>) deserializer.convert(bytes));
+    }
+
+    /**
+     * Copia inmutable del estado guardado de una sesión (entrada de la caché local)
+     */
+    private static final class Snapshot {
+
+        private final String id;
+        private final String principalName;
+        private final long creationTime;
+        private final long lastAccessTime;
+        private final int maxInactiveSeconds;
+        private final long persistedLastAccess;
+        private final Map<String, Object> attributes;
+
+        Snapshot(String id, String principalName, long creationTime, long lastAccessTime,
+                 int maxInactiveSeconds, long persistedLastAccess, Map<String, Object> attributes) {
+            this.id = id;
+            this.principalName = principalName;
+            this.creationTime = creationTime;
+            this.lastAccessTime = lastAccessTime;
+            this.maxInactiveSeconds = maxInactiveSeconds;
+            this.persistedLastAccess = persistedLastAccess;
+            this.attributes = attributes;
+        }
+
+        static Snapshot of(StoredSession session) {
+            return new Snapshot(session.id, session.principalName, session.creationTime.toEpochMilli(),
+                    session.lastAccessedTime.toEpochMilli(), (int) session.maxInactiveInterval.toSeconds(),
+                    session.persistedLastAccess, Collections.unmodifiableMap(new HashMap<>(session.attributes)));
+        }
+
+        StoredSession toSession() {
+            StoredSession session = new StoredSession(id, Instant.ofEpochMilli(creationTime),
+                    Duration.ofSeconds(maxInactiveSeconds), new HashMap<>(attributes));
+            session.lastAccessedTime = Instant.ofEpochMilli(lastAccessTime);
+            session.persistedLastAccess = persistedLastAccess;
+            session.principalName = principalName;
+            return session;
+        }
+    }
+
+    /**
+     * Sesión en memoria de una petición; registra qué cambió para escribir solo lo necesario
+     */
+    public static final class StoredSession implements Session {
+
+        private String id;
+        private String originalId;
+        private final Instant creationTime;
+        private Instant lastAccessedTime;
+        private Duration maxInactiveInterval;
+        private final Map<String, Object> attributes;
+        private String principalName;
+        private long persistedLastAccess;
+        private boolean isNew;
+        private boolean attributesChanged;
+        private boolean metadataChanged;
+
+        StoredSession(Duration maxInactiveInterval) {
+            this.id = UUID.randomUUID().toString();
+            this.originalId = id;
+            this.creationTime = Instant.now();
+            this.lastAccessedTime = creationTime;
+            this.maxInactiveInterval = maxInactiveInterval;
+            this.attributes = new HashMap<>();
+            this.isNew = true;
+        }
+
+        StoredSession(String id, Instant creationTime, Duration maxInactiveInterval, Map<String, Object> attributes) {
+            this.id = id;
+            this.originalId = id;
+            this.creationTime = creationTime;
+            this.lastAccessedTime = creationTime;
+            this.maxInactiveInterval = maxInactiveInterval;
+            this.attributes = attributes;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String changeSessionId() {
+            id = UUID.randomUUID().toString();
+            return id;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getAttribute(String attributeName) {
+            return (T) attributes.get(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return Collections.unmodifiableSet(attributes.keySet());
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            if (attributeValue == null) {
+                removeAttribute(attributeName);
+                return;
+            }
+            attributes.put(attributeName, attributeValue);
+            attributesChanged = true;
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            if (attributes.remove(attributeName) != null) {
+                attributesChanged = true;
+            }
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return creationTime;
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            // No marca la sesión como modificada: el toque se persiste de forma diferida
+            this.lastAccessedTime = lastAccessedTime;
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return lastAccessedTime;
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            this.maxInactiveInterval = interval;
+            metadataChanged = true;
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return maxInactiveInterval;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return !maxInactiveInterval.isNegative()
+                    && lastAccessedTime.plus(maxInactiveInterval).isBefore(Instant.now());
+        }
+
+        private void markSaved() {
+            originalId = id;
+            isNew = false;
+            attributesChanged = false;
+            metadataChanged = false;
+        }
+    }
+}
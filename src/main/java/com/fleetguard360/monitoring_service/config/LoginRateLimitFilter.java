@@ -0,0 +1,314 @@
+package com.fleetguard360.monitoring_service.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fleetguard360.monitoring_service.dto.LoginResponse;
+import com.fleetguard360.monitoring_service.service.CredentialStuffingDetector;
+import com.fleetguard360.monitoring_service.util.ClientIpResolver;
+import com.fleetguard360.monitoring_service.util.TokenBucket;
+import com.fleetguard360.monitoring_service.util.UsernameKey;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limitador de tasa para los endpoints de login.
+ *
+ * Se ejecuta antes de la cadena de Spring Security, de modo que el tráfico que excede el
+ * límite se rechaza con 429 antes de crear sesión o verificar BCrypt. Mantiene un token
+ * bucket sin bloqueos por IP de cliente y otro por nombre de usuario; los buckets llenos
+ * (inactivos) se eliminan periódicamente para mantener acotada la memoria. Las IPs y usuarios
+ * que CredentialStuffingDetector marca como sospechosos pagan varios tokens por intento.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginRateLimitFilter.class);
+
+    private static final String API_LOGIN = "/api/auth/login";
+
+    private static final String FRONTEND_LOGIN = "/api/frontend/auth/login";
+
+    private static final Set<String> LOGIN_PATHS = Set.of(API_LOGIN, FRONTEND_LOGIN);
+
+    private static final int MAX_BODY_BYTES = 8192;
+
+    private static final int MAX_USERNAME_KEY_LENGTH = 100;
+
+    private final ObjectMapper objectMapper;
+
+    private final CredentialStuffingDetector stuffingDetector;
+
+    private final ClientIpResolver clientIpResolver;
+
+    private final int ipCapacity;
+
+    private final long ipIntervalNanos;
+
+    private final int usernameCapacity;
+
+    private final long usernameIntervalNanos;
+
+    private final ConcurrentMap<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, TokenBucket> usernameBuckets = new ConcurrentHashMap<>();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicLong penalized = new AtomicLong();
+
+		@Autowired
+		public LoginRateLimitFilter(ObjectMapper objectMapper, ObjectProvider<CredentialStuffingDetector> stuffingDetector,
+				ClientIpResolver clientIpResolver,
+				@Value("${app.security.rate-limit.ip.capacity:30}") int ipCapacity,
+				@Value("${app.security.rate-limit.ip.per-minute:30}") int ipPerMinute,
+				@Value("${app.security.rate-limit.username.capacity:10}") int usernameCapacity,
+				@Value("${app.security.rate-limit.username.per-minute:10}") int usernamePerMinute) {
+			this.objectMapper = objectMapper;
+			this.stuffingDetector = stuffingDetector.getIfAvailable();
+			this.clientIpResolver = clientIpResolver;
+			this.ipCapacity = ipCapacity;
+			this.ipIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, ipPerMinute);
+			this.usernameCapacity = usernameCapacity;
+			this.usernameIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, usernamePerMinute);
+		}
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equalsIgnoreCase(request.getMethod()) || !LOGIN_PATHS.contains(loginPath(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.nanoTime();
+
+        String clientIp = clientIpResolver.resolve(request);
+        long wait = acquire(ipBuckets, clientIp, ipCapacity, ipIntervalNanos,
+                ipPermits(clientIp), now);
+        if (wait > 0) {
+            reject(request, response, wait, "IP " + clientIp);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+
+        String username = extractUsername(body);
+        if (username != null) {
+            wait = acquire(usernameBuckets, username, usernameCapacity, usernameIntervalNanos,
+                    usernamePermits(username), now);
+            if (wait > 0) {
+                reject(request, response, wait, "usuario " + username);
+                return;
+            }
+        }
+
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    /**
+     * Elimina los buckets llenos; volverán a crearse llenos si la clave reaparece
+     */
+    @Scheduled(fixedDelayString = "${app.security.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int before = ipBuckets.size() + usernameBuckets.size();
+        ipBuckets.values().removeIf(bucket -> bucket.isIdle(now));
+        usernameBuckets.values().removeIf(bucket -> bucket.isIdle(now));
+        int removed = before - ipBuckets.size() - usernameBuckets.size();
+        if (removed > 0) {
+            logger.debug("Eliminados {} buckets inactivos del limitador de login", removed);
+        }
+    }
+
+    /**
+     * Solicitudes de login rechazadas desde el arranque
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Solicitudes que pagaron penalización por venir de una IP o ir a un usuario sospechoso
+     */
+    public long getPenalizedCount() {
+        return penalized.get();
+    }
+
+    public int getTrackedBuckets() {
+        return ipBuckets.size() + usernameBuckets.size();
+    }
+
+    private long acquire(ConcurrentMap<String, TokenBucket> buckets, String key, int capacity,
+                         long intervalNanos, int permits, long now) {
+        TokenBucket bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, intervalNanos, now));
+        return bucket.tryAcquire(now, permits);
+    }
+
+    private int ipPermits(String clientIp) {
+        return stuffingDetector != null ? penalize(stuffingDetector.ipPermits(clientIp)) : 1;
+    }
+
+    private int usernamePermits(String username) {
+        return stuffingDetector != null ? penalize(stuffingDetector.usernamePermits(username)) : 1;
+    }
+
+    private int penalize(int permits) {
+        if (permits > 1) {
+            penalized.incrementAndGet();
+        }
+        return permits;
+    }
+
+    private String extractUsername(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            if (username == null || !username.isTextual() || username.asText().isEmpty()) {
+                return null;
+            }
+            // Misma clave para todas las variantes de mayúsculas de un usuario, como en el bloqueo
+            String value = UsernameKey.of(username.asText());
+            if (value.isEmpty()) {
+                return null;
+            }
+            return value.length() > MAX_USERNAME_KEY_LENGTH ? value.substring(0, MAX_USERNAME_KEY_LENGTH) : value;
+        } catch (IOException e) {
+            // Cuerpo inválido: lo rechazará la validación del controlador
+            return null;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos, String key)
+            throws IOException {
+        rejected.incrementAndGet();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        logger.debug("Login limitado por tasa para {}; reintentar en {} s", key.replaceAll("[\n\r]", "_"), retryAfterSeconds);
+
+        String message = "Demasiados intentos de login. Intente de nuevo en " + retryAfterSeconds + " segundos.";
+        Object body = FRONTEND_LOGIN.equals(loginPath(request))
+                ? Map.of("error", "TOO_MANY_REQUESTS", "message", message)
+                : LoginResponse.failure(message);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static String loginPath(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        return contextPath != null && !contextPath.isEmpty() && uri.startsWith(contextPath)
+                ? uri.substring(contextPath.length())
+                : uri;
+    }
+
+    /**
+     * Petición con el cuerpo ya leído, para que el controlador pueda volver a leerlo
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * El cuerpo ya está en memoria: se notifica de inmediato que hay datos y que
+                 * la lectura terminó
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding() != null ? getCharacterEncoding() : StandardCharsets.UTF_8.name();
+            return new BufferedReader(new InputStreamReader(getInputStream(), Charset.forName(encoding)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
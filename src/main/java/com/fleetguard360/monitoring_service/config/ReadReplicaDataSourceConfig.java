@@ -0,0 +1,110 @@
+package com.fleetguard360.monitoring_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuración de réplica de lectura (app.datasource.replica.enabled=true).
+ *
+ * El pool primario usa spring.datasource.* y spring.datasource.hikari.*; el pool de la réplica
+ * usa app.datasource.replica.* y app.datasource.replica.hikari.*. Las transacciones readOnly
+ * se enrutan a la réplica mediante ReplicaRoutingDataSource.
+ *
+ * La ruta se decide al obtener la conexión, así que Hibernate debe soltarla al terminar cada
+ * transacción: con open-in-view la sesión vive toda la petición y, reteniendo la conexión,
+ * una escritura posterior a una lectura readOnly iría a la réplica.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(
+            @Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${app.datasource.replica.read-your-writes-ms:2000}") long readYourWritesMillis,
+            @Value("${app.datasource.replica.health-check-timeout-seconds:2}") int healthCheckTimeoutSeconds) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource,
+                readYourWritesMillis, healthCheckTimeoutSeconds);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        // La conexión física se obtiene en la primera sentencia, cuando ya se conoce el flag readOnly
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaHealthMonitor(replicaRoutingDataSource);
+    }
+
+    /**
+     * Revisa periódicamente la réplica para dejar de usarla o reanudar su uso
+     */
+    public static class ReplicaHealthMonitor {
+
+        private final ReplicaRoutingDataSource routingDataSource;
+
+        public ReplicaHealthMonitor(ReplicaRoutingDataSource routingDataSource) {
+            this.routingDataSource = routingDataSource;
+        }
+
+        @Scheduled(fixedDelayString = "${app.datasource.replica.health-check-interval-ms:5000}")
+        public void check() {
+            routingDataSource.checkReplicaHealth();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.fleetguard360.monitoring_service.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataSource que enruta las transacciones de solo lectura a la réplica y el resto al primario.
+ *
+ * Se lee a primario cuando:
+ * - la transacción no es de solo lectura (o no hay transacción),
+ * - el usuario actual escribió dentro de la ventana de read-your-writes,
+ * - la réplica está marcada como no saludable.
+ * Las peticiones sin autenticar no registran escrituras ni las consultan: compartirían una
+ * sola entrada y la escritura de un anónimo enviaría al primario las lecturas de todos.
+ *
+ * Debe envolverse en un LazyConnectionDataSourceProxy para que el flag de solo lectura
+ * ya esté fijado cuando se obtiene la conexión física.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+
+    private final DataSource replica;
+
+    private final long readYourWritesNanos;
+
+    private final int healthCheckTimeoutSeconds;
+
+    // Último instante de escritura por usuario (System.nanoTime)
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private volatile boolean replicaHealthy = true;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, long readYourWritesMillis,
+                                    int healthCheckTimeoutSeconds) {
+        this.primary = primary;
+        this.replica = replica;
+        this.readYourWritesNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, readYourWritesMillis));
+        this.healthCheckTimeoutSeconds = Math.max(1, healthCheckTimeoutSeconds);
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+
+    /**
+     * Ruta que tomaría una conexión pedida en el contexto actual
+     */
+    public Route currentRoute() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWrite();
+            }
+            return Route.PRIMARY;
+        }
+        if (!replicaHealthy || wroteRecently()) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (currentRoute() == Route.PRIMARY) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            markReplicaUnhealthy(e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (currentRoute() == Route.PRIMARY) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.getConnection(username, password);
+        } catch (SQLException e) {
+            markReplicaUnhealthy(e);
+            return primary.getConnection(username, password);
+        }
+    }
+
+    /**
+     * Comprueba la réplica y actualiza su estado; también limpia marcas de escritura vencidas
+     */
+    public boolean checkReplicaHealth() {
+        boolean healthy;
+        try (Connection connection = replica.getConnection()) {
+            healthy = connection.isValid(healthCheckTimeoutSeconds);
+        } catch (SQLException e) {
+            healthy = false;
+        }
+
+        if (healthy != replicaHealthy) {
+            if (healthy) {
+                logger.info("Réplica de lectura disponible de nuevo; reanudando lecturas en réplica");
+            } else {
+                logger.warn("Réplica de lectura no saludable; las lecturas se atienden desde el primario");
+            }
+        }
+        replicaHealthy = healthy;
+
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(written -> now - written > readYourWritesNanos);
+        return healthy;
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    private void markReplicaUnhealthy(SQLException cause) {
+        if (replicaHealthy) {
+            logger.warn("No se pudo obtener conexión de la réplica, usando primario: {}", cause.getMessage());
+        }
+        replicaHealthy = false;
+    }
+
+    private void recordWrite() {
+        String user = currentUserKey();
+        if (readYourWritesNanos > 0 && user != null) {
+            lastWrites.put(user, System.nanoTime());
+        }
+    }
+
+    private boolean wroteRecently() {
+        String user = currentUserKey();
+        if (readYourWritesNanos == 0 || user == null) {
+            return false;
+        }
+        Long written = lastWrites.get(user);
+        return written != null && System.nanoTime() - written <= readYourWritesNanos;
+    }
+
+    /**
+     * Usuario autenticado de la petición actual, o null si es anónima
+     */
+    private static String currentUserKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,112 @@
+package com.fleetguard360.monitoring_service.config;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.Serial;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Autoridad "ROLE_x" con una posición de bit asignada, compartida por todos los usuarios.
+ *
+ * Cada rol se instancia una sola vez (no se construye "ROLE_" + nombre en cada carga) y
+ * recibe el siguiente bit libre de un long, de modo que el conjunto de roles de una
+ * autenticación se reduce a una máscara y comprobar hasRole/hasAnyRole es un AND. Los bits
+ * son locales a este proceso: al deserializar una sesión se vuelve a internar por nombre.
+ * Si hubiera más de 64 roles, los sobrantes quedan sin bit (0) y se evalúan por nombre.
+ */
+public final class RoleAuthority implements GrantedAuthority {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final String PREFIX = "ROLE_";
+
+    private static volatile Map<String, RoleAuthority> interned = Map.of();
+
+    private static int nextBit;
+
+    private final String authority;
+
+    private final transient long bit;
+
+    private RoleAuthority(String authority, long bit) {
+        this.authority = authority;
+        this.bit = bit;
+    }
+
+    /**
+     * Autoridad del rol, con o sin el prefijo "ROLE_"
+     */
+    public static RoleAuthority of(String role) {
+        String authority = role.startsWith(PREFIX) ? role : PREFIX + role;
+        RoleAuthority existing = interned.get(authority);
+        return existing != null ? existing : intern(authority);
+    }
+
+    /**
+     * Bit de una autoridad ya conocida, o 0 si no es un rol internado
+     */
+    public static long bitOf(GrantedAuthority authority) {
+        if (authority instanceof RoleAuthority role) {
+            return role.bit;
+        }
+        String name = authority.getAuthority();
+        RoleAuthority role = name != null ? interned.get(name) : null;
+        return role != null ? role.bit : 0;
+    }
+
+    /**
+     * Máscara de roles de una colección de autoridades
+     */
+    public static long maskOf(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            mask |= bitOf(authority);
+        }
+        return mask;
+    }
+
+    private static synchronized RoleAuthority intern(String authority) {
+        RoleAuthority existing = interned.get(authority);
+        if (existing != null) {
+            return existing;
+        }
+        long bit = nextBit < Long.SIZE ? 1L << nextBit++ : 0;
+        RoleAuthority created = new RoleAuthority(authority, bit);
+        Map<String, RoleAuthority> next = new HashMap<>(interned);
+        next.put(authority, created);
+        interned = Map.copyOf(next);
+        return created;
+    }
+
+    @Override
+    public String getAuthority() {
+        return authority;
+    }
+
+    public long getBit() {
+        return bit;
+    }
+
+    @Serial
+    private Object readResolve() {
+        return of(authority);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof RoleAuthority role && authority.equals(role.authority));
+    }
+
+    @Override
+    public int hashCode() {
+        return authority.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return authority;
+    }
+}
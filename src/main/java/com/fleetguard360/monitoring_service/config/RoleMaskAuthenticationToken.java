@@ -0,0 +1,40 @@
+package com.fleetguard360.monitoring_service.config;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.util.Collection;
+
+/**
+ * Autenticación ya verificada que lleva la máscara de sus roles.
+ *
+ * La máscara no se serializa: los bits son locales a cada proceso, así que al deserializar
+ * se recalcula a partir de las autoridades.
+ */
+public class RoleMaskAuthenticationToken extends UsernamePasswordAuthenticationToken implements RoleMaskHolder {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private transient long roleMask;
+
+    public RoleMaskAuthenticationToken(Object principal, Collection<? extends GrantedAuthority> authorities,
+                                       long roleMask) {
+        super(principal, null, authorities);
+        this.roleMask = roleMask;
+    }
+
+    @Override
+    public long getRoleMask() {
+        return roleMask;
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        roleMask = RoleAuthority.maskOf(getAuthorities());
+    }
+}
@@ -0,0 +1,79 @@
+package com.fleetguard360.monitoring_service.config;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Equivalente a hasAnyRole(...) resuelto con la máscara de bits de RoleAuthority.
+ *
+ * Concede si la autenticación tiene al menos uno de los roles requeridos; no evalúa SpEL ni
+ * compara cadenas cuando las autoridades son RoleAuthority. La máscara del usuario viene
+ * calculada en la autenticación (RoleMaskHolder), así que cada comprobación es un AND.
+ */
+public final class RoleMaskAuthorizationManager<T> implements AuthorizationManager<T> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final long requiredMask;
+
+    private final String description;
+
+    private RoleMaskAuthorizationManager(long requiredMask, String description) {
+        this.requiredMask = requiredMask;
+        this.description = description;
+    }
+
+    /**
+     * @param roles nombres de rol, con o sin el prefijo "ROLE_"
+     * @throws IllegalStateException si algún rol no tiene bit asignado (más de 64 roles)
+     */
+    public static <T> RoleMaskAuthorizationManager<T> anyRole(String... roles) {
+        long mask = 0;
+        for (String role : roles) {
+            long bit = RoleAuthority.of(role).getBit();
+            if (bit == 0) {
+                throw new IllegalStateException("Rol sin bit asignado: " + role);
+            }
+            mask |= bit;
+        }
+        return new RoleMaskAuthorizationManager<>(mask, "hasAnyRole" + Arrays.toString(roles));
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, T object) {
+        Authentication current = authentication.get();
+        if (current == null) {
+            return DENIED;
+        }
+        return (roleMask(current) & requiredMask) != 0 ? GRANTED : DENIED;
+    }
+
+    /**
+     * Máscara calculada al autenticarse (token o principal de la sesión); solo las
+     * autenticaciones de otro origen se recorren autoridad por autoridad
+     */
+    private static long roleMask(Authentication authentication) {
+        if (authentication instanceof RoleMaskHolder holder) {
+            return holder.getRoleMask();
+        }
+        if (authentication.getPrincipal() instanceof RoleMaskHolder holder) {
+            return holder.getRoleMask();
+        }
+        return RoleAuthority.maskOf(authentication.getAuthorities());
+    }
+
+    public long getRequiredMask() {
+        return requiredMask;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
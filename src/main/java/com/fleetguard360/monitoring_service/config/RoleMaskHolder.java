@@ -0,0 +1,10 @@
+package com.fleetguard360.monitoring_service.config;
+
+/**
+ * Autenticación o principal que trae su máscara de roles (ver RoleAuthority) calculada al
+ * autenticarse, para que RoleMaskAuthorizationManager no la reconstruya en cada comprobación
+ */
+public interface RoleMaskHolder {
+
+    long getRoleMask();
+}
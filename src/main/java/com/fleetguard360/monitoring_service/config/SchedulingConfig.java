@@ -0,0 +1,16 @@
+package com.fleetguard360.monitoring_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (relay del outbox, limpiezas periódicas)
+ *
+ * El scheduler de Boot usa un solo hilo por defecto; spring.task.scheduling.pool.size lo
+ * amplía para que el relay del outbox no espere a la resincronización completa del modelo
+ * de lectura ni a las limpiezas.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
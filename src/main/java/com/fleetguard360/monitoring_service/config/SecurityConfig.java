@@ -1,42 +1,105 @@
 package com.fleetguard360.monitoring_service.config;
 
+import com.fleetguard360.monitoring_service.model.Role;
+import com.fleetguard360.monitoring_service.repository.RoleRepository;
+import com.fleetguard360.monitoring_service.service.AccessTokenService;
 import com.fleetguard360.monitoring_service.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.Comparator;
 
 @Configuration
 @EnableWebSecurity
-@EnableMethodSecurity(prePostEnabled = true)
+@EnableMethodSecurity(prePostEnabled = false)
 public class SecurityConfig {
 
     private CustomUserDetailsService userDetailsService;
 
+    private ObjectProvider<RoleRepository> roleRepository;
+
 		private static final String ADMIN = "ADMIN";
 
 		private static final String USER = "USER";
 
 		@Autowired
-		public SecurityConfig(CustomUserDetailsService userDetailsService) {
+		public SecurityConfig(CustomUserDetailsService userDetailsService, ObjectProvider<RoleRepository> roleRepository) {
 			this.userDetailsService = userDetailsService;
+			this.roleRepository = roleRepository;
 		}
 
+    /**
+     * @PreAuthorize con las expresiones de roles compiladas a máscaras de bits
+     * (ver CompiledPreAuthorizeManager); sustituye al interceptor de prePostEnabled
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @org.springframework.context.annotation.Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preAuthorizeAuthorizationMethodInterceptor() {
+        return AuthorizationManagerBeforeMethodInterceptor.preAuthorize(new CompiledPreAuthorizeManager());
+    }
+
+    /**
+     * Interna al arrancar los roles existentes para que todos tengan bit antes del primer login.
+     * El bit depende del orden de internado, no del id: ADMIN y USER ya lo tienen desde
+     * filterChain, y el resto lo recibe aquí por id. Los bits son locales al proceso.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void registerRoleAuthorities() {
+        RoleRepository roles = roleRepository.getIfAvailable();
+        if (roles != null) {
+            roles.findAll().stream()
+                    .sorted(Comparator.comparing(Role::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .forEach(role -> RoleAuthority.of(role.getName()));
+        }
+    }
+
+    /**
+     * BCrypt con coste fijo o calibrado (ver AdaptiveBCryptPasswordEncoder) y hashes en
+     * un pool acotado (ver BoundedPasswordEncoder)
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.security.password-verification.threads:0}") int threads,
+            @Value("${app.security.password-verification.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.password-verification.max-queue-wait-ms:2000}") long maxQueueWaitMillis,
+            @Value("${app.security.bcrypt.cost:10}") int bcryptCost,
+            @Value("${app.security.bcrypt.target-ms:100}") long bcryptTargetMillis,
+            @Value("${app.security.bcrypt.min-cost:10}") int bcryptMinCost,
+            @Value("${app.security.bcrypt.max-cost:14}") int bcryptMaxCost) {
+        // Por defecto la mitad de los núcleos, para que el resto atienda la API durante un pico de logins
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        // Coste fijo por defecto; con cost=0, el más alto que cabe en el presupuesto en este host
+        int cost = bcryptCost > 0
+                ? bcryptCost
+                : AdaptiveBCryptPasswordEncoder.calibrate(bcryptTargetMillis, bcryptMinCost, bcryptMaxCost);
+        return new BoundedPasswordEncoder(new AdaptiveBCryptPasswordEncoder(cost), poolSize, queueCapacity,
+                maxQueueWaitMillis, meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
     }
 
     @Bean
@@ -59,33 +122,45 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, ObjectProvider<AccessTokenService> accessTokenService) throws Exception {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable()) // Para APIs REST, deshabilitar CSRF
             .authorizeHttpRequests(authz -> authz
                 // Endpoints públicos - no requieren autenticación
-                .requestMatchers("/api/auth/login", "/api/frontend/auth/login", 
+                .requestMatchers("/api/auth/login", "/api/frontend/auth/login", "/api/auth/refresh",
                                "/api/health/**", "/api/test/**", "/index.html", "/map/**", "/css/**", "/js/**", "/images/**", "swagger-ui/**", "/v3/api-docs/**").permitAll()
+                // Actuator: health y scrape de Prometheus (el puerto de gestión escucha solo en local)
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
                 // Endpoints específicos del frontend
                 .requestMatchers("/api/frontend/auth/me").authenticated()
                 .requestMatchers("/api/frontend/auth/logout").authenticated()
-                .requestMatchers("/api/frontend/vehicles/**").hasAnyRole(ADMIN, USER)
+                .requestMatchers("/api/frontend/vehicles/**").access(RoleMaskAuthorizationManager.anyRole(ADMIN, USER))
                 // Endpoints originales de vehículos - requieren autenticación con roles específicos
-                .requestMatchers("/api/vehicles/**").hasAnyRole(ADMIN, USER)
+                .requestMatchers("/api/vehicles/**").access(RoleMaskAuthorizationManager.anyRole(ADMIN, USER))
                 // Endpoints que requieren roles específicos
-                .requestMatchers("/api/admin/**").hasRole(ADMIN)
-                .requestMatchers("/api/user/**").hasAnyRole(USER, ADMIN)
+                .requestMatchers("/api/admin/**").access(RoleMaskAuthorizationManager.anyRole(ADMIN))
+                .requestMatchers("/api/user/**").access(RoleMaskAuthorizationManager.anyRole(USER, ADMIN))
                 // Endpoint de logout requiere autenticación
                 .requestMatchers("/api/auth/logout", "/api/auth/status").authenticated()
                 // Todos los demás requieren autenticación
                 .anyRequest().authenticated()
-            )
-            .sessionManagement(session -> session
-                .maximumSessions(1) // Máximo una sesión por usuario
-                .maxSessionsPreventsLogin(false) // Permitir nueva sesión, expulsar la anterior
             );
 
+        AccessTokenService tokens = accessTokenService.getIfAvailable();
+        if (tokens != null && tokens.isEnabled()) {
+            // Modo sin sesión: cada petición se autentica con el token firmado
+            http
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new AccessTokenAuthenticationFilter(tokens), UsernamePasswordAuthenticationFilter.class);
+        } else {
+            http
+                .sessionManagement(session -> session
+                    .maximumSessions(1) // Máximo una sesión por usuario
+                    .maxSessionsPreventsLogin(false) // Permitir nueva sesión, expulsar la anterior
+                );
+        }
+
         return http.build();
     }
 }
\ No newline at end of file
@@ -16,6 +16,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -25,13 +26,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fleetguard360.monitoring_service.config.AccessTokenAuthenticationFilter;
 import com.fleetguard360.monitoring_service.dto.LoginRequest;
+import com.fleetguard360.monitoring_service.exception.LoginCapacityExceededException;
 import com.fleetguard360.monitoring_service.dto.LoginResponse;
 import com.fleetguard360.monitoring_service.dto.LogoutResponse;
+import com.fleetguard360.monitoring_service.dto.RefreshTokenRequest;
 import com.fleetguard360.monitoring_service.model.Role;
 import com.fleetguard360.monitoring_service.model.User;
+import com.fleetguard360.monitoring_service.service.AccessTokenService;
 import com.fleetguard360.monitoring_service.service.AuthenticationService;
+import com.fleetguard360.monitoring_service.service.CachedUserAccount;
 import com.fleetguard360.monitoring_service.service.CustomUserDetailsService;
+import com.fleetguard360.monitoring_service.util.ClientIpResolver;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
@@ -53,12 +60,19 @@ public class AuthController {
     private AuthenticationService authenticationService;
     
     private CustomUserDetailsService userDetailsService;
+    
+    private AccessTokenService accessTokenService;
+
+    private ClientIpResolver clientIpResolver;
 
 		@Autowired
-		public AuthController(AuthenticationManager authenticationManager, AuthenticationService authenticationService, CustomUserDetailsService userDetailsService) {
+		public AuthController(AuthenticationManager authenticationManager, AuthenticationService authenticationService, CustomUserDetailsService userDetailsService,
+				AccessTokenService accessTokenService, ClientIpResolver clientIpResolver) {
 			this.authenticationManager = authenticationManager;
 			this.authenticationService = authenticationService;
 			this.userDetailsService = userDetailsService;
+			this.accessTokenService = accessTokenService;
+			this.clientIpResolver = clientIpResolver;
 		}
     
     /**
@@ -90,14 +104,14 @@ public class AuthController {
 				String username = authenticationService.prepareUsername(loginRequest.getUsername(), "API");
         
         String password = loginRequest.getPassword();
-        String clientIp = getClientIpAddress(request);
+        String clientIp = clientIpResolver.resolve(request);
 				if (clientIp != null) {
 					clientIp = clientIp.replaceAll("[\n\r]", "_");
 				}
         
         try {
             // Verificar si la cuenta está bloqueada
-            if (authenticationService.isAccountLocked(username)) {
+            if (authenticationService.isAccountLocked(username, clientIp)) {
                 logger.warn("Intento de login en cuenta bloqueada: {} desde IP: {}", username, clientIp);
                 return ResponseEntity.status(HttpStatus.LOCKED)
                         .body(LoginResponse.failure("Cuenta bloqueada por múltiples intentos fallidos. Intente más tarde."));
@@ -111,10 +125,12 @@ public class AuthController {
             // Si la autenticación es exitosa, establecer el contexto de seguridad
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
-            // Crear sesión HTTP
-            HttpSession session = request.getSession(true);
-            session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, 
-                                SecurityContextHolder.getContext());
+            // Crear sesión HTTP (en modo sin sesión el cliente recibe tokens firmados)
+            if (!accessTokenService.isEnabled()) {
+                HttpSession session = request.getSession(true);
+                session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, 
+                                    SecurityContextHolder.getContext());
+            }
             
             // Resetear intentos fallidos
             authenticationService.resetFailedAttempts(username);
@@ -127,7 +143,11 @@ public class AuthController {
             
             logger.info("Login exitoso para usuario: {} desde IP: {}", username, clientIp);
             
-            return ResponseEntity.ok(LoginResponse.success(username, roles));
+            LoginResponse response = LoginResponse.success(username, roles);
+            if (accessTokenService.isEnabled()) {
+                applyTokens(response, accessTokenService.issue(username, authentication.getAuthorities()));
+            }
+            return ResponseEntity.ok(response);
             
         } catch (LockedException e) {
             logger.warn("Cuenta bloqueada durante autenticación: {} desde IP: {}", username, clientIp);
@@ -148,6 +168,12 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(LoginResponse.failure("Usuario o contraseña incorrectos"));
                     
+        } catch (LoginCapacityExceededException e) {
+            logger.warn("Verificación de contraseñas saturada, login rechazado: {} desde IP: {}", username, clientIp);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", "1")
+                    .body(LoginResponse.failure("Servicio de autenticación ocupado. Intente de nuevo en unos segundos."));
+                    
         } catch (AuthenticationException e) {
             logger.error("Error de autenticación para usuario: {} desde IP: {}, Error: {}", 
                         username, clientIp, e.getMessage());
@@ -157,22 +183,78 @@ public class AuthController {
         }
     }
     
+    /**
+     * Endpoint para renovar tokens en modo sin sesión
+     * POST /api/auth/refresh
+     * 
+     * El token de refresco es de un solo uso: se revoca y se emite un par nuevo con las
+     * autoridades actuales del usuario.
+     * 
+     * @param refreshRequest Token de refresco
+     * @param bindingResult Resultado de la validación
+     * @return ResponseEntity con LoginResponse y los nuevos tokens
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(
+            @Valid @RequestBody RefreshTokenRequest refreshRequest,
+            BindingResult bindingResult) {
+        
+        if (!accessTokenService.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(LoginResponse.failure("Autenticación por tokens deshabilitada"));
+        }
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest()
+                    .body(LoginResponse.failure("Token de refresco obligatorio"));
+        }
+        
+        AccessTokenService.VerifiedToken refreshToken = accessTokenService.verifyRefreshToken(refreshRequest.getRefreshToken());
+        if (refreshToken == null || !accessTokenService.revoke(refreshToken)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(LoginResponse.failure("Token de refresco inválido o expirado"));
+        }
+        
+        String username = refreshToken.getUsername();
+        CachedUserAccount account;
+        try {
+            account = userDetailsService.loadUserAccount(username);
+        } catch (UsernameNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(LoginResponse.failure("Token de refresco inválido o expirado"));
+        }
+        if (!account.isEnabled() || authenticationService.isUserLocked(username)) {
+            logger.warn("Refresco de token rechazado para cuenta bloqueada o deshabilitada: {}", username);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(LoginResponse.failure("Cuenta bloqueada o deshabilitada"));
+        }
+        
+        LoginResponse response = LoginResponse.success(username, account.getRoleNames());
+        applyTokens(response, accessTokenService.issue(username, account.getAuthorities()));
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Endpoint para cerrar sesión
      * POST /api/auth/logout
      * 
+     * @param refreshRequest Token de refresco a revocar (opcional, modo sin sesión)
      * @param request HTTP request
      * @return ResponseEntity con LogoutResponse
      */
     @PostMapping("/logout")
-    public ResponseEntity<LogoutResponse> logout(HttpServletRequest request) {
+    public ResponseEntity<LogoutResponse> logout(
+            @RequestBody(required = false) RefreshTokenRequest refreshRequest,
+            HttpServletRequest request) {
         
         String username = getCurrentUsername();
-        String clientIp = getClientIpAddress(request);
+        String clientIp = clientIpResolver.resolve(request);
         
         logger.info("Logout solicitado por usuario: {} desde IP: {}", username, clientIp);
         
         try {
+            // Revocar los tokens presentados (modo sin sesión)
+            revokeTokens(request, refreshRequest);
+            
             // Invalidar la sesión HTTP
             HttpSession session = request.getSession(false);
             if (session != null) {
@@ -222,6 +304,23 @@ public class AuthController {
                 .body(LoginResponse.failure("Usuario no autenticado"));
     }
     
+    private void applyTokens(LoginResponse response, AccessTokenService.TokenPair tokens) {
+        response.setAccessToken(tokens.getAccessToken());
+        response.setRefreshToken(tokens.getRefreshToken());
+        response.setTokenType("Bearer");
+        response.setExpiresIn(tokens.getExpiresIn());
+    }
+    
+    private void revokeTokens(HttpServletRequest request, RefreshTokenRequest refreshRequest) {
+        if (!accessTokenService.isEnabled()) {
+            return;
+        }
+        Object accessToken = request.getAttribute(AccessTokenAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE);
+        accessTokenService.logout(
+                accessToken instanceof AccessTokenService.VerifiedToken verified ? verified : null,
+                refreshRequest != null ? refreshRequest.getRefreshToken() : null);
+    }
+    
     /**
      * Obtiene el nombre de usuario actual del contexto de seguridad
      * 
@@ -233,24 +332,4 @@ public class AuthController {
                 ? authentication.getName() 
                 : "anonymous";
     }
-    
-    /**
-     * Obtiene la dirección IP del cliente desde el HTTP request
-     * 
-     * @param request HTTP request
-     * @return dirección IP del cliente
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-        
-        return request.getRemoteAddr();
-    }
 }
@@ -1,10 +1,15 @@
 package com.fleetguard360.monitoring_service.controller;
 
+import com.fleetguard360.monitoring_service.config.AccessTokenAuthenticationFilter;
 import com.fleetguard360.monitoring_service.dto.LoginRequest;
+import com.fleetguard360.monitoring_service.dto.RefreshTokenRequest;
+import com.fleetguard360.monitoring_service.exception.LoginCapacityExceededException;
 import com.fleetguard360.monitoring_service.dto.UserResponseFrontend;
 import com.fleetguard360.monitoring_service.model.User;
+import com.fleetguard360.monitoring_service.service.AccessTokenService;
 import com.fleetguard360.monitoring_service.service.AuthenticationService;
 import com.fleetguard360.monitoring_service.service.CustomUserDetailsService;
+import com.fleetguard360.monitoring_service.util.ClientIpResolver;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
@@ -50,12 +55,19 @@ public class AuthFrontendController {
     private AuthenticationService authenticationService;
     
     private CustomUserDetailsService userDetailsService;
+    
+    private AccessTokenService accessTokenService;
+
+    private ClientIpResolver clientIpResolver;
 
 		@Autowired
-		public AuthFrontendController ( AuthenticationManager authenticationManager, AuthenticationService authenticationService, CustomUserDetailsService userDetailsService) {
+		public AuthFrontendController ( AuthenticationManager authenticationManager, AuthenticationService authenticationService, CustomUserDetailsService userDetailsService,
+				AccessTokenService accessTokenService, ClientIpResolver clientIpResolver) {
 			this.authenticationManager = authenticationManager;
 			this.authenticationService = authenticationService;
 			this.userDetailsService = userDetailsService;
+			this.accessTokenService = accessTokenService;
+			this.clientIpResolver = clientIpResolver;
 		}
     
     /**
@@ -87,11 +99,11 @@ public class AuthFrontendController {
 				String username = authenticationService.prepareUsername(loginRequest.getUsername(), "API");
         
         String password = loginRequest.getPassword();
-        String clientIp = getClientIpAddress(request);
+        String clientIp = clientIpResolver.resolve(request);
         
         try {
             // Verificar si la cuenta está bloqueada
-            if (authenticationService.isAccountLocked(username)) {
+            if (authenticationService.isAccountLocked(username, clientIp)) {
                 logger.warn("Frontend - Intento de login en cuenta bloqueada: {} desde IP: {}", username, clientIp);
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(
                     ERROR_STRING, "ACCOUNT_LOCKED",
@@ -107,10 +119,12 @@ public class AuthFrontendController {
             // Si la autenticación es exitosa, establecer el contexto de seguridad
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
-            // Crear sesión HTTP
-            HttpSession session = request.getSession(true);
-            session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, 
-                                SecurityContextHolder.getContext());
+            // Crear sesión HTTP (en modo sin sesión el cliente recibe tokens firmados)
+            if (!accessTokenService.isEnabled()) {
+                HttpSession session = request.getSession(true);
+                session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, 
+                                    SecurityContextHolder.getContext());
+            }
             
             // Resetear intentos fallidos
             authenticationService.resetFailedAttempts(username);
@@ -118,6 +132,13 @@ public class AuthFrontendController {
             // Obtener información del usuario autenticado
             User user = userDetailsService.loadUserEntityByUsername(username);
             UserResponseFrontend userResponse = UserResponseFrontend.from(user);
+            if (accessTokenService.isEnabled()) {
+                AccessTokenService.TokenPair tokens = accessTokenService.issue(username, authentication.getAuthorities());
+                userResponse.setAccessToken(tokens.getAccessToken());
+                userResponse.setRefreshToken(tokens.getRefreshToken());
+                userResponse.setTokenType("Bearer");
+                userResponse.setExpiresIn(tokens.getExpiresIn());
+            }
             
             logger.info("Frontend - Login exitoso para usuario: {} desde IP: {}", username, clientIp);
             
@@ -148,6 +169,15 @@ public class AuthFrontendController {
                 MESSAGE, "Usuario o contraseña incorrectos"
             ));
                     
+        } catch (LoginCapacityExceededException e) {
+            logger.warn("Frontend - Verificación de contraseñas saturada, login rechazado: {} desde IP: {}", username, clientIp);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", "1")
+                    .body(Map.of(
+                        ERROR_STRING, "TOO_MANY_REQUESTS",
+                        MESSAGE, "Servicio de autenticación ocupado. Intente de nuevo en unos segundos."
+                    ));
+                    
         } catch (AuthenticationException e) {
             logger.error("Frontend - Error de autenticación para usuario: {} desde IP: {}, Error: {}", 
                         username, clientIp, e.getMessage());
@@ -162,15 +192,27 @@ public class AuthFrontendController {
     /**
      * Endpoint para cerrar sesión compatible con el frontend
      * POST /api/frontend/auth/logout
+     * 
+     * Espera (opcional, modo sin sesión): { "refreshToken": "..." }
      */
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(HttpServletRequest request) {
+    public ResponseEntity<?> logout(
+            @RequestBody(required = false) RefreshTokenRequest refreshRequest,
+            HttpServletRequest request) {
         String username = SecurityContextHolder.getContext().getAuthentication() != null ? 
                 SecurityContextHolder.getContext().getAuthentication().getName() : "usuario desconocido";
         
         logger.info("Frontend - Logout para usuario: {}", username);
         
         try {
+            // Revocar los tokens presentados y los de refresco del usuario (modo sin sesión)
+            if (accessTokenService.isEnabled()) {
+                Object accessToken = request.getAttribute(AccessTokenAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE);
+                accessTokenService.logout(
+                        accessToken instanceof AccessTokenService.VerifiedToken verified ? verified : null,
+                        refreshRequest != null ? refreshRequest.getRefreshToken() : null);
+            }
+            
             // Invalidar la sesión HTTP
             HttpSession session = request.getSession(false);
             if (session != null) {
@@ -228,16 +270,4 @@ public class AuthFrontendController {
             ));
         }
     }
-    
-    /**
-     * Obtiene la dirección IP del cliente
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedForHeader = request.getHeader("X-Forwarded-For");
-        if (xForwardedForHeader == null) {
-            return request.getRemoteAddr();
-        } else {
-            return xForwardedForHeader.split(",")[0].trim();
-        }
-    }
 }
@@ -0,0 +1,97 @@
+package com.fleetguard360.monitoring_service.controller;
+
+import com.fleetguard360.monitoring_service.dto.HourlyFailureCount;
+import com.fleetguard360.monitoring_service.dto.IpActivitySummary;
+import com.fleetguard360.monitoring_service.dto.LoginAttemptResponse;
+import com.fleetguard360.monitoring_service.dto.UserFailureSummary;
+import com.fleetguard360.monitoring_service.service.LoginHistoryAnalyticsService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Controlador REST de análisis del historial de login (revisiones de seguridad)
+ *
+ * Los rangos se indican en ISO-8601 (from incluido, to excluido); por defecto las últimas 24 horas.
+ */
+@RestController
+@RequestMapping("/api/admin/login-history")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@PreAuthorize("hasRole('ADMIN')")
+public class LoginHistoryController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginHistoryController.class);
+
+    private LoginHistoryAnalyticsService analyticsService;
+
+		@Autowired
+		public LoginHistoryController(LoginHistoryAnalyticsService analyticsService) {
+			this.analyticsService = analyticsService;
+		}
+
+    /**
+     * Intentos de login de un usuario
+     * GET /api/admin/login-history/users/{username}?from={iso}&to={iso}&limit={n}
+     */
+    @GetMapping("/users/{username}")
+    public ResponseEntity<List<LoginAttemptResponse>> getUserAttempts(
+            @PathVariable String username,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int limit) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        logger.debug("Historial de login solicitado para usuario: {}", username);
+        return ResponseEntity.ok(analyticsService.findAttempts(username, start(from, end), end, limit));
+    }
+
+    /**
+     * Intentos fallidos por hora
+     * GET /api/admin/login-history/failures-per-hour?from={iso}&to={iso}
+     */
+    @GetMapping("/failures-per-hour")
+    public ResponseEntity<List<HourlyFailureCount>> getFailuresPerHour(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        return ResponseEntity.ok(analyticsService.failuresPerHour(start(from, end), end));
+    }
+
+    /**
+     * IPs de origen con más fallos
+     * GET /api/admin/login-history/top-ips?from={iso}&to={iso}&limit={n}
+     */
+    @GetMapping("/top-ips")
+    public ResponseEntity<List<IpActivitySummary>> getTopSourceIps(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "20") int limit) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        return ResponseEntity.ok(analyticsService.topSourceIps(start(from, end), end, limit));
+    }
+
+    /**
+     * Usuarios con fallos repetidos
+     * GET /api/admin/login-history/repeated-failures?from={iso}&to={iso}&minFailures={n}&limit={n}
+     */
+    @GetMapping("/repeated-failures")
+    public ResponseEntity<List<UserFailureSummary>> getRepeatedFailures(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "5") int minFailures,
+            @RequestParam(defaultValue = "50") int limit) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        return ResponseEntity.ok(analyticsService.repeatedFailures(start(from, end), end, minFailures, limit));
+    }
+
+    private static LocalDateTime start(LocalDateTime from, LocalDateTime end) {
+        return from != null ? from : end.minusHours(24);
+    }
+}
@@ -0,0 +1,35 @@
+package com.fleetguard360.monitoring_service.controller;
+
+import com.fleetguard360.monitoring_service.dto.LoginThreatReport;
+import com.fleetguard360.monitoring_service.service.CredentialStuffingDetector;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST con el estado en vivo del detector de credential stuffing
+ */
+@RestController
+@RequestMapping("/api/admin/login-threats")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@PreAuthorize("hasRole('ADMIN')")
+public class LoginThreatController {
+
+    private CredentialStuffingDetector detector;
+
+		@Autowired
+		public LoginThreatController(CredentialStuffingDetector detector) {
+			this.detector = detector;
+		}
+
+    /**
+     * IPs y usuarios con más fallos en las últimas ventanas
+     * GET /api/admin/login-threats?limit={n}
+     */
+    @GetMapping
+    public ResponseEntity<LoginThreatReport> getThreats(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(detector.report(limit));
+    }
+}
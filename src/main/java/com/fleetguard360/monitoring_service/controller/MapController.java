@@ -1,7 +1,7 @@
 package com.fleetguard360.monitoring_service.controller;
 
-import com.fleetguard360.monitoring_service.model.Vehicle;
-import com.fleetguard360.monitoring_service.repository.VehicleRepository;
+import com.fleetguard360.monitoring_service.dto.VehicleResponse;
+import com.fleetguard360.monitoring_service.service.VehicleService;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,10 +11,10 @@ import java.util.List;
 @RequestMapping("/map")
 public class MapController {
 
-    private final VehicleRepository vehicleRepository;
+    private final VehicleService vehicleService;
 
-    public MapController(VehicleRepository vehicleRepository) {
-        this.vehicleRepository = vehicleRepository;
+    public MapController(VehicleService vehicleService) {
+        this.vehicleService = vehicleService;
     }
 
     // Página HTML del mapa
@@ -26,7 +26,7 @@ public class MapController {
     // Endpoint para obtener ubicaciones
     @GetMapping("/vehicles")
     @ResponseBody
-    public List<Vehicle> getAllVehicles() {
-        return vehicleRepository.findAll();
+    public List<VehicleResponse> getAllVehicles() {
+        return vehicleService.getMapVehicles();
     }
 }
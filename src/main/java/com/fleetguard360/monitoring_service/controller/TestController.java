@@ -4,6 +4,7 @@ import com.fleetguard360.monitoring_service.model.User;
 import com.fleetguard360.monitoring_service.model.Role;
 import com.fleetguard360.monitoring_service.repository.UserRepository;
 import com.fleetguard360.monitoring_service.repository.RoleRepository;
+import com.fleetguard360.monitoring_service.service.UserAccountCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.http.ResponseEntity;
@@ -30,11 +31,15 @@ public class TestController {
     
     private PasswordEncoder passwordEncoder;
 
+    private UserAccountCache userAccountCache;
+
 		@Autowired
-		public TestController ( UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder) {
+		public TestController ( UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,
+				UserAccountCache userAccountCache) {
 			this.userRepository = userRepository;
 			this.roleRepository = roleRepository;
 			this.passwordEncoder = passwordEncoder;
+			this.userAccountCache = userAccountCache;
 		}
 
     @GetMapping("/users")
@@ -129,6 +134,7 @@ public class TestController {
             user.setEnabled(true);
             
             userRepository.save(user);
+            userAccountCache.invalidate(username);
             
             return ResponseEntity.ok(Map.of(
                 MESSAGE, "Contraseña actualizada exitosamente",
@@ -165,6 +171,7 @@ public class TestController {
             }
             
             userRepository.save(user);
+            userAccountCache.invalidate(username);
         }
     }
 }
\ No newline at end of file
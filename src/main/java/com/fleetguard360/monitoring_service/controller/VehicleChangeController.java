@@ -0,0 +1,57 @@
+package com.fleetguard360.monitoring_service.controller;
+
+import com.fleetguard360.monitoring_service.dto.VehicleChangeFeedResponse;
+import com.fleetguard360.monitoring_service.service.VehicleChangeFeed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Controlador REST del feed de cambios de vehículos
+ * Permite a los consumidores (mapa, tableros, integraciones) recibir los cambios sin sondear la tabla de vehículos
+ */
+@RestController
+@RequestMapping("/api/vehicles/changes")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class VehicleChangeController {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleChangeController.class);
+
+    private static final int MAX_LIMIT = 500;
+
+    private static final long MAX_TIMEOUT_MS = 60000;
+
+    private VehicleChangeFeed changeFeed;
+
+		@Autowired
+		public VehicleChangeController(VehicleChangeFeed changeFeed) {
+			this.changeFeed = changeFeed;
+		}
+
+    /**
+     * Long-poll de cambios posteriores a una secuencia
+     * GET /api/vehicles/changes?after={sequence}&limit={n}&timeoutMs={ms}
+     * 
+     * Responde de inmediato si hay cambios; si no, espera hasta timeoutMs.
+     * El cliente debe usar lastSequence de la respuesta como siguiente "after".
+     * Con resyncRequired=true sus cambios pendientes ya se purgaron: debe recargar los
+     * vehículos completos y seguir desde lastSequence.
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public DeferredResult<VehicleChangeFeedResponse> getChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "25000") long timeoutMs) {
+        logger.debug("Solicitud de cambios de vehículos después de la secuencia {}", after);
+
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        long boundedTimeout = Math.max(0, Math.min(timeoutMs, MAX_TIMEOUT_MS));
+
+        return changeFeed.poll(Math.max(0, after), boundedLimit, boundedTimeout);
+    }
+}
@@ -2,6 +2,8 @@ package com.fleetguard360.monitoring_service.controller;
 
 import com.fleetguard360.monitoring_service.dto.CreateVehicleRequest;
 import com.fleetguard360.monitoring_service.dto.UpdateVehicleRequest;
+import com.fleetguard360.monitoring_service.dto.VehicleBatchRequest;
+import com.fleetguard360.monitoring_service.dto.VehicleBatchResponse;
 import com.fleetguard360.monitoring_service.dto.VehicleResponse;
 import com.fleetguard360.monitoring_service.model.VehicleStatus;
 import com.fleetguard360.monitoring_service.service.VehicleService;
@@ -117,6 +119,41 @@ public class VehicleController {
         return ResponseEntity.ok(vehicle);
     }
 
+    /**
+     * Obtiene varios vehículos por ID en una sola petición
+     * POST /api/vehicles/batch
+     * 
+     * Los resultados se devuelven en el orden de la petición; los IDs inexistentes
+     * aparecen con found=false y en la lista "missing".
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<?> getVehiclesByIds(
+            @Valid @RequestBody VehicleBatchRequest request,
+            BindingResult bindingResult) {
+
+        // Validar errores de entrada
+        if (bindingResult.hasErrors()) {
+            String errorMessage = bindingResult.getAllErrors().stream()
+                    .map(error -> error.getDefaultMessage())
+                    .collect(Collectors.joining(", "));
+
+            logger.warn("Errores de validación en consulta por lote: {}", errorMessage);
+            return ResponseEntity.badRequest().body(new ErrorResponse(
+                "VALIDATION_ERROR",
+                "Datos de entrada inválidos: " + errorMessage
+            ));
+        }
+
+        logger.debug("Solicitud para obtener {} vehículos por lote", request.getIds().size());
+
+        VehicleBatchResponse response = vehicleService.getVehiclesByIds(request.getIds());
+
+        logger.debug("Lote resuelto: {} encontrados, {} faltantes",
+                    response.getFound(), response.getMissing().size());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Busca vehículo por placa
      * GET /api/vehicles/by-plate/{licensePlate}
@@ -0,0 +1,43 @@
+package com.fleetguard360.monitoring_service.controller;
+
+import com.fleetguard360.monitoring_service.dto.VehicleHistoryResponse;
+import com.fleetguard360.monitoring_service.service.VehicleAuditService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST del historial de cambios de vehículos
+ */
+@RestController
+@RequestMapping("/api/vehicles")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class VehicleHistoryController {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleHistoryController.class);
+
+    private VehicleAuditService auditService;
+
+		@Autowired
+		public VehicleHistoryController(VehicleAuditService auditService) {
+			this.auditService = auditService;
+		}
+
+    /**
+     * Historial paginado de cambios por campo de un vehículo
+     * GET /api/vehicles/{id}/history?page={n}&size={n}
+     */
+    @GetMapping("/{id}/history")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<VehicleHistoryResponse> getHistory(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        logger.debug("Solicitud de historial del vehículo ID: {}", id);
+        return ResponseEntity.ok(auditService.getHistory(id, page, size));
+    }
+}
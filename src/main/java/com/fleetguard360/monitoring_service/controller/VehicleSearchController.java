@@ -0,0 +1,71 @@
+package com.fleetguard360.monitoring_service.controller;
+
+import com.fleetguard360.monitoring_service.controller.VehicleController.ErrorResponse;
+import com.fleetguard360.monitoring_service.dto.VehicleFacetsResponse;
+import com.fleetguard360.monitoring_service.dto.VehicleSearchRequest;
+import com.fleetguard360.monitoring_service.dto.VehicleSearchResponse;
+import com.fleetguard360.monitoring_service.service.VehicleService;
+
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.stream.Collectors;
+
+/**
+ * Controlador REST de búsqueda multi-criterio de vehículos
+ */
+@RestController
+@RequestMapping("/api/vehicles/search")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class VehicleSearchController {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleSearchController.class);
+
+    private VehicleService vehicleService;
+
+		@Autowired
+		public VehicleSearchController(VehicleService vehicleService) {
+			this.vehicleService = vehicleService;
+		}
+
+    /**
+     * Busca vehículos combinando filtros
+     * GET /api/vehicles/search?status=AVAILABLE,IN_USE&fuelType=DIESEL&brand=Toyota&yearFrom=2018&yearTo=2022&capacityMin=10&capacityMax=30&page=0&size=50
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<?> searchVehicles(@Valid @ModelAttribute VehicleSearchRequest request, BindingResult bindingResult) {
+        // Validar errores de entrada
+        if (bindingResult.hasErrors()) {
+            String errorMessage = bindingResult.getAllErrors().stream()
+                    .map(error -> error.getDefaultMessage())
+                    .collect(Collectors.joining(", "));
+
+            logger.warn("Errores de validación en búsqueda de vehículos: {}", errorMessage);
+            return ResponseEntity.badRequest().body(new ErrorResponse(
+                "VALIDATION_ERROR",
+                errorMessage
+            ));
+        }
+
+        logger.debug("Búsqueda de vehículos: página {}, tamaño {}", request.getPage(), request.getSize());
+        return ResponseEntity.ok(vehicleService.searchVehicles(request));
+    }
+
+    /**
+     * Conteos por estado, combustible, marca y año bajo los mismos filtros de la búsqueda
+     * GET /api/vehicles/search/facets?status=AVAILABLE&brand=Toyota
+     */
+    @GetMapping("/facets")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<VehicleFacetsResponse> getFacets(@ModelAttribute VehicleSearchRequest request) {
+        logger.debug("Solicitud de facetas de búsqueda de vehículos");
+        return ResponseEntity.ok(vehicleService.getVehicleFacets(request));
+    }
+}
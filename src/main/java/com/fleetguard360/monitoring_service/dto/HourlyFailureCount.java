@@ -0,0 +1,26 @@
+package com.fleetguard360.monitoring_service.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con los intentos de login fallidos de una hora
+ */
+public class HourlyFailureCount {
+
+    private LocalDateTime hour;
+    private long failures;
+
+    // Constructors
+    public HourlyFailureCount() {}
+
+    public HourlyFailureCount(LocalDateTime hour, long failures) {
+        this.hour = hour;
+        this.failures = failures;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getHour() { return hour; }
+    public void setHour(LocalDateTime hour) { this.hour = hour; }
+    public long getFailures() { return failures; }
+    public void setFailures(long failures) { this.failures = failures; }
+}
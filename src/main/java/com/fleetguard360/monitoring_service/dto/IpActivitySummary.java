@@ -0,0 +1,32 @@
+package com.fleetguard360.monitoring_service.dto;
+
+/**
+ * DTO con la actividad de login de una IP de origen
+ */
+public class IpActivitySummary {
+
+    private String ipAddress;
+    private long attempts;
+    private long failures;
+    private long distinctUsernames;
+
+    // Constructors
+    public IpActivitySummary() {}
+
+    public IpActivitySummary(String ipAddress, long attempts, long failures, long distinctUsernames) {
+        this.ipAddress = ipAddress;
+        this.attempts = attempts;
+        this.failures = failures;
+        this.distinctUsernames = distinctUsernames;
+    }
+
+    // Getters and Setters
+    public String getIpAddress() { return ipAddress; }
+    public void setIpAddress(String ipAddress) { this.ipAddress = ipAddress; }
+    public long getAttempts() { return attempts; }
+    public void setAttempts(long attempts) { this.attempts = attempts; }
+    public long getFailures() { return failures; }
+    public void setFailures(long failures) { this.failures = failures; }
+    public long getDistinctUsernames() { return distinctUsernames; }
+    public void setDistinctUsernames(long distinctUsernames) { this.distinctUsernames = distinctUsernames; }
+}
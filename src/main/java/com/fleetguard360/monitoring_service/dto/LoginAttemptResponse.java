@@ -0,0 +1,38 @@
+package com.fleetguard360.monitoring_service.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de un intento de login del historial
+ */
+public class LoginAttemptResponse {
+
+    private Long userId;
+    private String username;
+    private String ipAddress;
+    private LocalDateTime loginTime;
+    private boolean success;
+
+    // Constructors
+    public LoginAttemptResponse() {}
+
+    public LoginAttemptResponse(Long userId, String username, String ipAddress, LocalDateTime loginTime, boolean success) {
+        this.userId = userId;
+        this.username = username;
+        this.ipAddress = ipAddress;
+        this.loginTime = loginTime;
+        this.success = success;
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    public String getIpAddress() { return ipAddress; }
+    public void setIpAddress(String ipAddress) { this.ipAddress = ipAddress; }
+    public LocalDateTime getLoginTime() { return loginTime; }
+    public void setLoginTime(LocalDateTime loginTime) { this.loginTime = loginTime; }
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+}
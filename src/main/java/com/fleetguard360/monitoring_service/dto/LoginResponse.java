@@ -1,5 +1,7 @@
 package com.fleetguard360.monitoring_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDateTime;
 import java.util.Set;
 
@@ -13,6 +15,16 @@ public class LoginResponse {
     private Set<String> roles;
     private LocalDateTime loginTime;
     private String status;
+
+    // Solo en modo sin sesión (app.security.token.enabled)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String accessToken;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String refreshToken;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String tokenType;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long expiresIn;
     
     // Constructors
     public LoginResponse() {}
@@ -79,6 +91,39 @@ public class LoginResponse {
         this.status = status;
     }
     
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+    
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    public String getTokenType() {
+        return tokenType;
+    }
+    
+    public void setTokenType(String tokenType) {
+        this.tokenType = tokenType;
+    }
+    
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+    
+    public void setExpiresIn(Long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+    
     @Override
     public String toString() {
         return "LoginResponse{" +
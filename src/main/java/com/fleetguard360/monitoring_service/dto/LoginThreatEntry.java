@@ -0,0 +1,36 @@
+package com.fleetguard360.monitoring_service.dto;
+
+/**
+ * DTO con una IP o un usuario del top de fallos de login en memoria
+ */
+public class LoginThreatEntry {
+
+    private String key;
+    private long failures;
+    private long errorBound;
+    private long distinct;
+    private boolean suspicious;
+
+    // Constructors
+    public LoginThreatEntry() {}
+
+    public LoginThreatEntry(String key, long failures, long errorBound, long distinct, boolean suspicious) {
+        this.key = key;
+        this.failures = failures;
+        this.errorBound = errorBound;
+        this.distinct = distinct;
+        this.suspicious = suspicious;
+    }
+
+    // Getters and Setters
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+    public long getFailures() { return failures; }
+    public void setFailures(long failures) { this.failures = failures; }
+    public long getErrorBound() { return errorBound; }
+    public void setErrorBound(long errorBound) { this.errorBound = errorBound; }
+    public long getDistinct() { return distinct; }
+    public void setDistinct(long distinct) { this.distinct = distinct; }
+    public boolean isSuspicious() { return suspicious; }
+    public void setSuspicious(boolean suspicious) { this.suspicious = suspicious; }
+}
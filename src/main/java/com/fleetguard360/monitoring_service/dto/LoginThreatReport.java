@@ -0,0 +1,32 @@
+package com.fleetguard360.monitoring_service.dto;
+
+import java.util.List;
+
+/**
+ * DTO con el estado del detector de credential stuffing
+ *
+ * En topIps "distinct" son usuarios distintos probados; en topUsernames, IPs distintas.
+ */
+public class LoginThreatReport {
+
+    private long windowSeconds;
+    private long attempts;
+    private long failures;
+    private List<LoginThreatEntry> topIps;
+    private List<LoginThreatEntry> topUsernames;
+
+    // Constructors
+    public LoginThreatReport() {}
+
+    // Getters and Setters
+    public long getWindowSeconds() { return windowSeconds; }
+    public void setWindowSeconds(long windowSeconds) { this.windowSeconds = windowSeconds; }
+    public long getAttempts() { return attempts; }
+    public void setAttempts(long attempts) { this.attempts = attempts; }
+    public long getFailures() { return failures; }
+    public void setFailures(long failures) { this.failures = failures; }
+    public List<LoginThreatEntry> getTopIps() { return topIps; }
+    public void setTopIps(List<LoginThreatEntry> topIps) { this.topIps = topIps; }
+    public List<LoginThreatEntry> getTopUsernames() { return topUsernames; }
+    public void setTopUsernames(List<LoginThreatEntry> topUsernames) { this.topUsernames = topUsernames; }
+}
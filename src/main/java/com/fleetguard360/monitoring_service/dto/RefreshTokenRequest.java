@@ -0,0 +1,28 @@
+package com.fleetguard360.monitoring_service.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO para la petición de refresco de token (modo sin sesión)
+ */
+public class RefreshTokenRequest {
+    
+    @NotBlank(message = "El token de refresco es obligatorio")
+    private String refreshToken;
+    
+    // Constructors
+    public RefreshTokenRequest() {}
+    
+    public RefreshTokenRequest(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
+    // Getters and Setters
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
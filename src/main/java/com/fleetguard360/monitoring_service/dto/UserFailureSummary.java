@@ -0,0 +1,34 @@
+package com.fleetguard360.monitoring_service.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con los fallos de login repetidos de un usuario
+ */
+public class UserFailureSummary {
+
+    private String username;
+    private long failures;
+    private long distinctIps;
+    private LocalDateTime lastFailure;
+
+    // Constructors
+    public UserFailureSummary() {}
+
+    public UserFailureSummary(String username, long failures, long distinctIps, LocalDateTime lastFailure) {
+        this.username = username;
+        this.failures = failures;
+        this.distinctIps = distinctIps;
+        this.lastFailure = lastFailure;
+    }
+
+    // Getters and Setters
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    public long getFailures() { return failures; }
+    public void setFailures(long failures) { this.failures = failures; }
+    public long getDistinctIps() { return distinctIps; }
+    public void setDistinctIps(long distinctIps) { this.distinctIps = distinctIps; }
+    public LocalDateTime getLastFailure() { return lastFailure; }
+    public void setLastFailure(LocalDateTime lastFailure) { this.lastFailure = lastFailure; }
+}
@@ -1,5 +1,6 @@
 package com.fleetguard360.monitoring_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fleetguard360.monitoring_service.model.User;
 
 /**
@@ -12,6 +13,16 @@ public class UserResponseFrontend {
     private String role;
     private String name;
 
+    // Solo en modo sin sesión (app.security.token.enabled)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String accessToken;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String refreshToken;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String tokenType;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long expiresIn;
+
     // Constructor vacío
     public UserResponseFrontend() {}
 
@@ -87,6 +98,39 @@ public class UserResponseFrontend {
         this.name = name;
     }
 
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public void setTokenType(String tokenType) {
+        this.tokenType = tokenType;
+    }
+
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(Long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+
     @Override
     public String toString() {
         return "UserResponseFrontend{" +
@@ -0,0 +1,50 @@
+package com.fleetguard360.monitoring_service.dto;
+
+import com.fleetguard360.monitoring_service.event.VehicleChangeType;
+import com.fleetguard360.monitoring_service.model.VehicleAuditEntry;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para un cambio de campo en el historial de un vehículo
+ */
+public class VehicleAuditEntryResponse {
+
+    private VehicleChangeType changeType;
+    private String field;
+    private String oldValue;
+    private String newValue;
+    private String changedBy;
+    private LocalDateTime changedAt;
+
+    // Constructors
+    public VehicleAuditEntryResponse() {}
+
+    public VehicleAuditEntryResponse(VehicleAuditEntry entry) {
+        this.changeType = entry.getChangeType();
+        this.field = entry.getFieldName();
+        this.oldValue = entry.getOldValue();
+        this.newValue = entry.getNewValue();
+        this.changedBy = entry.getChangedBy();
+        this.changedAt = entry.getChangedAt();
+    }
+
+    // Static factory method
+    public static VehicleAuditEntryResponse from(VehicleAuditEntry entry) {
+        return new VehicleAuditEntryResponse(entry);
+    }
+
+    // Getters and Setters
+    public VehicleChangeType getChangeType() { return changeType; }
+    public void setChangeType(VehicleChangeType changeType) { this.changeType = changeType; }
+    public String getField() { return field; }
+    public void setField(String field) { this.field = field; }
+    public String getOldValue() { return oldValue; }
+    public void setOldValue(String oldValue) { this.oldValue = oldValue; }
+    public String getNewValue() { return newValue; }
+    public void setNewValue(String newValue) { this.newValue = newValue; }
+    public String getChangedBy() { return changedBy; }
+    public void setChangedBy(String changedBy) { this.changedBy = changedBy; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+}
@@ -0,0 +1,35 @@
+package com.fleetguard360.monitoring_service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO para consultar varios vehículos por ID en una sola petición
+ */
+public class VehicleBatchRequest {
+
+    public static final int MAX_IDS = 5000;
+
+    @NotEmpty(message = "La lista de IDs es obligatoria")
+    @Size(max = MAX_IDS, message = "No se pueden consultar más de " + MAX_IDS + " vehículos por petición")
+    private List<@NotNull(message = "Los IDs no pueden ser nulos") Long> ids;
+
+    // Constructors
+    public VehicleBatchRequest() {}
+
+    public VehicleBatchRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
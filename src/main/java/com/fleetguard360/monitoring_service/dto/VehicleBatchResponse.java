@@ -0,0 +1,74 @@
+package com.fleetguard360.monitoring_service.dto;
+
+import java.util.List;
+
+/**
+ * DTO para la respuesta de consulta de vehículos por lote.
+ * Los resultados conservan el orden de la petición e indican explícitamente los IDs no encontrados.
+ */
+public class VehicleBatchResponse {
+
+    private List<Item> results;
+    private List<Long> missing;
+    private int found;
+
+    // Constructors
+    public VehicleBatchResponse() {}
+
+    public VehicleBatchResponse(List<Item> results, List<Long> missing) {
+        this.results = results;
+        this.missing = missing;
+        this.found = (int) results.stream().filter(Item::isFound).count();
+    }
+
+    // Getters and Setters
+    public List<Item> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Item> results) {
+        this.results = results;
+    }
+
+    public List<Long> getMissing() {
+        return missing;
+    }
+
+    public void setMissing(List<Long> missing) {
+        this.missing = missing;
+    }
+
+    public int getFound() {
+        return found;
+    }
+
+    public void setFound(int found) {
+        this.found = found;
+    }
+
+    /**
+     * Resultado para un ID de la petición
+     */
+    public static class Item {
+        private Long id;
+        private boolean found;
+        private VehicleResponse vehicle;
+
+        public Item() {}
+
+        public Item(Long id, VehicleResponse vehicle) {
+            this.id = id;
+            this.found = vehicle != null;
+            this.vehicle = vehicle;
+        }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public boolean isFound() { return found; }
+        public void setFound(boolean found) { this.found = found; }
+
+        public VehicleResponse getVehicle() { return vehicle; }
+        public void setVehicle(VehicleResponse vehicle) { this.vehicle = vehicle; }
+    }
+}
@@ -0,0 +1,58 @@
+package com.fleetguard360.monitoring_service.dto;
+
+import java.util.List;
+
+/**
+ * DTO para la respuesta del feed de cambios de vehículos.
+ * El cliente debe enviar lastSequence como parámetro "after" en la siguiente consulta.
+ * Si resyncRequired es true, los cambios posteriores a "after" ya se purgaron del outbox:
+ * el cliente debe recargar el estado completo y continuar desde lastSequence.
+ */
+public class VehicleChangeFeedResponse {
+
+    private List<VehicleChangeNotification> changes;
+    private long lastSequence;
+    private boolean resyncRequired;
+
+    // Constructors
+    public VehicleChangeFeedResponse() {}
+
+    public VehicleChangeFeedResponse(List<VehicleChangeNotification> changes, long lastSequence) {
+        this.changes = changes;
+        this.lastSequence = lastSequence;
+    }
+
+    /**
+     * Respuesta sin cambios que indica al cliente que su secuencia ya no está en el outbox
+     */
+    public static VehicleChangeFeedResponse resync(long lastSequence) {
+        VehicleChangeFeedResponse response = new VehicleChangeFeedResponse(List.of(), lastSequence);
+        response.setResyncRequired(true);
+        return response;
+    }
+
+    // Getters and Setters
+    public List<VehicleChangeNotification> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<VehicleChangeNotification> changes) {
+        this.changes = changes;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
+    public boolean isResyncRequired() {
+        return resyncRequired;
+    }
+
+    public void setResyncRequired(boolean resyncRequired) {
+        this.resyncRequired = resyncRequired;
+    }
+}
@@ -0,0 +1,80 @@
+package com.fleetguard360.monitoring_service.dto;
+
+import com.fleetguard360.monitoring_service.event.VehicleChangeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notificación de cambio de vehículo publicada por el relay del outbox.
+ * La secuencia es estrictamente creciente y define el orden del feed.
+ */
+public class VehicleChangeNotification {
+
+    private long sequence;
+    private VehicleChangeType type;
+    private Long vehicleId;
+    private LocalDateTime occurredAt;
+    private VehicleResponse vehicle;
+
+    // Constructors
+    public VehicleChangeNotification() {}
+
+    public VehicleChangeNotification(long sequence, VehicleChangeType type, Long vehicleId,
+                                     LocalDateTime occurredAt, VehicleResponse vehicle) {
+        this.sequence = sequence;
+        this.type = type;
+        this.vehicleId = vehicleId;
+        this.occurredAt = occurredAt;
+        this.vehicle = vehicle;
+    }
+
+    // Getters and Setters
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public VehicleChangeType getType() {
+        return type;
+    }
+
+    public void setType(VehicleChangeType type) {
+        this.type = type;
+    }
+
+    public Long getVehicleId() {
+        return vehicleId;
+    }
+
+    public void setVehicleId(Long vehicleId) {
+        this.vehicleId = vehicleId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public VehicleResponse getVehicle() {
+        return vehicle;
+    }
+
+    public void setVehicle(VehicleResponse vehicle) {
+        this.vehicle = vehicle;
+    }
+
+    @Override
+    public String toString() {
+        return "VehicleChangeNotification{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", vehicleId=" + vehicleId +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package com.fleetguard360.monitoring_service.dto;
+
+import java.util.Map;
+
+/**
+ * DTO para los conteos por faceta de una búsqueda de vehículos
+ * Las claves de status y fuelType son los nombres de los enums
+ */
+public class VehicleFacetsResponse {
+
+    private long total;
+    private Map<String, Integer> status;
+    private Map<String, Integer> fuelType;
+    private Map<String, Integer> brand;
+    private Map<Integer, Integer> year;
+
+    // Constructors
+    public VehicleFacetsResponse() {}
+
+    public VehicleFacetsResponse(long total, Map<String, Integer> status, Map<String, Integer> fuelType,
+                                 Map<String, Integer> brand, Map<Integer, Integer> year) {
+        this.total = total;
+        this.status = status;
+        this.fuelType = fuelType;
+        this.brand = brand;
+        this.year = year;
+    }
+
+    // Getters and Setters
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+    public Map<String, Integer> getStatus() { return status; }
+    public void setStatus(Map<String, Integer> status) { this.status = status; }
+    public Map<String, Integer> getFuelType() { return fuelType; }
+    public void setFuelType(Map<String, Integer> fuelType) { this.fuelType = fuelType; }
+    public Map<String, Integer> getBrand() { return brand; }
+    public void setBrand(Map<String, Integer> brand) { this.brand = brand; }
+    public Map<Integer, Integer> getYear() { return year; }
+    public void setYear(Map<Integer, Integer> year) { this.year = year; }
+}
@@ -0,0 +1,43 @@
+package com.fleetguard360.monitoring_service.dto;
+
+import java.util.List;
+
+/**
+ * DTO para una página del historial de cambios de un vehículo
+ */
+public class VehicleHistoryResponse {
+
+    private Long vehicleId;
+    private List<VehicleAuditEntryResponse> entries;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+
+    // Constructors
+    public VehicleHistoryResponse() {}
+
+    public VehicleHistoryResponse(Long vehicleId, List<VehicleAuditEntryResponse> entries, int page, int size,
+                                  long totalElements, int totalPages) {
+        this.vehicleId = vehicleId;
+        this.entries = entries;
+        this.page = page;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+    }
+
+    // Getters and Setters
+    public Long getVehicleId() { return vehicleId; }
+    public void setVehicleId(Long vehicleId) { this.vehicleId = vehicleId; }
+    public List<VehicleAuditEntryResponse> getEntries() { return entries; }
+    public void setEntries(List<VehicleAuditEntryResponse> entries) { this.entries = entries; }
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    public long getTotalElements() { return totalElements; }
+    public void setTotalElements(long totalElements) { this.totalElements = totalElements; }
+    public int getTotalPages() { return totalPages; }
+    public void setTotalPages(int totalPages) { this.totalPages = totalPages; }
+}
@@ -28,6 +28,8 @@ public class VehicleResponse {
     private LocalDateTime updatedAt;
     private String createdBy;
     private String updatedBy;
+    private Double latitude;
+    private Double longitude;
 
     // Constructors
     public VehicleResponse() {}
@@ -50,6 +52,8 @@ public class VehicleResponse {
         this.updatedAt = vehicle.getUpdatedAt();
         this.createdBy = vehicle.getCreatedBy();
         this.updatedBy = vehicle.getUpdatedBy();
+        this.latitude = vehicle.getLatitude();
+        this.longitude = vehicle.getLongitude();
     }
 
     // Static factory method
@@ -194,6 +198,22 @@ public class VehicleResponse {
         this.updatedBy = updatedBy;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     @Override
     public String toString() {
         return "VehicleResponse{" +
@@ -0,0 +1,57 @@
+package com.fleetguard360.monitoring_service.dto;
+
+import com.fleetguard360.monitoring_service.model.FuelType;
+import com.fleetguard360.monitoring_service.model.VehicleStatus;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+import java.util.List;
+
+/**
+ * DTO para los parámetros de búsqueda de vehículos
+ * Los valores de un mismo parámetro se combinan con OR (ej: status=AVAILABLE,IN_USE);
+ * los distintos parámetros, con AND
+ */
+public class VehicleSearchRequest {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // page * size debe caber en un int (ver VehicleService.searchVehicles)
+    public static final int MAX_PAGE = 1_000_000;
+
+    private List<VehicleStatus> status;
+    private List<FuelType> fuelType;
+    private List<String> brand;
+    private Integer yearFrom;
+    private Integer yearTo;
+    private Integer capacityMin;
+    private Integer capacityMax;
+
+    @Min(value = 0, message = "La página no puede ser negativa")
+    @Max(value = MAX_PAGE, message = "La página no puede exceder " + MAX_PAGE)
+    private int page = 0;
+
+    @Min(value = 1, message = "El tamaño de página debe ser mayor a 0")
+    @Max(value = MAX_PAGE_SIZE, message = "El tamaño de página no puede exceder " + MAX_PAGE_SIZE)
+    private int size = 50;
+
+    // Getters and Setters
+    public List<VehicleStatus> getStatus() { return status; }
+    public void setStatus(List<VehicleStatus> status) { this.status = status; }
+    public List<FuelType> getFuelType() { return fuelType; }
+    public void setFuelType(List<FuelType> fuelType) { this.fuelType = fuelType; }
+    public List<String> getBrand() { return brand; }
+    public void setBrand(List<String> brand) { this.brand = brand; }
+    public Integer getYearFrom() { return yearFrom; }
+    public void setYearFrom(Integer yearFrom) { this.yearFrom = yearFrom; }
+    public Integer getYearTo() { return yearTo; }
+    public void setYearTo(Integer yearTo) { this.yearTo = yearTo; }
+    public Integer getCapacityMin() { return capacityMin; }
+    public void setCapacityMin(Integer capacityMin) { this.capacityMin = capacityMin; }
+    public Integer getCapacityMax() { return capacityMax; }
+    public void setCapacityMax(Integer capacityMax) { this.capacityMax = capacityMax; }
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+}
@@ -0,0 +1,38 @@
+package com.fleetguard360.monitoring_service.dto;
+
+import java.util.List;
+
+/**
+ * DTO para una página de resultados de búsqueda de vehículos
+ */
+public class VehicleSearchResponse {
+
+    private List<VehicleResponse> vehicles;
+    private long total;
+    private int page;
+    private int size;
+    private int totalPages;
+
+    // Constructors
+    public VehicleSearchResponse() {}
+
+    public VehicleSearchResponse(List<VehicleResponse> vehicles, long total, int page, int size) {
+        this.vehicles = vehicles;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+        this.totalPages = (int) ((total + size - 1) / size);
+    }
+
+    // Getters and Setters
+    public List<VehicleResponse> getVehicles() { return vehicles; }
+    public void setVehicles(List<VehicleResponse> vehicles) { this.vehicles = vehicles; }
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    public int getTotalPages() { return totalPages; }
+    public void setTotalPages(int totalPages) { this.totalPages = totalPages; }
+}
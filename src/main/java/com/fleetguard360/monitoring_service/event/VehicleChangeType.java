@@ -0,0 +1,12 @@
+package com.fleetguard360.monitoring_service.event;
+
+/**
+ * Tipos de cambio que puede sufrir un vehículo de la flota
+ */
+public enum VehicleChangeType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    DELETED,
+    PURGED
+}
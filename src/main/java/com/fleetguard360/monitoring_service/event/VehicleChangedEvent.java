@@ -0,0 +1,66 @@
+package com.fleetguard360.monitoring_service.event;
+
+import com.fleetguard360.monitoring_service.dto.VehicleResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado por VehicleService cada vez que un vehículo cambia.
+ * Los listeners transaccionales lo reciben después del commit.
+ */
+public class VehicleChangedEvent {
+
+    private final VehicleChangeType type;
+    private final VehicleResponse previous;
+    private final VehicleResponse vehicle;
+    private final String changedBy;
+    private final LocalDateTime changedAt;
+
+    public VehicleChangedEvent(VehicleChangeType type, VehicleResponse previous, VehicleResponse vehicle,
+                               String changedBy) {
+        this.type = type;
+        this.previous = previous;
+        this.vehicle = vehicle;
+        this.changedBy = changedBy;
+        this.changedAt = LocalDateTime.now();
+    }
+
+    public VehicleChangeType getType() {
+        return type;
+    }
+
+    /**
+     * Estado del vehículo antes del cambio (null en CREATED)
+     */
+    public VehicleResponse getPrevious() {
+        return previous;
+    }
+
+    /**
+     * Estado del vehículo después del cambio (último estado conocido en caso de PURGED)
+     */
+    public VehicleResponse getVehicle() {
+        return vehicle;
+    }
+
+    public Long getVehicleId() {
+        return vehicle.getId();
+    }
+
+    public String getChangedBy() {
+        return changedBy;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "VehicleChangedEvent{" +
+                "type=" + type +
+                ", vehicleId=" + vehicle.getId() +
+                ", changedBy='" + changedBy + '\'' +
+                '}';
+    }
+}
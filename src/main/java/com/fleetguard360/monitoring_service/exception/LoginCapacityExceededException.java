@@ -0,0 +1,12 @@
+package com.fleetguard360.monitoring_service.exception;
+
+/**
+ * Excepción lanzada cuando la verificación de contraseñas está saturada
+ * y el intento de login se rechaza sin calcular el hash
+ */
+public class LoginCapacityExceededException extends RuntimeException {
+    
+    public LoginCapacityExceededException(String message) {
+        super(message);
+    }
+}
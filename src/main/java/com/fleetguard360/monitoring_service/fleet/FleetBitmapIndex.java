@@ -0,0 +1,322 @@
+package com.fleetguard360.monitoring_service.fleet;
+
+import com.fleetguard360.monitoring_service.model.FuelType;
+import com.fleetguard360.monitoring_service.model.VehicleStatus;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Índices de bitmap inmutables sobre los atributos filtrables de la flota:
+ * estado, combustible, rango de capacidad, año y marca.
+ *
+ * Cada valor de atributo tiene el IdBitmap de los vehículos que lo tienen; un filtro
+ * multi-criterio se resuelve con uniones dentro de cada atributo e intersecciones entre
+ * ellos. Se mantiene de forma incremental: un cambio solo reemplaza los bitmaps de los
+ * valores que el vehículo deja y de los que adquiere.
+ */
+public final class FleetBitmapIndex {
+
+    /**
+     * Ancho de los rangos de capacidad indexados (1-9, 10-19, 20-29, ...)
+     */
+    public static final int CAPACITY_BUCKET_WIDTH = 10;
+
+    private static final int STATUS_COUNT = VehicleStatus.values().length;
+
+    private static final int FUEL_TYPE_COUNT = FuelType.values().length;
+
+    static final FleetBitmapIndex EMPTY = new FleetBitmapIndex(IdBitmap.EMPTY, filled(STATUS_COUNT),
+            filled(FUEL_TYPE_COUNT), Collections.emptyNavigableMap(), Collections.emptyNavigableMap(), Map.of());
+
+    private final IdBitmap all;
+    private final IdBitmap[] byStatus;
+    private final IdBitmap[] byFuelType;
+    private final NavigableMap<Integer, IdBitmap> byCapacityBucket;
+    private final NavigableMap<Integer, IdBitmap> byYear;
+    private final Map<String, IdBitmap> byBrand;
+
+    private FleetBitmapIndex(IdBitmap all, IdBitmap[] byStatus, IdBitmap[] byFuelType,
+                             NavigableMap<Integer, IdBitmap> byCapacityBucket,
+                             NavigableMap<Integer, IdBitmap> byYear, Map<String, IdBitmap> byBrand) {
+        this.all = all;
+        this.byStatus = byStatus;
+        this.byFuelType = byFuelType;
+        this.byCapacityBucket = byCapacityBucket;
+        this.byYear = byYear;
+        this.byBrand = byBrand;
+    }
+
+    /**
+     * Construye todos los índices recorriendo el almacén una vez
+     */
+    static FleetBitmapIndex build(FleetColumnStore store) {
+        IdBitmap.Builder all = new IdBitmap.Builder();
+        IdBitmap.Builder[] status = builders(STATUS_COUNT);
+        IdBitmap.Builder[] fuel = builders(FUEL_TYPE_COUNT);
+        Map<Integer, IdBitmap.Builder> capacity = new HashMap<>();
+        Map<Integer, IdBitmap.Builder> year = new HashMap<>();
+        Map<String, IdBitmap.Builder> brand = new HashMap<>();
+
+        for (int row = 0; row < store.size(); row++) {
+            long id = store.id(row);
+            all.add(id);
+            Attributes attributes = Attributes.of(store, row);
+            if (attributes.status != FleetColumnStore.NULL_BYTE) {
+                status[attributes.status].add(id);
+            }
+            if (attributes.fuelType != FleetColumnStore.NULL_BYTE) {
+                fuel[attributes.fuelType].add(id);
+            }
+            if (attributes.capacity != FleetColumnStore.NULL_INT) {
+                capacity.computeIfAbsent(bucketOf(attributes.capacity), key -> new IdBitmap.Builder()).add(id);
+            }
+            if (attributes.year != FleetColumnStore.NULL_INT) {
+                year.computeIfAbsent(attributes.year, key -> new IdBitmap.Builder()).add(id);
+            }
+            if (attributes.brand != null) {
+                brand.computeIfAbsent(attributes.brand, key -> new IdBitmap.Builder()).add(id);
+            }
+        }
+
+        return new FleetBitmapIndex(all.build(), built(status), built(fuel),
+                Collections.unmodifiableNavigableMap(builtMap(capacity, new TreeMap<>())),
+                Collections.unmodifiableNavigableMap(builtMap(year, new TreeMap<>())),
+                Collections.unmodifiableMap(builtMap(brand, new HashMap<>())));
+    }
+
+    /**
+     * Refleja el cambio de una fila: before/beforeRow es el estado previo (fila -1 si no existía),
+     * after/afterRow el nuevo (fila -1 si se eliminó)
+     */
+    FleetBitmapIndex update(long id, FleetColumnStore before, int beforeRow, FleetColumnStore after, int afterRow) {
+        Attributes old = beforeRow >= 0 ? Attributes.of(before, beforeRow) : Attributes.NONE;
+        Attributes now = afterRow >= 0 ? Attributes.of(after, afterRow) : Attributes.NONE;
+
+        IdBitmap nextAll = afterRow >= 0 ? all.add(id) : all.remove(id);
+
+        IdBitmap[] nextStatus = byStatus;
+        if (old.status != now.status) {
+            nextStatus = byStatus.clone();
+            move(nextStatus, old.status, now.status, id);
+        }
+
+        IdBitmap[] nextFuel = byFuelType;
+        if (old.fuelType != now.fuelType) {
+            nextFuel = byFuelType.clone();
+            move(nextFuel, old.fuelType, now.fuelType, id);
+        }
+
+        NavigableMap<Integer, IdBitmap> nextCapacity = byCapacityBucket;
+        int oldBucket = old.capacity != FleetColumnStore.NULL_INT ? bucketOf(old.capacity) : FleetColumnStore.NULL_INT;
+        int newBucket = now.capacity != FleetColumnStore.NULL_INT ? bucketOf(now.capacity) : FleetColumnStore.NULL_INT;
+        if (oldBucket != newBucket) {
+            TreeMap<Integer, IdBitmap> copy = new TreeMap<>(byCapacityBucket);
+            move(copy, oldBucket, newBucket, FleetColumnStore.NULL_INT, id);
+            nextCapacity = Collections.unmodifiableNavigableMap(copy);
+        }
+
+        NavigableMap<Integer, IdBitmap> nextYear = byYear;
+        if (old.year != now.year) {
+            TreeMap<Integer, IdBitmap> copy = new TreeMap<>(byYear);
+            move(copy, old.year, now.year, FleetColumnStore.NULL_INT, id);
+            nextYear = Collections.unmodifiableNavigableMap(copy);
+        }
+
+        Map<String, IdBitmap> nextBrand = byBrand;
+        if (!Objects.equals(old.brand, now.brand)) {
+            HashMap<String, IdBitmap> copy = new HashMap<>(byBrand);
+            move(copy, old.brand, now.brand, null, id);
+            nextBrand = Collections.unmodifiableMap(copy);
+        }
+
+        return new FleetBitmapIndex(nextAll, nextStatus, nextFuel, nextCapacity, nextYear, nextBrand);
+    }
+
+    /**
+     * Resuelve el filtro como bitmap de IDs. Los rangos de capacidad que cubren parcialmente
+     * un bucket se refinan contra la columna de capacidad del almacén.
+     */
+    public IdBitmap filter(FleetFilter filter, FleetColumnStore store) {
+        IdBitmap result = all;
+
+        if (!filter.getStatuses().isEmpty()) {
+            IdBitmap matches = IdBitmap.EMPTY;
+            for (VehicleStatus status : filter.getStatuses()) {
+                matches = matches.or(byStatus[status.ordinal()]);
+            }
+            result = result.and(matches);
+        }
+
+        if (!filter.getFuelTypes().isEmpty()) {
+            IdBitmap matches = IdBitmap.EMPTY;
+            for (FuelType fuelType : filter.getFuelTypes()) {
+                matches = matches.or(byFuelType[fuelType.ordinal()]);
+            }
+            result = result.and(matches);
+        }
+
+        if (!filter.getBrands().isEmpty()) {
+            IdBitmap matches = IdBitmap.EMPTY;
+            for (Map.Entry<String, IdBitmap> entry : byBrand.entrySet()) {
+                if (filter.getBrands().stream().anyMatch(brand -> brand.equalsIgnoreCase(entry.getKey()))) {
+                    matches = matches.or(entry.getValue());
+                }
+            }
+            result = result.and(matches);
+        }
+
+        if (filter.hasYearRange()) {
+            int from = filter.getYearFrom() != null ? filter.getYearFrom() : Integer.MIN_VALUE + 1;
+            int to = filter.getYearTo() != null ? filter.getYearTo() : Integer.MAX_VALUE;
+            IdBitmap matches = IdBitmap.EMPTY;
+            if (from <= to) {
+                for (IdBitmap bitmap : byYear.subMap(from, true, to, true).values()) {
+                    matches = matches.or(bitmap);
+                }
+            }
+            result = result.and(matches);
+        }
+
+        if (filter.hasCapacityRange()) {
+            result = result.and(capacityMatches(filter, store));
+        }
+
+        return result;
+    }
+
+    public IdBitmap getAll() {
+        return all;
+    }
+
+    public IdBitmap getByStatus(VehicleStatus status) {
+        return byStatus[status.ordinal()];
+    }
+
+    public IdBitmap getByFuelType(FuelType fuelType) {
+        return byFuelType[fuelType.ordinal()];
+    }
+
+    public NavigableMap<Integer, IdBitmap> getByYear() {
+        return byYear;
+    }
+
+    public Map<String, IdBitmap> getByBrand() {
+        return byBrand;
+    }
+
+    static int bucketOf(int capacity) {
+        return Math.floorDiv(capacity, CAPACITY_BUCKET_WIDTH);
+    }
+
+    private IdBitmap capacityMatches(FleetFilter filter, FleetColumnStore store) {
+        int min = filter.getCapacityMin() != null ? filter.getCapacityMin() : Integer.MIN_VALUE + 1;
+        int max = filter.getCapacityMax() != null ? filter.getCapacityMax() : Integer.MAX_VALUE - 1;
+        if (min > max) {
+            return IdBitmap.EMPTY;
+        }
+
+        IdBitmap matches = IdBitmap.EMPTY;
+        for (Map.Entry<Integer, IdBitmap> entry : byCapacityBucket.subMap(bucketOf(min), true, bucketOf(max), true).entrySet()) {
+            int bucketMin = entry.getKey() * CAPACITY_BUCKET_WIDTH;
+            int bucketMax = bucketMin + CAPACITY_BUCKET_WIDTH - 1;
+            if (bucketMin >= min && bucketMax <= max) {
+                matches = matches.or(entry.getValue());
+            } else {
+                // Bucket de borde: comprobar la capacidad exacta de cada vehículo
+                IdBitmap.Builder partial = new IdBitmap.Builder();
+                entry.getValue().forEach(id -> {
+                    int capacity = store.capacity(store.rowOf(id));
+                    if (capacity >= min && capacity <= max) {
+                        partial.add(id);
+                    }
+                });
+                matches = matches.or(partial.build());
+            }
+        }
+        return matches;
+    }
+
+    private static void move(IdBitmap[] bitmaps, byte from, byte to, long id) {
+        if (from != FleetColumnStore.NULL_BYTE) {
+            bitmaps[from] = bitmaps[from].remove(id);
+        }
+        if (to != FleetColumnStore.NULL_BYTE) {
+            bitmaps[to] = bitmaps[to].add(id);
+        }
+    }
+
+    private static <K> void move(Map<K, IdBitmap> bitmaps, K from, K to, K none, long id) {
+        if (!Objects.equals(from, none)) {
+            IdBitmap remaining = bitmaps.getOrDefault(from, IdBitmap.EMPTY).remove(id);
+            if (remaining.isEmpty()) {
+                bitmaps.remove(from);
+            } else {
+                bitmaps.put(from, remaining);
+            }
+        }
+        if (!Objects.equals(to, none)) {
+            bitmaps.put(to, bitmaps.getOrDefault(to, IdBitmap.EMPTY).add(id));
+        }
+    }
+
+    private static IdBitmap[] filled(int size) {
+        IdBitmap[] bitmaps = new IdBitmap[size];
+        Arrays.fill(bitmaps, IdBitmap.EMPTY);
+        return bitmaps;
+    }
+
+    private static IdBitmap.Builder[] builders(int size) {
+        IdBitmap.Builder[] builders = new IdBitmap.Builder[size];
+        for (int i = 0; i < size; i++) {
+            builders[i] = new IdBitmap.Builder();
+        }
+        return builders;
+    }
+
+    private static IdBitmap[] built(IdBitmap.Builder[] builders) {
+        IdBitmap[] bitmaps = new IdBitmap[builders.length];
+        for (int i = 0; i < builders.length; i++) {
+            bitmaps[i] = builders[i].build();
+        }
+        return bitmaps;
+    }
+
+    private static <K, M extends Map<K, IdBitmap>> M builtMap(Map<K, IdBitmap.Builder> builders, M target) {
+        builders.forEach((key, builder) -> target.put(key, builder.build()));
+        return target;
+    }
+
+    /**
+     * Valores indexados de una fila
+     */
+    private static final class Attributes {
+
+        static final Attributes NONE = new Attributes(FleetColumnStore.NULL_BYTE, FleetColumnStore.NULL_BYTE,
+                FleetColumnStore.NULL_INT, FleetColumnStore.NULL_INT, null);
+
+        final byte status;
+        final byte fuelType;
+        final int capacity;
+        final int year;
+        final String brand;
+
+        private Attributes(byte status, byte fuelType, int capacity, int year, String brand) {
+            this.status = status;
+            this.fuelType = fuelType;
+            this.capacity = capacity;
+            this.year = year;
+            this.brand = brand;
+        }
+
+        static Attributes of(FleetColumnStore store, int row) {
+            return new Attributes(store.statusOrdinal(row), store.fuelTypeOrdinal(row),
+                    store.capacity(row), store.year(row), store.brand(row));
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package com.fleetguard360.monitoring_service.fleet;
+
+import com.fleetguard360.monitoring_service.dto.VehicleResponse;
+import com.fleetguard360.monitoring_service.model.FuelType;
+import com.fleetguard360.monitoring_service.model.VehicleStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Almacén columnar e inmutable de la flota.
+ *
+ * Cada vehículo ocupa una fila; las columnas son arreglos primitivos agrupados en bloques
+ * de CHUNK_SIZE filas. Los enums se guardan como byte (ordinal), las cadenas repetidas
+ * (marca, modelo, color, usuario) como códigos de diccionario, las fechas como microsegundos
+ * UTC y los números sin boxing, con centinelas para null. El índice id → fila es un mapa de
+ * direccionamiento abierto con claves long.
+ *
+ * Las modificaciones devuelven un almacén nuevo que copia solo los bloques tocados.
+ */
+public final class FleetColumnStore {
+
+    public static final int NULL_INT = Integer.MIN_VALUE;
+
+    public static final byte NULL_BYTE = -1;
+
+    public static final long NULL_TIME = Long.MIN_VALUE;
+
+    static final int CHUNK_BITS = 10;
+
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final VehicleStatus[] STATUSES = VehicleStatus.values();
+
+    private static final FuelType[] FUEL_TYPES = FuelType.values();
+
+    private final Chunk[] chunks;
+
+    private final int size;
+
+    private final LongIntIndex index;
+
+    private final Dictionaries dictionaries;
+
+    private FleetColumnStore(Chunk[] chunks, int size, LongIntIndex index, Dictionaries dictionaries) {
+        this.chunks = chunks;
+        this.size = size;
+        this.index = index;
+        this.dictionaries = dictionaries;
+    }
+
+    static FleetColumnStore empty() {
+        return new FleetColumnStore(new Chunk[0], 0, LongIntIndex.EMPTY, new Dictionaries());
+    }
+
+    /**
+     * Carga masiva con diccionarios nuevos
+     */
+    public static FleetColumnStore of(Collection<VehicleResponse> vehicles) {
+        Dictionaries dictionaries = new Dictionaries();
+        int count = vehicles.size();
+        Chunk[] chunks = new Chunk[(count + CHUNK_MASK) >>> CHUNK_BITS];
+        long[] ids = new long[count];
+        int[] rows = new int[count];
+
+        int row = 0;
+        for (VehicleResponse vehicle : vehicles) {
+            Chunk chunk = chunks[row >>> CHUNK_BITS];
+            if (chunk == null) {
+                chunk = new Chunk();
+                chunks[row >>> CHUNK_BITS] = chunk;
+            }
+            chunk.write(row & CHUNK_MASK, vehicle, dictionaries);
+            ids[row] = vehicle.getId();
+            rows[row] = row;
+            row++;
+        }
+        return new FleetColumnStore(chunks, count, LongIntIndex.of(ids, rows, count), dictionaries);
+    }
+
+    /**
+     * Inserta o reemplaza un vehículo
+     */
+    public FleetColumnStore upsert(VehicleResponse vehicle) {
+        long id = vehicle.getId();
+        int row = index.get(id);
+
+        if (row != LongIntIndex.MISSING) {
+            Chunk[] next = chunks.clone();
+            Chunk chunk = chunks[row >>> CHUNK_BITS].copy();
+            chunk.write(row & CHUNK_MASK, vehicle, dictionaries);
+            next[row >>> CHUNK_BITS] = chunk;
+            return new FleetColumnStore(next, size, index, dictionaries);
+        }
+
+        row = size;
+        int c = row >>> CHUNK_BITS;
+        Chunk[] next = c < chunks.length ? chunks.clone() : Arrays.copyOf(chunks, c + 1);
+        Chunk chunk = c < chunks.length ? chunks[c].copy() : new Chunk();
+        chunk.write(row & CHUNK_MASK, vehicle, dictionaries);
+        next[c] = chunk;
+        return new FleetColumnStore(next, size + 1, index.with(id, row), dictionaries);
+    }
+
+    /**
+     * Elimina un vehículo moviendo la última fila al hueco
+     */
+    public FleetColumnStore remove(long id) {
+        int row = index.get(id);
+        if (row == LongIntIndex.MISSING) {
+            return this;
+        }
+
+        int last = size - 1;
+        int remainingChunks = (last + CHUNK_MASK) >>> CHUNK_BITS;
+        Chunk[] next = chunks.clone();
+        LongIntIndex nextIndex = index.without(id);
+
+        if (row != last) {
+            Chunk source = chunks[last >>> CHUNK_BITS];
+            Chunk target = chunks[row >>> CHUNK_BITS].copy();
+            target.copyRow(source, last & CHUNK_MASK, row & CHUNK_MASK);
+            next[row >>> CHUNK_BITS] = target;
+            nextIndex = nextIndex.with(source.ids[last & CHUNK_MASK], row);
+        }
+        return new FleetColumnStore(Arrays.copyOf(next, remainingChunks), last, nextIndex, dictionaries);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Fila del vehículo, o -1 si no existe
+     */
+    public int rowOf(long id) {
+        return index.get(id);
+    }
+
+    public long id(int row) {
+        return chunk(row).ids[row & CHUNK_MASK];
+    }
+
+    public String licensePlate(int row) {
+        return chunk(row).licensePlates[row & CHUNK_MASK];
+    }
+
+    /**
+     * Ordinal de VehicleStatus, o NULL_BYTE
+     */
+    public byte statusOrdinal(int row) {
+        return chunk(row).statuses[row & CHUNK_MASK];
+    }
+
+    public VehicleStatus status(int row) {
+        byte ordinal = statusOrdinal(row);
+        return ordinal == NULL_BYTE ? null : STATUSES[ordinal];
+    }
+
+    /**
+     * Ordinal de FuelType, o NULL_BYTE
+     */
+    public byte fuelTypeOrdinal(int row) {
+        return chunk(row).fuelTypes[row & CHUNK_MASK];
+    }
+
+    public FuelType fuelType(int row) {
+        byte ordinal = fuelTypeOrdinal(row);
+        return ordinal == NULL_BYTE ? null : FUEL_TYPES[ordinal];
+    }
+
+    /**
+     * Año, o NULL_INT
+     */
+    public int year(int row) {
+        return chunk(row).years[row & CHUNK_MASK];
+    }
+
+    /**
+     * Capacidad, o NULL_INT
+     */
+    public int capacity(int row) {
+        return chunk(row).capacities[row & CHUNK_MASK];
+    }
+
+    /**
+     * Código de diccionario de la marca, o StringDictionary.NULL_CODE
+     */
+    public int brandCode(int row) {
+        return chunk(row).brands[row & CHUNK_MASK];
+    }
+
+    public String brand(int row) {
+        return dictionaries.brands.decode(brandCode(row));
+    }
+
+    /**
+     * Decodifica un código de marca
+     */
+    public String decodeBrand(int code) {
+        return dictionaries.brands.decode(code);
+    }
+
+    /**
+     * Número de códigos de marca asignados (los códigos van de 0 a este valor - 1)
+     */
+    public int brandCodeCount() {
+        return dictionaries.brands.size();
+    }
+
+    /**
+     * Código de una marca ya conocida, o StringDictionary.NULL_CODE
+     */
+    public int lookupBrand(String brand) {
+        return dictionaries.brands.lookup(brand);
+    }
+
+    /**
+     * Última modificación en microsegundos UTC, o NULL_TIME
+     */
+    public long updatedAtMicros(int row) {
+        return chunk(row).updatedAt[row & CHUNK_MASK];
+    }
+
+    /**
+     * Reconstruye el DTO de una fila
+     */
+    public VehicleResponse toResponse(int row) {
+        Chunk chunk = chunk(row);
+        int offset = row & CHUNK_MASK;
+
+        VehicleResponse vehicle = new VehicleResponse();
+        vehicle.setId(chunk.ids[offset]);
+        vehicle.setLicensePlate(chunk.licensePlates[offset]);
+        vehicle.setModel(dictionaries.models.decode(chunk.models[offset]));
+        vehicle.setBrand(dictionaries.brands.decode(chunk.brands[offset]));
+        vehicle.setYear(toInteger(chunk.years[offset]));
+        vehicle.setCapacity(toInteger(chunk.capacities[offset]));
+        VehicleStatus status = status(row);
+        vehicle.setStatus(status);
+        vehicle.setStatusDisplayName(status != null ? status.getDisplayName() : null);
+        FuelType fuelType = fuelType(row);
+        vehicle.setFuelType(fuelType);
+        vehicle.setFuelTypeDisplayName(fuelType != null ? fuelType.getDisplayName() : null);
+        vehicle.setMileage(toInteger(chunk.mileages[offset]));
+        vehicle.setColor(dictionaries.colors.decode(chunk.colors[offset]));
+        vehicle.setNotes(chunk.notes[offset]);
+        vehicle.setCreatedAt(decodeTime(chunk.createdAt[offset]));
+        vehicle.setUpdatedAt(decodeTime(chunk.updatedAt[offset]));
+        vehicle.setCreatedBy(dictionaries.users.decode(chunk.createdBy[offset]));
+        vehicle.setUpdatedBy(dictionaries.users.decode(chunk.updatedBy[offset]));
+        vehicle.setLatitude(toDouble(chunk.latitudes[offset]));
+        vehicle.setLongitude(toDouble(chunk.longitudes[offset]));
+        return vehicle;
+    }
+
+    static long encodeTime(LocalDateTime time) {
+        if (time == null) {
+            return NULL_TIME;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime decodeTime(long micros) {
+        if (micros == NULL_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private Chunk chunk(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Fila fuera de rango: " + row);
+        }
+        return chunks[row >>> CHUNK_BITS];
+    }
+
+    private static Integer toInteger(int value) {
+        return value == NULL_INT ? null : value;
+    }
+
+    private static Double toDouble(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    /**
+     * Diccionarios compartidos por todas las versiones del almacén
+     */
+    private static final class Dictionaries {
+        final StringDictionary models = new StringDictionary();
+        final StringDictionary brands = new StringDictionary();
+        final StringDictionary colors = new StringDictionary();
+        final StringDictionary users = new StringDictionary();
+    }
+
+    /**
+     * Bloque de CHUNK_SIZE filas; no se modifica una vez publicado
+     */
+    private static final class Chunk {
+
+        final long[] ids;
+        final String[] licensePlates;
+        final int[] models;
+        final int[] brands;
+        final int[] years;
+        final int[] capacities;
+        final byte[] statuses;
+        final byte[] fuelTypes;
+        final int[] mileages;
+        final int[] colors;
+        final String[] notes;
+        final long[] createdAt;
+        final long[] updatedAt;
+        final int[] createdBy;
+        final int[] updatedBy;
+        final double[] latitudes;
+        final double[] longitudes;
+
+        Chunk() {
+            this(new long[CHUNK_SIZE], new String[CHUNK_SIZE], new int[CHUNK_SIZE], new int[CHUNK_SIZE],
+                    new int[CHUNK_SIZE], new int[CHUNK_SIZE], new byte[CHUNK_SIZE], new byte[CHUNK_SIZE],
+                    new int[CHUNK_SIZE], new int[CHUNK_SIZE], new String[CHUNK_SIZE], new long[CHUNK_SIZE],
+                    new long[CHUNK_SIZE], new int[CHUNK_SIZE], new int[CHUNK_SIZE], new double[CHUNK_SIZE],
+                    new double[CHUNK_SIZE]);
+        }
+
+        private Chunk(long[] ids, String[] licensePlates, int[] models, int[] brands, int[] years,
+                      int[] capacities, byte[] statuses, byte[] fuelTypes, int[] mileages, int[] colors,
+                      String[] notes, long[] createdAt, long[] updatedAt, int[] createdBy, int[] updatedBy,
+                      double[] latitudes, double[] longitudes) {
+            this.ids = ids;
+            this.licensePlates = licensePlates;
+            this.models = models;
+            this.brands = brands;
+            this.years = years;
+            this.capacities = capacities;
+            this.statuses = statuses;
+            this.fuelTypes = fuelTypes;
+            this.mileages = mileages;
+            this.colors = colors;
+            this.notes = notes;
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+            this.createdBy = createdBy;
+            this.updatedBy = updatedBy;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+        }
+
+        Chunk copy() {
+            return new Chunk(ids.clone(), licensePlates.clone(), models.clone(), brands.clone(), years.clone(),
+                    capacities.clone(), statuses.clone(), fuelTypes.clone(), mileages.clone(), colors.clone(),
+                    notes.clone(), createdAt.clone(), updatedAt.clone(), createdBy.clone(), updatedBy.clone(),
+                    latitudes.clone(), longitudes.clone());
+        }
+
+        void write(int offset, VehicleResponse vehicle, Dictionaries dictionaries) {
+            ids[offset] = vehicle.getId();
+            licensePlates[offset] = vehicle.getLicensePlate();
+            models[offset] = dictionaries.models.encode(vehicle.getModel());
+            brands[offset] = dictionaries.brands.encode(vehicle.getBrand());
+            years[offset] = vehicle.getYear() != null ? vehicle.getYear() : NULL_INT;
+            capacities[offset] = vehicle.getCapacity() != null ? vehicle.getCapacity() : NULL_INT;
+            statuses[offset] = vehicle.getStatus() != null ? (byte) vehicle.getStatus().ordinal() : NULL_BYTE;
+            fuelTypes[offset] = vehicle.getFuelType() != null ? (byte) vehicle.getFuelType().ordinal() : NULL_BYTE;
+            mileages[offset] = vehicle.getMileage() != null ? vehicle.getMileage() : NULL_INT;
+            colors[offset] = dictionaries.colors.encode(vehicle.getColor());
+            notes[offset] = vehicle.getNotes();
+            createdAt[offset] = encodeTime(vehicle.getCreatedAt());
+            updatedAt[offset] = encodeTime(vehicle.getUpdatedAt());
+            createdBy[offset] = dictionaries.users.encode(vehicle.getCreatedBy());
+            updatedBy[offset] = dictionaries.users.encode(vehicle.getUpdatedBy());
+            latitudes[offset] = vehicle.getLatitude() != null ? vehicle.getLatitude() : Double.NaN;
+            longitudes[offset] = vehicle.getLongitude() != null ? vehicle.getLongitude() : Double.NaN;
+        }
+
+        void copyRow(Chunk source, int from, int to) {
+            ids[to] = source.ids[from];
+            licensePlates[to] = source.licensePlates[from];
+            models[to] = source.models[from];
+            brands[to] = source.brands[from];
+            years[to] = source.years[from];
+            capacities[to] = source.capacities[from];
+            statuses[to] = source.statuses[from];
+            fuelTypes[to] = source.fuelTypes[from];
+            mileages[to] = source.mileages[from];
+            colors[to] = source.colors[from];
+            notes[to] = source.notes[from];
+            createdAt[to] = source.createdAt[from];
+            updatedAt[to] = source.updatedAt[from];
+            createdBy[to] = source.createdBy[from];
+            updatedBy[to] = source.updatedBy[from];
+            latitudes[to] = source.latitudes[from];
+            longitudes[to] = source.longitudes[from];
+        }
+    }
+}
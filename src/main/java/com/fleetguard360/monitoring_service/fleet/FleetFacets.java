@@ -0,0 +1,124 @@
+package com.fleetguard360.monitoring_service.fleet;
+
+import com.fleetguard360.monitoring_service.model.FuelType;
+import com.fleetguard360.monitoring_service.model.VehicleStatus;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Conteos por estado, combustible, marca y año de un conjunto filtrado de vehículos.
+ *
+ * Se calculan en una sola pasada sobre los IDs filtrados leyendo las columnas del almacén:
+ * los enums y las marcas (códigos de diccionario) se cuentan en arreglos, los años en un
+ * arreglo desplazado por el año mínimo indexado.
+ */
+public final class FleetFacets {
+
+    private final int total;
+    private final Map<VehicleStatus, Integer> statuses;
+    private final Map<FuelType, Integer> fuelTypes;
+    private final Map<String, Integer> brands;
+    private final Map<Integer, Integer> years;
+
+    private FleetFacets(int total, Map<VehicleStatus, Integer> statuses, Map<FuelType, Integer> fuelTypes,
+                        Map<String, Integer> brands, Map<Integer, Integer> years) {
+        this.total = total;
+        this.statuses = statuses;
+        this.fuelTypes = fuelTypes;
+        this.brands = brands;
+        this.years = years;
+    }
+
+    /**
+     * Cuenta las facetas de los vehículos del snapshot que cumplen el filtro
+     */
+    public static FleetFacets compute(FleetSnapshot snapshot, FleetFilter filter) {
+        FleetColumnStore store = snapshot.getStore();
+        IdBitmap matches = snapshot.search(filter);
+
+        int[] statusCounts = new int[VehicleStatus.values().length];
+        int[] fuelCounts = new int[FuelType.values().length];
+        int[] brandCounts = new int[store.brandCodeCount()];
+
+        NavigableMap<Integer, IdBitmap> indexedYears = snapshot.getIndex().getByYear();
+        int minYear = indexedYears.isEmpty() ? 0 : indexedYears.firstKey();
+        int maxYear = indexedYears.isEmpty() ? -1 : indexedYears.lastKey();
+        int[] yearCounts = new int[maxYear - minYear + 1];
+
+        matches.forEach(id -> {
+            int row = store.rowOf(id);
+            byte status = store.statusOrdinal(row);
+            if (status != FleetColumnStore.NULL_BYTE) {
+                statusCounts[status]++;
+            }
+            byte fuelType = store.fuelTypeOrdinal(row);
+            if (fuelType != FleetColumnStore.NULL_BYTE) {
+                fuelCounts[fuelType]++;
+            }
+            int brand = store.brandCode(row);
+            if (brand != StringDictionary.NULL_CODE) {
+                brandCounts[brand]++;
+            }
+            int year = store.year(row);
+            if (year != FleetColumnStore.NULL_INT) {
+                yearCounts[year - minYear]++;
+            }
+        });
+
+        Map<VehicleStatus, Integer> statuses = new EnumMap<>(VehicleStatus.class);
+        for (VehicleStatus status : VehicleStatus.values()) {
+            statuses.put(status, statusCounts[status.ordinal()]);
+        }
+
+        Map<FuelType, Integer> fuelTypes = new EnumMap<>(FuelType.class);
+        for (FuelType fuelType : FuelType.values()) {
+            fuelTypes.put(fuelType, fuelCounts[fuelType.ordinal()]);
+        }
+
+        // Marcas: de mayor a menor conteo, luego por nombre
+        Map<String, Integer> brandTotals = new TreeMap<>();
+        for (int code = 0; code < brandCounts.length; code++) {
+            if (brandCounts[code] > 0) {
+                brandTotals.merge(store.decodeBrand(code), brandCounts[code], Integer::sum);
+            }
+        }
+        Map<String, Integer> brands = new LinkedHashMap<>();
+        brandTotals.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .forEach(entry -> brands.put(entry.getKey(), entry.getValue()));
+
+        Map<Integer, Integer> years = new LinkedHashMap<>();
+        for (int i = 0; i < yearCounts.length; i++) {
+            if (yearCounts[i] > 0) {
+                years.put(minYear + i, yearCounts[i]);
+            }
+        }
+
+        return new FleetFacets(matches.cardinality(), statuses, fuelTypes, brands, years);
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public Map<VehicleStatus, Integer> getStatuses() {
+        return statuses;
+    }
+
+    public Map<FuelType, Integer> getFuelTypes() {
+        return fuelTypes;
+    }
+
+    public Map<String, Integer> getBrands() {
+        return brands;
+    }
+
+    public Map<Integer, Integer> getYears() {
+        return years;
+    }
+}
@@ -0,0 +1,77 @@
+package com.fleetguard360.monitoring_service.fleet;
+
+import com.fleetguard360.monitoring_service.model.FuelType;
+import com.fleetguard360.monitoring_service.model.VehicleStatus;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Filtro multi-criterio sobre la flota.
+ * Dentro de un mismo atributo los valores se combinan con OR; entre atributos, con AND.
+ * Un atributo sin valores no filtra.
+ */
+public class FleetFilter {
+
+    private final Set<VehicleStatus> statuses = EnumSet.noneOf(VehicleStatus.class);
+    private final Set<FuelType> fuelTypes = EnumSet.noneOf(FuelType.class);
+    private final Set<String> brands = new LinkedHashSet<>();
+    private Integer yearFrom;
+    private Integer yearTo;
+    private Integer capacityMin;
+    private Integer capacityMax;
+
+    public FleetFilter statuses(Collection<VehicleStatus> values) {
+        if (values != null) {
+            statuses.addAll(values);
+        }
+        return this;
+    }
+
+    public FleetFilter fuelTypes(Collection<FuelType> values) {
+        if (values != null) {
+            fuelTypes.addAll(values);
+        }
+        return this;
+    }
+
+    public FleetFilter brands(Collection<String> values) {
+        if (values != null) {
+            values.stream()
+                    .filter(value -> value != null && !value.isBlank())
+                    .map(String::trim)
+                    .forEach(brands::add);
+        }
+        return this;
+    }
+
+    public FleetFilter years(Integer from, Integer to) {
+        this.yearFrom = from;
+        this.yearTo = to;
+        return this;
+    }
+
+    public FleetFilter capacity(Integer min, Integer max) {
+        this.capacityMin = min;
+        this.capacityMax = max;
+        return this;
+    }
+
+    public Set<VehicleStatus> getStatuses() { return statuses; }
+    public Set<FuelType> getFuelTypes() { return fuelTypes; }
+    public Set<String> getBrands() { return brands; }
+    public Integer getYearFrom() { return yearFrom; }
+    public Integer getYearTo() { return yearTo; }
+    public Integer getCapacityMin() { return capacityMin; }
+    public Integer getCapacityMax() { return capacityMax; }
+
+    public boolean hasYearRange() {
+        return yearFrom != null || yearTo != null;
+    }
+
+    public boolean hasCapacityRange() {
+        return capacityMin != null || capacityMax != null;
+    }
+}
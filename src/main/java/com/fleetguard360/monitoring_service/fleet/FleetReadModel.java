@@ -0,0 +1,139 @@
+package com.fleetguard360.monitoring_service.fleet;
+
+import com.fleetguard360.monitoring_service.dto.VehicleChangeNotification;
+import com.fleetguard360.monitoring_service.dto.VehicleResponse;
+import com.fleetguard360.monitoring_service.event.VehicleChangedEvent;
+import com.fleetguard360.monitoring_service.repository.VehicleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Modelo de lectura en memoria de la flota (lado de consulta de CQRS).
+ *
+ * Se hidrata desde VehicleRepository al arrancar y se mantiene con los cambios que
+ * VehicleService confirma en este nodo y con los que el feed lee del outbox, que incluyen
+ * los confirmados en otros nodos. Un cambio local llega por las dos vías; aplicarlo dos
+ * veces no altera el resultado. Las escrituras se serializan y publican un FleetSnapshot
+ * inmutable nuevo; las lecturas solo leen la referencia volátil, sin bloqueos.
+ * Una resincronización periódica corrige escrituras hechas fuera de VehicleService.
+ */
+@Component
+public class FleetReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(FleetReadModel.class);
+
+    private final VehicleRepository vehicleRepository;
+
+    private final TransactionTemplate primaryTransaction;
+
+    private volatile FleetSnapshot snapshot = FleetSnapshot.EMPTY;
+
+    private volatile boolean ready;
+
+    // Cambios recibidos durante una hidratación; protegido por writeLock
+    private final Object writeLock = new Object();
+    private List<VehicleChangedEvent> pending;
+
+		@Autowired
+		public FleetReadModel(VehicleRepository vehicleRepository, PlatformTransactionManager transactionManager) {
+			this.vehicleRepository = vehicleRepository;
+			// Sin readOnly: con réplica de lectura la carga iría a la réplica, y una réplica con
+			// retraso reemplazaría el snapshot entero sin los vehículos confirmados recientemente
+			this.primaryTransaction = new TransactionTemplate(transactionManager);
+		}
+
+    /**
+     * Snapshot actual, o null mientras el modelo no se ha hidratado
+     */
+    public FleetSnapshot currentSnapshot() {
+        return ready ? snapshot : null;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        hydrate();
+    }
+
+    @Scheduled(fixedDelayString = "${app.vehicles.read-model.resync-interval-ms:600000}",
+               initialDelayString = "${app.vehicles.read-model.resync-interval-ms:600000}")
+    public void resync() {
+        hydrate();
+    }
+
+    /**
+     * Carga la flota completa desde el primario y reemplaza el snapshot.
+     * Los cambios confirmados mientras tanto se reaplican sobre la carga.
+     */
+    public void hydrate() {
+        synchronized (writeLock) {
+            if (pending != null) {
+                return;
+            }
+            pending = new ArrayList<>();
+        }
+
+        List<VehicleResponse> loaded;
+        try {
+            loaded = primaryTransaction.execute(status -> vehicleRepository.findAll().stream()
+                    .map(VehicleResponse::from)
+                    .toList());
+        } catch (RuntimeException e) {
+            logger.error("No se pudo hidratar el modelo de lectura de la flota: {}", e.getMessage());
+            synchronized (writeLock) {
+                pending = null;
+            }
+            return;
+        }
+
+        synchronized (writeLock) {
+            FleetSnapshot next = FleetSnapshot.of(loaded != null ? loaded : List.of(), snapshot.getVersion() + 1);
+            for (VehicleChangedEvent event : pending) {
+                next = next.apply(event);
+            }
+            pending = null;
+            snapshot = next;
+            ready = true;
+        }
+        logger.info("Modelo de lectura de la flota hidratado con {} vehículos", loaded != null ? loaded.size() : 0);
+    }
+
+    /**
+     * Aplica un cambio ya confirmado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        synchronized (writeLock) {
+            if (pending != null) {
+                pending.add(event);
+            }
+            if (ready) {
+                snapshot = snapshot.apply(event);
+            }
+        }
+    }
+
+    /**
+     * Aplica un cambio publicado en el outbox, confirmado en este u otro nodo
+     */
+    @EventListener
+    public void onVehicleChangeNotification(VehicleChangeNotification notification) {
+        if (notification.getVehicle() != null) {
+            onVehicleChanged(new VehicleChangedEvent(notification.getType(), null, notification.getVehicle(), null));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.fleetguard360.monitoring_service.fleet;
+
+import com.fleetguard360.monitoring_service.dto.VehicleResponse;
+import com.fleetguard360.monitoring_service.event.VehicleChangeType;
+import com.fleetguard360.monitoring_service.event.VehicleChangedEvent;
+import com.fleetguard360.monitoring_service.model.VehicleStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Vista inmutable de la flota en un instante.
+ *
+ * Cada cambio produce un snapshot nuevo (copy-on-write); los lectores trabajan siempre
+ * sobre un snapshot completo sin bloqueos. Los datos viven en un FleetColumnStore y los
+ * DTO se reconstruyen al leer; las listas derivadas se calculan una sola vez por snapshot,
+ * la primera vez que se piden.
+ */
+public final class FleetSnapshot {
+
+    static final FleetSnapshot EMPTY = new FleetSnapshot(FleetColumnStore.empty(), FleetBitmapIndex.EMPTY, 0);
+
+    private static final Comparator<VehicleResponse> BY_ID =
+            Comparator.comparing(VehicleResponse::getId);
+
+    private static final Comparator<VehicleResponse> BY_LICENSE_PLATE =
+            Comparator.comparing(VehicleResponse::getLicensePlate, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final FleetColumnStore store;
+
+    private final FleetBitmapIndex index;
+
+    private final long version;
+
+    // Vistas derivadas (memoizadas; una carrera solo implica calcularlas dos veces)
+    private volatile List<VehicleResponse> all;
+    private volatile List<VehicleResponse> active;
+    private volatile Map<VehicleStatus, List<VehicleResponse>> byStatus;
+
+    private FleetSnapshot(FleetColumnStore store, FleetBitmapIndex index, long version) {
+        this.store = store;
+        this.index = index;
+        this.version = version;
+    }
+
+    /**
+     * Construye un snapshot a partir de una carga completa
+     */
+    static FleetSnapshot of(Collection<VehicleResponse> loaded, long version) {
+        FleetColumnStore store = FleetColumnStore.of(loaded);
+        return new FleetSnapshot(store, FleetBitmapIndex.build(store), version);
+    }
+
+    /**
+     * Snapshot aislado (no publicado en el modelo de lectura), p. ej. para consultas antes de la hidratación
+     */
+    public static FleetSnapshot from(Collection<VehicleResponse> vehicles) {
+        return of(vehicles, 0);
+    }
+
+    /**
+     * Devuelve un snapshot nuevo con el cambio aplicado, o este mismo si el cambio es anterior
+     * al estado que ya se tiene (eventos que llegan fuera de orden o ya incluidos en la carga)
+     */
+    FleetSnapshot apply(VehicleChangedEvent event) {
+        long id = event.getVehicleId();
+        int row = store.rowOf(id);
+
+        FleetColumnStore next;
+        if (event.getType() == VehicleChangeType.PURGED) {
+            if (row < 0) {
+                return this;
+            }
+            next = store.remove(id);
+        } else {
+            VehicleResponse incoming = event.getVehicle();
+            if (row >= 0 && isNewer(store.updatedAtMicros(row), FleetColumnStore.encodeTime(incoming.getUpdatedAt()))) {
+                return this;
+            }
+            next = store.upsert(incoming);
+        }
+        return new FleetSnapshot(next, index.update(id, store, row, next, next.rowOf(id)), version + 1);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * Almacén columnar de este snapshot (para filtros e índices)
+     */
+    public FleetColumnStore getStore() {
+        return store;
+    }
+
+    /**
+     * Índices de bitmap de este snapshot
+     */
+    public FleetBitmapIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * IDs de los vehículos que cumplen el filtro
+     */
+    public IdBitmap search(FleetFilter filter) {
+        return index.filter(filter, store);
+    }
+
+    /**
+     * Materializa una página de un conjunto de IDs, en orden ascendente de ID
+     */
+    public List<VehicleResponse> getVehicles(IdBitmap ids, int offset, int limit) {
+        long[] slice = ids.slice(offset, limit);
+        List<VehicleResponse> page = new ArrayList<>(slice.length);
+        for (long id : slice) {
+            page.add(store.toResponse(store.rowOf(id)));
+        }
+        return page;
+    }
+
+    public VehicleResponse get(Long id) {
+        int row = store.rowOf(id);
+        return row < 0 ? null : store.toResponse(row);
+    }
+
+    /**
+     * Todos los vehículos, incluidos los inactivos, ordenados por ID
+     */
+    public List<VehicleResponse> getAllVehicles() {
+        List<VehicleResponse> result = all;
+        if (result == null) {
+            List<VehicleResponse> vehicles = new ArrayList<>(store.size());
+            for (int row = 0; row < store.size(); row++) {
+                vehicles.add(store.toResponse(row));
+            }
+            vehicles.sort(BY_ID);
+            result = List.copyOf(vehicles);
+            all = result;
+        }
+        return result;
+    }
+
+    /**
+     * Vehículos no dados de baja, ordenados por placa (mismo orden que findActiveVehicles)
+     */
+    public List<VehicleResponse> getActiveVehicles() {
+        List<VehicleResponse> result = active;
+        if (result == null) {
+            result = getAllVehicles().stream()
+                    .filter(vehicle -> vehicle.getStatus() != VehicleStatus.INACTIVE)
+                    .sorted(BY_LICENSE_PLATE)
+                    .toList();
+            active = result;
+        }
+        return result;
+    }
+
+    /**
+     * Vehículos con el estado dado, ordenados por ID
+     */
+    public List<VehicleResponse> getVehiclesByStatus(VehicleStatus status) {
+        Map<VehicleStatus, List<VehicleResponse>> result = byStatus;
+        if (result == null) {
+            result = getAllVehicles().stream()
+                    .filter(vehicle -> vehicle.getStatus() != null)
+                    .collect(Collectors.groupingBy(VehicleResponse::getStatus,
+                            () -> new EnumMap<>(VehicleStatus.class), Collectors.toUnmodifiableList()));
+            byStatus = result;
+        }
+        return result.getOrDefault(status, List.of());
+    }
+
+    private static boolean isNewer(long current, long incoming) {
+        return current != FleetColumnStore.NULL_TIME && incoming != FleetColumnStore.NULL_TIME && current > incoming;
+    }
+}
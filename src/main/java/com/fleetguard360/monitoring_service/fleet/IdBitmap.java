@@ -0,0 +1,618 @@
+package com.fleetguard360.monitoring_service.fleet;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Conjunto inmutable y comprimido de IDs de vehículo al estilo Roaring.
+ *
+ * El ID (entero sin signo de 32 bits) se divide en 16 bits altos, que eligen un contenedor,
+ * y 16 bits bajos guardados en ese contenedor: un arreglo ordenado si tiene pocos valores
+ * (hasta ARRAY_MAX) o un bitmap de 65536 bits si es denso. Las operaciones devuelven
+ * bitmaps nuevos que comparten los contenedores no modificados.
+ */
+public final class IdBitmap {
+
+    static final int ARRAY_MAX = 4096;
+
+    private static final int WORDS = 1024;
+
+    private static final long MAX_ID = 0xFFFF_FFFFL;
+
+    public static final IdBitmap EMPTY = new IdBitmap(new char[0], new Container[0]);
+
+    private final char[] keys;
+
+    private final Container[] containers;
+
+    // Memoizada; una carrera solo implica calcularla dos veces
+    private int cardinality = -1;
+
+    private IdBitmap(char[] keys, Container[] containers) {
+        this.keys = keys;
+        this.containers = containers;
+    }
+
+    public static IdBitmap of(long... ids) {
+        Builder builder = new Builder();
+        for (long id : ids) {
+            builder.add(id);
+        }
+        return builder.build();
+    }
+
+    public boolean contains(long id) {
+        checkId(id);
+        int i = Arrays.binarySearch(keys, high(id));
+        return i >= 0 && containers[i].contains(low(id));
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    public int cardinality() {
+        int result = cardinality;
+        if (result < 0) {
+            result = 0;
+            for (Container container : containers) {
+                result += container.cardinality();
+            }
+            cardinality = result;
+        }
+        return result;
+    }
+
+    public IdBitmap add(long id) {
+        checkId(id);
+        char high = high(id);
+        int i = Arrays.binarySearch(keys, high);
+        if (i >= 0) {
+            Container updated = containers[i].add(low(id));
+            return updated == containers[i] ? this : replace(i, updated);
+        }
+
+        int at = -i - 1;
+        char[] nextKeys = new char[keys.length + 1];
+        Container[] nextContainers = new Container[containers.length + 1];
+        System.arraycopy(keys, 0, nextKeys, 0, at);
+        System.arraycopy(containers, 0, nextContainers, 0, at);
+        nextKeys[at] = high;
+        nextContainers[at] = new ArrayContainer(new char[] {low(id)});
+        System.arraycopy(keys, at, nextKeys, at + 1, keys.length - at);
+        System.arraycopy(containers, at, nextContainers, at + 1, containers.length - at);
+        return new IdBitmap(nextKeys, nextContainers);
+    }
+
+    public IdBitmap remove(long id) {
+        checkId(id);
+        int i = Arrays.binarySearch(keys, high(id));
+        if (i < 0 || !containers[i].contains(low(id))) {
+            return this;
+        }
+        Container updated = containers[i].remove(low(id));
+        if (updated.cardinality() > 0) {
+            return replace(i, updated);
+        }
+
+        char[] nextKeys = new char[keys.length - 1];
+        Container[] nextContainers = new Container[containers.length - 1];
+        System.arraycopy(keys, 0, nextKeys, 0, i);
+        System.arraycopy(containers, 0, nextContainers, 0, i);
+        System.arraycopy(keys, i + 1, nextKeys, i, keys.length - i - 1);
+        System.arraycopy(containers, i + 1, nextContainers, i, containers.length - i - 1);
+        return new IdBitmap(nextKeys, nextContainers);
+    }
+
+    /**
+     * Intersección
+     */
+    public IdBitmap and(IdBitmap other) {
+        int capacity = Math.min(keys.length, other.keys.length);
+        char[] resultKeys = new char[capacity];
+        Container[] resultContainers = new Container[capacity];
+        int n = 0;
+        for (int i = 0, j = 0; i < keys.length && j < other.keys.length; ) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container c = containers[i].and(other.containers[j]);
+                if (c.cardinality() > 0) {
+                    resultKeys[n] = keys[i];
+                    resultContainers[n++] = c;
+                }
+                i++;
+                j++;
+            }
+        }
+        return trimmed(resultKeys, resultContainers, n);
+    }
+
+    /**
+     * Unión
+     */
+    public IdBitmap or(IdBitmap other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        int capacity = keys.length + other.keys.length;
+        char[] resultKeys = new char[capacity];
+        Container[] resultContainers = new Container[capacity];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+                resultKeys[n] = keys[i];
+                resultContainers[n++] = containers[i++];
+            } else if (i == keys.length || keys[i] > other.keys[j]) {
+                resultKeys[n] = other.keys[j];
+                resultContainers[n++] = other.containers[j++];
+            } else {
+                resultKeys[n] = keys[i];
+                resultContainers[n++] = containers[i++].or(other.containers[j++]);
+            }
+        }
+        return trimmed(resultKeys, resultContainers, n);
+    }
+
+    /**
+     * Diferencia (este conjunto menos el otro)
+     */
+    public IdBitmap andNot(IdBitmap other) {
+        char[] resultKeys = new char[keys.length];
+        Container[] resultContainers = new Container[keys.length];
+        int n = 0;
+        int j = 0;
+        for (int i = 0; i < keys.length; i++) {
+            while (j < other.keys.length && other.keys[j] < keys[i]) {
+                j++;
+            }
+            Container c = j < other.keys.length && other.keys[j] == keys[i]
+                    ? containers[i].andNot(other.containers[j])
+                    : containers[i];
+            if (c.cardinality() > 0) {
+                resultKeys[n] = keys[i];
+                resultContainers[n++] = c;
+            }
+        }
+        return trimmed(resultKeys, resultContainers, n);
+    }
+
+    /**
+     * Cardinalidad de la intersección, sin materializarla
+     */
+    public int andCardinality(IdBitmap other) {
+        int result = 0;
+        for (int i = 0, j = 0; i < keys.length && j < other.keys.length; ) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result += containers[i].andCardinality(other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Recorre los IDs en orden ascendente
+     */
+    public void forEach(LongConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            containers[i].forEach((long) keys[i] << 16, consumer);
+        }
+    }
+
+    /**
+     * IDs en las posiciones [offset, offset + limit) del orden ascendente,
+     * saltando contenedores completos sin recorrerlos
+     *
+     * @throws IllegalArgumentException si offset es negativo
+     */
+    public long[] slice(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset negativo: " + offset);
+        }
+        int total = cardinality();
+        if (offset >= total || limit <= 0) {
+            return new long[0];
+        }
+        long[] result = new long[Math.min(limit, total - offset)];
+        int skip = offset;
+        int n = 0;
+        for (int i = 0; i < keys.length && n < result.length; i++) {
+            int size = containers[i].cardinality();
+            if (skip >= size) {
+                skip -= size;
+                continue;
+            }
+            long[] values = new long[size];
+            int[] k = {0};
+            containers[i].forEach((long) keys[i] << 16, id -> values[k[0]++] = id);
+            for (int v = skip; v < size && n < result.length; v++) {
+                result[n++] = values[v];
+            }
+            skip = 0;
+        }
+        return result;
+    }
+
+    public long[] toArray() {
+        long[] result = new long[cardinality()];
+        int[] n = {0};
+        forEach(id -> result[n[0]++] = id);
+        return result;
+    }
+
+    private IdBitmap replace(int i, Container container) {
+        Container[] next = containers.clone();
+        next[i] = container;
+        return new IdBitmap(keys, next);
+    }
+
+    private static IdBitmap trimmed(char[] keys, Container[] containers, int n) {
+        if (n == 0) {
+            return EMPTY;
+        }
+        return new IdBitmap(n == keys.length ? keys : Arrays.copyOf(keys, n),
+                n == containers.length ? containers : Arrays.copyOf(containers, n));
+    }
+
+    private static void checkId(long id) {
+        if (id < 0 || id > MAX_ID) {
+            throw new IllegalArgumentException("ID fuera del rango indexable: " + id);
+        }
+    }
+
+    private static char high(long id) {
+        return (char) (id >>> 16);
+    }
+
+    private static char low(long id) {
+        return (char) id;
+    }
+
+    /**
+     * Construcción masiva sin copias intermedias
+     */
+    public static final class Builder {
+
+        private final Map<Character, long[]> words = new HashMap<>();
+
+        public Builder add(long id) {
+            checkId(id);
+            long[] block = words.computeIfAbsent(high(id), key -> new long[WORDS]);
+            int low = low(id);
+            block[low >>> 6] |= 1L << low;
+            return this;
+        }
+
+        public IdBitmap build() {
+            char[] keys = new char[words.size()];
+            int n = 0;
+            for (Character key : words.keySet()) {
+                keys[n++] = key;
+            }
+            Arrays.sort(keys);
+
+            Container[] containers = new Container[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                long[] block = words.get(keys[i]);
+                containers[i] = BitmapContainer.compact(block, BitmapContainer.count(block));
+            }
+            return new IdBitmap(keys, containers);
+        }
+    }
+
+    private abstract static class Container {
+
+        abstract int cardinality();
+
+        abstract boolean contains(char value);
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract Container andNot(Container other);
+
+        abstract int andCardinality(Container other);
+
+        abstract void forEach(long base, LongConsumer consumer);
+    }
+
+    /**
+     * Contenedor disperso: valores ordenados
+     */
+    private static final class ArrayContainer extends Container {
+
+        private final char[] values;
+
+        ArrayContainer(char[] values) {
+            this.values = values;
+        }
+
+        @Override
+        int cardinality() {
+            return values.length;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, value) >= 0;
+        }
+
+        @Override
+        Container add(char value) {
+            int i = Arrays.binarySearch(values, value);
+            if (i >= 0) {
+                return this;
+            }
+            if (values.length == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            int at = -i - 1;
+            char[] next = new char[values.length + 1];
+            System.arraycopy(values, 0, next, 0, at);
+            next[at] = value;
+            System.arraycopy(values, at, next, at + 1, values.length - at);
+            return new ArrayContainer(next);
+        }
+
+        @Override
+        Container remove(char value) {
+            int i = Arrays.binarySearch(values, value);
+            if (i < 0) {
+                return this;
+            }
+            char[] next = new char[values.length - 1];
+            System.arraycopy(values, 0, next, 0, i);
+            System.arraycopy(values, i + 1, next, i, values.length - i - 1);
+            return new ArrayContainer(next);
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] result = new char[values.length];
+            int n = 0;
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0, j = 0; i < values.length && j < array.values.length; ) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        result[n++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (char value : values) {
+                    if (other.contains(value)) {
+                        result[n++] = value;
+                    }
+                }
+            }
+            return new ArrayContainer(Arrays.copyOf(result, n));
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                return bitmap.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            char[] result = new char[values.length + array.values.length];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < values.length || j < array.values.length) {
+                if (j == array.values.length || (i < values.length && values[i] < array.values[j])) {
+                    result[n++] = values[i++];
+                } else if (i == values.length || values[i] > array.values[j]) {
+                    result[n++] = array.values[j++];
+                } else {
+                    result[n++] = values[i++];
+                    j++;
+                }
+            }
+            ArrayContainer merged = new ArrayContainer(Arrays.copyOf(result, n));
+            return n > ARRAY_MAX ? merged.toBitmap() : merged;
+        }
+
+        @Override
+        Container andNot(Container other) {
+            char[] result = new char[values.length];
+            int n = 0;
+            for (char value : values) {
+                if (!other.contains(value)) {
+                    result[n++] = value;
+                }
+            }
+            return n == values.length ? this : new ArrayContainer(Arrays.copyOf(result, n));
+        }
+
+        @Override
+        int andCardinality(Container other) {
+            int result = 0;
+            for (char value : values) {
+                if (other.contains(value)) {
+                    result++;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        void forEach(long base, LongConsumer consumer) {
+            for (char value : values) {
+                consumer.accept(base | value);
+            }
+        }
+
+        BitmapContainer toBitmap() {
+            long[] words = new long[WORDS];
+            for (char value : values) {
+                words[value >>> 6] |= 1L << value;
+            }
+            return new BitmapContainer(words, values.length);
+        }
+    }
+
+    /**
+     * Contenedor denso: 65536 bits
+     */
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words;
+
+        private final int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        static int count(long[] words) {
+            int result = 0;
+            for (long word : words) {
+                result += Long.bitCount(word);
+            }
+            return result;
+        }
+
+        /**
+         * Devuelve el contenedor más compacto para estos bits
+         */
+        static Container compact(long[] words, int cardinality) {
+            if (cardinality > ARRAY_MAX) {
+                return new BitmapContainer(words, cardinality);
+            }
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    values[n++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values);
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Container add(char value) {
+            if (contains(value)) {
+                return this;
+            }
+            long[] next = words.clone();
+            next[value >>> 6] |= 1L << value;
+            return new BitmapContainer(next, cardinality + 1);
+        }
+
+        @Override
+        Container remove(char value) {
+            if (!contains(value)) {
+                return this;
+            }
+            long[] next = words.clone();
+            next[value >>> 6] &= ~(1L << value);
+            return compact(next, cardinality - 1);
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer array) {
+                return array.and(this);
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            long[] result = new long[WORDS];
+            for (int i = 0; i < WORDS; i++) {
+                result[i] = words[i] & bitmap.words[i];
+            }
+            return compact(result, count(result));
+        }
+
+        @Override
+        Container or(Container other) {
+            long[] result = words.clone();
+            if (other instanceof ArrayContainer array) {
+                for (char value : array.values) {
+                    result[value >>> 6] |= 1L << value;
+                }
+            } else {
+                BitmapContainer bitmap = (BitmapContainer) other;
+                for (int i = 0; i < WORDS; i++) {
+                    result[i] |= bitmap.words[i];
+                }
+            }
+            return new BitmapContainer(result, count(result));
+        }
+
+        @Override
+        Container andNot(Container other) {
+            long[] result = words.clone();
+            if (other instanceof ArrayContainer array) {
+                for (char value : array.values) {
+                    result[value >>> 6] &= ~(1L << value);
+                }
+            } else {
+                BitmapContainer bitmap = (BitmapContainer) other;
+                for (int i = 0; i < WORDS; i++) {
+                    result[i] &= ~bitmap.words[i];
+                }
+            }
+            return compact(result, count(result));
+        }
+
+        @Override
+        int andCardinality(Container other) {
+            if (other instanceof ArrayContainer array) {
+                return array.andCardinality(this);
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            int result = 0;
+            for (int i = 0; i < WORDS; i++) {
+                result += Long.bitCount(words[i] & bitmap.words[i]);
+            }
+            return result;
+        }
+
+        @Override
+        void forEach(long base, LongConsumer consumer) {
+            for (int w = 0; w < WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    consumer.accept(base | ((w << 6) + Long.numberOfTrailingZeros(word)));
+                    word &= word - 1;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.fleetguard360.monitoring_service.fleet;
+
+import java.util.Arrays;
+
+/**
+ * Índice inmutable id (long) → fila (int) sin boxing.
+ *
+ * Está dividido en particiones de direccionamiento abierto (sondeo lineal). Una
+ * modificación copia solo la partición afectada y el arreglo de particiones, así
+ * que cada snapshot comparte el resto del índice con el anterior.
+ */
+final class LongIntIndex {
+
+    static final int MISSING = -1;
+
+    private static final long FREE = Long.MIN_VALUE;
+
+    private static final int PARTITION_BITS = 10;
+
+    private static final int PARTITIONS = 1 << PARTITION_BITS;
+
+    private static final int MIN_CAPACITY = 8;
+
+    static final LongIntIndex EMPTY = new LongIntIndex(emptyPartitions(), 0);
+
+    private final Partition[] partitions;
+
+    private final int size;
+
+    private LongIntIndex(Partition[] partitions, int size) {
+        this.partitions = partitions;
+        this.size = size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(long key) {
+        long hash = mix(key);
+        return partitions[partitionOf(hash)].get(key, hash);
+    }
+
+    LongIntIndex with(long key, int value) {
+        checkKey(key);
+        long hash = mix(key);
+        int p = partitionOf(hash);
+        Partition copy = partitions[p].copyFor(partitions[p].size + 1);
+        boolean added = copy.put(key, hash, value);
+        return replace(p, copy, added ? size + 1 : size);
+    }
+
+    LongIntIndex without(long key) {
+        long hash = mix(key);
+        int p = partitionOf(hash);
+        if (partitions[p].get(key, hash) == MISSING) {
+            return this;
+        }
+        Partition copy = partitions[p].copyFor(partitions[p].size);
+        copy.remove(key, hash);
+        return replace(p, copy, size - 1);
+    }
+
+    /**
+     * Construcción masiva: las particiones se llenan en sitio antes de publicarse
+     */
+    static LongIntIndex of(long[] keys, int[] values, int count) {
+        int[] perPartition = new int[PARTITIONS];
+        for (int i = 0; i < count; i++) {
+            perPartition[partitionOf(mix(keys[i]))]++;
+        }
+        Partition[] partitions = new Partition[PARTITIONS];
+        for (int p = 0; p < PARTITIONS; p++) {
+            partitions[p] = new Partition(capacityFor(perPartition[p]));
+        }
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            checkKey(keys[i]);
+            long hash = mix(keys[i]);
+            if (partitions[partitionOf(hash)].put(keys[i], hash, values[i])) {
+                size++;
+            }
+        }
+        return new LongIntIndex(partitions, size);
+    }
+
+    private LongIntIndex replace(int p, Partition partition, int newSize) {
+        Partition[] next = partitions.clone();
+        next[p] = partition;
+        return new LongIntIndex(next, newSize);
+    }
+
+    private static Partition[] emptyPartitions() {
+        Partition empty = new Partition(MIN_CAPACITY);
+        Partition[] partitions = new Partition[PARTITIONS];
+        Arrays.fill(partitions, empty);
+        return partitions;
+    }
+
+    private static void checkKey(long key) {
+        if (key == FREE) {
+            throw new IllegalArgumentException("Clave reservada: " + key);
+        }
+    }
+
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    private static int partitionOf(long hash) {
+        return (int) (hash >>> (64 - PARTITION_BITS));
+    }
+
+    private static int capacityFor(int entries) {
+        // Factor de carga máximo 0.5
+        int capacity = MIN_CAPACITY;
+        while (capacity < entries * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static final class Partition {
+
+        private final long[] keys;
+        private final int[] values;
+        private int size;
+
+        Partition(int capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, FREE);
+        }
+
+        Partition copyFor(int entries) {
+            int capacity = Math.max(keys.length, capacityFor(entries));
+            if (capacity == keys.length) {
+                Partition copy = new Partition(keys.clone(), values.clone());
+                copy.size = size;
+                return copy;
+            }
+            Partition grown = new Partition(capacity);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != FREE) {
+                    grown.put(keys[i], mix(keys[i]), values[i]);
+                }
+            }
+            return grown;
+        }
+
+        private Partition(long[] keys, int[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        int get(long key, long hash) {
+            int mask = keys.length - 1;
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                long current = keys[slot];
+                if (current == key) {
+                    return values[slot];
+                }
+                if (current == FREE) {
+                    return MISSING;
+                }
+            }
+        }
+
+        boolean put(long key, long hash, int value) {
+            int mask = keys.length - 1;
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                long current = keys[slot];
+                if (current == key) {
+                    values[slot] = value;
+                    return false;
+                }
+                if (current == FREE) {
+                    keys[slot] = key;
+                    values[slot] = value;
+                    size++;
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Borrado con desplazamiento hacia atrás (sin lápidas)
+         */
+        void remove(long key, long hash) {
+            int mask = keys.length - 1;
+            int slot = (int) hash & mask;
+            while (keys[slot] != key) {
+                if (keys[slot] == FREE) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            int gap = slot;
+            for (int next = (gap + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+                int home = (int) mix(keys[next]) & mask;
+                // El elemento puede ocupar el hueco si su posición ideal no está entre el hueco y su posición actual
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    gap = next;
+                }
+            }
+            keys[gap] = FREE;
+            size--;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.fleetguard360.monitoring_service.fleet;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Diccionario de cadenas repetidas (marca, modelo, color, usuario) a códigos int.
+ *
+ * Solo crece: un código asignado nunca cambia, de modo que todos los snapshots que
+ * comparten el diccionario siguen siendo válidos. La decodificación no usa bloqueos;
+ * la codificación la hace el escritor del modelo de lectura.
+ */
+final class StringDictionary {
+
+    static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    private volatile String[] values = new String[16];
+
+    private int size;
+
+    /**
+     * Devuelve el código de la cadena, asignándole uno nuevo si no existía
+     */
+    synchronized int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer existing = codes.get(value);
+        if (existing != null) {
+            return existing;
+        }
+
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        int code = size;
+        current[code] = value;
+        size++;
+        codes.put(value, code);
+        values = current;
+        return code;
+    }
+
+    /**
+     * Código de la cadena, o NULL_CODE si no está en el diccionario (no la agrega)
+     */
+    synchronized int lookup(String value) {
+        Integer existing = value != null ? codes.get(value) : null;
+        return existing != null ? existing : NULL_CODE;
+    }
+
+    String decode(int code) {
+        return code == NULL_CODE ? null : values[code];
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
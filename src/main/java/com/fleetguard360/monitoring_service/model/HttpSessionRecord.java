@@ -0,0 +1,55 @@
+package com.fleetguard360.monitoring_service.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Sesión HTTP compartida entre nodos (ver JdbcSessionRepository).
+ * Los atributos se guardan serializados en una sola columna: una fila y una sentencia
+ * por sesión en cada escritura. Solo se usa para generar el esquema; el acceso es JDBC.
+ */
+@Entity
+@Table(name = "http_sessions", indexes = {
+        @Index(name = "idx_http_sessions_principal", columnList = "principal_name"),
+        @Index(name = "idx_http_sessions_expiry", columnList = "expiry_time")
+})
+public class HttpSessionRecord {
+
+    @Id
+    @Column(name = "session_id", length = 64)
+    private String sessionId;
+
+    @Column(name = "principal_name", length = 100)
+    private String principalName;
+
+    @Column(name = "creation_time", nullable = false)
+    private long creationTime;
+
+    @Column(name = "last_access_time", nullable = false)
+    private long lastAccessTime;
+
+    @Column(name = "max_inactive_seconds", nullable = false)
+    private int maxInactiveSeconds;
+
+    @Column(name = "expiry_time", nullable = false)
+    private long expiryTime;
+
+    @Lob
+    @Column(name = "attributes", length = 16777215)
+    private byte[] attributes;
+
+    // Getters and setters
+    public String getSessionId() { return sessionId; }
+    public void setSessionId(String sessionId) { this.sessionId = sessionId; }
+    public String getPrincipalName() { return principalName; }
+    public void setPrincipalName(String principalName) { this.principalName = principalName; }
+    public long getCreationTime() { return creationTime; }
+    public void setCreationTime(long creationTime) { this.creationTime = creationTime; }
+    public long getLastAccessTime() { return lastAccessTime; }
+    public void setLastAccessTime(long lastAccessTime) { this.lastAccessTime = lastAccessTime; }
+    public int getMaxInactiveSeconds() { return maxInactiveSeconds; }
+    public void setMaxInactiveSeconds(int maxInactiveSeconds) { this.maxInactiveSeconds = maxInactiveSeconds; }
+    public long getExpiryTime() { return expiryTime; }
+    public void setExpiryTime(long expiryTime) { this.expiryTime = expiryTime; }
+    public byte[] getAttributes() { return attributes; }
+    public void setAttributes(byte[] attributes) { this.attributes = attributes; }
+}
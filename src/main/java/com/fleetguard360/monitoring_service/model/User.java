@@ -27,6 +27,10 @@ public class User {
     @Column
     private LocalDateTime lockTime;
 
+    // Generación vigente de los tokens de refresco; al incrementarla se invalidan todos
+    @Column(nullable = false)
+    private int tokenGeneration = 0;
+
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(
         name = "user_roles",
@@ -48,6 +52,8 @@ public class User {
     public void setFailedAttempts(int failedAttempts) { this.failedAttempts = failedAttempts; }
     public LocalDateTime getLockTime() { return lockTime; }
     public void setLockTime(LocalDateTime lockTime) { this.lockTime = lockTime; }
+    public int getTokenGeneration() { return tokenGeneration; }
+    public void setTokenGeneration(int tokenGeneration) { this.tokenGeneration = tokenGeneration; }
     public Set<Role> getRoles() { return roles; }
     public void setRoles(Set<Role> roles) { this.roles = roles; }
 }
@@ -0,0 +1,60 @@
+package com.fleetguard360.monitoring_service.model;
+
+import com.fleetguard360.monitoring_service.event.VehicleChangeType;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Historial de cambios por campo de un vehículo (valor anterior y nuevo).
+ * Las filas se insertan en lotes de forma asíncrona por VehicleAuditWriter.
+ */
+@Entity
+@Table(name = "vehicle_audit_history", indexes = {
+        @Index(name = "idx_vehicle_audit_vehicle_changed", columnList = "vehicle_id, changed_at")
+})
+public class VehicleAuditEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "vehicle_id", nullable = false)
+    private Long vehicleId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private VehicleChangeType changeType;
+
+    @Column(name = "field_name", nullable = false, length = 30)
+    private String fieldName;
+
+    @Column(name = "old_value", length = 500)
+    private String oldValue;
+
+    @Column(name = "new_value", length = 500)
+    private String newValue;
+
+    @Column(name = "changed_by", length = 50)
+    private String changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getVehicleId() { return vehicleId; }
+    public void setVehicleId(Long vehicleId) { this.vehicleId = vehicleId; }
+    public VehicleChangeType getChangeType() { return changeType; }
+    public void setChangeType(VehicleChangeType changeType) { this.changeType = changeType; }
+    public String getFieldName() { return fieldName; }
+    public void setFieldName(String fieldName) { this.fieldName = fieldName; }
+    public String getOldValue() { return oldValue; }
+    public void setOldValue(String oldValue) { this.oldValue = oldValue; }
+    public String getNewValue() { return newValue; }
+    public void setNewValue(String newValue) { this.newValue = newValue; }
+    public String getChangedBy() { return changedBy; }
+    public void setChangedBy(String changedBy) { this.changedBy = changedBy; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+}
@@ -0,0 +1,32 @@
+package com.fleetguard360.monitoring_service.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Cursor del relay del outbox de vehículos: una sola fila con la última secuencia asignada.
+ * El nodo que la bloquea es el único que publica mientras dura su transacción.
+ */
+@Entity
+@Table(name = "vehicle_outbox_cursor")
+public class VehicleOutboxCursor {
+
+    @Id
+    private Long id;
+
+    @Column(name = "last_sequence", nullable = false)
+    private Long lastSequence;
+
+    // Constructors
+    public VehicleOutboxCursor() {}
+
+    public VehicleOutboxCursor(Long id, Long lastSequence) {
+        this.id = id;
+        this.lastSequence = lastSequence;
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getLastSequence() { return lastSequence; }
+    public void setLastSequence(Long lastSequence) { this.lastSequence = lastSequence; }
+}
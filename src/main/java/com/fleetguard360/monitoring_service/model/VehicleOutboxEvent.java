@@ -0,0 +1,67 @@
+package com.fleetguard360.monitoring_service.model;
+
+import com.fleetguard360.monitoring_service.event.VehicleChangeType;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Registro del outbox transaccional de cambios de vehículos.
+ * Se escribe en la misma transacción que la mutación; el relay le asigna la secuencia
+ * de publicación, que es el orden que ven los consumidores del feed.
+ */
+@Entity
+@Table(name = "vehicle_outbox", indexes = {
+        @Index(name = "idx_vehicle_outbox_published_at", columnList = "published_at"),
+        @Index(name = "idx_vehicle_outbox_sequence", columnList = "sequence_number", unique = true)
+})
+public class VehicleOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "vehicle_id", nullable = false)
+    private Long vehicleId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private VehicleChangeType eventType;
+
+    @Column(name = "payload", nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(name = "sequence_number")
+    private Long sequence;
+
+    // Constructors
+    public VehicleOutboxEvent() {}
+
+    public VehicleOutboxEvent(Long vehicleId, VehicleChangeType eventType, String payload) {
+        this.vehicleId = vehicleId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getVehicleId() { return vehicleId; }
+    public void setVehicleId(Long vehicleId) { this.vehicleId = vehicleId; }
+    public VehicleChangeType getEventType() { return eventType; }
+    public void setEventType(VehicleChangeType eventType) { this.eventType = eventType; }
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getPublishedAt() { return publishedAt; }
+    public void setPublishedAt(LocalDateTime publishedAt) { this.publishedAt = publishedAt; }
+    public Long getSequence() { return sequence; }
+    public void setSequence(Long sequence) { this.sequence = sequence; }
+}
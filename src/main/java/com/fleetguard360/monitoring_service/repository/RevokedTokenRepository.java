@@ -0,0 +1,48 @@
+package com.fleetguard360.monitoring_service.repository;
+
+import com.fleetguard360.monitoring_service.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio de tokens revocados
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Revocaciones aún vigentes (carga al arrancar)
+     */
+    List<RevokedToken> findByExpiresAtGreaterThan(Long now);
+
+    /**
+     * Revocaciones registradas desde un instante (sincronización entre nodos)
+     */
+    List<RevokedToken> findByRevokedAtGreaterThanEqualAndExpiresAtGreaterThan(LocalDateTime since, Long now);
+
+    /**
+     * Registra una revocación con un INSERT (nunca merge): si el token ya estaba revocado la
+     * clave primaria lo rechaza con DataIntegrityViolationException
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO revoked_tokens (token_id, expires_at, revoked_at) VALUES (:tokenId, :expiresAt, :revokedAt)",
+           nativeQuery = true)
+    int insert(@Param("tokenId") String tokenId, @Param("expiresAt") Long expiresAt,
+               @Param("revokedAt") LocalDateTime revokedAt);
+
+    /**
+     * Elimina revocaciones de tokens ya expirados
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Long now);
+}
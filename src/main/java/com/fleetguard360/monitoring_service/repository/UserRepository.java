@@ -1,9 +1,55 @@
 package com.fleetguard360.monitoring_service.repository;
 
 import com.fleetguard360.monitoring_service.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    /**
+     * Carga el usuario junto con sus roles en una sola consulta (join), en lugar de la
+     * consulta adicional que haría el EAGER de User.roles
+     */
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByUsername(String username);
+
+    /**
+     * Actualiza intentos fallidos y bloqueo sin cargar la entidad
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.failedAttempts = :failedAttempts, u.lockTime = :lockTime WHERE u.username = :username")
+    int updateLockState(@Param("username") String username,
+                        @Param("failedAttempts") int failedAttempts,
+                        @Param("lockTime") LocalDateTime lockTime);
+
+    /**
+     * Reemplaza el hash de la contraseña sin cargar la entidad
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+
+    /**
+     * Generación vigente de los tokens de refresco del usuario. Es transaccional de escritura
+     * para que se lea en el primario: una réplica con retraso aceptaría tokens ya invalidados
+     */
+    @Transactional
+    @Query("SELECT u.tokenGeneration FROM User u WHERE u.username = :username")
+    Optional<Integer> findTokenGeneration(@Param("username") String username);
+
+    /**
+     * Invalida todos los tokens de refresco emitidos hasta ahora para el usuario
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.tokenGeneration = u.tokenGeneration + 1 WHERE u.username = :username")
+    int incrementTokenGeneration(@Param("username") String username);
 }
@@ -0,0 +1,20 @@
+package com.fleetguard360.monitoring_service.repository;
+
+import com.fleetguard360.monitoring_service.model.VehicleAuditEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio del historial de cambios de vehículos
+ */
+@Repository
+public interface VehicleAuditRepository extends JpaRepository<VehicleAuditEntry, Long> {
+
+    /**
+     * Historial de un vehículo, del cambio más reciente al más antiguo
+     * Usa el índice (vehicle_id, changed_at)
+     */
+    Page<VehicleAuditEntry> findByVehicleIdOrderByChangedAtDescIdDesc(Long vehicleId, Pageable pageable);
+}
@@ -0,0 +1,30 @@
+package com.fleetguard360.monitoring_service.repository;
+
+import com.fleetguard360.monitoring_service.model.VehicleOutboxCursor;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repositorio del cursor del relay del outbox
+ */
+@Repository
+public interface VehicleOutboxCursorRepository extends JpaRepository<VehicleOutboxCursor, Long> {
+
+    /**
+     * Bloquea el cursor con SELECT ... FOR UPDATE SKIP LOCKED (timeout -2). Si otro nodo lo
+     * tiene bloqueado no espera: devuelve vacío y ese nodo sigue siendo el único relay.
+     * Debe llamarse dentro de una transacción de escritura.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM VehicleOutboxCursor c WHERE c.id = :id")
+    Optional<VehicleOutboxCursor> claim(@Param("id") Long id);
+}
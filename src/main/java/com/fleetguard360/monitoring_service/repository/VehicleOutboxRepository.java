@@ -0,0 +1,44 @@
+package com.fleetguard360.monitoring_service.repository;
+
+import com.fleetguard360.monitoring_service.model.VehicleOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio del outbox de cambios de vehículos
+ */
+@Repository
+public interface VehicleOutboxRepository extends JpaRepository<VehicleOutboxEvent, Long> {
+
+    /**
+     * Eventos pendientes de publicar, en orden de escritura
+     */
+    List<VehicleOutboxEvent> findByPublishedAtIsNullOrderByIdAsc(Pageable pageable);
+
+    /**
+     * Eventos publicados después de una secuencia, en orden de secuencia
+     */
+    List<VehicleOutboxEvent> findBySequenceGreaterThanOrderBySequenceAsc(Long sequence, Pageable pageable);
+
+    /**
+     * Última secuencia asignada
+     */
+    @Query("SELECT MAX(e.sequence) FROM VehicleOutboxEvent e")
+    Long findMaxSequence();
+
+    /**
+     * Elimina eventos publicados antes de la fecha dada
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM VehicleOutboxEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,320 @@
+package com.fleetguard360.monitoring_service.service;
+
+import com.fleetguard360.monitoring_service.config.RoleAuthority;
+import com.fleetguard360.monitoring_service.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Emisión y verificación de tokens de acceso firmados con HMAC-SHA256 (modo sin sesión).
+ *
+ * Formato: base64url(carga) + "." + base64url(firma), con carga
+ * "tipo|expiración|jti|autoridades|usuario". El token lleva las autoridades, de modo que
+ * verificarlo no consulta la base de datos ni la sesión: solo recalcula la firma y revisa
+ * la lista de revocación. Los tokens de acceso son de vida corta; los de refresco se rotan
+ * en cada uso y, en lugar de autoridades, llevan la generación de tokens del usuario: el
+ * logout la incrementa y con ello invalida todos los tokens de refresco emitidos antes,
+ * también los de otros dispositivos. Solo el refresco y el login leen esa generación.
+ */
+@Service
+public class AccessTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessTokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final String ACCESS = "a";
+
+    private static final String REFRESH = "r";
+
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private static final int MAX_CACHED_AUTHORITY_SETS = 256;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final boolean enabled;
+
+    private final long accessTtlSeconds;
+
+    private final long refreshTtlSeconds;
+
+    private final TokenRevocationList revocationList;
+
+    private final UserRepository userRepository;
+
+    private final ThreadLocal<Mac> mac;
+
+    // Pocas combinaciones distintas de roles: se reutilizan las listas de autoridades
+    private final ConcurrentMap<String, List<GrantedAuthority>> authoritySets = new ConcurrentHashMap<>();
+
+		@Autowired
+		public AccessTokenService(
+				@Value("${app.security.token.enabled:false}") boolean enabled,
+				@Value("${app.security.token.secret:}") String secret,
+				@Value("${app.security.token.access-ttl-seconds:900}") long accessTtlSeconds,
+				@Value("${app.security.token.refresh-ttl-seconds:86400}") long refreshTtlSeconds,
+				TokenRevocationList revocationList,
+				UserRepository userRepository) {
+			this.enabled = enabled;
+			this.accessTtlSeconds = accessTtlSeconds;
+			this.refreshTtlSeconds = refreshTtlSeconds;
+			this.revocationList = revocationList;
+			this.userRepository = userRepository;
+			SecretKeySpec key = new SecretKeySpec(resolveSecret(secret, enabled), ALGORITHM);
+			this.mac = ThreadLocal.withInitial(() -> newMac(key));
+		}
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getAccessTtlSeconds() {
+        return accessTtlSeconds;
+    }
+
+    /**
+     * Emite un token de acceso y uno de refresco para el usuario
+     */
+    public TokenPair issue(String username, Collection<? extends GrantedAuthority> authorities) {
+        long now = System.currentTimeMillis() / 1000;
+        StringBuilder roles = new StringBuilder();
+        for (GrantedAuthority authority : authorities) {
+            if (!roles.isEmpty()) {
+                roles.append(',');
+            }
+            roles.append(authority.getAuthority());
+        }
+        String accessToken = sign(ACCESS, now + accessTtlSeconds, roles.toString(), username);
+        int generation = userRepository.findTokenGeneration(username).orElse(0);
+        String refreshToken = sign(REFRESH, now + refreshTtlSeconds, Integer.toString(generation), username);
+        return new TokenPair(accessToken, refreshToken, accessTtlSeconds);
+    }
+
+    /**
+     * Verifica un token de acceso
+     *
+     * @return el token verificado, o null si la firma no coincide, expiró o fue revocado
+     */
+    public VerifiedToken verifyAccessToken(String token) {
+        return verify(token, ACCESS);
+    }
+
+    /**
+     * Verifica un token de refresco
+     *
+     * @return el token verificado, o null si la firma no coincide, expiró, fue revocado o
+     *         pertenece a una generación anterior a la vigente del usuario
+     */
+    public VerifiedToken verifyRefreshToken(String token) {
+        VerifiedToken verified = verify(token, REFRESH);
+        if (verified == null) {
+            return null;
+        }
+        Integer current = userRepository.findTokenGeneration(verified.getUsername()).orElse(null);
+        return current != null && current == verified.getGeneration() ? verified : null;
+    }
+
+    /**
+     * Invalida todos los tokens de refresco del usuario emitidos hasta ahora
+     */
+    public void revokeRefreshTokens(String username) {
+        if (userRepository.incrementTokenGeneration(username) > 0) {
+            logger.info("Tokens de refresco revocados para usuario: {}", username);
+        }
+    }
+
+    /**
+     * Revoca el token hasta su expiración
+     *
+     * @return true si esta llamada lo revocó; false si ya estaba revocado
+     */
+    public boolean revoke(VerifiedToken token) {
+        return revocationList.revoke(token.getTokenId(), token.getExpiresAt());
+    }
+
+    /**
+     * Cierra la sesión sin estado: revoca el token de acceso presentado, el de refresco si se
+     * envió y, con la generación del usuario, todos sus tokens de refresco
+     *
+     * @param accessToken token de acceso verificado de la petición, o null
+     * @param refreshToken token de refresco enviado en el cuerpo, o null
+     */
+    public void logout(VerifiedToken accessToken, String refreshToken) {
+        String username = null;
+        if (accessToken != null) {
+            revoke(accessToken);
+            username = accessToken.getUsername();
+        }
+        VerifiedToken refresh = verifyRefreshToken(refreshToken);
+        if (refresh != null) {
+            revoke(refresh);
+            username = refresh.getUsername();
+        }
+        if (username != null) {
+            revokeRefreshTokens(username);
+        }
+    }
+
+    private String sign(String type, long expiresAt, String authorities, String username) {
+        String payload = type + '|' + expiresAt + '|' + newTokenId() + '|' + authorities + '|' + username;
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        byte[] signature = mac.get().doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        return encodedPayload + '.' + ENCODER.encodeToString(signature);
+    }
+
+    private VerifiedToken verify(String token, String expectedType) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.lastIndexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+        try {
+            byte[] expected = mac.get().doFinal(token.substring(0, dot).getBytes(StandardCharsets.US_ASCII));
+            byte[] actual = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return null;
+            }
+
+            String[] parts = new String(DECODER.decode(token.substring(0, dot)), StandardCharsets.UTF_8).split("\\|", 5);
+            if (parts.length != 5 || !expectedType.equals(parts[0])) {
+                return null;
+            }
+            long expiresAt = Long.parseLong(parts[1]);
+            if (expiresAt <= System.currentTimeMillis() / 1000 || revocationList.isRevoked(parts[2])) {
+                return null;
+            }
+            if (REFRESH.equals(expectedType)) {
+                return new VerifiedToken(parts[4], parts[2], expiresAt, List.of(),
+                        parts[3].isEmpty() ? 0 : Integer.parseInt(parts[3]));
+            }
+            return new VerifiedToken(parts[4], parts[2], expiresAt, authorities(parts[3]), 0);
+        } catch (IllegalArgumentException e) {
+            // Base64 o número inválido: token manipulado
+            return null;
+        }
+    }
+
+    private List<GrantedAuthority> authorities(String encoded) {
+        List<GrantedAuthority> cached = authoritySets.get(encoded);
+        if (cached != null) {
+            return cached;
+        }
+        List<GrantedAuthority> parsed = new ArrayList<>();
+        if (!encoded.isEmpty()) {
+            for (String authority : encoded.split(",")) {
+                parsed.add(authority.startsWith(RoleAuthority.PREFIX)
+                        ? RoleAuthority.of(authority)
+                        : new SimpleGrantedAuthority(authority));
+            }
+        }
+        parsed = Collections.unmodifiableList(parsed);
+        if (authoritySets.size() < MAX_CACHED_AUTHORITY_SETS) {
+            authoritySets.putIfAbsent(encoded, parsed);
+        }
+        return parsed;
+    }
+
+    private static String newTokenId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ByteBuffer id = ByteBuffer.allocate(16).putLong(random.nextLong()).putLong(random.nextLong());
+        return ENCODER.encodeToString(id.array());
+    }
+
+    private static byte[] resolveSecret(String secret, boolean enabled) {
+        byte[] bytes = secret == null ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= MIN_SECRET_BYTES) {
+            return bytes;
+        }
+        if (enabled) {
+            logger.warn("app.security.token.secret ausente o menor a {} bytes: se usa una clave aleatoria; "
+                    + "los tokens no serán válidos en otros nodos ni tras reiniciar", MIN_SECRET_BYTES);
+        }
+        byte[] random = new byte[MIN_SECRET_BYTES];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo inicializar " + ALGORITHM, e);
+        }
+    }
+
+    /**
+     * Par de tokens emitido en login o refresco
+     */
+    public static final class TokenPair {
+        private final String accessToken;
+        private final String refreshToken;
+        private final long expiresIn;
+
+        TokenPair(String accessToken, String refreshToken, long expiresIn) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+            this.expiresIn = expiresIn;
+        }
+
+        public String getAccessToken() { return accessToken; }
+        public String getRefreshToken() { return refreshToken; }
+        public long getExpiresIn() { return expiresIn; }
+    }
+
+    /**
+     * Contenido de un token con firma válida
+     */
+    public static final class VerifiedToken {
+        private final String username;
+        private final String tokenId;
+        private final long expiresAt;
+        private final List<GrantedAuthority> authorities;
+        private final int generation;
+        private final long roleMask;
+
+        VerifiedToken(String username, String tokenId, long expiresAt, List<GrantedAuthority> authorities,
+                      int generation) {
+            this.username = username;
+            this.tokenId = tokenId;
+            this.expiresAt = expiresAt;
+            this.authorities = authorities;
+            this.generation = generation;
+            this.roleMask = RoleAuthority.maskOf(authorities);
+        }
+
+        public String getUsername() { return username; }
+        public String getTokenId() { return tokenId; }
+        public long getExpiresAt() { return expiresAt; }
+        public List<GrantedAuthority> getAuthorities() { return authorities; }
+        public int getGeneration() { return generation; }
+        public long getRoleMask() { return roleMask; }
+    }
+}
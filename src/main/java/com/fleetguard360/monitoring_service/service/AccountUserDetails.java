@@ -0,0 +1,55 @@
+package com.fleetguard360.monitoring_service.service;
+
+import com.fleetguard360.monitoring_service.config.RoleAuthority;
+import com.fleetguard360.monitoring_service.config.RoleMaskHolder;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.util.Collection;
+
+/**
+ * UserDetails del login con sesión, con la máscara de roles de CachedUserAccount.
+ *
+ * Es el principal que DaoAuthenticationProvider guarda en la sesión. La máscara no se
+ * serializa: al cargar la sesión en otro proceso se recalcula con los bits de ese proceso.
+ */
+public class AccountUserDetails extends User implements RoleMaskHolder {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private transient long roleMask;
+
+    private AccountUserDetails(String username, String password, boolean enabled, boolean accountNonLocked,
+                               Collection<? extends GrantedAuthority> authorities, long roleMask) {
+        super(username, password, enabled, true, true, accountNonLocked, authorities);
+        this.roleMask = roleMask;
+    }
+
+    static AccountUserDetails from(CachedUserAccount account, boolean locked) {
+        return new AccountUserDetails(account.getUsername(), account.getPassword(), account.isEnabled(), !locked,
+                account.getAuthorities(), account.getRoleMask());
+    }
+
+    /**
+     * Copia con otro hash de contraseña, conservando roles y máscara
+     */
+    AccountUserDetails withPassword(String password) {
+        return new AccountUserDetails(getUsername(), password, isEnabled(), isAccountNonLocked(), getAuthorities(),
+                roleMask);
+    }
+
+    @Override
+    public long getRoleMask() {
+        return roleMask;
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        roleMask = RoleAuthority.maskOf(getAuthorities());
+    }
+}
@@ -1,11 +1,13 @@
 package com.fleetguard360.monitoring_service.service;
 
-import com.fleetguard360.monitoring_service.model.User;
-import com.fleetguard360.monitoring_service.model.LoginHistory;
 import com.fleetguard360.monitoring_service.repository.UserRepository;
-import com.fleetguard360.monitoring_service.repository.LoginHistoryRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -13,22 +15,63 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
+/**
+ * Registro de intentos de login y estado de bloqueo
+ *
+ * Cada método público publica el timer "auth.service"; los resultados de login se cuentan en
+ * "auth.login.attempts" (outcome=success|failure, known_user) y los bloqueos en "auth.lockouts".
+ */
 @Service
 @Transactional
+@Timed(value = "auth.service", histogram = true)
 public class AuthenticationService {
     
     private static final Logger logger = LoggerFactory.getLogger(AuthenticationService.class);
-    private static final int MAX_FAILED_ATTEMPTS = 3;
-    private static final int LOCK_TIME_DURATION = 15; // minutes
 
     private UserRepository userRepository;
     
-    private LoginHistoryRepository loginHistoryRepository;
+    private LoginHistoryWriter loginHistoryWriter;
+
+    private UserAccountCache userAccountCache;
+
+    private LoginLockoutTracker lockoutTracker;
+
+    private CredentialStuffingDetector stuffingDetector;
+
+    private final Counter loginSuccess;
+
+    private final Counter loginFailureKnownUser;
+
+    private final Counter loginFailureUnknownUser;
+
+    private final Counter userLockouts;
+
+    private final Counter ipLockouts;
 
 		@Autowired
-		public AuthenticationService (UserRepository userRepository, LoginHistoryRepository loginHistoryRepository) {
+		public AuthenticationService (UserRepository userRepository, LoginHistoryWriter loginHistoryWriter,
+				UserAccountCache userAccountCache, LoginLockoutTracker lockoutTracker,
+				CredentialStuffingDetector stuffingDetector, ObjectProvider<MeterRegistry> meterRegistry) {
 			this.userRepository = userRepository;
-			this.loginHistoryRepository = loginHistoryRepository;
+			this.loginHistoryWriter = loginHistoryWriter;
+			this.userAccountCache = userAccountCache;
+			this.lockoutTracker = lockoutTracker;
+			this.stuffingDetector = stuffingDetector;
+
+			MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+			this.loginSuccess = loginAttempts(registry, "success", true);
+			this.loginFailureKnownUser = loginAttempts(registry, "failure", true);
+			this.loginFailureUnknownUser = loginAttempts(registry, "failure", false);
+			this.userLockouts = Counter.builder("auth.lockouts").tag("scope", "user").register(registry);
+			this.ipLockouts = Counter.builder("auth.lockouts").tag("scope", "ip").register(registry);
+		}
+
+		private static Counter loginAttempts(MeterRegistry registry, String outcome, boolean knownUser) {
+			return Counter.builder("auth.login.attempts")
+					.description("Intentos de login por resultado")
+					.tag("outcome", outcome)
+					.tag("known_user", String.valueOf(knownUser))
+					.register(registry);
 		}
 
 		public String prepareUsername(String username, String context) {
@@ -43,25 +86,33 @@ public class AuthenticationService {
 
     public void recordFailedAttempt(String username, String ipAddress) {
         try {
-            User user = userRepository.findByUsername(username).orElse(null);
+            CachedUserAccount user = userAccountCache.find(username).orElse(null);
+            
+            // Solo se cuenta por usuario cuando existe, con su nombre canónico; la IP se cuenta siempre
+            LoginLockoutTracker.FailureOutcome outcome =
+                    lockoutTracker.recordFailure(user != null ? user.getUsername() : null, ipAddress);
             
             if (user != null) {
-                int newFailAttempts = user.getFailedAttempts() + 1;
-                user.setFailedAttempts(newFailAttempts);
-                
-                logger.warn("Usuario {} falló intento de login #{} desde IP {}", username, newFailAttempts, ipAddress);
+                logger.warn("Usuario {} falló intento de login #{} desde IP {}", 
+                        username, outcome.getUserFailures(), ipAddress);
                 
-                if (newFailAttempts >= MAX_FAILED_ATTEMPTS) {
-                    user.setLockTime(LocalDateTime.now());
+                // Solo la transición a bloqueado se persiste
+                if (outcome.isUserLocked()) {
+                    userLockouts.increment();
+                    userRepository.updateLockState(user.getUsername(), outcome.getUserFailures(), LocalDateTime.now());
+                    userAccountCache.invalidate(user.getUsername());
                     logger.error("Usuario {} BLOQUEADO tras {} intentos fallidos desde IP {}", 
-                            username, newFailAttempts, ipAddress);
+                            username, outcome.getUserFailures(), ipAddress);
                 }
-                
-                userRepository.save(user);
+            }
+            
+            if (outcome.isIpLocked()) {
+                ipLockouts.increment();
+                logger.error("IP {} BLOQUEADA tras {} intentos fallidos", ipAddress, outcome.getIpFailures());
             }
             
             // Registrar intento fallido en historial
-            recordLoginAttempt(user, ipAddress, false);
+            recordLoginAttempt(username, user, ipAddress, false);
             
         } catch (Exception e) {
             logger.error("Error al registrar intento fallido para usuario {}: {}", username, e.getMessage());
@@ -70,45 +121,42 @@ public class AuthenticationService {
 
     public void recordSuccessfulLogin(String username, String ipAddress) {
         try {
-            User user = userRepository.findByUsername(username)
+            CachedUserAccount user = userAccountCache.find(username)
                     .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
             
-            // Resetear intentos fallidos en login exitoso
-            if (user.getFailedAttempts() > 0) {
-                user.setFailedAttempts(0);
-                user.setLockTime(null);
-                userRepository.save(user);
+            // Resetear intentos fallidos en login exitoso; solo se escribe si había un bloqueo persistido
+            lockoutTracker.reset(user.getUsername());
+            if (user.hasLockState()) {
+                userRepository.updateLockState(user.getUsername(), 0, null);
+                userAccountCache.invalidate(user.getUsername());
             }
             
             logger.info("Login exitoso para usuario {} desde IP {}", username, ipAddress);
             
             // Registrar login exitoso en historial
-            recordLoginAttempt(user, ipAddress, true);
+            recordLoginAttempt(username, user, ipAddress, true);
             
         } catch (Exception e) {
             logger.error("Error al registrar login exitoso para usuario {}: {}", username, e.getMessage());
         }
     }
 
-    private void recordLoginAttempt(User user, String ipAddress, boolean success) {
-        try {
-            LoginHistory loginHistory = new LoginHistory();
-            loginHistory.setUser(user);
-            loginHistory.setLoginTime(LocalDateTime.now());
-            loginHistory.setIpAddress(ipAddress);
-            loginHistory.setSuccess(success);
-            
-            loginHistoryRepository.save(loginHistory);
-            
-        } catch (Exception e) {
-            logger.error("Error al guardar historial de login: {}", e.getMessage());
+    private void recordLoginAttempt(String username, CachedUserAccount user, String ipAddress, boolean success) {
+        if (success) {
+            loginSuccess.increment();
+        } else if (user != null) {
+            loginFailureKnownUser.increment();
+        } else {
+            loginFailureUnknownUser.increment();
         }
+        // Se escribe en segundo plano; los intentos de usuarios inexistentes se guardan sin user_id
+        loginHistoryWriter.record(user != null ? user.getId() : null, username, ipAddress, success);
+        stuffingDetector.record(username, ipAddress, success);
     }
 
     public boolean isUserLocked(String username) {
-        return userRepository.findByUsername(username)
-                .map(user -> user.getLockTime() != null && 
-                            LocalDateTime.now().isBefore(user.getLockTime().plusMinutes(LOCK_TIME_DURATION)))
+        return userAccountCache.find(username)
+                .map(user -> lockoutTracker.isUserLocked(user.getUsername(), user.getLockTime()))
                 .orElse(false);
     }
     
@@ -119,16 +167,26 @@ public class AuthenticationService {
         return isUserLocked(username);
     }
     
+    /**
+     * Indica si el usuario o la IP de origen están bloqueados
+     */
+    public boolean isAccountLocked(String username, String ipAddress) {
+        return lockoutTracker.isIpLocked(ipAddress) || isUserLocked(username);
+    }
+    
     /**
      * Resetea los intentos fallidos de un usuario
      */
     public void resetFailedAttempts(String username) {
         try {
-            User user = userRepository.findByUsername(username).orElse(null);
+            CachedUserAccount user = userAccountCache.find(username).orElse(null);
             if (user != null) {
-                user.setFailedAttempts(0);
-                user.setLockTime(null);
-                userRepository.save(user);
+                lockoutTracker.reset(user.getUsername());
+                // Sin escritura si no hay estado de bloqueo que limpiar
+                if (user.hasLockState()) {
+                    userRepository.updateLockState(user.getUsername(), 0, null);
+                    userAccountCache.invalidate(user.getUsername());
+                }
 								if (username != null){
 									username = username.replaceAll("[\n\r]", "_");
 								}
@@ -0,0 +1,93 @@
+package com.fleetguard360.monitoring_service.service;
+
+import com.fleetguard360.monitoring_service.config.RoleAuthority;
+import com.fleetguard360.monitoring_service.model.Role;
+import com.fleetguard360.monitoring_service.model.User;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Vista inmutable de un usuario para el camino de autenticación.
+ *
+ * Contiene lo necesario para validar credenciales, decidir el bloqueo y construir las
+ * autoridades sin volver a consultar la base de datos ni tocar la entidad administrada.
+ */
+public final class CachedUserAccount {
+
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final boolean enabled;
+    private final int failedAttempts;
+    private final LocalDateTime lockTime;
+    private final Set<String> roleNames;
+    private final List<GrantedAuthority> authorities;
+    private final long roleMask;
+
+    private CachedUserAccount(User user) {
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.password = user.getPassword();
+        this.enabled = user.isEnabled();
+        this.failedAttempts = user.getFailedAttempts();
+        this.lockTime = user.getLockTime();
+
+        Set<String> names = new LinkedHashSet<>();
+        for (Role role : user.getRoles()) {
+            names.add(role.getName());
+        }
+        this.roleNames = Collections.unmodifiableSet(names);
+        this.authorities = names.stream()
+                .<GrantedAuthority>map(RoleAuthority::of)
+                .toList();
+        this.roleMask = RoleAuthority.maskOf(authorities);
+    }
+
+    public static CachedUserAccount from(User user) {
+        return new CachedUserAccount(user);
+    }
+
+    /**
+     * Indica si hay estado de bloqueo persistido que limpiar
+     */
+    public boolean hasLockState() {
+        return failedAttempts != 0 || lockTime != null;
+    }
+
+    /**
+     * Copia desacoplada de la entidad, sin el hash de la contraseña.
+     * Los cambios sobre la copia no se persisten.
+     */
+    public User toUser() {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEnabled(enabled);
+        user.setFailedAttempts(failedAttempts);
+        user.setLockTime(lockTime);
+        Set<Role> roles = new HashSet<>();
+        for (String name : roleNames) {
+            Role role = new Role();
+            role.setName(name);
+            roles.add(role);
+        }
+        user.setRoles(roles);
+        return user;
+    }
+
+    public Long getId() { return id; }
+    public String getUsername() { return username; }
+    public String getPassword() { return password; }
+    public boolean isEnabled() { return enabled; }
+    public int getFailedAttempts() { return failedAttempts; }
+    public LocalDateTime getLockTime() { return lockTime; }
+    public Set<String> getRoleNames() { return roleNames; }
+    public List<GrantedAuthority> getAuthorities() { return authorities; }
+    public long getRoleMask() { return roleMask; }
+}
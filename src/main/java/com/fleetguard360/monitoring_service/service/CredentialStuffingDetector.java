@@ -0,0 +1,307 @@
+package com.fleetguard360.monitoring_service.service;
+
+import com.fleetguard360.monitoring_service.dto.LoginThreatEntry;
+import com.fleetguard360.monitoring_service.dto.LoginThreatReport;
+import com.fleetguard360.monitoring_service.util.CountMinSketch;
+import com.fleetguard360.monitoring_service.util.ScalableBloomFilter;
+import com.fleetguard360.monitoring_service.util.SpaceSavingTopK;
+import com.fleetguard360.monitoring_service.util.UsernameKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * Detector de credential stuffing sobre todos los intentos de login, en memoria fija.
+ *
+ * A diferencia de LoginLockoutTracker, que cuenta por usuario existente, aquí entran
+ * también los intentos contra usuarios inexistentes. Por ventana de tiempo se mantiene un
+ * Count-Min Sketch de fallos por IP y otro por usuario, y un top-K Space-Saving de IPs y de
+ * usuarios con más fallos, cada uno con un HyperLogLog de usuarios (o IPs) distintos. Se
+ * conservan la ventana actual y la anterior, así que la memoria no depende del tráfico.
+ *
+ * Una IP es sospechosa si acumula muchos fallos o prueba muchos usuarios distintos; un
+ * usuario lo es si acumula muchos fallos o se ataca desde muchas IPs. La sobreestimación de
+ * un contador del sketch crece con el volumen (fallos de la ventana / width), así que el
+ * umbral de fallos se compara con la estimación menos ese margen: bajo un ataque masivo una
+ * IP o usuario legítimo no se marca solo por colisiones. LoginRateLimitFilter consulta estas
+ * señales para cobrar más tokens a las peticiones sospechosas.
+ */
+@Component
+public class CredentialStuffingDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(CredentialStuffingDetector.class);
+
+    private static final long SEED_1 = 0x5bd1e995L;
+
+    private static final long SEED_2 = 0x27d4eb2fL;
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final long windowMillis;
+
+    private final int sketchDepth;
+
+    private final int sketchWidth;
+
+    private final int topK;
+
+    private final int hllPrecision;
+
+    private final long ipFailureThreshold;
+
+    private final long ipDistinctUsernamesThreshold;
+
+    private final long usernameFailureThreshold;
+
+    private final long usernameDistinctIpsThreshold;
+
+    private final int penaltyPermits;
+
+    private final AtomicReference<Windows> windows;
+
+		@Autowired
+		public CredentialStuffingDetector(
+				@Value("${app.security.stuffing.window-seconds:300}") long windowSeconds,
+				@Value("${app.security.stuffing.sketch-depth:4}") int sketchDepth,
+				@Value("${app.security.stuffing.sketch-width:2048}") int sketchWidth,
+				@Value("${app.security.stuffing.top-k:64}") int topK,
+				@Value("${app.security.stuffing.hll-precision:8}") int hllPrecision,
+				@Value("${app.security.stuffing.ip-failure-threshold:20}") long ipFailureThreshold,
+				@Value("${app.security.stuffing.ip-distinct-usernames-threshold:10}") long ipDistinctUsernamesThreshold,
+				@Value("${app.security.stuffing.username-failure-threshold:20}") long usernameFailureThreshold,
+				@Value("${app.security.stuffing.username-distinct-ips-threshold:5}") long usernameDistinctIpsThreshold,
+				@Value("${app.security.stuffing.penalty-permits:4}") int penaltyPermits) {
+			this.windowMillis = Math.max(1, windowSeconds) * 1000L;
+			this.sketchDepth = sketchDepth;
+			this.sketchWidth = sketchWidth;
+			this.topK = topK;
+			this.hllPrecision = hllPrecision;
+			this.ipFailureThreshold = Math.max(1, ipFailureThreshold);
+			this.ipDistinctUsernamesThreshold = Math.max(1, ipDistinctUsernamesThreshold);
+			this.usernameFailureThreshold = Math.max(1, usernameFailureThreshold);
+			this.usernameDistinctIpsThreshold = Math.max(1, usernameDistinctIpsThreshold);
+			this.penaltyPermits = Math.max(1, penaltyPermits);
+			this.windows = new AtomicReference<>(new Windows(System.currentTimeMillis() / windowMillis,
+					newWindow(), newWindow()));
+		}
+
+    /**
+     * Registra un intento de login; solo trabajo en memoria, sin acceso a la base de datos
+     */
+    public void record(String username, String ipAddress, boolean success) {
+        record(username, ipAddress, success, System.currentTimeMillis());
+    }
+
+    void record(String username, String ipAddress, boolean success, long now) {
+        Window window = windows(now).current;
+        window.attempts.incrementAndGet();
+        if (success) {
+            return;
+        }
+        window.failures.incrementAndGet();
+
+        String user = normalize(UsernameKey.of(username));
+        String ip = normalize(ipAddress);
+        long userHash = user != null ? ScalableBloomFilter.hash(user, SEED_1) : 0;
+        long ipHash = ip != null ? ScalableBloomFilter.hash(ip, SEED_1) : 0;
+
+        if (ip != null) {
+            window.ipFailures.add(ipHash, ScalableBloomFilter.hash(ip, SEED_2), 1);
+            window.topIps.offer(ip, userHash);
+        }
+        if (user != null) {
+            window.usernameFailures.add(userHash, ScalableBloomFilter.hash(user, SEED_2), 1);
+            window.topUsernames.offer(user, ipHash);
+        }
+    }
+
+    public boolean isSuspiciousIp(String ipAddress) {
+        return isSuspiciousIp(ipAddress, System.currentTimeMillis());
+    }
+
+    boolean isSuspiciousIp(String ipAddress, long now) {
+        String ip = normalize(ipAddress);
+        if (ip == null) {
+            return false;
+        }
+        Windows current = windows(now);
+        long failures = failures(current, ip, true);
+        // Los usuarios distintos nunca superan a los fallos: se evita el top-K sincronizado
+        return failures - overcount(current) >= ipFailureThreshold
+                || (failures >= ipDistinctUsernamesThreshold && distinct(current, ip, true) >= ipDistinctUsernamesThreshold);
+    }
+
+    public boolean isSuspiciousUsername(String username) {
+        return isSuspiciousUsername(username, System.currentTimeMillis());
+    }
+
+    boolean isSuspiciousUsername(String username, long now) {
+        String user = normalize(UsernameKey.of(username));
+        if (user == null) {
+            return false;
+        }
+        Windows current = windows(now);
+        long failures = failures(current, user, false);
+        return failures - overcount(current) >= usernameFailureThreshold
+                || (failures >= usernameDistinctIpsThreshold && distinct(current, user, false) >= usernameDistinctIpsThreshold);
+    }
+
+    /**
+     * Tokens del limitador de tasa que cuesta un intento desde esta IP
+     */
+    public int ipPermits(String ipAddress) {
+        return isSuspiciousIp(ipAddress) ? penaltyPermits : 1;
+    }
+
+    /**
+     * Tokens del limitador de tasa que cuesta un intento contra este usuario
+     */
+    public int usernamePermits(String username) {
+        return isSuspiciousUsername(username) ? penaltyPermits : 1;
+    }
+
+    /**
+     * Resumen de la ventana actual y la anterior para administración
+     */
+    public LoginThreatReport report(int limit) {
+        return report(limit, System.currentTimeMillis());
+    }
+
+    LoginThreatReport report(int limit, long now) {
+        Windows current = windows(now);
+        int size = Math.max(1, Math.min(limit, topK));
+
+        LoginThreatReport report = new LoginThreatReport();
+        report.setWindowSeconds(2 * windowMillis / 1000);
+        report.setAttempts(current.current.attempts.get() + current.previous.attempts.get());
+        report.setFailures(current.current.failures.get() + current.previous.failures.get());
+        report.setTopIps(merge(current.current.topIps, current.previous.topIps, size,
+                ip -> isSuspiciousIp(ip, now)));
+        report.setTopUsernames(merge(current.current.topUsernames, current.previous.topUsernames, size,
+                user -> isSuspiciousUsername(user, now)));
+        return report;
+    }
+
+    private long failures(Windows current, String key, boolean ip) {
+        long hash1 = ScalableBloomFilter.hash(key, SEED_1);
+        long hash2 = ScalableBloomFilter.hash(key, SEED_2);
+        CountMinSketch now = ip ? current.current.ipFailures : current.current.usernameFailures;
+        CountMinSketch before = ip ? current.previous.ipFailures : current.previous.usernameFailures;
+        return now.estimate(hash1, hash2) + before.estimate(hash1, hash2);
+    }
+
+    /**
+     * Sobreestimación esperada de un contador: fallos de cada ventana repartidos en su ancho
+     */
+    private static long overcount(Windows current) {
+        return current.current.failures.get() / current.current.ipFailures.getWidth()
+                + current.previous.failures.get() / current.previous.ipFailures.getWidth();
+    }
+
+    private static long distinct(Windows current, String key, boolean ip) {
+        SpaceSavingTopK now = ip ? current.current.topIps : current.current.topUsernames;
+        SpaceSavingTopK before = ip ? current.previous.topIps : current.previous.topUsernames;
+        return Math.max(now.distinct(key), before.distinct(key));
+    }
+
+    private static List<LoginThreatEntry> merge(SpaceSavingTopK current, SpaceSavingTopK previous, int limit,
+                                                Predicate<String> suspicious) {
+        Map<String, LoginThreatEntry> merged = new LinkedHashMap<>();
+        for (SpaceSavingTopK topK : List.of(current, previous)) {
+            for (SpaceSavingTopK.Entry entry : topK.top(limit)) {
+                LoginThreatEntry threat = merged.computeIfAbsent(entry.getKey(),
+                        key -> new LoginThreatEntry(key, 0, 0, 0, false));
+                threat.setFailures(threat.getFailures() + entry.getCount());
+                threat.setErrorBound(threat.getErrorBound() + entry.getError());
+                threat.setDistinct(Math.max(threat.getDistinct(), entry.getDistinct()));
+            }
+        }
+        List<LoginThreatEntry> entries = new ArrayList<>(merged.values());
+        entries.sort(Comparator.comparingLong(LoginThreatEntry::getFailures).reversed());
+        if (entries.size() > limit) {
+            entries = new ArrayList<>(entries.subList(0, limit));
+        }
+        entries.forEach(entry -> entry.setSuspicious(suspicious.test(entry.getKey())));
+        return entries;
+    }
+
+    /**
+     * Ventanas vigentes; al cambiar de ventana la actual pasa a ser la anterior
+     */
+    private Windows windows(long now) {
+        long epoch = now / windowMillis;
+        while (true) {
+            Windows current = windows.get();
+            if (current.epoch == epoch) {
+                return current;
+            }
+            if (epoch < current.epoch) {
+                // Reloj retrasado: se cuenta en la ventana vigente
+                return current;
+            }
+            Window previous = current.epoch == epoch - 1 ? current.current : newWindow();
+            Windows next = new Windows(epoch, newWindow(), previous);
+            if (windows.compareAndSet(current, next)) {
+                logWindow(current.current);
+                return next;
+            }
+        }
+    }
+
+    private void logWindow(Window closed) {
+        long failures = closed.failures.get();
+        if (failures > 0) {
+            logger.info("Ventana de detección cerrada: {} intentos, {} fallidos", closed.attempts.get(), failures);
+        }
+    }
+
+    private Window newWindow() {
+        return new Window(sketchDepth, sketchWidth, topK, hllPrecision);
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return value.length() > MAX_KEY_LENGTH ? value.substring(0, MAX_KEY_LENGTH) : value;
+    }
+
+    private static final class Windows {
+        private final long epoch;
+        private final Window current;
+        private final Window previous;
+
+        Windows(long epoch, Window current, Window previous) {
+            this.epoch = epoch;
+            this.current = current;
+            this.previous = previous;
+        }
+    }
+
+    private static final class Window {
+        private final AtomicLong attempts = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final CountMinSketch ipFailures;
+        private final CountMinSketch usernameFailures;
+        private final SpaceSavingTopK topIps;
+        private final SpaceSavingTopK topUsernames;
+
+        Window(int depth, int width, int topK, int precision) {
+            this.ipFailures = new CountMinSketch(depth, width);
+            this.usernameFailures = new CountMinSketch(depth, width);
+            this.topIps = new SpaceSavingTopK(topK, precision);
+            this.topUsernames = new SpaceSavingTopK(topK, precision);
+        }
+    }
+}
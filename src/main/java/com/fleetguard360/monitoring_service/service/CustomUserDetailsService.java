@@ -2,81 +2,80 @@ package com.fleetguard360.monitoring_service.service;
 
 import com.fleetguard360.monitoring_service.model.User;
 import com.fleetguard360.monitoring_service.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.util.Collection;
-import java.util.stream.Collectors;
-
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
+
+    private UserAccountCache userAccountCache;
+
+    private LoginLockoutTracker lockoutTracker;
 
     private UserRepository userRepository;
 
 		@Autowired
-		public CustomUserDetailsService (UserRepository userRepository) {
+		public CustomUserDetailsService (UserAccountCache userAccountCache, LoginLockoutTracker lockoutTracker,
+				UserRepository userRepository) {
+			this.userAccountCache = userAccountCache;
+			this.lockoutTracker = lockoutTracker;
 			this.userRepository = userRepository;
 		}
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
+        CachedUserAccount user = loadUserAccount(username);
 
-        // Verificar si el usuario está bloqueado
-        if (isUserLocked(user)) {
+        // Verificar si el usuario está bloqueado (en memoria, sin escrituras)
+        boolean locked = lockoutTracker.isUserLocked(user.getUsername(), user.getLockTime());
+        if (locked) {
             throw new UsernameNotFoundException("Usuario bloqueado temporalmente debido a múltiples intentos fallidos");
         }
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                user.isEnabled(),
-                true, // accountNonExpired
-                true, // credentialsNonExpired
-                !isUserLocked(user), // accountNonLocked
-                getAuthorities(user)
-        );
+        // Lleva la máscara de roles ya calculada para la autorización de cada petición
+        return AccountUserDetails.from(user, locked);
     }
 
-    private boolean isUserLocked(User user) {
-        if (user.getLockTime() == null) {
-            return false;
+    /**
+     * Guarda el hash recalculado tras un login correcto cuyo hash tenía otro coste BCrypt.
+     * Lo invoca DaoAuthenticationProvider cuando PasswordEncoder.upgradeEncoding lo pide.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        if (userRepository.updatePassword(user.getUsername(), newPassword) > 0) {
+            userAccountCache.invalidate(user.getUsername());
+            logger.info("Hash de contraseña actualizado al coste BCrypt vigente para usuario: {}", user.getUsername());
         }
-        
-        // Verificar si han pasado 15 minutos desde el bloqueo
-        LocalDateTime lockTime = user.getLockTime();
-        LocalDateTime unlockTime = lockTime.plusMinutes(15);
-        
-        if (LocalDateTime.now().isAfter(unlockTime)) {
-            // Desbloquear usuario automáticamente
-            user.setFailedAttempts(0);
-            user.setLockTime(null);
-            userRepository.save(user);
-            return false;
+        if (user instanceof AccountUserDetails account) {
+            return account.withPassword(newPassword);
         }
-        
-        return true;
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
     }
 
-    private Collection<? extends GrantedAuthority> getAuthorities(User user) {
-        return user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName()))
-                .toList();
+    /**
+     * Carga la vista cacheada del usuario por username
+     */
+    public CachedUserAccount loadUserAccount(String username) throws UsernameNotFoundException {
+        return userAccountCache.find(username)
+                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
     }
-    
+
     /**
      * Carga la entidad User completa por username
-     * Útil para obtener información adicional del usuario después de la autenticación
+     * Útil para obtener información adicional del usuario después de la autenticación.
+     * Se sirve desde la caché como copia desacoplada (sin contraseña); no debe usarse para persistir cambios.
      */
     public User loadUserEntityByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
+        return loadUserAccount(username).toUser();
     }
-}
\ No newline at end of file
+}
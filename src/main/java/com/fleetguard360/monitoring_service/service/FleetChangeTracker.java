@@ -0,0 +1,29 @@
+package com.fleetguard360.monitoring_service.service;
+
+import com.fleetguard360.monitoring_service.event.VehicleChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mantiene la versión de cambios de la flota.
+ * La versión se incrementa después del commit de cada mutación de vehículos.
+ */
+@Component
+public class FleetChangeTracker {
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Versión actual de la flota
+     */
+    public long currentVersion() {
+        return version.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,179 @@
+package com.fleetguard360.monitoring_service.service;
+
+import com.fleetguard360.monitoring_service.dto.HourlyFailureCount;
+import com.fleetguard360.monitoring_service.dto.IpActivitySummary;
+import com.fleetguard360.monitoring_service.dto.LoginAttemptResponse;
+import com.fleetguard360.monitoring_service.dto.UserFailureSummary;
+import com.fleetguard360.monitoring_service.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Consultas de análisis sobre el historial de login particionado por día.
+ *
+ * Cada consulta solo recorre las particiones de los días del rango y usa sus índices
+ * (usuario + hora, IP + hora, resultado + hora del día). Los rangos se limitan a
+ * max-range-days para que una revisión no termine leyendo toda la retención.
+ * Al ser de solo lectura se enrutan a la réplica cuando está configurada.
+ */
+@Service
+@Transactional(readOnly = true)
+public class LoginHistoryAnalyticsService {
+
+    public static final int MAX_LIMIT = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LoginHistoryPartitions partitions;
+
+    private final int maxRangeDays;
+
+		@Autowired
+		public LoginHistoryAnalyticsService(JdbcTemplate jdbcTemplate, LoginHistoryPartitions partitions,
+				@Value("${app.security.login-history.max-range-days:31}") int maxRangeDays) {
+			this.jdbcTemplate = jdbcTemplate;
+			this.partitions = partitions;
+			this.maxRangeDays = Math.max(1, maxRangeDays);
+		}
+
+    /**
+     * Intentos de un usuario en el rango, del más reciente al más antiguo.
+     * Recorre las particiones desde la más nueva y se detiene al completar el límite.
+     */
+    public List<LoginAttemptResponse> findAttempts(String username, LocalDateTime from, LocalDateTime to, int limit) {
+        validateRange(from, to);
+        int remaining = clampLimit(limit);
+        List<LocalDate> days = partitions.existingDays(from.toLocalDate(), to.toLocalDate());
+        List<LoginAttemptResponse> attempts = new ArrayList<>(Math.min(remaining, 64));
+        for (int i = days.size() - 1; i >= 0 && remaining > 0; i--) {
+            List<LoginAttemptResponse> page = jdbcTemplate.query(
+                    "SELECT user_id, username, ip_address, login_time, success FROM " + LoginHistoryPartitions.tableName(days.get(i))
+                            + " WHERE username = ? AND login_time >= ? AND login_time < ? ORDER BY login_time DESC LIMIT ?",
+                    (rs, rowNum) -> new LoginAttemptResponse(
+                            rs.getObject("user_id", Long.class),
+                            rs.getString("username"),
+                            rs.getString("ip_address"),
+                            rs.getTimestamp("login_time").toLocalDateTime(),
+                            rs.getBoolean("success")),
+                    username, Timestamp.valueOf(from), Timestamp.valueOf(to), remaining);
+            attempts.addAll(page);
+            remaining -= page.size();
+        }
+        return attempts;
+    }
+
+    /**
+     * Intentos fallidos agrupados por hora
+     */
+    public List<HourlyFailureCount> failuresPerHour(LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        List<LocalDate> days = partitions.existingDays(from.toLocalDate(), to.toLocalDate());
+        if (days.isEmpty()) {
+            return List.of();
+        }
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        for (LocalDate day : days) {
+            appendUnion(sql, "SELECT " + day.format(DateTimeFormatter.BASIC_ISO_DATE) + " AS day_key, hour_of_day, COUNT(*) AS failures FROM "
+                    + LoginHistoryPartitions.tableName(day)
+                    + " WHERE success = FALSE AND login_time >= ? AND login_time < ? GROUP BY hour_of_day");
+            args.add(Timestamp.valueOf(from));
+            args.add(Timestamp.valueOf(to));
+        }
+        List<HourlyFailureCount> counts = jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new HourlyFailureCount(
+                        LocalDate.parse(rs.getString("day_key"), DateTimeFormatter.BASIC_ISO_DATE).atTime(rs.getInt("hour_of_day"), 0),
+                        rs.getLong("failures")),
+                args.toArray());
+        counts.sort(Comparator.comparing(HourlyFailureCount::getHour));
+        return counts;
+    }
+
+    /**
+     * IPs de origen con más intentos fallidos
+     */
+    public List<IpActivitySummary> topSourceIps(LocalDateTime from, LocalDateTime to, int limit) {
+        validateRange(from, to);
+        List<Object> args = new ArrayList<>();
+        String union = unionOf(from, to, "ip_address, username, success", "", args);
+        if (union == null) {
+            return List.of();
+        }
+        args.add(clampLimit(limit));
+        return jdbcTemplate.query(
+                "SELECT ip_address, COUNT(*) AS attempts, SUM(CASE WHEN success THEN 0 ELSE 1 END) AS failures, "
+                        + "COUNT(DISTINCT username) AS usernames FROM (" + union + ") attempts "
+                        + "GROUP BY ip_address ORDER BY failures DESC, attempts DESC LIMIT ?",
+                (rs, rowNum) -> new IpActivitySummary(rs.getString("ip_address"), rs.getLong("attempts"),
+                        rs.getLong("failures"), rs.getLong("usernames")),
+                args.toArray());
+    }
+
+    /**
+     * Usuarios con al menos minFailures intentos fallidos en el rango
+     */
+    public List<UserFailureSummary> repeatedFailures(LocalDateTime from, LocalDateTime to, int minFailures, int limit) {
+        validateRange(from, to);
+        List<Object> args = new ArrayList<>();
+        String union = unionOf(from, to, "username, ip_address, login_time", " AND success = FALSE AND username IS NOT NULL", args);
+        if (union == null) {
+            return List.of();
+        }
+        args.add(Math.max(1, minFailures));
+        args.add(clampLimit(limit));
+        return jdbcTemplate.query(
+                "SELECT username, COUNT(*) AS failures, COUNT(DISTINCT ip_address) AS ips, MAX(login_time) AS last_failure "
+                        + "FROM (" + union + ") failures GROUP BY username HAVING COUNT(*) >= ? "
+                        + "ORDER BY failures DESC LIMIT ?",
+                (rs, rowNum) -> new UserFailureSummary(rs.getString("username"), rs.getLong("failures"),
+                        rs.getLong("ips"), rs.getTimestamp("last_failure").toLocalDateTime()),
+                args.toArray());
+    }
+
+    private String unionOf(LocalDateTime from, LocalDateTime to, String columns, String condition, List<Object> args) {
+        List<LocalDate> days = partitions.existingDays(from.toLocalDate(), to.toLocalDate());
+        if (days.isEmpty()) {
+            return null;
+        }
+        StringBuilder sql = new StringBuilder();
+        for (LocalDate day : days) {
+            appendUnion(sql, "SELECT " + columns + " FROM " + LoginHistoryPartitions.tableName(day)
+                    + " WHERE login_time >= ? AND login_time < ?" + condition);
+            args.add(Timestamp.valueOf(from));
+            args.add(Timestamp.valueOf(to));
+        }
+        return sql.toString();
+    }
+
+    private static void appendUnion(StringBuilder sql, String select) {
+        if (!sql.isEmpty()) {
+            sql.append(" UNION ALL ");
+        }
+        sql.append(select);
+    }
+
+    private void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BusinessException("El inicio del rango debe ser anterior al fin");
+        }
+        if (Duration.between(from, to).compareTo(Duration.ofDays(maxRangeDays)) > 0) {
+            throw new BusinessException("El rango no puede superar " + maxRangeDays + " días");
+        }
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
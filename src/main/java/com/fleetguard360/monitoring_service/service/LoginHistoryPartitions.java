@@ -0,0 +1,284 @@
+package com.fleetguard360.monitoring_service.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Particiones diarias del historial de login.
+ *
+ * Cada día se guarda en su propia tabla (login_history_yyyyMMdd) con índices por usuario,
+ * por IP y por hora. Las consultas por rango solo tocan las tablas de los días pedidos y la
+ * retención elimina tablas completas con DROP TABLE en lugar de recorrer filas con DELETE.
+ * Se usa una tabla por día en lugar del particionado nativo de MySQL para que funcione
+ * también en H2 y no obligue a incluir login_time en la clave primaria.
+ *
+ * La tabla única anterior (login_history, renombrada a login_history_legacy por la migración
+ * V9) se traslada a las particiones en el mantenimiento: sus filas dentro de la retención
+ * pasan a la tabla de su día y después se elimina la tabla entera.
+ */
+@Component
+public class LoginHistoryPartitions {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginHistoryPartitions.class);
+
+    static final String TABLE_PREFIX = "login_history_";
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final Pattern TABLE_NAME = Pattern.compile("login_history_(\\d{8})");
+
+    static final String LEGACY_TABLE = "login_history_legacy";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int retentionDays;
+
+    private final NavigableSet<LocalDate> partitions = new ConcurrentSkipListSet<>();
+
+    private volatile String timestampType;
+
+		@Autowired
+		public LoginHistoryPartitions(JdbcTemplate jdbcTemplate,
+				@Value("${app.security.login-history.retention-days:90}") int retentionDays) {
+			this.jdbcTemplate = jdbcTemplate;
+			this.retentionDays = Math.max(1, retentionDays);
+		}
+
+    public static String tableName(LocalDate day) {
+        return TABLE_PREFIX + day.format(SUFFIX);
+    }
+
+    /**
+     * Tabla del día indicado; la crea si todavía no existe
+     */
+    public String tableFor(LocalDate day) {
+        if (!partitions.contains(day)) {
+            create(day);
+        }
+        return tableName(day);
+    }
+
+    /**
+     * Días con partición existente dentro del rango (ambos extremos incluidos), en orden
+     */
+    public List<LocalDate> existingDays(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return List.of();
+        }
+        return new ArrayList<>(partitions.subSet(from, true, to, true));
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            refresh();
+            maintain();
+        } catch (DataAccessException e) {
+            logger.warn("No se pudieron preparar las particiones del historial de login: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Crea por adelantado la partición de mañana, elimina las que superan la retención y
+     * traslada la tabla heredada si todavía existe
+     */
+    @Scheduled(cron = "${app.security.login-history.maintenance-cron:0 5 0 * * *}")
+    public void maintain() {
+        LocalDate today = LocalDate.now();
+        tableFor(today);
+        tableFor(today.plusDays(1));
+        dropExpired(today);
+        migrateLegacy(today);
+    }
+
+    /**
+     * Elimina las particiones anteriores a la ventana de retención
+     *
+     * @return número de particiones eliminadas
+     */
+    int dropExpired(LocalDate today) {
+        LocalDate oldestKept = today.minusDays(retentionDays - 1L);
+        int dropped = 0;
+        for (LocalDate day : new ArrayList<>(partitions.headSet(oldestKept, false))) {
+            try {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + tableName(day));
+                partitions.remove(day);
+                dropped++;
+            } catch (DataAccessException e) {
+                logger.warn("No se pudo eliminar la partición {}: {}", tableName(day), e.getMessage());
+            }
+        }
+        if (dropped > 0) {
+            logger.info("Eliminadas {} particiones del historial de login anteriores a {}", dropped, oldestKept);
+        }
+        return dropped;
+    }
+
+    /**
+     * Traslada las filas de la tabla heredada a las particiones diarias y la elimina.
+     *
+     * Cada día se copia y se borra de la tabla heredada en una misma transacción, así que
+     * una migración interrumpida se retoma sin duplicar filas. Las filas anteriores a la
+     * retención no se copian: se van con la tabla. Si otro nodo está migrando el mismo día,
+     * una de las dos transacciones falla y ese nodo lo reintenta en el siguiente mantenimiento.
+     *
+     * @return filas trasladadas
+     */
+    int migrateLegacy(LocalDate today) {
+        if (!tableNames().contains(LEGACY_TABLE)) {
+            return 0;
+        }
+
+        LocalDate oldestKept = today.minusDays(retentionDays - 1L);
+        List<LocalDate> days = jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(login_time AS DATE) FROM " + LEGACY_TABLE + " WHERE login_time >= ?",
+                Date.class, Date.valueOf(oldestKept)).stream()
+                .map(Date::toLocalDate)
+                .sorted()
+                .toList();
+
+        int moved = 0;
+        try {
+            for (LocalDate day : days) {
+                moved += moveLegacyDay(day);
+            }
+            jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+        } catch (DataAccessException e) {
+            logger.warn("Traslado del historial de login heredado interrumpido: {}", e.getMessage());
+            return moved;
+        }
+        logger.info("Historial de login heredado trasladado a las particiones: {} filas en {} días", moved, days.size());
+        return moved;
+    }
+
+    private int moveLegacyDay(LocalDate day) {
+        String table = tableFor(day);
+        Timestamp from = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp to = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        Integer moved = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement copy = connection.prepareStatement("INSERT INTO " + table
+                        + " (user_id, username, ip_address, login_time, hour_of_day, success)"
+                        + " SELECT l.user_id, COALESCE(l.username, u.username), SUBSTRING(l.ip_address, 1, 64),"
+                        + " l.login_time, HOUR(l.login_time), l.success"
+                        + " FROM " + LEGACY_TABLE + " l LEFT JOIN users u ON u.id = l.user_id"
+                        + " WHERE l.login_time >= ? AND l.login_time < ?");
+                 PreparedStatement delete = connection.prepareStatement("DELETE FROM " + LEGACY_TABLE
+                        + " WHERE login_time >= ? AND login_time < ?")) {
+                copy.setTimestamp(1, from);
+                copy.setTimestamp(2, to);
+                int copied = copy.executeUpdate();
+                delete.setTimestamp(1, from);
+                delete.setTimestamp(2, to);
+                delete.executeUpdate();
+                connection.commit();
+                return copied;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+        return moved != null ? moved : 0;
+    }
+
+    /**
+     * Relee las particiones existentes desde los metadatos de la base de datos
+     */
+    void refresh() {
+        List<LocalDate> found = new ArrayList<>();
+        for (String name : tableNames()) {
+            Matcher matcher = TABLE_NAME.matcher(name);
+            if (matcher.matches()) {
+                found.add(LocalDate.parse(matcher.group(1), SUFFIX));
+            }
+        }
+        partitions.addAll(found);
+    }
+
+    /**
+     * Nombres de las tablas de la base de datos, en minúsculas
+     */
+    private List<String> tableNames() {
+        return jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            List<String> names = new ArrayList<>();
+            try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, "%", new String[] { "TABLE" })) {
+                while (tables.next()) {
+                    names.add(tables.getString("TABLE_NAME").toLowerCase(Locale.ROOT));
+                }
+            }
+            return names;
+        });
+    }
+
+    private synchronized void create(LocalDate day) {
+        if (partitions.contains(day)) {
+            return;
+        }
+        String table = tableName(day);
+        try {
+            jdbcTemplate.execute("CREATE TABLE " + table + " ("
+                    + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "user_id BIGINT, "
+                    + "username VARCHAR(100), "
+                    + "ip_address VARCHAR(64) NOT NULL, "
+                    + "login_time " + timestampType() + " NOT NULL, "
+                    + "hour_of_day SMALLINT NOT NULL, "
+                    + "success BOOLEAN NOT NULL)");
+            jdbcTemplate.execute("CREATE INDEX idx_" + table + "_user ON " + table + " (username, login_time)");
+            jdbcTemplate.execute("CREATE INDEX idx_" + table + "_ip ON " + table + " (ip_address, login_time)");
+            jdbcTemplate.execute("CREATE INDEX idx_" + table + "_hour ON " + table + " (success, hour_of_day)");
+            logger.info("Creada la partición del historial de login {}", table);
+        } catch (DataAccessException e) {
+            // Otro nodo pudo crearla al mismo tiempo
+            refresh();
+            if (!partitions.contains(day)) {
+                throw e;
+            }
+            return;
+        }
+        partitions.add(day);
+    }
+
+    private String timestampType() {
+        String type = timestampType;
+        if (type == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            // TIMESTAMP de MySQL convierte zonas horarias y termina en 2038
+            type = product != null && product.toLowerCase(Locale.ROOT).contains("mysql") ? "DATETIME(6)" : "TIMESTAMP(6)";
+            timestampType = type;
+        }
+        return type;
+    }
+}
@@ -0,0 +1,295 @@
+package com.fleetguard360.monitoring_service.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escritor asíncrono del historial de login.
+ *
+ * Cada intento se encola en un buffer circular acotado y un hilo en segundo plano lo
+ * inserta en lotes con un único INSERT de varias filas en la partición del día
+ * (ver LoginHistoryPartitions), de modo que la latencia del login
+ * no incluye la escritura del historial. Al detener la aplicación se vacía el buffer; el
+ * escritor se detiene después del servidor web, y lo que llegue ya detenido se escribe en el momento.
+ *
+ * Política de desbordamiento (app.security.login-history.overflow-policy):
+ * DROP_OLDEST descarta el intento más antiguo pendiente para conservar los recientes,
+ * que son los relevantes durante un ataque; DROP_NEWEST descarta el intento nuevo.
+ * En ambos casos los descartes se contabilizan y el login nunca se bloquea.
+ */
+@Component
+public class LoginHistoryWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginHistoryWriter.class);
+
+    private static final String INSERT_COLUMNS = " (user_id, username, ip_address, login_time, hour_of_day, success) VALUES ";
+
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?)";
+
+    private static final String UNKNOWN_IP = "unknown";
+
+    private static final int MAX_USERNAME_LENGTH = 100;
+
+    private static final int MAX_IP_LENGTH = 64;
+
+    private static final long DROP_WARN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        DROP_NEWEST
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LoginHistoryPartitions partitions;
+
+    private final BlockingQueue<LoginAttempt> queue;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final int batchSize;
+
+    private final long flushIntervalMillis;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong written = new AtomicLong();
+
+    private volatile long lastDropWarning;
+
+    private volatile boolean running;
+
+    private volatile boolean stopped;
+
+    private Thread worker;
+
+		@Autowired
+		public LoginHistoryWriter(JdbcTemplate jdbcTemplate, LoginHistoryPartitions partitions,
+				@Value("${app.security.login-history.queue-capacity:20000}") int queueCapacity,
+				@Value("${app.security.login-history.batch-size:500}") int batchSize,
+				@Value("${app.security.login-history.flush-interval-ms:250}") long flushIntervalMillis,
+				@Value("${app.security.login-history.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy) {
+			this.jdbcTemplate = jdbcTemplate;
+			this.partitions = partitions;
+			this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+			this.batchSize = Math.max(1, batchSize);
+			this.flushIntervalMillis = Math.max(1, flushIntervalMillis);
+			this.overflowPolicy = overflowPolicy;
+		}
+
+    /**
+     * Encola un intento de login; nunca bloquea al llamador
+     *
+     * @param userId ID del usuario, o null si el usuario no existe
+     * @param username nombre de usuario intentado
+     * @param ipAddress IP del cliente
+     * @param success resultado del intento
+     */
+    public void record(Long userId, String username, String ipAddress, boolean success) {
+        LoginAttempt attempt = new LoginAttempt(userId, truncate(username, MAX_USERNAME_LENGTH),
+                ipAddress != null ? truncate(ipAddress, MAX_IP_LENGTH) : UNKNOWN_IP, LocalDateTime.now(), success);
+
+        enqueue(attempt);
+        if (stopped) {
+            flush();
+        }
+    }
+
+    /**
+     * Intentos descartados por buffer lleno o error de escritura desde el arranque
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Intentos escritos desde el arranque
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Escribe de inmediato todo lo encolado (usado al detener y en pruebas)
+     */
+    public void flush() {
+        List<LoginAttempt> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "login-history-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        stopped = true;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        logger.info("Escritor del historial de login detenido: {} escritos, {} descartados",
+                written.get(), dropped.get());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Por debajo de la parada del servidor web (SMART_LIFECYCLE_PHASE - 1024): se detiene
+     * cuando el apagado ordenado ya esperó a los logins en curso
+     */
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    private void enqueue(LoginAttempt attempt) {
+        if (queue.offer(attempt)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+            // Liberar un hueco y reintentar una vez; si otro hilo lo ocupa se descarta el nuevo
+            if (queue.poll() != null) {
+                recordDrop();
+            }
+            if (queue.offer(attempt)) {
+                return;
+            }
+        }
+        recordDrop();
+    }
+
+    private void drainLoop() {
+        List<LoginAttempt> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                LoginAttempt first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<LoginAttempt> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // Un lote solo abarca dos días alrededor de medianoche: un INSERT por partición
+        Map<LocalDate, List<LoginAttempt>> byDay = new LinkedHashMap<>();
+        for (LoginAttempt attempt : batch) {
+            byDay.computeIfAbsent(attempt.loginTime.toLocalDate(), day -> new ArrayList<>()).add(attempt);
+        }
+        for (Map.Entry<LocalDate, List<LoginAttempt>> day : byDay.entrySet()) {
+            writePartition(day.getKey(), day.getValue());
+        }
+    }
+
+    private void writePartition(LocalDate day, List<LoginAttempt> attempts) {
+        try {
+            String table = partitions.tableFor(day);
+            StringBuilder sql = new StringBuilder(64 + table.length() + attempts.size() * (ROW_PLACEHOLDERS.length() + 2));
+            sql.append("INSERT INTO ").append(table).append(INSERT_COLUMNS);
+            Object[] args = new Object[attempts.size() * 6];
+            int i = 0;
+            for (LoginAttempt attempt : attempts) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(ROW_PLACEHOLDERS);
+                args[i++] = attempt.userId;
+                args[i++] = attempt.username;
+                args[i++] = attempt.ipAddress;
+                args[i++] = Timestamp.valueOf(attempt.loginTime);
+                args[i++] = attempt.loginTime.getHour();
+                args[i++] = attempt.success;
+            }
+
+            jdbcTemplate.update(sql.toString(), args);
+            written.addAndGet(attempts.size());
+        } catch (Exception e) {
+            dropped.addAndGet(attempts.size());
+            logger.error("Error al escribir {} registros del historial de login: {}", attempts.size(), e.getMessage());
+        }
+    }
+
+    private void recordDrop() {
+        long total = dropped.incrementAndGet();
+        long now = System.nanoTime();
+        if (now - lastDropWarning > DROP_WARN_INTERVAL_NANOS) {
+            lastDropWarning = now;
+            logger.warn("Buffer del historial de login lleno ({}); {} intentos descartados en total",
+                    overflowPolicy, total);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
+    }
+
+    private static final class LoginAttempt {
+        private final Long userId;
+        private final String username;
+        private final String ipAddress;
+        private final LocalDateTime loginTime;
+        private final boolean success;
+
+        LoginAttempt(Long userId, String username, String ipAddress, LocalDateTime loginTime, boolean success) {
+            this.userId = userId;
+            this.username = username;
+            this.ipAddress = ipAddress;
+            this.loginTime = loginTime;
+            this.success = success;
+        }
+    }
+}
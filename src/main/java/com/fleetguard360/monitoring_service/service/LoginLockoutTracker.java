@@ -0,0 +1,252 @@
+package com.fleetguard360.monitoring_service.service;
+
+import com.fleetguard360.monitoring_service.util.SlidingWindowCounter;
+import com.fleetguard360.monitoring_service.util.UsernameKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seguimiento en memoria de intentos fallidos de login por usuario y por IP.
+ *
+ * Cada clave tiene un contador de ventana deslizante sin bloqueos y un instante de
+ * desbloqueo; las claves se reparten en stripes independientes para que la purga y el
+ * crecimiento de un mapa no afecten al resto. Decidir si un usuario o una IP están
+ * bloqueados es una lectura O(1) en memoria; solo la transición a bloqueado se informa al
+ * llamador para que la persista. Los usuarios se indexan por UsernameKey, para que las
+ * variantes de mayúsculas de una misma cuenta compartan ventana y bloqueo.
+ */
+@Component
+public class LoginLockoutTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginLockoutTracker.class);
+
+    private static final int WINDOW_BUCKETS = 16;
+
+    private final int maxUserFailures;
+
+    private final int maxIpFailures;
+
+    private final long windowMillis;
+
+    private final long lockMillis;
+
+    private final long lockMinutes;
+
+    private final ConcurrentMap<String, Entry>[] userStripes;
+
+    private final ConcurrentMap<String, Entry>[] ipStripes;
+
+		@Autowired
+		public LoginLockoutTracker(
+				@Value("${app.security.lockout.max-failures:3}") int maxUserFailures,
+				@Value("${app.security.lockout.ip-max-failures:30}") int maxIpFailures,
+				@Value("${app.security.lockout.window-minutes:15}") long windowMinutes,
+				@Value("${app.security.lockout.lock-minutes:15}") long lockMinutes,
+				@Value("${app.security.lockout.stripes:16}") int stripes) {
+			this.maxUserFailures = Math.max(1, maxUserFailures);
+			this.maxIpFailures = Math.max(1, maxIpFailures);
+			this.windowMillis = Math.max(1, windowMinutes) * 60_000L;
+			this.lockMinutes = Math.max(1, lockMinutes);
+			this.lockMillis = this.lockMinutes * 60_000L;
+			this.userStripes = newStripes(stripes);
+			this.ipStripes = newStripes(stripes);
+		}
+
+    /**
+     * Registra un intento fallido
+     *
+     * @param username usuario existente, o null si no se debe contar por usuario
+     * @param ipAddress IP del cliente, o null si no se conoce
+     */
+    public FailureOutcome recordFailure(String username, String ipAddress) {
+        return recordFailure(username, ipAddress, System.currentTimeMillis());
+    }
+
+    FailureOutcome recordFailure(String username, String ipAddress, long now) {
+        int userFailures = 0;
+        boolean userLocked = false;
+        if (username != null) {
+            Entry entry = entry(userStripes, UsernameKey.of(username), now);
+            userFailures = entry.failures.increment(now);
+            userLocked = userFailures >= maxUserFailures && entry.lock(now, lockMillis);
+        }
+
+        int ipFailures = 0;
+        boolean ipLocked = false;
+        if (ipAddress != null) {
+            Entry entry = entry(ipStripes, ipAddress, now);
+            ipFailures = entry.failures.increment(now);
+            ipLocked = ipFailures >= maxIpFailures && entry.lock(now, lockMillis);
+        }
+
+        return new FailureOutcome(userFailures, userLocked, ipFailures, ipLocked);
+    }
+
+    /**
+     * Indica si el usuario está bloqueado, en memoria o por un bloqueo persistido vigente
+     *
+     * @param persistedLockTime instante de bloqueo guardado en la base de datos, si existe
+     */
+    public boolean isUserLocked(String username, LocalDateTime persistedLockTime) {
+        if (persistedLockTime != null && LocalDateTime.now().isBefore(persistedLockTime.plusMinutes(lockMinutes))) {
+            return true;
+        }
+        return username != null && isLocked(userStripes, UsernameKey.of(username), System.currentTimeMillis());
+    }
+
+    public boolean isIpLocked(String ipAddress) {
+        return ipAddress != null && isLocked(ipStripes, ipAddress, System.currentTimeMillis());
+    }
+
+    boolean isUserLocked(String username, long now) {
+        return isLocked(userStripes, UsernameKey.of(username), now);
+    }
+
+    boolean isIpLocked(String ipAddress, long now) {
+        return isLocked(ipStripes, ipAddress, now);
+    }
+
+    /**
+     * Olvida los intentos fallidos y el bloqueo en memoria de un usuario
+     */
+    public void reset(String username) {
+        if (username != null) {
+            String key = UsernameKey.of(username);
+            stripe(userStripes, key).remove(key);
+        }
+    }
+
+    /**
+     * Elimina las claves sin actividad en la ventana y sin bloqueo vigente
+     */
+    @Scheduled(fixedDelayString = "${app.security.lockout.purge-interval-ms:60000}")
+    public void purgeIdle() {
+        int removed = purgeIdle(System.currentTimeMillis());
+        if (removed > 0) {
+            logger.debug("Eliminadas {} entradas inactivas del control de bloqueos", removed);
+        }
+    }
+
+    int purgeIdle(long now) {
+        return purge(userStripes, now) + purge(ipStripes, now);
+    }
+
+    public long getLockMinutes() {
+        return lockMinutes;
+    }
+
+    public int getTrackedUsers() {
+        return size(userStripes);
+    }
+
+    public int getTrackedIps() {
+        return size(ipStripes);
+    }
+
+    private boolean isLocked(ConcurrentMap<String, Entry>[] stripes, String key, long now) {
+        Entry entry = stripe(stripes, key).get(key);
+        return entry != null && entry.lockedUntil.get() > now;
+    }
+
+    private Entry entry(ConcurrentMap<String, Entry>[] stripes, String key, long now) {
+        Entry entry = stripe(stripes, key).computeIfAbsent(key, k -> new Entry(windowMillis));
+        entry.lastFailure = now;
+        return entry;
+    }
+
+    private int purge(ConcurrentMap<String, Entry>[] stripes, long now) {
+        int removed = 0;
+        for (ConcurrentMap<String, Entry> stripe : stripes) {
+            for (var iterator = stripe.entrySet().iterator(); iterator.hasNext(); ) {
+                Entry entry = iterator.next().getValue();
+                if (now - entry.lastFailure >= windowMillis && entry.lockedUntil.get() <= now) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    private static ConcurrentMap<String, Entry> stripe(ConcurrentMap<String, Entry>[] stripes, String key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return stripes[(hash & 0x7fffffff) % stripes.length];
+    }
+
+    private static int size(ConcurrentMap<String, Entry>[] stripes) {
+        int total = 0;
+        for (ConcurrentMap<String, Entry> stripe : stripes) {
+            total += stripe.size();
+        }
+        return total;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<String, Entry>[] newStripes(int count) {
+        ConcurrentMap<String, Entry>[] stripes = new ConcurrentMap[Math.max(1, count)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        return stripes;
+    }
+
+    private static final class Entry {
+        private final SlidingWindowCounter failures;
+        private final AtomicLong lockedUntil = new AtomicLong();
+        private volatile long lastFailure;
+
+        Entry(long windowMillis) {
+            this.failures = new SlidingWindowCounter(WINDOW_BUCKETS, windowMillis);
+        }
+
+        /**
+         * Bloquea la clave si no lo está; true solo para el hilo que produce la transición
+         */
+        boolean lock(long now, long lockMillis) {
+            long current = lockedUntil.get();
+            if (current > now) {
+                return false;
+            }
+            if (lockedUntil.compareAndSet(current, now + lockMillis)) {
+                // La ventana empieza de cero cuando vence el bloqueo
+                failures.reset();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Resultado de registrar un intento fallido
+     */
+    public static final class FailureOutcome {
+        private final int userFailures;
+        private final boolean userLocked;
+        private final int ipFailures;
+        private final boolean ipLocked;
+
+        FailureOutcome(int userFailures, boolean userLocked, int ipFailures, boolean ipLocked) {
+            this.userFailures = userFailures;
+            this.userLocked = userLocked;
+            this.ipFailures = ipFailures;
+            this.ipLocked = ipLocked;
+        }
+
+        public int getUserFailures() { return userFailures; }
+        /** true si este intento bloqueó al usuario */
+        public boolean isUserLocked() { return userLocked; }
+        public int getIpFailures() { return ipFailures; }
+        /** true si este intento bloqueó la IP */
+        public boolean isIpLocked() { return ipLocked; }
+    }
+}
@@ -0,0 +1,241 @@
+package com.fleetguard360.monitoring_service.service;
+
+import com.fleetguard360.monitoring_service.model.RevokedToken;
+import com.fleetguard360.monitoring_service.repository.RevokedTokenRepository;
+import com.fleetguard360.monitoring_service.util.ScalableBloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Lista de tokens revocados (logout, rotación de refresh).
+ *
+ * La consulta negativa, que es el caso de casi todas las peticiones, se resuelve en memoria
+ * con filtros de Bloom escalables: sin revocaciones vigentes no hay ni un hash, y con ellas
+ * son k lecturas de palabras por generación. Solo un "quizás" consulta el conjunto exacto.
+ * Hay una generación de filtro por horizonte de expiración; al pasar el horizonte todos sus
+ * tokens ya expiraron y la generación se descarta entera, sin borrar bits.
+ * Las revocaciones se persisten, se recargan al arrancar y se sincronizan entre nodos.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private static final long SECOND_HASH_SEED = 0x9E3779B97F4A7C15L;
+
+    // Margen para revocaciones confirmadas en otro nodo mientras se sincronizaba
+    private static final long SYNC_OVERLAP_SECONDS = 5;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final long horizonSeconds;
+
+    private final int bloomInitialCapacity;
+
+    private final double bloomFalsePositiveRate;
+
+    private final ConcurrentMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile Generation[] generations = new Generation[0];
+
+    private volatile LocalDateTime lastSync;
+
+		@Autowired
+		public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+				@Value("${app.security.token.revocation.horizon-seconds:3600}") long horizonSeconds,
+				@Value("${app.security.token.revocation.bloom-initial-capacity:10000}") int bloomInitialCapacity,
+				@Value("${app.security.token.revocation.bloom-false-positive-rate:0.001}") double bloomFalsePositiveRate) {
+			this.revokedTokenRepository = revokedTokenRepository;
+			this.horizonSeconds = Math.max(1, horizonSeconds);
+			this.bloomInitialCapacity = bloomInitialCapacity;
+			this.bloomFalsePositiveRate = bloomFalsePositiveRate;
+		}
+
+    /**
+     * Revoca un token hasta su expiración
+     *
+     * El uso único lo decide la clave primaria de revoked_tokens: solo la llamada cuyo INSERT
+     * entra devuelve true, también entre nodos. Si la escritura falla, el token queda revocado
+     * en este nodo y se devuelve false, de modo que un refresh no se rota sin persistir.
+     *
+     * @param tokenId jti del token
+     * @param expiresAtEpochSecond expiración del token
+     * @return true si esta llamada revocó el token (permite rotar tokens de un solo uso)
+     */
+    public boolean revoke(String tokenId, long expiresAtEpochSecond) {
+        if (tokenId == null || expiresAtEpochSecond <= now() || revoked.containsKey(tokenId)) {
+            return false;
+        }
+        try {
+            revokedTokenRepository.insert(tokenId, expiresAtEpochSecond, LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            // Revocado ya por otra petición, en este u otro nodo
+            remember(tokenId, expiresAtEpochSecond);
+            return false;
+        } catch (DataAccessException e) {
+            logger.error("No se pudo persistir la revocación del token: {}", e.getMessage());
+            remember(tokenId, expiresAtEpochSecond);
+            return false;
+        }
+        return remember(tokenId, expiresAtEpochSecond);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        Generation[] current = generations;
+        if (current.length == 0) {
+            return false;
+        }
+        long hash1 = ScalableBloomFilter.hash(tokenId, 0);
+        long hash2 = ScalableBloomFilter.hash(tokenId, SECOND_HASH_SEED) | 1;
+        for (Generation generation : current) {
+            if (generation.filter.mightContain(hash1, hash2)) {
+                return revoked.containsKey(tokenId);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Carga las revocaciones vigentes al arrancar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        LocalDateTime started = LocalDateTime.now();
+        try {
+            int loaded = apply(revokedTokenRepository.findByExpiresAtGreaterThan(now()));
+            lastSync = started;
+            logger.info("Lista de revocación cargada: {} tokens vigentes", loaded);
+        } catch (DataAccessException e) {
+            logger.warn("No se pudieron cargar las revocaciones persistidas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Incorpora las revocaciones hechas en otros nodos
+     */
+    @Scheduled(fixedDelayString = "${app.security.token.revocation.sync-interval-ms:5000}",
+               initialDelayString = "${app.security.token.revocation.sync-interval-ms:5000}")
+    public void syncFromStore() {
+        LocalDateTime since = lastSync;
+        if (since == null) {
+            initialize();
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        try {
+            apply(revokedTokenRepository.findByRevokedAtGreaterThanEqualAndExpiresAtGreaterThan(
+                    since.minusSeconds(SYNC_OVERLAP_SECONDS), now()));
+            lastSync = started;
+        } catch (DataAccessException e) {
+            logger.debug("Sincronización de revocaciones fallida: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Descarta las generaciones cuyo horizonte pasó y las revocaciones expiradas
+     */
+    @Scheduled(fixedDelayString = "${app.security.token.revocation-purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = now();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        synchronized (this) {
+            generations = Arrays.stream(generations)
+                    .filter(generation -> generation.endsAt > now)
+                    .toArray(Generation[]::new);
+        }
+        int removed = before - revoked.size();
+        if (removed > 0) {
+            logger.debug("Eliminadas {} revocaciones de tokens expirados", removed);
+        }
+        try {
+            revokedTokenRepository.deleteExpired(now);
+        } catch (DataAccessException e) {
+            logger.debug("No se pudieron eliminar revocaciones persistidas: {}", e.getMessage());
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    public int getGenerationCount() {
+        return generations.length;
+    }
+
+    private int apply(Iterable<RevokedToken> tokens) {
+        int added = 0;
+        for (RevokedToken token : tokens) {
+            if (remember(token.getTokenId(), token.getExpiresAt())) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    private boolean remember(String tokenId, long expiresAt) {
+        if (revoked.putIfAbsent(tokenId, expiresAt) != null) {
+            return false;
+        }
+        addToFilter(tokenId, expiresAt);
+        return true;
+    }
+
+    private void addToFilter(String tokenId, long expiresAt) {
+        long hash1 = ScalableBloomFilter.hash(tokenId, 0);
+        long hash2 = ScalableBloomFilter.hash(tokenId, SECOND_HASH_SEED) | 1;
+        generationFor(expiresAt).filter.add(hash1, hash2);
+    }
+
+    private Generation generationFor(long expiresAt) {
+        long horizon = Math.floorDiv(expiresAt, horizonSeconds);
+        for (Generation generation : generations) {
+            if (generation.horizon == horizon) {
+                return generation;
+            }
+        }
+        synchronized (this) {
+            Generation[] current = generations;
+            for (Generation generation : current) {
+                if (generation.horizon == horizon) {
+                    return generation;
+                }
+            }
+            Generation created = new Generation(horizon, (horizon + 1) * horizonSeconds,
+                    new ScalableBloomFilter(bloomInitialCapacity, bloomFalsePositiveRate));
+            Generation[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = created;
+            generations = grown;
+            return created;
+        }
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private static final class Generation {
+        private final long horizon;
+        private final long endsAt;
+        private final ScalableBloomFilter filter;
+
+        Generation(long horizon, long endsAt, ScalableBloomFilter filter) {
+            this.horizon = horizon;
+            this.endsAt = endsAt;
+            this.filter = filter;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.fleetguard360.monitoring_service.service;
+
+import com.fleetguard360.monitoring_service.repository.UserRepository;
+import com.fleetguard360.monitoring_service.util.UsernameKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Caché de usuarios y autoridades compartida por el camino de autenticación.
+ *
+ * Un login completo (verificación de bloqueo, carga de UserDetails, registro del resultado
+ * y respuesta con roles) hace una sola lectura de la base de datos. Todo cambio de contraseña,
+ * roles o estado de bloqueo debe llamar a invalidate(username); la caché está acotada en
+ * tamaño y TTL, así que un cambio hecho fuera de la aplicación se ve como máximo tras el TTL.
+ * Los usuarios inexistentes no se guardan. Las entradas se indexan por UsernameKey, de modo
+ * que todas las variantes de mayúsculas de un nombre comparten entrada e invalidación.
+ */
+@Component
+public class UserAccountCache {
+
+    public static final String CACHE_NAME = "userAccounts";
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAccountCache.class);
+
+    private final UserRepository userRepository;
+
+    private final Cache cache;
+
+		@Autowired
+		public UserAccountCache(UserRepository userRepository, CacheManager cacheManager) {
+			this.userRepository = userRepository;
+			this.cache = cacheManager.getCache(CACHE_NAME);
+			if (this.cache == null) {
+				throw new IllegalStateException("Caché no configurada: " + CACHE_NAME);
+			}
+		}
+
+    /**
+     * Busca el usuario en la caché y, si no está, lo carga desde la base de datos
+     */
+    public Optional<CachedUserAccount> find(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+
+        String key = UsernameKey.of(username);
+        CachedUserAccount cached = cache.get(key, CachedUserAccount.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<CachedUserAccount> loaded = userRepository.findByUsername(username)
+                .map(CachedUserAccount::from);
+        loaded.ifPresent(account -> cache.put(key, account));
+        return loaded;
+    }
+
+    /**
+     * Invalida la entrada del usuario. Dentro de una transacción se invalida también
+     * después del commit, para que una lectura concurrente no vuelva a cachear el estado anterior.
+     */
+    public void invalidate(String username) {
+        if (username == null) {
+            return;
+        }
+
+        String key = UsernameKey.of(username);
+        cache.evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(key);
+                }
+            });
+        }
+        logger.debug("Entrada de caché invalidada para usuario: {}", username);
+    }
+
+    /**
+     * Vacía la caché completa
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+}
@@ -0,0 +1,80 @@
+package com.fleetguard360.monitoring_service.service;
+
+import com.fleetguard360.monitoring_service.dto.VehicleResponse;
+import com.fleetguard360.monitoring_service.event.VehicleChangedEvent;
+import com.fleetguard360.monitoring_service.model.VehicleAuditEntry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Calcula los cambios por campo entre el estado anterior y el nuevo de un vehículo
+ */
+final class VehicleAuditDiff {
+
+    static final int MAX_VALUE_LENGTH = 500;
+
+    private static final Map<String, Function<VehicleResponse, Object>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("licensePlate", VehicleResponse::getLicensePlate);
+        FIELDS.put("model", VehicleResponse::getModel);
+        FIELDS.put("brand", VehicleResponse::getBrand);
+        FIELDS.put("year", VehicleResponse::getYear);
+        FIELDS.put("capacity", VehicleResponse::getCapacity);
+        FIELDS.put("status", VehicleResponse::getStatus);
+        FIELDS.put("fuelType", VehicleResponse::getFuelType);
+        FIELDS.put("mileage", VehicleResponse::getMileage);
+        FIELDS.put("color", VehicleResponse::getColor);
+        FIELDS.put("notes", VehicleResponse::getNotes);
+        FIELDS.put("latitude", VehicleResponse::getLatitude);
+        FIELDS.put("longitude", VehicleResponse::getLongitude);
+    }
+
+    private VehicleAuditDiff() {
+    }
+
+    /**
+     * Genera una entrada por cada campo cuyo valor cambió.
+     * En CREATED el valor anterior es null; en PURGED lo es el nuevo.
+     */
+    static List<VehicleAuditEntry> diff(VehicleChangedEvent event) {
+        VehicleResponse before = event.getPrevious();
+        VehicleResponse after = switch (event.getType()) {
+            case PURGED -> null;
+            default -> event.getVehicle();
+        };
+
+        List<VehicleAuditEntry> entries = new ArrayList<>();
+        for (Map.Entry<String, Function<VehicleResponse, Object>> field : FIELDS.entrySet()) {
+            String oldValue = before != null ? format(field.getValue().apply(before)) : null;
+            String newValue = after != null ? format(field.getValue().apply(after)) : null;
+            if (Objects.equals(oldValue, newValue)) {
+                continue;
+            }
+
+            VehicleAuditEntry entry = new VehicleAuditEntry();
+            entry.setVehicleId(event.getVehicleId());
+            entry.setChangeType(event.getType());
+            entry.setFieldName(field.getKey());
+            entry.setOldValue(oldValue);
+            entry.setNewValue(newValue);
+            entry.setChangedBy(event.getChangedBy());
+            entry.setChangedAt(event.getChangedAt());
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String text = value instanceof Enum<?> e ? e.name() : value.toString();
+        return text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH) : text;
+    }
+}
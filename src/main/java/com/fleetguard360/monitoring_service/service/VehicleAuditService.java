@@ -0,0 +1,43 @@
+package com.fleetguard360.monitoring_service.service;
+
+import com.fleetguard360.monitoring_service.dto.VehicleAuditEntryResponse;
+import com.fleetguard360.monitoring_service.dto.VehicleHistoryResponse;
+import com.fleetguard360.monitoring_service.model.VehicleAuditEntry;
+import com.fleetguard360.monitoring_service.repository.VehicleAuditRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Servicio de consulta del historial de cambios de vehículos
+ */
+@Service
+@Transactional(readOnly = true)
+public class VehicleAuditService {
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final VehicleAuditRepository auditRepository;
+
+		@Autowired
+		public VehicleAuditService(VehicleAuditRepository auditRepository) {
+			this.auditRepository = auditRepository;
+		}
+
+    /**
+     * Obtiene una página del historial de un vehículo, del cambio más reciente al más antiguo
+     */
+    public VehicleHistoryResponse getHistory(Long vehicleId, int page, int size) {
+        int boundedPage = Math.max(0, page);
+        int boundedSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Page<VehicleAuditEntry> result = auditRepository
+                .findByVehicleIdOrderByChangedAtDescIdDesc(vehicleId, PageRequest.of(boundedPage, boundedSize));
+
+        return new VehicleHistoryResponse(vehicleId,
+                result.getContent().stream().map(VehicleAuditEntryResponse::from).toList(),
+                boundedPage, boundedSize, result.getTotalElements(), result.getTotalPages());
+    }
+}
@@ -0,0 +1,218 @@
+package com.fleetguard360.monitoring_service.service;
+
+import com.fleetguard360.monitoring_service.event.VehicleChangedEvent;
+import com.fleetguard360.monitoring_service.model.VehicleAuditEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escritor asíncrono del historial de cambios de vehículos.
+ *
+ * Los cambios confirmados se encolan en una cola acotada y un hilo en segundo plano los
+ * inserta en lotes con un único INSERT de varias filas, fuera de la transacción de la petición.
+ * Si la cola se llena, las entradas nuevas se descartan (y se contabilizan) en lugar de
+ * bloquear la escritura del vehículo. Al detener la aplicación se vacía la cola; el escritor
+ * se detiene después del servidor web, y lo que llegue ya detenido se escribe en el momento.
+ */
+@Component
+public class VehicleAuditWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleAuditWriter.class);
+
+    private static final String INSERT_PREFIX = "INSERT INTO vehicle_audit_history "
+            + "(vehicle_id, change_type, field_name, old_value, new_value, changed_by, changed_at) VALUES ";
+
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?)";
+
+    private static final long DROP_WARN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final BlockingQueue<VehicleAuditEntry> queue;
+
+    private final int batchSize;
+
+    private final long flushIntervalMillis;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong written = new AtomicLong();
+
+    private volatile long lastDropWarning;
+
+    private volatile boolean running;
+
+    private volatile boolean stopped;
+
+    private Thread worker;
+
+		@Autowired
+		public VehicleAuditWriter(JdbcTemplate jdbcTemplate,
+				@Value("${app.vehicles.audit.queue-capacity:10000}") int queueCapacity,
+				@Value("${app.vehicles.audit.batch-size:200}") int batchSize,
+				@Value("${app.vehicles.audit.flush-interval-ms:500}") long flushIntervalMillis) {
+			this.jdbcTemplate = jdbcTemplate;
+			this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+			this.batchSize = Math.max(1, batchSize);
+			this.flushIntervalMillis = Math.max(1, flushIntervalMillis);
+		}
+
+    /**
+     * Encola las diferencias de un cambio ya confirmado
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        for (VehicleAuditEntry entry : VehicleAuditDiff.diff(event)) {
+            if (!queue.offer(entry)) {
+                recordDrop();
+            }
+        }
+        if (stopped) {
+            flush();
+        }
+    }
+
+    /**
+     * Entradas descartadas por cola llena desde el arranque
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Entradas escritas desde el arranque
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Escribe de inmediato todo lo encolado (usado al detener y en pruebas)
+     */
+    public void flush() {
+        List<VehicleAuditEntry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "vehicle-audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        stopped = true;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        logger.info("Escritor de auditoría de vehículos detenido: {} escritas, {} descartadas",
+                written.get(), dropped.get());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Por debajo de la parada del servidor web (SMART_LIFECYCLE_PHASE - 1024): se detiene
+     * cuando el apagado ordenado ya esperó a las peticiones en curso
+     */
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    private void drainLoop() {
+        List<VehicleAuditEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                VehicleAuditEntry first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<VehicleAuditEntry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + batch.size() * (ROW_PLACEHOLDERS.length() + 2));
+        sql.append(INSERT_PREFIX);
+        Object[] args = new Object[batch.size() * 7];
+        int i = 0;
+        for (VehicleAuditEntry entry : batch) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+            args[i++] = entry.getVehicleId();
+            args[i++] = entry.getChangeType().name();
+            args[i++] = entry.getFieldName();
+            args[i++] = entry.getOldValue();
+            args[i++] = entry.getNewValue();
+            args[i++] = entry.getChangedBy();
+            args[i++] = Timestamp.valueOf(entry.getChangedAt());
+        }
+
+        try {
+            jdbcTemplate.update(sql.toString(), args);
+            written.addAndGet(batch.size());
+        } catch (Exception e) {
+            dropped.addAndGet(batch.size());
+            logger.error("Error al escribir {} entradas de auditoría de vehículos: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void recordDrop() {
+        long total = dropped.incrementAndGet();
+        long now = System.nanoTime();
+        if (now - lastDropWarning > DROP_WARN_INTERVAL_NANOS) {
+            lastDropWarning = now;
+            logger.warn("Cola de auditoría de vehículos llena; {} entradas descartadas en total", total);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.fleetguard360.monitoring_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fleetguard360.monitoring_service.dto.VehicleChangeFeedResponse;
+import com.fleetguard360.monitoring_service.dto.VehicleChangeNotification;
+import com.fleetguard360.monitoring_service.dto.VehicleResponse;
+import com.fleetguard360.monitoring_service.model.VehicleOutboxEvent;
+import com.fleetguard360.monitoring_service.repository.VehicleOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feed en memoria de los cambios de vehículos publicados por el relay del outbox.
+ *
+ * Cada nodo sigue el outbox por secuencia (tail), de modo que ve los cambios publicados por
+ * el relay de cualquier nodo y despierta a sus propios long-polls. Mantiene los últimos
+ * cambios en un buffer acotado para atender el long-poll sin ir a la base de datos; los
+ * consumidores que se quedan atrás del buffer se atienden desde el outbox.
+ * Las secuencias son consecutivas, así que si la primera que queda en el outbox no es
+ * after + 1 la retención ya purgó cambios que el consumidor no vio y se le pide resincronizar.
+ * Cada notificación también se publica como evento de aplicación para los suscriptores en proceso.
+ */
+@Component
+public class VehicleChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleChangeFeed.class);
+
+    private final VehicleOutboxRepository outboxRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final int capacity;
+
+    // Estado protegido por el monitor de esta instancia
+    private final ArrayDeque<VehicleChangeNotification> recent = new ArrayDeque<>();
+    private final List<Waiter> waiters = new ArrayList<>();
+    private long lastSequence;
+
+    // Serializa las lecturas del outbox del scheduler y del relay local
+    private final Object tailLock = new Object();
+
+    // false hasta conocer la última secuencia al arrancar
+    private volatile boolean initialized;
+
+		@Autowired
+		public VehicleChangeFeed(VehicleOutboxRepository outboxRepository, ObjectMapper objectMapper,
+				ApplicationEventPublisher eventPublisher,
+				@Value("${app.vehicles.changes.buffer-size:1000}") int capacity) {
+			this.outboxRepository = outboxRepository;
+			this.objectMapper = objectMapper;
+			this.eventPublisher = eventPublisher;
+			this.capacity = Math.max(1, capacity);
+		}
+
+    /**
+     * Parte de la última secuencia publicada al arrancar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        Long max = outboxRepository.findMaxSequence();
+        initialize(max != null ? max : 0L);
+        logger.info("Feed de cambios de vehículos iniciado en la secuencia {}", getLastSequence());
+    }
+
+    /**
+     * Fija la última secuencia publicada conocida
+     */
+    public void initialize(long sequence) {
+        synchronized (this) {
+            this.lastSequence = sequence;
+        }
+        initialized = true;
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Incorpora los cambios publicados en el outbox después de la última secuencia conocida,
+     * sea cual sea el nodo que los publicó
+     */
+    @Scheduled(fixedDelayString = "${app.vehicles.changes.tail-interval-ms:200}")
+    public void tail() {
+        if (!initialized) {
+            return;
+        }
+        synchronized (tailLock) {
+            try {
+                List<VehicleOutboxEvent> events;
+                do {
+                    events = outboxRepository.findBySequenceGreaterThanOrderBySequenceAsc(
+                            getLastSequence(), PageRequest.of(0, capacity));
+                    publish(events.stream().map(this::toNotification).toList());
+                } while (events.size() == capacity);
+            } catch (Exception e) {
+                logger.error("Error al leer el outbox de vehículos: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Publica un lote de notificaciones ya persistidas, en orden de secuencia; las que ya
+     * se conocían se ignoran
+     */
+    void publish(List<VehicleChangeNotification> notifications) {
+        List<VehicleChangeNotification> fresh = new ArrayList<>(notifications.size());
+        List<Waiter> ready;
+        synchronized (this) {
+            for (VehicleChangeNotification notification : notifications) {
+                if (notification.getSequence() <= lastSequence) {
+                    continue;
+                }
+                fresh.add(notification);
+                recent.addLast(notification);
+                if (recent.size() > capacity) {
+                    recent.removeFirst();
+                }
+                lastSequence = notification.getSequence();
+            }
+            if (fresh.isEmpty()) {
+                return;
+            }
+            ready = new ArrayList<>(waiters);
+            waiters.clear();
+        }
+
+        for (VehicleChangeNotification notification : fresh) {
+            eventPublisher.publishEvent(notification);
+        }
+        for (Waiter waiter : ready) {
+            waiter.result.setResult(read(waiter.after, waiter.limit));
+        }
+    }
+
+    /**
+     * Lee los cambios posteriores a una secuencia sin esperar
+     *
+     * @param after última secuencia vista por el consumidor
+     * @param limit máximo de cambios a devolver
+     */
+    public VehicleChangeFeedResponse read(long after, int limit) {
+        synchronized (this) {
+            boolean upToDate = after >= lastSequence;
+            boolean inBuffer = !recent.isEmpty() && after >= recent.peekFirst().getSequence() - 1;
+            if (upToDate || inBuffer) {
+                List<VehicleChangeNotification> changes = new ArrayList<>();
+                for (VehicleChangeNotification notification : recent) {
+                    if (notification.getSequence() > after) {
+                        changes.add(notification);
+                        if (changes.size() == limit) {
+                            break;
+                        }
+                    }
+                }
+                return toResponse(changes, after);
+            }
+        }
+
+        // El consumidor está detrás del buffer: leer desde el outbox persistido
+        logger.debug("Consumidor del feed atrasado (after={}), leyendo desde el outbox", after);
+        List<VehicleChangeNotification> changes = outboxRepository
+                .findBySequenceGreaterThanOrderBySequenceAsc(after, PageRequest.of(0, limit))
+                .stream()
+                .map(this::toNotification)
+                .toList();
+        if (changes.isEmpty() || changes.get(0).getSequence() > after + 1) {
+            long last = getLastSequence();
+            logger.info("Cambios posteriores a la secuencia {} ya purgados del outbox; el consumidor debe resincronizar", after);
+            return VehicleChangeFeedResponse.resync(last);
+        }
+        return toResponse(changes, after);
+    }
+
+    /**
+     * Long-poll: responde en cuanto haya cambios posteriores a "after" o al vencer el timeout
+     */
+    public DeferredResult<VehicleChangeFeedResponse> poll(long after, int limit, long timeoutMillis) {
+        VehicleChangeFeedResponse current = read(after, limit);
+        if (!current.getChanges().isEmpty() || current.isResyncRequired() || timeoutMillis <= 0) {
+            DeferredResult<VehicleChangeFeedResponse> immediate = new DeferredResult<>();
+            immediate.setResult(current);
+            return immediate;
+        }
+
+        DeferredResult<VehicleChangeFeedResponse> result = new DeferredResult<>(timeoutMillis);
+        Waiter waiter = new Waiter(after, limit, result);
+        result.onTimeout(() -> result.setResult(toResponse(List.of(), after)));
+        result.onCompletion(() -> removeWaiter(waiter));
+
+        boolean missed;
+        synchronized (this) {
+            missed = lastSequence > after;
+            if (!missed) {
+                waiters.add(waiter);
+            }
+        }
+        if (missed) {
+            // Llegaron cambios entre la lectura inicial y el registro
+            result.setResult(read(after, limit));
+        }
+        return result;
+    }
+
+    /**
+     * Convierte un registro del outbox en notificación
+     */
+    public VehicleChangeNotification toNotification(VehicleOutboxEvent event) {
+        try {
+            VehicleResponse vehicle = objectMapper.readValue(event.getPayload(), VehicleResponse.class);
+            return new VehicleChangeNotification(event.getSequence(), event.getEventType(),
+                    event.getVehicleId(), event.getCreatedAt(), vehicle);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload inválido en el outbox, ID: " + event.getId(), e);
+        }
+    }
+
+    private synchronized void removeWaiter(Waiter waiter) {
+        waiters.remove(waiter);
+    }
+
+    private synchronized VehicleChangeFeedResponse toResponse(List<VehicleChangeNotification> changes, long after) {
+        long last = changes.isEmpty()
+                ? Math.min(after, lastSequence)
+                : changes.get(changes.size() - 1).getSequence();
+        return new VehicleChangeFeedResponse(changes, last);
+    }
+
+    private static final class Waiter {
+        private final long after;
+        private final int limit;
+        private final DeferredResult<VehicleChangeFeedResponse> result;
+
+        Waiter(long after, int limit, DeferredResult<VehicleChangeFeedResponse> result) {
+            this.after = after;
+            this.limit = limit;
+            this.result = result;
+        }
+    }
+}
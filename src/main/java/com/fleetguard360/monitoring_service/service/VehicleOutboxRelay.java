@@ -0,0 +1,150 @@
+package com.fleetguard360.monitoring_service.service;
+
+import com.fleetguard360.monitoring_service.model.VehicleOutboxCursor;
+import com.fleetguard360.monitoring_service.model.VehicleOutboxEvent;
+import com.fleetguard360.monitoring_service.repository.VehicleOutboxCursorRepository;
+import com.fleetguard360.monitoring_service.repository.VehicleOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Relay del outbox de vehículos.
+ *
+ * Toma los eventos pendientes en orden de escritura, les asigna la secuencia de publicación
+ * y los marca como publicados en una transacción. La secuencia sale del cursor
+ * vehicle_outbox_cursor, que se bloquea con SKIP LOCKED al empezar: con varios nodos solo
+ * uno publica cada lote y los demás se saltan la ronda, así que no hay publicaciones dobles
+ * ni secuencias repetidas. Un evento cuya transacción confirma tarde simplemente recibe una
+ * secuencia posterior, por lo que el feed nunca tiene huecos ni pierde cambios. Los feeds de
+ * todos los nodos leen el outbox por secuencia; tras el commit se avisa al feed local para
+ * no esperar a su siguiente lectura.
+ */
+@Component
+public class VehicleOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleOutboxRelay.class);
+
+    static final long CURSOR_ID = 1L;
+
+    private final VehicleOutboxRepository outboxRepository;
+
+    private final VehicleOutboxCursorRepository cursorRepository;
+
+    private final VehicleChangeFeed changeFeed;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final long retentionHours;
+
+    // false hasta que la aplicación está lista y el cursor existe
+    private volatile boolean ready;
+
+		@Autowired
+		public VehicleOutboxRelay(VehicleOutboxRepository outboxRepository, VehicleOutboxCursorRepository cursorRepository,
+				VehicleChangeFeed changeFeed, PlatformTransactionManager transactionManager,
+				@Value("${app.vehicles.outbox.batch-size:200}") int batchSize,
+				@Value("${app.vehicles.outbox.retention-hours:24}") long retentionHours) {
+			this.outboxRepository = outboxRepository;
+			this.cursorRepository = cursorRepository;
+			this.changeFeed = changeFeed;
+			this.transactionTemplate = new TransactionTemplate(transactionManager);
+			this.batchSize = Math.max(1, batchSize);
+			this.retentionHours = retentionHours;
+		}
+
+    /**
+     * Crea el cursor si la migración no lo hizo (esquema generado por Hibernate)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            if (!cursorRepository.existsById(CURSOR_ID)) {
+                Long max = outboxRepository.findMaxSequence();
+                cursorRepository.saveAndFlush(new VehicleOutboxCursor(CURSOR_ID, max != null ? max : 0L));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Otro nodo lo creó a la vez
+            logger.debug("Cursor del outbox creado por otro nodo");
+        }
+        ready = true;
+        logger.info("Relay del outbox de vehículos iniciado");
+    }
+
+    /**
+     * Publica los eventos pendientes del outbox
+     */
+    @Scheduled(fixedDelayString = "${app.vehicles.outbox.poll-interval-ms:200}")
+    public void relay() {
+        if (!ready) {
+            return;
+        }
+
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch());
+                if (published == null || published == 0) {
+                    return;
+                }
+                changeFeed.tail();
+            } while (published == batchSize);
+        } catch (PessimisticLockingFailureException e) {
+            // Bases sin SKIP LOCKED esperan el bloqueo hasta el timeout: otro nodo tiene el cursor
+            logger.debug("Cursor del outbox en uso por otro nodo");
+        } catch (Exception e) {
+            logger.error("Error al publicar eventos del outbox de vehículos: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Elimina los eventos publicados que superan el periodo de retención
+     */
+    @Scheduled(fixedDelayString = "${app.vehicles.outbox.purge-interval-ms:3600000}",
+               initialDelayString = "${app.vehicles.outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        int deleted = outboxRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            logger.info("Eliminados {} eventos publicados del outbox de vehículos", deleted);
+        }
+    }
+
+    /**
+     * Publica un lote si este nodo consigue el cursor
+     *
+     * @return eventos publicados; 0 si no hay pendientes o si otro nodo tiene el cursor
+     */
+    int publishBatch() {
+        VehicleOutboxCursor cursor = cursorRepository.claim(CURSOR_ID).orElse(null);
+        if (cursor == null) {
+            return 0;
+        }
+
+        List<VehicleOutboxEvent> pending = outboxRepository
+                .findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+
+        LocalDateTime now = LocalDateTime.now();
+        long sequence = cursor.getLastSequence();
+        for (VehicleOutboxEvent event : pending) {
+            event.setSequence(++sequence);
+            event.setPublishedAt(now);
+        }
+        cursor.setLastSequence(sequence);
+        return pending.size();
+    }
+}
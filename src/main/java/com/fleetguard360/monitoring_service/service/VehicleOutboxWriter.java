@@ -0,0 +1,41 @@
+package com.fleetguard360.monitoring_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fleetguard360.monitoring_service.event.VehicleChangedEvent;
+import com.fleetguard360.monitoring_service.model.VehicleOutboxEvent;
+import com.fleetguard360.monitoring_service.repository.VehicleOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Escribe cada cambio de vehículo en el outbox dentro de la misma transacción de la mutación.
+ * Si la escritura falla, la mutación completa se revierte.
+ */
+@Component
+public class VehicleOutboxWriter {
+
+    private VehicleOutboxRepository outboxRepository;
+
+    private ObjectMapper objectMapper;
+
+		@Autowired
+		public VehicleOutboxWriter(VehicleOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+			this.outboxRepository = outboxRepository;
+			this.objectMapper = objectMapper;
+		}
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event.getVehicle());
+            outboxRepository.save(new VehicleOutboxEvent(event.getVehicleId(), event.getType(), payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el cambio del vehículo " + event.getVehicleId(), e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.fleetguard360.monitoring_service.service;
+
+import com.fleetguard360.monitoring_service.util.SingleFlight;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Capa single-flight para las consultas de listas de vehículos.
+ * Las peticiones concurrentes idénticas comparten una sola consulta a la base de datos
+ * mientras la versión de la flota no cambie.
+ */
+@Component
+public class VehicleQueryCoalescer {
+
+    private final SingleFlight<String> singleFlight;
+
+		@Autowired
+		public VehicleQueryCoalescer(FleetChangeTracker changeTracker,
+				@Value("${app.vehicles.coalescing.window-ms:250}") long windowMillis) {
+			this.singleFlight = new SingleFlight<>(changeTracker::currentVersion,
+					TimeUnit.MILLISECONDS.toNanos(windowMillis));
+		}
+
+    /**
+     * Ejecuta la consulta identificada por la clave o se une a una ejecución en curso
+     *
+     * @param key identificador de la consulta
+     * @param query consulta a ejecutar
+     * @return resultado compartido por todas las peticiones de la ráfaga
+     */
+    public <V> V coalesce(String key, Supplier<V> query) {
+        return singleFlight.execute(key, query);
+    }
+}
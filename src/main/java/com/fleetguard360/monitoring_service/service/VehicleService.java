@@ -2,7 +2,18 @@ package com.fleetguard360.monitoring_service.service;
 
 import com.fleetguard360.monitoring_service.dto.CreateVehicleRequest;
 import com.fleetguard360.monitoring_service.dto.UpdateVehicleRequest;
+import com.fleetguard360.monitoring_service.dto.VehicleBatchResponse;
+import com.fleetguard360.monitoring_service.dto.VehicleFacetsResponse;
 import com.fleetguard360.monitoring_service.dto.VehicleResponse;
+import com.fleetguard360.monitoring_service.dto.VehicleSearchRequest;
+import com.fleetguard360.monitoring_service.dto.VehicleSearchResponse;
+import com.fleetguard360.monitoring_service.event.VehicleChangeType;
+import com.fleetguard360.monitoring_service.event.VehicleChangedEvent;
+import com.fleetguard360.monitoring_service.fleet.FleetFacets;
+import com.fleetguard360.monitoring_service.fleet.FleetFilter;
+import com.fleetguard360.monitoring_service.fleet.FleetReadModel;
+import com.fleetguard360.monitoring_service.fleet.FleetSnapshot;
+import com.fleetguard360.monitoring_service.fleet.IdBitmap;
 import com.fleetguard360.monitoring_service.model.Vehicle;
 import com.fleetguard360.monitoring_service.model.VehicleStatus;
 import com.fleetguard360.monitoring_service.repository.VehicleRepository;
@@ -10,33 +21,58 @@ import com.fleetguard360.monitoring_service.exception.DuplicateResourceException
 import com.fleetguard360.monitoring_service.exception.ResourceNotFoundException;
 import com.fleetguard360.monitoring_service.exception.BusinessException;
 
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Servicio para gestión CRUD de vehículos de la flota
+ *
+ * Cada método público publica el timer "fleet.vehicle.service" (etiquetas class, method y
+ * exception) con histograma de percentiles.
  */
 @Service
 @Transactional
+@Timed(value = "fleet.vehicle.service", histogram = true)
 public class VehicleService {
 
     private static final Logger logger = LoggerFactory.getLogger(VehicleService.class);
 
 		private static final String VEHICULO_NO_ENCONTRADO = "Vehículo no encontrado con ID: ";
 
+		// Tamaño máximo de cada cláusula IN en las consultas por lote
+		private static final int BATCH_CHUNK_SIZE = 500;
+
     private VehicleRepository vehicleRepository;
 
+    private ApplicationEventPublisher eventPublisher;
+
+    private VehicleQueryCoalescer queryCoalescer;
+
+    private FleetReadModel fleetReadModel;
+
 		@Autowired
-		public VehicleService (VehicleRepository vehicleRepository) {
+		public VehicleService (VehicleRepository vehicleRepository, ApplicationEventPublisher eventPublisher,
+				VehicleQueryCoalescer queryCoalescer, FleetReadModel fleetReadModel) {
 			this.vehicleRepository = vehicleRepository;
+			this.eventPublisher = eventPublisher;
+			this.queryCoalescer = queryCoalescer;
+			this.fleetReadModel = fleetReadModel;
 		}
 
     /**
@@ -73,7 +109,7 @@ public class VehicleService {
         logger.info("Vehículo creado exitosamente: ID={}, Placa={}", 
                    savedVehicle.getId(), savedVehicle.getLicensePlate());
 
-        return VehicleResponse.from(savedVehicle);
+        return publishChange(VehicleChangeType.CREATED, null, savedVehicle);
     }
 
     /**
@@ -93,6 +129,50 @@ public class VehicleService {
         return VehicleResponse.from(vehicle);
     }
 
+    /**
+     * Busca varios vehículos por ID en una sola operación
+     * Los IDs se resuelven desde el modelo de lectura en memoria; si aún no está hidratado,
+     * con consultas IN por bloques de BATCH_CHUNK_SIZE
+     * 
+     * @param ids IDs solicitados (pueden repetirse)
+     * @return VehicleBatchResponse con los resultados en el orden de la petición y los IDs no encontrados
+     */
+    @Transactional(readOnly = true)
+    public VehicleBatchResponse getVehiclesByIds(List<Long> ids) {
+        logger.debug("Buscando {} vehículos por lote", ids.size());
+
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, VehicleResponse> resolved = new HashMap<>(distinctIds.size() * 2);
+
+        FleetSnapshot snapshot = fleetReadModel.currentSnapshot();
+        if (snapshot != null) {
+            for (Long id : distinctIds) {
+                VehicleResponse vehicle = snapshot.get(id);
+                if (vehicle != null) {
+                    resolved.put(id, vehicle);
+                }
+            }
+        } else {
+            for (int from = 0; from < distinctIds.size(); from += BATCH_CHUNK_SIZE) {
+                List<Long> chunk = distinctIds.subList(from, Math.min(from + BATCH_CHUNK_SIZE, distinctIds.size()));
+                for (Vehicle vehicle : vehicleRepository.findAllById(chunk)) {
+                    resolved.put(vehicle.getId(), VehicleResponse.from(vehicle));
+                }
+            }
+        }
+
+        List<VehicleBatchResponse.Item> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            results.add(new VehicleBatchResponse.Item(id, resolved.get(id)));
+        }
+
+        List<Long> missing = distinctIds.stream()
+                .filter(id -> !resolved.containsKey(id))
+                .toList();
+
+        return new VehicleBatchResponse(results, missing);
+    }
+
     /**
      * Busca un vehículo por placa
      * 
@@ -113,17 +193,20 @@ public class VehicleService {
 
     /**
      * Lista todos los vehículos activos
+     * Se atiende desde el modelo de lectura en memoria; mientras no esté hidratado,
+     * las peticiones concurrentes comparten una sola consulta (ver VehicleQueryCoalescer)
      * 
      * @return Lista de VehicleResponse con todos los vehículos
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<VehicleResponse> getAllVehicles() {
         logger.debug("Obteniendo lista de todos los vehículos activos");
         
-        List<Vehicle> vehicles = vehicleRepository.findActiveVehicles();
-        return vehicles.stream()
-                .map(VehicleResponse::from)
-                .toList();
+        FleetSnapshot snapshot = fleetReadModel.currentSnapshot();
+        if (snapshot != null) {
+            return snapshot.getActiveVehicles();
+        }
+        return queryCoalescer.coalesce("active", () -> toResponses(vehicleRepository.findActiveVehicles()));
     }
 
     /**
@@ -132,14 +215,16 @@ public class VehicleService {
      * @param status Estado del vehículo
      * @return Lista de VehicleResponse filtrada por estado
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<VehicleResponse> getVehiclesByStatus(VehicleStatus status) {
         logger.debug("Obteniendo vehículos por estado: {}", status);
         
-        List<Vehicle> vehicles = vehicleRepository.findByStatus(status);
-        return vehicles.stream()
-                .map(VehicleResponse::from)
-                .toList();
+        FleetSnapshot snapshot = fleetReadModel.currentSnapshot();
+        if (snapshot != null) {
+            return snapshot.getVehiclesByStatus(status);
+        }
+        return queryCoalescer.coalesce("status:" + status.name(),
+                () -> toResponses(vehicleRepository.findByStatus(status)));
     }
 
     /**
@@ -147,14 +232,72 @@ public class VehicleService {
      * 
      * @return Lista de VehicleResponse disponibles
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<VehicleResponse> getAvailableVehicles() {
         logger.debug("Obteniendo vehículos disponibles");
         
-        List<Vehicle> vehicles = vehicleRepository.findAvailableVehicles();
-        return vehicles.stream()
-                .map(VehicleResponse::from)
-                .toList();
+        FleetSnapshot snapshot = fleetReadModel.currentSnapshot();
+        if (snapshot != null) {
+            return snapshot.getVehiclesByStatus(VehicleStatus.AVAILABLE);
+        }
+        return queryCoalescer.coalesce("available", () -> toResponses(vehicleRepository.findAvailableVehicles()));
+    }
+
+    /**
+     * Lista todos los vehículos (incluidos los inactivos) con su ubicación para el mapa
+     * 
+     * @return Lista de VehicleResponse con latitud y longitud
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<VehicleResponse> getMapVehicles() {
+        logger.debug("Obteniendo vehículos para el mapa");
+        
+        FleetSnapshot snapshot = fleetReadModel.currentSnapshot();
+        if (snapshot != null) {
+            return snapshot.getAllVehicles();
+        }
+        return queryCoalescer.coalesce("map", () -> toResponses(vehicleRepository.findAll()));
+    }
+
+    /**
+     * Busca vehículos por estado, combustible, marca, rango de años y rango de capacidad
+     * El filtro se resuelve con los índices de bitmap del modelo de lectura; mientras no esté
+     * hidratado, se construye un snapshot temporal con todos los vehículos
+     * 
+     * @param request Criterios de búsqueda y paginación
+     * @return VehicleSearchResponse con la página pedida, ordenada por ID
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public VehicleSearchResponse searchVehicles(VehicleSearchRequest request) {
+        logger.debug("Buscando vehículos con filtros");
+
+        FleetSnapshot snapshot = currentOrTemporarySnapshot();
+        IdBitmap matches = snapshot.search(toFilter(request));
+        // En long: sin la validación del controlador, page * size puede desbordar un int
+        long offset = (long) request.getPage() * request.getSize();
+        List<VehicleResponse> page = snapshot.getVehicles(matches, (int) Math.min(offset, Integer.MAX_VALUE), request.getSize());
+        return new VehicleSearchResponse(page, matches.cardinality(), request.getPage(), request.getSize());
+    }
+
+    /**
+     * Conteos por estado, combustible, marca y año de los vehículos que cumplen el filtro
+     * Se calculan en una sola pasada sobre el conjunto filtrado (ver FleetFacets)
+     * 
+     * @param request Criterios de búsqueda (la paginación se ignora)
+     * @return VehicleFacetsResponse con el total y los conteos por faceta
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public VehicleFacetsResponse getVehicleFacets(VehicleSearchRequest request) {
+        logger.debug("Calculando facetas de búsqueda de vehículos");
+
+        FleetFacets facets = FleetFacets.compute(currentOrTemporarySnapshot(), toFilter(request));
+
+        Map<String, Integer> statuses = new LinkedHashMap<>();
+        facets.getStatuses().forEach((status, count) -> statuses.put(status.name(), count));
+        Map<String, Integer> fuelTypes = new LinkedHashMap<>();
+        facets.getFuelTypes().forEach((fuelType, count) -> fuelTypes.put(fuelType.name(), count));
+
+        return new VehicleFacetsResponse(facets.getTotal(), statuses, fuelTypes, facets.getBrands(), facets.getYears());
     }
 
     /**
@@ -182,17 +325,18 @@ public class VehicleService {
             throw new DuplicateResourceException("Ya existe otro vehículo con la placa: " + normalizedPlate);
         }
 
-        // Aplicar cambios
+        // Aplicar cambios (conservando el estado previo para la auditoría)
+        VehicleResponse previous = VehicleResponse.from(vehicle);
         mapRequestToEntity(request, vehicle);
         vehicle.setLicensePlate(normalizedPlate);
         vehicle.setUpdatedBy(getCurrentUsername());
 
-        // Guardar cambios
-        Vehicle updatedVehicle = vehicleRepository.save(vehicle);
+        // Guardar cambios (flush para que @PreUpdate fije updatedAt antes de publicar el cambio)
+        Vehicle updatedVehicle = vehicleRepository.saveAndFlush(vehicle);
         logger.info("Vehículo actualizado exitosamente: ID={}, Placa={}", 
                    updatedVehicle.getId(), updatedVehicle.getLicensePlate());
 
-        return VehicleResponse.from(updatedVehicle);
+        return publishChange(VehicleChangeType.UPDATED, previous, updatedVehicle);
     }
 
     /**
@@ -219,9 +363,11 @@ public class VehicleService {
         }
 
         // Soft delete - cambiar estado a INACTIVE
+        VehicleResponse previous = VehicleResponse.from(vehicle);
         vehicle.setStatus(VehicleStatus.INACTIVE);
         vehicle.setUpdatedBy(getCurrentUsername());
-        vehicleRepository.save(vehicle);
+        vehicleRepository.saveAndFlush(vehicle);
+        publishChange(VehicleChangeType.DELETED, previous, vehicle);
 
         logger.info("Vehículo eliminado (soft delete) exitosamente: ID={}, Placa={}", 
                    id, vehicle.getLicensePlate());
@@ -240,6 +386,7 @@ public class VehicleService {
                 .orElseThrow(() -> new ResourceNotFoundException(VEHICULO_NO_ENCONTRADO+ id));
 
         vehicleRepository.delete(vehicle);
+        publishChange(VehicleChangeType.PURGED, VehicleResponse.from(vehicle), vehicle);
         logger.info("Vehículo eliminado permanentemente: ID={}, Placa={}", id, vehicle.getLicensePlate());
     }
 
@@ -257,19 +404,55 @@ public class VehicleService {
                 .orElseThrow(() -> new ResourceNotFoundException(VEHICULO_NO_ENCONTRADO+ id));
 
         VehicleStatus oldStatus = vehicle.getStatus();
+        VehicleResponse previous = VehicleResponse.from(vehicle);
         vehicle.setStatus(newStatus);
         vehicle.setUpdatedBy(getCurrentUsername());
 
-        Vehicle updatedVehicle = vehicleRepository.save(vehicle);
+        Vehicle updatedVehicle = vehicleRepository.saveAndFlush(vehicle);
         logger.info("Estado de vehículo cambiado: ID={}, {} -> {}", id, oldStatus, newStatus);
 
-        return VehicleResponse.from(updatedVehicle);
+        return publishChange(VehicleChangeType.STATUS_CHANGED, previous, updatedVehicle);
+    }
+
+    /**
+     * Publica el cambio del vehículo: el outbox se escribe en esta misma transacción
+     * y los listeners transaccionales (versión, auditoría, modelo de lectura) lo procesan tras el commit.
+     * Las modificaciones se guardan con saveAndFlush: updatedAt lo fija @PreUpdate al hacer flush y el
+     * modelo de lectura descarta los eventos cuyo updatedAt no es posterior al que ya tiene.
+     */
+    private VehicleResponse publishChange(VehicleChangeType type, VehicleResponse previous, Vehicle vehicle) {
+        VehicleResponse response = VehicleResponse.from(vehicle);
+        eventPublisher.publishEvent(new VehicleChangedEvent(type, previous, response, getCurrentUsername()));
+        return response;
+    }
+
+    /**
+     * Snapshot del modelo de lectura, o uno temporal con todos los vehículos si aún no está hidratado
+     */
+    private FleetSnapshot currentOrTemporarySnapshot() {
+        FleetSnapshot snapshot = fleetReadModel.currentSnapshot();
+        return snapshot != null ? snapshot : FleetSnapshot.from(toResponses(vehicleRepository.findAll()));
+    }
+
+    private FleetFilter toFilter(VehicleSearchRequest request) {
+        return new FleetFilter()
+                .statuses(request.getStatus())
+                .fuelTypes(request.getFuelType())
+                .brands(request.getBrand())
+                .years(request.getYearFrom(), request.getYearTo())
+                .capacity(request.getCapacityMin(), request.getCapacityMax());
+    }
+
+    private List<VehicleResponse> toResponses(List<Vehicle> vehicles) {
+        return vehicles.stream()
+                .map(VehicleResponse::from)
+                .toList();
     }
 
     /**
-     * Normaliza el formato de la placa del vehículo
+     * Normaliza el formato de la placa del vehículo (mayúsculas, sin espacios ni guiones)
      */
-    private String normalizeLicensePlate(String licensePlate) {
+    public static String normalizeLicensePlate(String licensePlate) {
         if (licensePlate == null) {
             return null;
         }
@@ -0,0 +1,89 @@
+package com.fleetguard360.monitoring_service.util;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Resolución de la IP del cliente a partir de las cabeceras del proxy.
+ *
+ * Las cabeceras X-Forwarded-For y X-Real-IP solo se tienen en cuenta cuando la conexión
+ * llega desde un proxy de confianza (app.security.trusted-proxies, IPs o rangos CIDR). La
+ * cadena X-Forwarded-For se recorre de derecha a izquierda y se toma el primer salto que no
+ * es un proxy de confianza: los valores a su izquierda los escribe el cliente y no sirven
+ * como clave de límites ni bloqueos. Controladores, filtro de login y listener de
+ * autenticación comparten esta misma resolución.
+ */
+@Component
+public class ClientIpResolver {
+
+    public static final String UNKNOWN = "unknown";
+
+    private static final Pattern IPV4 = Pattern.compile(
+            "((25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)\\.){3}(25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)");
+
+    private static final Pattern IPV6 = Pattern.compile("[0-9a-fA-F:.]*:[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+
+    private final List<IpAddressMatcher> trustedProxies;
+
+		@Autowired
+		public ClientIpResolver(@Value("${app.security.trusted-proxies:127.0.0.1,::1}") List<String> trustedProxies) {
+			this.trustedProxies = trustedProxies.stream()
+					.map(String::trim)
+					.filter(proxy -> !proxy.isEmpty())
+					.map(IpAddressMatcher::new)
+					.toList();
+		}
+
+    public String resolve(HttpServletRequest request) {
+        String client = request.getRemoteAddr();
+        if (!isTrustedProxy(client)) {
+            return client;
+        }
+
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isBlank()) {
+            String[] hops = xForwardedFor.split(",");
+            for (int i = hops.length - 1; i >= 0 && isTrustedProxy(client); i--) {
+                String hop = hops[i].trim();
+                if (!isIpLiteral(hop)) {
+                    break;
+                }
+                client = hop;
+            }
+            return client;
+        }
+
+        String xRealIP = request.getHeader("X-Real-IP");
+        if (xRealIP != null && isIpLiteral(xRealIP.trim())) {
+            return xRealIP.trim();
+        }
+
+        return client;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        if (address == null || !isIpLiteral(address)) {
+            return false;
+        }
+        for (IpAddressMatcher proxy : trustedProxies) {
+            if (proxy.matches(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Solo direcciones literales: un nombre de host obligaría a resolver DNS con datos del cliente
+     */
+    private static boolean isIpLiteral(String value) {
+        return IPV4.matcher(value).matches() || IPV6.matcher(value).matches();
+    }
+}
@@ -0,0 +1,72 @@
+package com.fleetguard360.monitoring_service.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min Sketch concurrente (Cormode-Muthukrishnan).
+ *
+ * Cuenta la frecuencia de un número ilimitado de claves en "depth × width" contadores fijos.
+ * Cada fila usa un hash distinto, derivado de dos hashes de 64 bits (Kirsch-Mitzenmacher);
+ * la estimación es el mínimo de las filas, por lo que nunca subestima y sobreestima como
+ * mucho e/width × total con probabilidad 1 - e^-depth. La actualización es conservadora: solo
+ * se elevan las filas que quedan por debajo de la nueva estimación, lo que reduce mucho la
+ * sobreestimación de las claves poco frecuentes. Las escrituras se serializan para no perder
+ * incrementos concurrentes; las lecturas no bloquean.
+ */
+public final class CountMinSketch {
+
+    private final AtomicLongArray counters;
+
+    private final int depth;
+
+    private final int widthMask;
+
+    /**
+     * @param depth número de filas (hashes independientes)
+     * @param width contadores por fila; se redondea a potencia de dos
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("depth y width deben ser positivos");
+        }
+        int roundedWidth = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.depth = depth;
+        this.widthMask = roundedWidth - 1;
+        this.counters = new AtomicLongArray(depth * roundedWidth);
+    }
+
+    /**
+     * Suma "count" a la clave y devuelve su estimación incluyéndolo
+     */
+    public synchronized long add(long hash1, long hash2, long count) {
+        long target = estimate(hash1, hash2) + count;
+        for (int row = 0; row < depth; row++) {
+            int index = index(row, hash1, hash2);
+            if (counters.get(index) < target) {
+                counters.set(index, target);
+            }
+        }
+        return target;
+    }
+
+    public long estimate(long hash1, long hash2) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, hash1, hash2)));
+        }
+        return estimate;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getWidth() {
+        return widthMask + 1;
+    }
+
+    private int index(int row, long hash1, long hash2) {
+        long combined = hash1 + row * hash2;
+        return row * (widthMask + 1) + (int) ((combined ^ (combined >>> 32)) & widthMask);
+    }
+}
@@ -0,0 +1,71 @@
+package com.fleetguard360.monitoring_service.util;
+
+import java.util.Arrays;
+
+/**
+ * Estimador de cardinalidad HyperLogLog (Flajolet et al.) de tamaño fijo.
+ *
+ * Usa 2^precision registros de un byte; el error típico es 1.04 / sqrt(2^precision)
+ * (6.5 % con precisión 8). Para cardinalidades pequeñas aplica la corrección de conteo
+ * lineal. No es seguro entre hilos: el llamador debe sincronizar el acceso.
+ */
+public final class HyperLogLog {
+
+    private final byte[] registers;
+
+    private final int precision;
+
+    private final double alphaMM;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("La precisión debe estar entre 4 y 16");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+        int m = registers.length;
+        double alpha = switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+        this.alphaMM = alpha * m * m;
+    }
+
+    /**
+     * Agrega un valor por su hash de 64 bits
+     *
+     * @return true si cambió algún registro (y por tanto la estimación)
+     */
+    public boolean add(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << precision), 64 - precision) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+            return true;
+        }
+        return false;
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Double.longBitsToDouble((1023L - register) << 52);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        int m = registers.length;
+        double estimate = alphaMM / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public void clear() {
+        Arrays.fill(registers, (byte) 0);
+    }
+}
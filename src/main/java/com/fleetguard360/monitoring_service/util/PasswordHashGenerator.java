@@ -2,18 +2,25 @@ package com.fleetguard360.monitoring_service.util;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.fleetguard360.monitoring_service.config.AdaptiveBCryptPasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 /**
  * Utility class para generar hashes BCrypt de contraseñas
  * Útil para crear datos de prueba
+ *
+ * Uso: PasswordHashGenerator [coste]. Sin coste, se calibra en este host con los mismos
+ * valores por defecto que la aplicación (presupuesto de 100 ms, coste entre 10 y 14).
  */
 public class PasswordHashGenerator {
 
     private static final Logger logger = LoggerFactory.getLogger(PasswordHashGenerator.class);
     
     public static void main(String[] args) {
-        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        int cost = args.length > 0
+                ? Integer.parseInt(args[0])
+                : AdaptiveBCryptPasswordEncoder.calibrate(100, 10, 14);
+        BCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(cost);
         
         // Contraseñas a encriptar
         String[] passwords = {
@@ -23,7 +30,7 @@ public class PasswordHashGenerator {
             "fleet123"
         };
         
-        logger.info("=== Generador de Hashes BCrypt ===");
+        logger.info("=== Generador de Hashes BCrypt (coste {}) ===", cost);
         logger.info("\n");
         
         for (String password : passwords) {
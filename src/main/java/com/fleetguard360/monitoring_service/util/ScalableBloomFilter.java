@@ -0,0 +1,151 @@
+package com.fleetguard360.monitoring_service.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Filtro de Bloom escalable y concurrente (Almeida et al.).
+ *
+ * Empieza con una etapa dimensionada para "initialCapacity" elementos; al llenarse añade
+ * otra con el doble de capacidad y la mitad de probabilidad de falso positivo, de modo que
+ * la tasa total queda acotada por 2 × falsePositiveRate sin conocer el volumen de antemano.
+ * Consultar no bloquea ni asigna memoria: k lecturas de palabras por etapa, con dos hashes
+ * de 64 bits combinados (Kirsch-Mitzenmacher). Nunca da falsos negativos.
+ */
+public final class ScalableBloomFilter {
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private static final double LN2_SQUARED = Math.log(2) * Math.log(2);
+
+    private final int initialCapacity;
+
+    private final double falsePositiveRate;
+
+    private volatile Stage[] stages;
+
+    public ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+        this.initialCapacity = Math.max(16, initialCapacity);
+        this.falsePositiveRate = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+        this.stages = new Stage[] { new Stage(this.initialCapacity, this.falsePositiveRate / 2) };
+    }
+
+    /**
+     * Agrega un elemento identificado por sus dos hashes
+     */
+    public void add(long hash1, long hash2) {
+        Stage[] current = stages;
+        Stage last = current[current.length - 1];
+        if (!last.tryReserve()) {
+            last = grow(current);
+        }
+        last.set(hash1, hash2);
+    }
+
+    public boolean mightContain(long hash1, long hash2) {
+        for (Stage stage : stages) {
+            if (stage.get(hash1, hash2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int stageCount() {
+        return stages.length;
+    }
+
+    public long sizeInBits() {
+        long bits = 0;
+        for (Stage stage : stages) {
+            bits += (long) stage.words.length * Long.SIZE;
+        }
+        return bits;
+    }
+
+    /**
+     * Hash de 64 bits de una cadena (FNV-1a con mezcla final de MurmurHash3)
+     */
+    public static long hash(CharSequence value, long seed) {
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private synchronized Stage grow(Stage[] observed) {
+        Stage[] current = stages;
+        Stage last = current[current.length - 1];
+        if (current != observed && last.tryReserve()) {
+            return last;
+        }
+        int n = current.length;
+        long capacity = Math.min((long) initialCapacity << n, Integer.MAX_VALUE / 2);
+        Stage next = new Stage((int) capacity, falsePositiveRate / (2L << n));
+        next.tryReserve();
+        Stage[] grown = new Stage[n + 1];
+        System.arraycopy(current, 0, grown, 0, n);
+        grown[n] = next;
+        stages = grown;
+        return next;
+    }
+
+    private static final class Stage {
+
+        private final long[] words;
+
+        private final long bitMask;
+
+        private final int hashes;
+
+        private final int capacity;
+
+        private int reserved;
+
+        Stage(int capacity, double falsePositiveRate) {
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / LN2_SQUARED);
+            // Potencia de dos para indexar con máscara en lugar de módulo
+            long bits = Long.highestOneBit(Math.max(Long.SIZE, optimalBits - 1)) << 1;
+            this.words = new long[(int) (bits / Long.SIZE)];
+            this.bitMask = bits - 1;
+            this.hashes = Math.max(1, (int) Math.ceil(-Math.log(falsePositiveRate) / Math.log(2)));
+            this.capacity = capacity;
+        }
+
+        synchronized boolean tryReserve() {
+            if (reserved >= capacity) {
+                return false;
+            }
+            reserved++;
+            return true;
+        }
+
+        void set(long hash1, long hash2) {
+            long combined = hash1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = combined & bitMask;
+                WORDS.getAndBitwiseOr(words, (int) (bit >>> 6), 1L << bit);
+                combined += hash2;
+            }
+        }
+
+        boolean get(long hash1, long hash2) {
+            long combined = hash1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = combined & bitMask;
+                if (((long) WORDS.getAcquire(words, (int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+                combined += hash2;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.fleetguard360.monitoring_service.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa llamadas concurrentes idénticas (misma clave) en una sola ejecución.
+ *
+ * El primer hilo que llega ejecuta el loader; los demás esperan y reciben el mismo
+ * resultado. Un resultado ya completado se sigue compartiendo durante una ventana corta,
+ * siempre que la versión de datos no haya cambiado desde que se inició la consulta.
+ */
+public class SingleFlight<K> {
+
+    private final ConcurrentMap<K, Flight<?>> flights = new ConcurrentHashMap<>();
+
+    private final LongSupplier versionSource;
+
+    private final long windowNanos;
+
+    /**
+     * @param versionSource fuente de la versión actual de los datos
+     * @param windowNanos tiempo durante el cual un resultado completado puede reutilizarse
+     */
+    public SingleFlight(LongSupplier versionSource, long windowNanos) {
+        this.versionSource = versionSource;
+        this.windowNanos = Math.max(0, windowNanos);
+    }
+
+    /**
+     * Ejecuta el loader o se une a una ejecución en curso para la misma clave
+     *
+     * @param key clave que identifica la consulta
+     * @param loader consulta a ejecutar si no hay una compartible
+     * @return resultado compartido
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V execute(K key, Supplier<V> loader) {
+        long version = versionSource.getAsLong();
+
+        while (true) {
+            Flight<?> existing = flights.get(key);
+            if (existing != null && existing.isShareable(version, System.nanoTime(), windowNanos)) {
+                return ((Flight<V>) existing).await();
+            }
+
+            Flight<V> own = new Flight<>(version);
+            boolean claimed = existing == null
+                    ? flights.putIfAbsent(key, own) == null
+                    : flights.replace(key, existing, own);
+
+            if (claimed) {
+                return run(key, own, loader);
+            }
+            // Otro hilo ganó la carrera; reintentar uniéndose a su ejecución
+        }
+    }
+
+    /**
+     * Número de claves con ejecución registrada (en curso o dentro de la ventana)
+     */
+    public int size() {
+        return flights.size();
+    }
+
+    private <V> V run(K key, Flight<V> flight, Supplier<V> loader) {
+        try {
+            V result = loader.get();
+            flight.complete(result);
+            if (windowNanos == 0) {
+                flights.remove(key, flight);
+            }
+            return result;
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, flight);
+            flight.fail(e);
+            throw e;
+        }
+    }
+
+    private static final class Flight<V> {
+
+        private final long version;
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        Flight(long version) {
+            this.version = version;
+        }
+
+        boolean isShareable(long currentVersion, long now, long windowNanos) {
+            if (version != currentVersion || future.isCompletedExceptionally()) {
+                return false;
+            }
+            return !future.isDone() || now - completedAt <= windowNanos;
+        }
+
+        void complete(V value) {
+            completedAt = System.nanoTime();
+            future.complete(value);
+        }
+
+        void fail(Throwable error) {
+            completedAt = System.nanoTime();
+            future.completeExceptionally(error);
+        }
+
+        V await() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+    }
+}
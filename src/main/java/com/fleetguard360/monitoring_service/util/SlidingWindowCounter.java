@@ -0,0 +1,83 @@
+package com.fleetguard360.monitoring_service.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contador de eventos en una ventana deslizante, sin bloqueos.
+ *
+ * La ventana se divide en un número fijo de buckets circulares. Cada bucket guarda en un
+ * solo long el índice de bucket temporal (bits altos) y su cuenta (bits bajos), de modo que
+ * reiniciar un bucket viejo e incrementarlo es un único CAS. Incrementar y sumar cuestan
+ * O(buckets), independiente del número de eventos.
+ */
+public final class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray slots;
+
+    private final long bucketMillis;
+
+    /**
+     * @param buckets número de buckets de la ventana
+     * @param windowMillis duración total de la ventana
+     */
+    public SlidingWindowCounter(int buckets, long windowMillis) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("El número de buckets debe ser positivo");
+        }
+        this.slots = new AtomicLongArray(buckets);
+        this.bucketMillis = Math.max(1, windowMillis / buckets);
+    }
+
+    /**
+     * Registra un evento y devuelve la cuenta de la ventana incluyéndolo
+     */
+    public int increment(long nowMillis) {
+        long bucket = nowMillis / bucketMillis;
+        int index = (int) (bucket % slots.length());
+
+        while (true) {
+            long current = slots.get(index);
+            long next;
+            if ((current >>> COUNT_BITS) == bucket) {
+                long count = current & COUNT_MASK;
+                // Satura en lugar de desbordar hacia el índice de bucket
+                next = count == COUNT_MASK ? current : current + 1;
+            } else {
+                next = (bucket << COUNT_BITS) | 1;
+            }
+            if (slots.compareAndSet(index, current, next)) {
+                break;
+            }
+        }
+        return sum(nowMillis);
+    }
+
+    /**
+     * Cuenta los eventos dentro de la ventana que termina en nowMillis
+     */
+    public int sum(long nowMillis) {
+        long bucket = nowMillis / bucketMillis;
+        long oldest = bucket - slots.length() + 1;
+        long total = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            long value = slots.get(i);
+            long slotBucket = value >>> COUNT_BITS;
+            if (slotBucket >= oldest && slotBucket <= bucket) {
+                total += value & COUNT_MASK;
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    /**
+     * Vacía la ventana
+     */
+    public void reset() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, 0L);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.fleetguard360.monitoring_service.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Top-K aproximado de claves más frecuentes con el algoritmo Space-Saving (Metwally et al.).
+ *
+ * Mantiene exactamente "capacity" contadores: una clave nueva con la tabla llena reemplaza a
+ * la de menor cuenta y hereda esa cuenta como error máximo, de modo que cualquier clave con
+ * frecuencia mayor que total / capacity está garantizada en la tabla. Cada entrada lleva
+ * además un HyperLogLog de los valores asociados (p. ej. usuarios distintos por IP) que se
+ * reinicia al reemplazarla. Todo el acceso está sincronizado; capacity es pequeño.
+ */
+public final class SpaceSavingTopK {
+
+    private final int capacity;
+
+    private final int precision;
+
+    private final Map<String, Counter> counters;
+
+    public SpaceSavingTopK(int capacity, int precision) {
+        this.capacity = Math.max(1, capacity);
+        this.precision = precision;
+        this.counters = new HashMap<>(this.capacity * 2);
+    }
+
+    /**
+     * Cuenta una ocurrencia de la clave asociada a un valor
+     *
+     * @param relatedHash hash del valor asociado, para la cardinalidad
+     */
+    public synchronized void offer(String key, long relatedHash) {
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() < capacity) {
+                counter = new Counter(key, 0, new HyperLogLog(precision));
+            } else {
+                Counter min = minimum();
+                counters.remove(min.key);
+                min.hll.clear();
+                counter = new Counter(key, min.count, min.hll);
+                counter.error = min.count;
+            }
+            counters.put(key, counter);
+        }
+        counter.count++;
+        if (counter.hll.add(relatedHash)) {
+            counter.distinct = counter.hll.estimate();
+        }
+    }
+
+    /**
+     * Valores asociados distintos de la clave, o 0 si no está en la tabla
+     */
+    public synchronized long distinct(String key) {
+        Counter counter = counters.get(key);
+        return counter != null ? counter.distinct : 0;
+    }
+
+    /**
+     * Entradas ordenadas de mayor a menor cuenta
+     */
+    public synchronized List<Entry> top(int limit) {
+        List<Entry> entries = new ArrayList<>(counters.size());
+        for (Counter counter : counters.values()) {
+            entries.add(new Entry(counter.key, counter.count, counter.error, counter.distinct));
+        }
+        entries.sort(Comparator.comparingLong(Entry::getCount).reversed());
+        return entries.size() > limit ? entries.subList(0, Math.max(0, limit)) : entries;
+    }
+
+    private Counter minimum() {
+        Counter min = null;
+        for (Counter counter : counters.values()) {
+            if (min == null || counter.count < min.count) {
+                min = counter;
+            }
+        }
+        return min;
+    }
+
+    private static final class Counter {
+        private final String key;
+        private final HyperLogLog hll;
+        private long count;
+        private long error;
+        private long distinct;
+
+        Counter(String key, long count, HyperLogLog hll) {
+            this.key = key;
+            this.count = count;
+            this.hll = hll;
+        }
+    }
+
+    /**
+     * Copia inmutable de una entrada del top-K
+     */
+    public static final class Entry {
+        private final String key;
+        private final long count;
+        private final long error;
+        private final long distinct;
+
+        Entry(String key, long count, long error, long distinct) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+            this.distinct = distinct;
+        }
+
+        public String getKey() { return key; }
+        /** Cuenta estimada; la real está entre count - error y count */
+        public long getCount() { return count; }
+        public long getError() { return error; }
+        public long getDistinct() { return distinct; }
+    }
+}
@@ -0,0 +1,67 @@
+package com.fleetguard360.monitoring_service.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin bloqueos, implementado como GCRA (generic cell rate algorithm).
+ *
+ * En lugar de guardar tokens y última recarga, guarda un único instante teórico de llegada
+ * (TAT): cada permiso lo adelanta un intervalo de emisión y se concede mientras el TAT no
+ * supere el instante actual en más de capacidad × intervalo. Es equivalente a un bucket de
+ * "capacity" tokens que se recarga a razón de un token por intervalo, y se actualiza con un CAS.
+ */
+public final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    private final long intervalNanos;
+
+    private final long burstNanos;
+
+    /**
+     * @param capacity tamaño de la ráfaga permitida
+     * @param intervalNanos tiempo para recargar un token
+     * @param nowNanos instante de creación (bucket lleno)
+     */
+    public TokenBucket(int capacity, long intervalNanos, long nowNanos) {
+        this.intervalNanos = Math.max(1, intervalNanos);
+        this.burstNanos = Math.max(1, capacity) * this.intervalNanos;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Intenta consumir un token
+     *
+     * @return 0 si se concede; si no, nanosegundos hasta que haya un token disponible
+     */
+    public long tryAcquire(long nowNanos) {
+        return tryAcquire(nowNanos, 1);
+    }
+
+    /**
+     * Intenta consumir varios tokens a la vez (como mucho la capacidad del bucket)
+     *
+     * @return 0 si se conceden; si no, nanosegundos hasta que estén disponibles
+     */
+    public long tryAcquire(long nowNanos, int permits) {
+        long cost = Math.min(Math.max(1, permits), burstNanos / intervalNanos) * intervalNanos;
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, nowNanos) + cost;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Un bucket lleno no guarda estado útil y puede descartarse
+     */
+    public boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,21 @@
+package com.fleetguard360.monitoring_service.util;
+
+import java.util.Locale;
+
+/**
+ * Clave canónica de un nombre de usuario para los contadores y cachés en memoria.
+ *
+ * La base de datos compara los nombres sin distinguir mayúsculas ni espacios finales, así
+ * que "Admin", "ADMIN" y "admin " son la misma cuenta: si cada variante tuviera su propia
+ * clave, cada una abriría una ventana de fallos nueva y una invalidación solo alcanzaría a
+ * la variante que la provocó.
+ */
+public final class UsernameKey {
+
+    private UsernameKey() {
+    }
+
+    public static String of(String username) {
+        return username == null ? null : username.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,78 @@
+-- Esquema inicial (usuarios, roles, vehículos e historial de login) tal como lo genera Hibernate
+-- para MySQL 8. En bases de datos existentes no se ejecuta: baseline-on-migrate las marca en la versión 1.
+
+create table roles (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    enabled bit not null,
+    failed_attempts integer not null,
+    id bigint not null auto_increment,
+    lock_time datetime(6),
+    password varchar(255) not null,
+    username varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_roles (
+    role_id bigint not null,
+    user_id bigint not null,
+    primary key (role_id, user_id)
+) engine=InnoDB;
+
+create table vehicles (
+    capacity integer not null,
+    latitude float(53),
+    longitude float(53),
+    mileage integer,
+    year integer,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    license_plate varchar(10) not null,
+    color varchar(20),
+    brand varchar(30),
+    created_by varchar(50),
+    model varchar(50) not null,
+    updated_by varchar(50),
+    notes varchar(500),
+    fuel_type enum ('DIESEL','ELECTRIC','ETHANOL','GAS','GASOLINE','HYBRID'),
+    status enum ('AVAILABLE','INACTIVE','IN_USE','MAINTENANCE','OUT_OF_SERVICE') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table login_history (
+    success bit not null,
+    id bigint not null auto_increment,
+    login_time datetime(6) not null,
+    user_id bigint not null,
+    ip_address varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table roles
+    add constraint uk_roles_name unique (name);
+
+alter table users
+    add constraint uk_users_username unique (username);
+
+alter table vehicles
+    add constraint uk_vehicles_license_plate unique (license_plate);
+
+alter table user_roles
+    add constraint fk_user_roles_role
+    foreign key (role_id)
+    references roles (id);
+
+alter table user_roles
+    add constraint fk_user_roles_user
+    foreign key (user_id)
+    references users (id);
+
+alter table login_history
+    add constraint fk_login_history_user
+    foreign key (user_id)
+    references users (id);
@@ -0,0 +1,18 @@
+-- Outbox transaccional de cambios de vehículos (VehicleOutboxEvent)
+
+create table vehicle_outbox (
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    published_at datetime(6),
+    sequence_number bigint,
+    vehicle_id bigint not null,
+    payload varchar(4000) not null,
+    event_type enum ('CREATED','DELETED','PURGED','STATUS_CHANGED','UPDATED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_vehicle_outbox_published_at
+    on vehicle_outbox (published_at);
+
+alter table vehicle_outbox
+    add constraint idx_vehicle_outbox_sequence unique (sequence_number);
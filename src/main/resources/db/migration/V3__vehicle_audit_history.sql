@@ -0,0 +1,16 @@
+-- Historial de auditoría de vehículos por campo (VehicleAuditEntry)
+
+create table vehicle_audit_history (
+    changed_at datetime(6) not null,
+    id bigint not null auto_increment,
+    vehicle_id bigint not null,
+    field_name varchar(30) not null,
+    changed_by varchar(50),
+    new_value varchar(500),
+    old_value varchar(500),
+    change_type enum ('CREATED','DELETED','PURGED','STATUS_CHANGED','UPDATED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_vehicle_audit_vehicle_changed
+    on vehicle_audit_history (vehicle_id, changed_at);
@@ -0,0 +1,7 @@
+-- El historial de login guarda el nombre de usuario y admite intentos de usuarios inexistentes
+
+alter table login_history
+    add column username varchar(100);
+
+alter table login_history
+    modify user_id bigint null;
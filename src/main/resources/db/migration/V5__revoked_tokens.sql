@@ -0,0 +1,14 @@
+-- Tokens revocados del modo sin sesión (RevokedToken); la clave primaria garantiza el uso único
+
+create table revoked_tokens (
+    expires_at bigint not null,
+    revoked_at datetime(6) not null,
+    token_id varchar(32) not null,
+    primary key (token_id)
+) engine=InnoDB;
+
+create index idx_revoked_tokens_expires_at
+    on revoked_tokens (expires_at);
+
+create index idx_revoked_tokens_revoked_at
+    on revoked_tokens (revoked_at);
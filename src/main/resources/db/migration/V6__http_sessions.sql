@@ -0,0 +1,18 @@
+-- Sesiones HTTP compartidas entre nodos (HttpSessionRecord)
+
+create table http_sessions (
+    max_inactive_seconds integer not null,
+    creation_time bigint not null,
+    expiry_time bigint not null,
+    last_access_time bigint not null,
+    session_id varchar(64) not null,
+    principal_name varchar(100),
+    attributes mediumblob,
+    primary key (session_id)
+) engine=InnoDB;
+
+create index idx_http_sessions_principal
+    on http_sessions (principal_name);
+
+create index idx_http_sessions_expiry
+    on http_sessions (expiry_time);
@@ -0,0 +1,4 @@
+-- Generación de los tokens de refresco por usuario: el logout la incrementa y revoca todos los emitidos
+
+alter table users
+    add column token_generation integer not null default 0;
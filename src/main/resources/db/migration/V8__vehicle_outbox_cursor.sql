@@ -0,0 +1,10 @@
+-- Cursor del relay del outbox (VehicleOutboxCursor): el nodo que bloquea la fila asigna las secuencias
+
+create table vehicle_outbox_cursor (
+    id bigint not null,
+    last_sequence bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+insert into vehicle_outbox_cursor (id, last_sequence)
+    select 1, coalesce(max(sequence_number), 0) from vehicle_outbox;
@@ -0,0 +1,5 @@
+-- La tabla única del historial de login ya no recibe escrituras (ver LoginHistoryPartitions).
+-- Se renombra para que el mantenimiento traslade sus filas a las particiones diarias y la elimine.
+
+alter table login_history
+    rename to login_history_legacy;
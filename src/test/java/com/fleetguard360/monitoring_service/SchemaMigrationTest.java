@@ -0,0 +1,33 @@
+package com.fleetguard360.monitoring_service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Las migraciones de db/migration crean el esquema que esperan las entidades.
+ *
+ * Aplica Flyway sobre H2 en modo MySQL y arranca con ddl-auto=validate, como el perfil prod:
+ * si una entidad añade una tabla o columna sin su migración, el contexto no arranca.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false"
+})
+@ActiveProfiles("test")
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void migrations_ShouldMatchEntities() {
+        assertEquals(0, flyway.info().pending().length);
+    }
+}
@@ -0,0 +1,36 @@
+package com.fleetguard360.monitoring_service.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveBCryptPasswordEncoderTest {
+
+    @Test
+    void upgradeEncoding_ShouldUpgradeWeakerHashesAndDowngradeOnlyPastMargin() {
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+        assertTrue(encoder.upgradeEncoding(new AdaptiveBCryptPasswordEncoder(4).encode("secret")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+        // Un punto por encima (ruido de calibración, otro nodo) no se rebaja
+        assertFalse(encoder.upgradeEncoding(new AdaptiveBCryptPasswordEncoder(6).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new AdaptiveBCryptPasswordEncoder(7).encode("secret")));
+        assertFalse(encoder.upgradeEncoding("texto-plano"));
+    }
+
+    @Test
+    void costOf_ShouldParseBcryptPrefix() {
+        assertEquals(10, AdaptiveBCryptPasswordEncoder.costOf("$2a$10$abcdefghijklmnopqrstuv"));
+        assertEquals(0, AdaptiveBCryptPasswordEncoder.costOf("{noop}secret"));
+        assertEquals(0, AdaptiveBCryptPasswordEncoder.costOf(null));
+    }
+
+    @Test
+    void calibrate_ShouldStayWithinBounds() {
+        // Presupuesto imposible: se queda en el mínimo; presupuesto holgado: llega al máximo
+        assertEquals(4, AdaptiveBCryptPasswordEncoder.calibrate(0, 4, 6));
+        assertEquals(6, AdaptiveBCryptPasswordEncoder.calibrate(60_000, 4, 6));
+    }
+}
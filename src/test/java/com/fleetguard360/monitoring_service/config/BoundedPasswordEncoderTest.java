@@ -0,0 +1,168 @@
+package com.fleetguard360.monitoring_service.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fleetguard360.monitoring_service.exception.LoginCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void matches_ShouldVerifyOnPoolAndRecordTimers() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        String hash = bcrypt.encode("secret");
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(bcrypt, 1, 4, 2000, registry)) {
+            assertTrue(encoder.matches("secret", hash));
+            assertFalse(encoder.matches("wrong", hash));
+        }
+
+        assertEquals(2, registry.get("auth.password.hash").timer().count());
+        assertEquals(2, registry.get("auth.password.queue.wait").timer().count());
+    }
+
+    @Test
+    void matches_WhenQueueIsFull_ShouldRejectWithoutHashing() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new BlockingEncoder(started, release);
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1, 60000, registry)) {
+            CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+            waitForQueueDepth(encoder, 1);
+
+            assertThrows(LoginCapacityExceededException.class, () -> encoder.matches("c", "c"));
+
+            release.countDown();
+            assertTrue(running.get(5, TimeUnit.SECONDS));
+            assertTrue(queued.get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1.0, registry.get("auth.password.rejected").tag("reason", "queue_full").counter().count());
+    }
+
+    @Test
+    void matches_WhenQueueWaitExceeded_ShouldSkipHash() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingEncoder blocking = new BlockingEncoder(started, release);
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 4, 200, registry)) {
+            CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+            waitForQueueDepth(encoder, 1);
+            Thread.sleep(300);
+
+            release.countDown();
+            assertTrue(running.get(5, TimeUnit.SECONDS));
+            Exception e = assertThrows(Exception.class, () -> queued.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof LoginCapacityExceededException);
+        }
+
+        assertEquals(1, blocking.calls);
+        assertEquals(1.0, registry.get("auth.password.rejected").tag("reason", "queue_timeout").counter().count());
+    }
+
+    @Test
+    void encode_ShouldHashOnPool() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AtomicReference<String> thread = new AtomicReference<>();
+        PasswordEncoder recording = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                thread.set(Thread.currentThread().getName());
+                return super.encode(rawPassword);
+            }
+        };
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(recording, 1, 4, 2000, registry)) {
+            assertTrue(encoder.matches("secret", encoder.encode("secret")));
+        }
+
+        // El rehash tras un login no ocupa el hilo de Tomcat fuera del límite del pool
+        assertTrue(thread.get().startsWith("password-verifier-"));
+        assertEquals(2, registry.get("auth.password.hash").timer().count());
+    }
+
+    @Test
+    void upgradeEncoding_WithQueuedLogins_ShouldPostponeRehash() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingEncoder blocking = new BlockingEncoder(started, release);
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 4, 60000, new SimpleMeterRegistry())) {
+            CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+            waitForQueueDepth(encoder, 1);
+
+            assertFalse(encoder.upgradeEncoding("a"));
+
+            release.countDown();
+            assertTrue(running.get(5, TimeUnit.SECONDS));
+            assertTrue(queued.get(5, TimeUnit.SECONDS));
+            assertTrue(encoder.upgradeEncoding("a"));
+        }
+    }
+
+    private static void waitForQueueDepth(BoundedPasswordEncoder encoder, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (encoder.getQueueDepth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(depth, encoder.getQueueDepth());
+    }
+
+    private static final class BlockingEncoder implements PasswordEncoder {
+
+        private final CountDownLatch started;
+
+        private final CountDownLatch release;
+
+        private volatile int calls;
+
+        BlockingEncoder(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            calls++;
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return true;
+        }
+    }
+}
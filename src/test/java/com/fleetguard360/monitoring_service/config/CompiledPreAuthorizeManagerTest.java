@@ -0,0 +1,120 @@
+package com.fleetguard360.monitoring_service.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+class CompiledPreAuthorizeManagerTest {
+
+    private final CompiledPreAuthorizeManager manager = new CompiledPreAuthorizeManager();
+
+    @Test
+    void parseRoles_ShouldAcceptOnlyRoleLiterals() {
+        assertEquals(List.of("ADMIN", "USER"), CompiledPreAuthorizeManager.parseRoles("hasAnyRole('ADMIN', 'USER')"));
+        assertEquals(List.of("ADMIN"), CompiledPreAuthorizeManager.parseRoles("hasRole('ADMIN')"));
+        assertNull(CompiledPreAuthorizeManager.parseRoles("hasRole('ADMIN') and isAuthenticated()"));
+        assertNull(CompiledPreAuthorizeManager.parseRoles("hasRole(#role)"));
+        assertNull(CompiledPreAuthorizeManager.parseRoles("hasRole('ADMIN', 'USER')"));
+    }
+
+    @Test
+    void check_ShouldGrantByRoleMask() throws Exception {
+        SecuredController target = new SecuredController();
+
+        assertTrue(granted(target, "list", auth(RoleAuthority.of("USER"))));
+        assertFalse(granted(target, "delete", auth(RoleAuthority.of("USER"))));
+        assertTrue(granted(target, "delete", auth(RoleAuthority.of("ADMIN"))));
+    }
+
+    @Test
+    void check_ShouldFallBackToSpelForOtherExpressions() throws Exception {
+        SecuredController target = new SecuredController();
+
+        assertTrue(granted(target, "status", auth(RoleAuthority.of("USER"))));
+        assertFalse(granted(target, "status", new TestingAuthenticationToken("guest", null)));
+    }
+
+    @Test
+    void check_ShouldAcceptPlainStringAuthorities() throws Exception {
+        // Autoridades creadas fuera del camino de login (p. ej. @WithMockUser)
+        Authentication plain = new TestingAuthenticationToken("admin", null, "ROLE_ADMIN");
+
+        assertTrue(granted(new SecuredController(), "delete", plain));
+    }
+
+    @Test
+    void check_ShouldUseMaskCarriedByAuthentication() throws Exception {
+        // La máscara calculada al autenticarse manda: no se recorren las autoridades
+        long admin = RoleAuthority.of("ADMIN").getBit();
+        Authentication carried = new RoleMaskAuthenticationToken("admin", List.of(RoleAuthority.of("USER")), admin);
+
+        assertTrue(granted(new SecuredController(), "delete", carried));
+    }
+
+    @Test
+    void roleMaskToken_ShouldRecomputeMaskAfterDeserialization() throws Exception {
+        RoleAuthority admin = RoleAuthority.of("ADMIN");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new RoleMaskAuthenticationToken("admin", List.of(admin), admin.getBit()));
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(admin.getBit(), ((RoleMaskAuthenticationToken) in.readObject()).getRoleMask());
+        }
+    }
+
+    @Test
+    void roleAuthority_ShouldReinternAfterDeserialization() throws Exception {
+        RoleAuthority admin = RoleAuthority.of("ADMIN");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(admin);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertSame(admin, in.readObject());
+        }
+    }
+
+    private boolean granted(Object target, String method, Authentication authentication) throws Exception {
+        if (!authentication.isAuthenticated()) {
+            authentication.setAuthenticated(true);
+        }
+        SimpleMethodInvocation invocation = new SimpleMethodInvocation(target, target.getClass().getMethod(method));
+        return manager.check(() -> authentication, invocation).isGranted();
+    }
+
+    private static Authentication auth(RoleAuthority authority) {
+        return new TestingAuthenticationToken("user", null, List.of(authority));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    static class SecuredController {
+
+        public void list() {
+        }
+
+        @PreAuthorize("hasRole('ADMIN')")
+        public void delete() {
+        }
+
+        @PreAuthorize("isAuthenticated() and hasRole('USER')")
+        public void status() {
+        }
+    }
+}
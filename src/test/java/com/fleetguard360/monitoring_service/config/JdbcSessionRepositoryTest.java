@@ -0,0 +1,113 @@
+package com.fleetguard360.monitoring_service.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.session.FindByIndexNameSessionRepository;
+
+class JdbcSessionRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcSessionRepository node1;
+    private JdbcSessionRepository node2;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:sessions-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE http_sessions (session_id VARCHAR(64) PRIMARY KEY, "
+                + "principal_name VARCHAR(100), creation_time BIGINT NOT NULL, last_access_time BIGINT NOT NULL, "
+                + "max_inactive_seconds INT NOT NULL, expiry_time BIGINT NOT NULL, attributes BLOB)");
+        node1 = newNode();
+        node2 = newNode();
+    }
+
+    @Test
+    void save_ShouldShareSessionAttributesAcrossNodes() {
+        JdbcSessionRepository.StoredSession session = node1.createSession();
+        session.setAttribute("theme", "dark");
+        node1.save(session);
+
+        JdbcSessionRepository.StoredSession loaded = node2.findById(session.getId());
+
+        assertNotNull(loaded);
+        assertEquals("dark", loaded.getAttribute("theme"));
+    }
+
+    @Test
+    void save_WithOnlyAccessTimeChange_ShouldTouchLazily() {
+        JdbcSessionRepository.StoredSession session = node1.createSession();
+        node1.save(session);
+        long persisted = persistedLastAccess(session.getId());
+
+        JdbcSessionRepository.StoredSession read = node1.findById(session.getId());
+        read.setLastAccessedTime(Instant.ofEpochMilli(persisted).plusSeconds(10));
+        node1.save(read);
+        assertEquals(persisted, persistedLastAccess(session.getId()));
+
+        read = node1.findById(session.getId());
+        read.setLastAccessedTime(Instant.ofEpochMilli(persisted).plusSeconds(90));
+        node1.save(read);
+        assertEquals(persisted + 90_000, persistedLastAccess(session.getId()));
+    }
+
+    @Test
+    void save_WhenPrincipalBound_ShouldEndOtherSessionsOnAllNodes() {
+        JdbcSessionRepository.StoredSession first = node1.createSession();
+        first.setAttribute(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, "admin");
+        node1.save(first);
+
+        JdbcSessionRepository.StoredSession second = node2.createSession();
+        second.setAttribute(FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME, "admin");
+        node2.save(second);
+
+        assertEquals(1, node2.findByPrincipalName("admin").size());
+        assertNotNull(node2.findById(second.getId()));
+        assertNull(newNode().findById(first.getId()));
+    }
+
+    @Test
+    void save_WhenDeletedByAnotherNode_ShouldNotResurrectSession() {
+        JdbcSessionRepository.StoredSession session = node1.createSession();
+        node1.save(session);
+        JdbcSessionRepository.StoredSession read = node1.findById(session.getId());
+
+        node2.deleteById(session.getId());
+        read.setAttribute("late", "write");
+        node1.save(read);
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM http_sessions", Integer.class));
+    }
+
+    @Test
+    void cleanupExpiredSessions_ShouldDeleteInChunks() {
+        long expired = System.currentTimeMillis() - Duration.ofHours(2).toMillis();
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.update("INSERT INTO http_sessions VALUES (?, NULL, ?, ?, 1800, ?, NULL)",
+                    "expired-" + i, expired, expired, expired + 1_800_000);
+        }
+        node1.save(node1.createSession());
+
+        assertEquals(5, node1.cleanupExpiredSessions());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM http_sessions", Integer.class));
+    }
+
+    private JdbcSessionRepository newNode() {
+        return new JdbcSessionRepository(jdbcTemplate, Duration.ofMinutes(30), Duration.ofSeconds(60),
+                Duration.ofSeconds(5), 100, true, 2);
+    }
+
+    private long persistedLastAccess(String id) {
+        return jdbcTemplate.queryForObject("SELECT last_access_time FROM http_sessions WHERE session_id = ?", Long.class, id);
+    }
+}
@@ -0,0 +1,162 @@
+package com.fleetguard360.monitoring_service.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fleetguard360.monitoring_service.service.CredentialStuffingDetector;
+import com.fleetguard360.monitoring_service.util.ClientIpResolver;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+class LoginRateLimitFilterTest {
+
+    private final CredentialStuffingDetector detector = new CredentialStuffingDetector(300, 4, 256, 16, 6, 3, 3, 50, 50, 3);
+
+    private final LoginRateLimitFilter filter = new LoginRateLimitFilter(
+            new ObjectMapper().registerModule(new JavaTimeModule()), providerOf(detector),
+            new ClientIpResolver(List.of("127.0.0.1", "10.10.10.10")), 3, 1, 2, 1);
+
+    @Test
+    void doFilter_ShouldRejectUsernameOverLimitAcrossIps() throws Exception {
+        assertEquals(200, login("/api/auth/login", "10.0.0.1", "admin").getStatus());
+        assertEquals(200, login("/api/auth/login", "10.0.0.2", "admin").getStatus());
+
+        MockHttpServletResponse rejected = login("/api/auth/login", "10.0.0.3", "admin");
+
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Demasiados intentos"));
+        assertEquals(1, filter.getRejectedCount());
+    }
+
+    @Test
+    void doFilter_CaseVariantsShouldShareUsernameBucket() throws Exception {
+        assertEquals(200, login("/api/auth/login", "10.0.0.1", "Admin").getStatus());
+        assertEquals(200, login("/api/auth/login", "10.0.0.2", "ADMIN").getStatus());
+
+        assertEquals(429, login("/api/auth/login", "10.0.0.3", "admin").getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldRejectIpOverLimitUsingForwardedFor() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, login("/api/frontend/auth/login", "203.0.113.7", "user" + i).getStatus());
+        }
+
+        MockHttpServletResponse rejected = login("/api/frontend/auth/login", "203.0.113.7", "other");
+
+        assertEquals(429, rejected.getStatus());
+        assertTrue(rejected.getContentAsString().contains("TOO_MANY_REQUESTS"));
+    }
+
+    @Test
+    void doFilter_ShouldChargeSuspiciousIpsSeveralTokens() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            detector.record("user" + i, "198.51.100.4", false);
+        }
+
+        // Con capacidad 3 y penalización de 3 tokens, el primer intento agota el bucket
+        assertEquals(200, login("/api/auth/login", "198.51.100.4", "admin").getStatus());
+        assertEquals(429, login("/api/auth/login", "198.51.100.4", "other").getStatus());
+        assertEquals(2, filter.getPenalizedCount());
+    }
+
+    @Test
+    void doFilter_ShouldPassBodyThroughToController() throws Exception {
+        MockHttpServletRequest request = request("/api/auth/login", "10.0.0.1", "admin");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        String body = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(body.contains("\"username\":\"admin\""));
+    }
+
+    @Test
+    void cachedBody_ReadListenerShouldBeNotifiedImmediately() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("/api/auth/login", "10.0.0.1", "admin"), new MockHttpServletResponse(), chain);
+
+        ServletInputStream input = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                read.write(input.readAllBytes());
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+        });
+
+        assertTrue(allDataRead.get());
+        assertTrue(read.toString(StandardCharsets.UTF_8).contains("\"username\":\"admin\""));
+    }
+
+    @Test
+    void doFilter_ShouldIgnoreOtherEndpoints() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/vehicles");
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest());
+        }
+        assertEquals(0, filter.getTrackedBuckets());
+    }
+
+    @Test
+    void evictIdleBuckets_ShouldKeepOnlyBucketsWithConsumedTokens() throws Exception {
+        login("/api/auth/login", "10.0.0.1", "admin");
+
+        filter.evictIdleBuckets();
+
+        // Los buckets recién usados no están llenos y se conservan
+        assertEquals(2, filter.getTrackedBuckets());
+    }
+
+    private static ObjectProvider<CredentialStuffingDetector> providerOf(CredentialStuffingDetector detector) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("credentialStuffingDetector", detector);
+        return beanFactory.getBeanProvider(CredentialStuffingDetector.class);
+    }
+
+    private MockHttpServletResponse login(String path, String ip, String username) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(path, ip, username), response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletRequest request(String path, String ip, String username) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.addHeader("X-Forwarded-For", ip + ", 10.10.10.10");
+        request.setContentType("application/json");
+        request.setContent(("{\"username\":\"" + username + "\",\"password\":\"secret123\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,94 @@
+package com.fleetguard360.monitoring_service.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+/**
+ * Presupuesto de sentencias SQL por endpoint para los tests de integración.
+ *
+ * assertQueries ejecuta la petición con MockMvc, exige una respuesta 2xx y falla si la
+ * petición emitió más sentencias que las permitidas, listando el SQL ejecutado. Así un N+1
+ * nuevo o una comprobación "exists" de más rompen el build en lugar de llegar a producción.
+ * Se activa con @Import(QueryBudget.Configuration.class) y @AutoConfigureMockMvc.
+ */
+public class QueryBudget {
+
+    private final MockMvc mockMvc;
+
+    private final QueryCountingDataSource dataSource;
+
+    public QueryBudget(MockMvc mockMvc, QueryCountingDataSource dataSource) {
+        this.mockMvc = mockMvc;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Ejecuta la petición y comprueba que no emitió más de maxQueries sentencias
+     *
+     * @return el SQL ejecutado, para aserciones adicionales
+     */
+    public List<String> assertQueries(RequestBuilder endpoint, int maxQueries) throws Exception {
+        AtomicReference<MvcResult> result = new AtomicReference<>();
+        List<String> statements = dataSource.record(() ->
+                result.getAndSet(mockMvc.perform(endpoint).andExpect(status().is2xxSuccessful()).andReturn()));
+        String name = result.get().getRequest().getMethod() + " " + result.get().getRequest().getRequestURI();
+        assertTrue(statements.size() <= maxQueries, () -> String.format(
+                "%s ejecutó %d sentencias SQL (presupuesto: %d):%n  %s",
+                name, statements.size(), maxQueries, String.join(System.lineSeparator() + "  ", statements)));
+        return statements;
+    }
+
+    /**
+     * Sentencias ejecutadas por una acción arbitraria (servicios, listeners, etc.)
+     */
+    public List<String> record(ThrowingRunnable action) throws Exception {
+        return dataSource.record(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Configuration {
+
+        /**
+         * Envuelve el DataSource principal antes de que JPA, JdbcTemplate y la sesión lo usen
+         */
+        @Bean
+        static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                    if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                            && !(bean instanceof QueryCountingDataSource)) {
+                        return new QueryCountingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        @Bean
+        QueryBudget queryBudget(MockMvc mockMvc, DataSource dataSource) {
+            return new QueryBudget(mockMvc, (QueryCountingDataSource) dataSource);
+        }
+    }
+}
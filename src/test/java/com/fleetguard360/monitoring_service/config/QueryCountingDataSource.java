@@ -0,0 +1,96 @@
+package com.fleetguard360.monitoring_service.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource que cuenta las sentencias SQL ejecutadas por el hilo que está grabando.
+ *
+ * Solo se registran las sentencias del hilo que llamó a record(): con MockMvc la petición se
+ * atiende en ese mismo hilo (incluidos los listeners tras el commit), mientras que los
+ * escritores asíncronos y las tareas programadas quedan fuera, igual que fuera del tiempo
+ * de respuesta. Cada execute*, y cada executeBatch, cuenta como una sentencia.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    private final ThreadLocal<List<String>> recording = new ThreadLocal<>();
+
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    /**
+     * Ejecuta la acción y devuelve el SQL de las sentencias que ejecutó, en orden
+     */
+    public List<String> record(Callable<?> action) throws Exception {
+        List<String> statements = new ArrayList<>();
+        recording.set(statements);
+        try {
+            action.call();
+        } finally {
+            recording.remove();
+        }
+        return Collections.unmodifiableList(statements);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(super.getConnection(username, password));
+    }
+
+    private Connection countingConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                        return countingStatement(statement, sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement countingStatement(Statement statement, String preparedSql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute")) {
+                        List<String> statements = recording.get();
+                        if (statements != null) {
+                            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                            statements.add(method.getName().equals("executeBatch") ? "[batch] " + preparedSql : sql);
+                        }
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.fleetguard360.monitoring_service.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Enrutamiento primario/réplica con dos instancias H2 en memoria
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource = new ReplicaRoutingDataSource(h2("routing_primary"), h2("routing_replica"), 60000, 1);
+        routingDataSource.afterPropertiesSet();
+        authenticateAs("admin");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldUseReplica() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("ROUTING_REPLICA", databaseName());
+    }
+
+    @Test
+    void writeTransaction_ShouldUsePrimary() throws SQLException {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertEquals("ROUTING_PRIMARY", databaseName());
+    }
+
+    @Test
+    void readAfterWrite_WithinWindow_ShouldUsePrimary() throws SQLException {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        databaseName();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("ROUTING_PRIMARY", databaseName());
+
+        // Otro usuario no se ve afectado por la ventana
+        authenticateAs("user1");
+        assertEquals("ROUTING_REPLICA", databaseName());
+    }
+
+    @Test
+    void anonymousWrite_ShouldNotPinAnonymousReadsToPrimary() throws SQLException {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("key", "anonymousUser",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertEquals("ROUTING_PRIMARY", databaseName());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("ROUTING_REPLICA", databaseName());
+
+        SecurityContextHolder.clearContext();
+        assertEquals("ROUTING_REPLICA", databaseName());
+    }
+
+    @Test
+    void unhealthyReplica_ShouldFallBackToPrimary() throws SQLException {
+        JdbcDataSource missing = new JdbcDataSource();
+        missing.setURL("jdbc:h2:mem:routing_missing;IFEXISTS=TRUE");
+        routingDataSource = new ReplicaRoutingDataSource(h2("routing_primary"), missing, 0, 1);
+        routingDataSource.afterPropertiesSet();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("ROUTING_PRIMARY", databaseName());
+        assertFalse(routingDataSource.isReplicaHealthy());
+        assertFalse(routingDataSource.checkReplicaHealth());
+    }
+
+    @Test
+    void checkReplicaHealth_WhenReplicaAvailable_ShouldReportHealthy() {
+        assertTrue(routingDataSource.checkReplicaHealth());
+    }
+
+    private String databaseName() throws SQLException {
+        try (Connection connection = routingDataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("CALL DATABASE()")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private static void authenticateAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
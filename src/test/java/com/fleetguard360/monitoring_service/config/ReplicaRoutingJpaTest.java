@@ -0,0 +1,167 @@
+package com.fleetguard360.monitoring_service.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fleetguard360.monitoring_service.fleet.FleetReadModel;
+import com.fleetguard360.monitoring_service.fleet.FleetSnapshot;
+import com.fleetguard360.monitoring_service.model.Vehicle;
+import com.fleetguard360.monitoring_service.model.VehicleStatus;
+import com.fleetguard360.monitoring_service.repository.VehicleRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Enrutamiento primario/réplica con JPA real sobre dos bases H2.
+ *
+ * Reproduce una petición con open-in-view: el EntityManager queda ligado al hilo durante
+ * toda la petición, que hace una lectura readOnly y después una escritura. La lectura debe
+ * salir de la réplica y la escritura llegar al primario.
+ */
+@SpringBootTest(classes = ReplicaRoutingJpaTest.JpaContext.class, properties = {
+        "app.datasource.replica.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:jpa_routing_primary;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.datasource.replica.url=jdbc:h2:mem:jpa_routing_replica;DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR",
+        "app.datasource.replica.driver-class-name=org.h2.Driver",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=",
+        "app.datasource.replica.read-your-writes-ms=0",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+class ReplicaRoutingJpaTest {
+
+    private static final String INSERT_VEHICLE = "INSERT INTO vehicles (license_plate, model, capacity, status, created_at) "
+            + "VALUES ('ABC123', ?, 20, 'AVAILABLE', CURRENT_TIMESTAMP)";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+
+        // La réplica recibe el mismo esquema; el modelo distingue de qué base sale cada lectura
+        replica.execute("DROP TABLE IF EXISTS vehicles");
+        List<String> schema = primary.queryForList("SCRIPT NODATA TABLE vehicles", String.class);
+        schema.stream()
+                .filter(statement -> statement.startsWith("CREATE") || statement.startsWith("ALTER"))
+                .forEach(replica::execute);
+        primary.update("DELETE FROM vehicles");
+        primary.update(INSERT_VEHICLE, "PRIMARY");
+        replica.update(INSERT_VEHICLE, "REPLICA");
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyReadThenWrite_InSameRequest_ShouldWriteToPrimary() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate write = new TransactionTemplate(transactionManager);
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            String model = readOnly.execute(status ->
+                    vehicleRepository.findByLicensePlate("ABC123").orElseThrow().getModel());
+            assertEquals("REPLICA", model);
+
+            write.executeWithoutResult(status -> {
+                Vehicle vehicle = vehicleRepository.findByLicensePlate("ABC123").orElseThrow();
+                vehicle.setStatus(VehicleStatus.MAINTENANCE);
+                vehicleRepository.save(vehicle);
+            });
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+
+        assertEquals("MAINTENANCE", primary.queryForObject("SELECT status FROM vehicles", String.class));
+        assertEquals("AVAILABLE", replica.queryForObject("SELECT status FROM vehicles", String.class));
+    }
+
+    @Test
+    void fleetReadModelHydration_WithoutUser_ShouldReadFromPrimary() {
+        // Vehículo confirmado en el primario que la réplica aún no tiene
+        primary.update("INSERT INTO vehicles (license_plate, model, capacity, status, created_at) "
+                + "VALUES ('XYZ999', 'PRIMARY', 30, 'AVAILABLE', CURRENT_TIMESTAMP)");
+        // Arranque y resincronización corren sin usuario
+        SecurityContextHolder.clearContext();
+
+        FleetReadModel readModel = new FleetReadModel(vehicleRepository, transactionManager);
+        readModel.hydrate();
+
+        FleetSnapshot snapshot = readModel.currentSnapshot();
+        assertEquals(2, snapshot.size());
+        assertEquals("PRIMARY", snapshot.getStore().toResponse(0).getModel());
+    }
+
+    /**
+     * JPA, repositorios y la configuración de réplica, sin web, seguridad ni planificadores
+     */
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            JpaRepositoriesAutoConfiguration.class, TransactionAutoConfiguration.class})
+    @Import(ReadReplicaDataSourceConfig.class)
+    @EntityScan(basePackageClasses = Vehicle.class)
+    @EnableJpaRepositories(basePackageClasses = VehicleRepository.class)
+    static class JpaContext {
+    }
+}
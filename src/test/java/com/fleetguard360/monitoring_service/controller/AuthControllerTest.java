@@ -14,6 +14,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -29,6 +31,8 @@ import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -38,12 +42,17 @@ import com.fleetguard360.monitoring_service.config.SecurityConfig;
 import com.fleetguard360.monitoring_service.dto.LoginRequest;
 import com.fleetguard360.monitoring_service.model.Role;
 import com.fleetguard360.monitoring_service.model.User;
+import com.fleetguard360.monitoring_service.repository.RevokedTokenRepository;
+import com.fleetguard360.monitoring_service.repository.UserRepository;
+import com.fleetguard360.monitoring_service.service.AccessTokenService;
 import com.fleetguard360.monitoring_service.service.AuthenticationService;
 import com.fleetguard360.monitoring_service.service.CustomUserDetailsService;
+import com.fleetguard360.monitoring_service.util.ClientIpResolver;
+import com.fleetguard360.monitoring_service.service.TokenRevocationList;
 
 
 @WebMvcTest(controllers = AuthController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, ClientIpResolver.class})
 class AuthControllerTest {
 
     @Autowired
@@ -61,6 +70,9 @@ class AuthControllerTest {
     @MockitoBean
     private CustomUserDetailsService userDetailsService;
 
+    @MockitoBean
+    private AccessTokenService accessTokenService;
+
     private LoginRequest loginRequest;
     private User mockUser;
     private Role mockRole;
@@ -87,7 +99,7 @@ class AuthControllerTest {
         Authentication mockAuth = Mockito.mock(Authentication.class);
 
         when(authenticationService.prepareUsername(loginRequest.getUsername(), "API")).thenReturn(preparedUsername);
-        when(authenticationService.isAccountLocked(preparedUsername)).thenReturn(false);
+        when(authenticationService.isAccountLocked(eq(preparedUsername), anyString())).thenReturn(false);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(mockAuth);
         when(userDetailsService.loadUserEntityByUsername(preparedUsername)).thenReturn(mockUser);
 
@@ -104,13 +116,46 @@ class AuthControllerTest {
         verify(authenticationService, never()).recordFailedAttempt(anyString(), anyString());
     }
 
+    @Test
+    void testLogin_StatelessMode_ShouldIssueTokens() throws Exception {
+        // Arrange
+        String preparedUsername = "testuser_API";
+        Authentication mockAuth = Mockito.mock(Authentication.class);
+        Mockito.<Collection<? extends GrantedAuthority>>when(mockAuth.getAuthorities())
+                .thenReturn(List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        when(accessTokenService.isEnabled()).thenReturn(true);
+        AccessTokenService.TokenPair issued = new AccessTokenService(true, "", 900, 86400,
+                new TokenRevocationList(Mockito.mock(RevokedTokenRepository.class), 3600, 1000, 0.001),
+                Mockito.mock(UserRepository.class))
+                .issue(preparedUsername, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        when(accessTokenService.issue(eq(preparedUsername), any())).thenReturn(issued);
+        when(authenticationService.prepareUsername(loginRequest.getUsername(), "API")).thenReturn(preparedUsername);
+        when(authenticationService.isAccountLocked(eq(preparedUsername), anyString())).thenReturn(false);
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(mockAuth);
+        when(userDetailsService.loadUserEntityByUsername(preparedUsername)).thenReturn(mockUser);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.accessToken").isNotEmpty())
+                .andExpect(jsonPath("$.refreshToken").isNotEmpty())
+                .andExpect(jsonPath("$.expiresIn").value(900));
+
+        verify(accessTokenService).issue(eq(preparedUsername), any());
+    }
+
     @Test
     void testLogin_BadCredentials() throws Exception {
         // Arrange
         String preparedUsername = "testuser_API";
 
         when(authenticationService.prepareUsername(loginRequest.getUsername(), "API")).thenReturn(preparedUsername);
-        when(authenticationService.isAccountLocked(preparedUsername)).thenReturn(false);
+        when(authenticationService.isAccountLocked(eq(preparedUsername), anyString())).thenReturn(false);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenThrow(new BadCredentialsException("Credenciales inválidas"));
 
@@ -134,7 +179,7 @@ class AuthControllerTest {
         String preparedUsername = "testuser_API";
 
         when(authenticationService.prepareUsername(loginRequest.getUsername(), "API")).thenReturn(preparedUsername);
-        when(authenticationService.isAccountLocked(preparedUsername)).thenReturn(true);
+        when(authenticationService.isAccountLocked(eq(preparedUsername), anyString())).thenReturn(true);
 
         // Act & Assert
         mockMvc.perform(post("/api/auth/login")
@@ -153,7 +198,7 @@ class AuthControllerTest {
         String preparedUsername = "testuser_API";
 
         when(authenticationService.prepareUsername(loginRequest.getUsername(), "API")).thenReturn(preparedUsername);
-        when(authenticationService.isAccountLocked(preparedUsername)).thenReturn(false);
+        when(authenticationService.isAccountLocked(eq(preparedUsername), anyString())).thenReturn(false);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenThrow(new LockedException("Cuenta bloqueada"));
 
@@ -172,7 +217,7 @@ class AuthControllerTest {
         String preparedUsername = "testuser_API";
 
         when(authenticationService.prepareUsername(loginRequest.getUsername(), "API")).thenReturn(preparedUsername);
-        when(authenticationService.isAccountLocked(preparedUsername)).thenReturn(false);
+        when(authenticationService.isAccountLocked(eq(preparedUsername), anyString())).thenReturn(false);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenThrow(new DisabledException("Cuenta deshabilitada"));
 
@@ -39,8 +39,10 @@ import com.fleetguard360.monitoring_service.config.SecurityConfig;
 import com.fleetguard360.monitoring_service.dto.LoginRequest;
 import com.fleetguard360.monitoring_service.model.Role;
 import com.fleetguard360.monitoring_service.model.User;
+import com.fleetguard360.monitoring_service.service.AccessTokenService;
 import com.fleetguard360.monitoring_service.service.AuthenticationService;
 import com.fleetguard360.monitoring_service.service.CustomUserDetailsService;
+import com.fleetguard360.monitoring_service.util.ClientIpResolver;
 
 
 /**
@@ -49,7 +51,7 @@ import com.fleetguard360.monitoring_service.service.CustomUserDetailsService;
  * (ej. CSRF deshabilitado) que la aplicación.
  */
 @WebMvcTest(controllers = AuthFrontendController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, ClientIpResolver.class})
 class AuthFrontendControllerTest {
 
     @Autowired
@@ -67,6 +69,9 @@ class AuthFrontendControllerTest {
 		@MockitoBean
     private CustomUserDetailsService userDetailsService;
 
+		@MockitoBean
+    private AccessTokenService accessTokenService;
+
     private LoginRequest loginRequest;
     private User mockUser;
     private Role mockRole;
@@ -97,7 +102,7 @@ class AuthFrontendControllerTest {
         Authentication mockAuth = Mockito.mock(Authentication.class);
 
         when(authenticationService.prepareUsername(loginRequest.getUsername(), "API")).thenReturn(preparedUsername);
-        when(authenticationService.isAccountLocked(preparedUsername)).thenReturn(false);
+        when(authenticationService.isAccountLocked(eq(preparedUsername), anyString())).thenReturn(false);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(mockAuth);
         
         // Esta vez, el userDetailsService SÍ se usa en la ruta exitosa
@@ -122,7 +127,7 @@ class AuthFrontendControllerTest {
         String preparedUsername = "testuser_API";
 
         when(authenticationService.prepareUsername(loginRequest.getUsername(), "API")).thenReturn(preparedUsername);
-        when(authenticationService.isAccountLocked(preparedUsername)).thenReturn(false);
+        when(authenticationService.isAccountLocked(eq(preparedUsername), anyString())).thenReturn(false);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenThrow(new BadCredentialsException("Credenciales inválidas"));
 
@@ -145,7 +150,7 @@ class AuthFrontendControllerTest {
         String preparedUsername = "testuser_API";
 
         when(authenticationService.prepareUsername(loginRequest.getUsername(), "API")).thenReturn(preparedUsername);
-        when(authenticationService.isAccountLocked(preparedUsername)).thenReturn(true);
+        when(authenticationService.isAccountLocked(eq(preparedUsername), anyString())).thenReturn(true);
 
         // Act & Assert
         mockMvc.perform(post("/api/frontend/auth/login")
@@ -164,7 +169,7 @@ class AuthFrontendControllerTest {
         String preparedUsername = "testuser_API";
 
         when(authenticationService.prepareUsername(loginRequest.getUsername(), "API")).thenReturn(preparedUsername);
-        when(authenticationService.isAccountLocked(preparedUsername)).thenReturn(false);
+        when(authenticationService.isAccountLocked(eq(preparedUsername), anyString())).thenReturn(false);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenThrow(new LockedException("Cuenta bloqueada"));
 
@@ -183,7 +188,7 @@ class AuthFrontendControllerTest {
         String preparedUsername = "testuser_API";
 
         when(authenticationService.prepareUsername(loginRequest.getUsername(), "API")).thenReturn(preparedUsername);
-        when(authenticationService.isAccountLocked(preparedUsername)).thenReturn(false);
+        when(authenticationService.isAccountLocked(eq(preparedUsername), anyString())).thenReturn(false);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenThrow(new DisabledException("Cuenta deshabilitada"));
 
@@ -236,6 +241,20 @@ class AuthFrontendControllerTest {
                 .andExpect(jsonPath("$.message").value("Logout exitoso"));
     }
 
+    @Test
+    @WithMockUser(username = "logged_in_user")
+    void testLogout_WithRefreshToken_ShouldRevokeIt() throws Exception {
+        when(accessTokenService.isEnabled()).thenReturn(true);
+
+        mockMvc.perform(post("/api/frontend/auth/logout")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"refresh-token\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"));
+
+        verify(accessTokenService).logout(null, "refresh-token");
+    }
+
     // --- Pruebas para el endpoint /me ---
 
     @Test
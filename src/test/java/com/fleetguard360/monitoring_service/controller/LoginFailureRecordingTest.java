@@ -0,0 +1,44 @@
+package com.fleetguard360.monitoring_service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fleetguard360.monitoring_service.service.CredentialStuffingDetector;
+
+/**
+ * Cada contraseña errónea se registra una sola vez, aunque el AuthenticationManager publique
+ * además su evento de fallo: si se contara dos veces, los umbrales de bloqueo y del detector
+ * de credential stuffing se alcanzarían con la mitad de intentos.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "app.security.bcrypt.cost=4"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoginFailureRecordingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CredentialStuffingDetector stuffingDetector;
+
+    @Test
+    void badPassword_ShouldBeRecordedOnce() throws Exception {
+        long before = stuffingDetector.report(10).getFailures();
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"admin\",\"password\":\"incorrecta\"}"))
+                .andExpect(status().isUnauthorized());
+
+        assertEquals(before + 1, stuffingDetector.report(10).getFailures());
+    }
+}
@@ -0,0 +1,139 @@
+package com.fleetguard360.monitoring_service.controller;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fleetguard360.monitoring_service.config.QueryBudget;
+import com.fleetguard360.monitoring_service.model.User;
+import com.fleetguard360.monitoring_service.repository.RoleRepository;
+import com.fleetguard360.monitoring_service.repository.UserRepository;
+import com.fleetguard360.monitoring_service.repository.VehicleRepository;
+import com.fleetguard360.monitoring_service.service.UserAccountCache;
+
+/**
+ * Presupuestos de sentencias SQL por endpoint contra la aplicación completa (perfil test, H2).
+ *
+ * Si un cambio sube alguno de estos números, el fallo lista el SQL ejecutado: o es un N+1
+ * o una consulta nueva que hay que justificar antes de subir el presupuesto.
+ */
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "app.security.bcrypt.cost=4"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(QueryBudget.Configuration.class)
+class QueryBudgetTest {
+
+    // Usuario con roles en una sola consulta (join por @EntityGraph)
+    private static final int LOGIN_COLD_CACHE = 1;
+    // Cuenta en UserAccountCache: sin acceso a la base de datos
+    private static final int LOGIN_WARM_CACHE = 0;
+    // Listado y mapa se sirven desde el modelo de lectura en memoria
+    private static final int LIST = 0;
+    private static final int MAP = 0;
+    private static final int DETAIL = 1;
+    // Comprobación de placa duplicada, insert del vehículo e insert del outbox
+    private static final int CREATE = 3;
+    // Carga del vehículo, update e insert del outbox
+    private static final int STATUS_CHANGE = 3;
+
+    private static final String USERNAME = "query-budget";
+
+    private static final String PASSWORD = "QueryBudget#360";
+
+    @Autowired
+    private QueryBudget queryBudget;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserAccountCache userAccountCache;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Long vehicleId;
+
+    @BeforeEach
+    void setUp() {
+        vehicleId = vehicleRepository.findAll().get(0).getId();
+        if (userRepository.findByUsername(USERNAME).isEmpty()) {
+            User user = new User();
+            user.setUsername(USERNAME);
+            user.setPassword(passwordEncoder.encode(PASSWORD));
+            user.setEnabled(true);
+            user.setRoles(Set.of(roleRepository.findByName("ADMIN").orElseThrow()));
+            userRepository.save(user);
+        }
+        userAccountCache.invalidateAll();
+    }
+
+    @Test
+    void login_WithColdUserCache_ShouldLoadUserAndRolesInSingleQuery() throws Exception {
+        queryBudget.assertQueries(login(), LOGIN_COLD_CACHE);
+    }
+
+    @Test
+    void login_WithCachedAccount_ShouldNotQueryDatabase() throws Exception {
+        queryBudget.assertQueries(login(), LOGIN_COLD_CACHE);
+
+        queryBudget.assertQueries(login(), LOGIN_WARM_CACHE);
+    }
+
+    @Test
+    void listVehicles_ShouldStayWithinBudget() throws Exception {
+        queryBudget.assertQueries(get("/api/vehicles").with(user("admin").roles("ADMIN")), LIST);
+    }
+
+    @Test
+    void vehicleDetail_ShouldStayWithinBudget() throws Exception {
+        queryBudget.assertQueries(get("/api/vehicles/" + vehicleId).with(user("admin").roles("ADMIN")), DETAIL);
+    }
+
+    @Test
+    void mapVehicles_ShouldStayWithinBudget() throws Exception {
+        queryBudget.assertQueries(get("/map/vehicles"), MAP);
+    }
+
+    @Test
+    void createVehicle_ShouldStayWithinBudget() throws Exception {
+        queryBudget.assertQueries(post("/api/vehicles").with(user("admin").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"licensePlate\":\"QBT100\",\"model\":\"NPR\",\"capacity\":20,\"status\":\"AVAILABLE\"}"),
+                CREATE);
+    }
+
+    @Test
+    void changeVehicleStatus_ShouldStayWithinBudget() throws Exception {
+        queryBudget.assertQueries(patch("/api/vehicles/" + vehicleId + "/status").with(user("admin").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"MAINTENANCE\"}"),
+                STATUS_CHANGE);
+    }
+
+    private static MockHttpServletRequestBuilder login() {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}");
+    }
+}
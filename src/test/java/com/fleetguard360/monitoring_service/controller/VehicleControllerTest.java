@@ -17,6 +17,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,12 +33,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fleetguard360.monitoring_service.config.SecurityConfig;
 import com.fleetguard360.monitoring_service.dto.CreateVehicleRequest;
 import com.fleetguard360.monitoring_service.dto.UpdateVehicleRequest;
+import com.fleetguard360.monitoring_service.dto.VehicleBatchRequest;
+import com.fleetguard360.monitoring_service.dto.VehicleBatchResponse;
 import com.fleetguard360.monitoring_service.dto.VehicleResponse;
 // Importar la excepción específica de tu handler
 import com.fleetguard360.monitoring_service.exception.ResourceNotFoundException;
 import com.fleetguard360.monitoring_service.model.VehicleStatus;
 import com.fleetguard360.monitoring_service.service.CustomUserDetailsService;
 import com.fleetguard360.monitoring_service.service.VehicleService;
+import com.fleetguard360.monitoring_service.util.ClientIpResolver;
 
 /**
  * Pruebas unitarias para VehicleController.
@@ -47,7 +51,7 @@ import com.fleetguard360.monitoring_service.service.VehicleService;
  */
 @WebMvcTest(VehicleController.class)
 
-@Import({SecurityConfig.class, com.fleetguard360.monitoring_service.exception.GlobalExceptionHandler.class})
+@Import({SecurityConfig.class, ClientIpResolver.class, com.fleetguard360.monitoring_service.exception.GlobalExceptionHandler.class})
 
 class VehicleControllerTest {
 
@@ -319,4 +323,39 @@ class VehicleControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].status", is("AVAILABLE")));
     }
+
+    // --- Pruebas para consulta por lote (POST /api/vehicles/batch) ---
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void whenGetVehiclesByIds_shouldReturnResultsInRequestOrder() throws Exception {
+        // Arrange
+        VehicleBatchResponse batchResponse = new VehicleBatchResponse(
+                List.of(new VehicleBatchResponse.Item(99L, null), new VehicleBatchResponse.Item(1L, vehicleResponse)),
+                List.of(99L));
+        when(vehicleService.getVehiclesByIds(List.of(99L, 1L))).thenReturn(batchResponse);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/vehicles/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new VehicleBatchRequest(List.of(99L, 1L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found", is(1)))
+                .andExpect(jsonPath("$.results[0].id", is(99)))
+                .andExpect(jsonPath("$.results[0].found", is(false)))
+                .andExpect(jsonPath("$.results[1].vehicle.licensePlate", is("ABC-123")))
+                .andExpect(jsonPath("$.missing[0]", is(99)));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void whenGetVehiclesByIds_withTooManyIds_shouldReturnBadRequest() throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1, VehicleBatchRequest.MAX_IDS + 1L).boxed().toList();
+
+        mockMvc.perform(post("/api/vehicles/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new VehicleBatchRequest(ids))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode", is("VALIDATION_ERROR")));
+    }
 }
@@ -0,0 +1,119 @@
+package com.fleetguard360.monitoring_service.fleet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.fleetguard360.monitoring_service.dto.VehicleResponse;
+import com.fleetguard360.monitoring_service.model.FuelType;
+import com.fleetguard360.monitoring_service.model.VehicleStatus;
+
+class FleetColumnStoreTest {
+
+    @Test
+    void toResponse_ShouldRoundTripAllColumns() {
+        VehicleResponse vehicle = vehicle(42L, "ABC123");
+        vehicle.setFuelType(FuelType.DIESEL);
+        vehicle.setNotes("Revisión pendiente");
+        vehicle.setCreatedAt(LocalDateTime.of(2024, 5, 1, 8, 30, 15, 123_456_000));
+
+        FleetColumnStore store = FleetColumnStore.of(List.of(vehicle));
+        VehicleResponse restored = store.toResponse(store.rowOf(42L));
+
+        assertEquals("ABC123", restored.getLicensePlate());
+        assertEquals("Toyota", restored.getBrand());
+        assertEquals("Hiace", restored.getModel());
+        assertEquals(2020, restored.getYear());
+        assertEquals(VehicleStatus.AVAILABLE, restored.getStatus());
+        assertEquals(VehicleStatus.AVAILABLE.getDisplayName(), restored.getStatusDisplayName());
+        assertEquals(FuelType.DIESEL, restored.getFuelType());
+        assertEquals("Revisión pendiente", restored.getNotes());
+        assertEquals(vehicle.getCreatedAt(), restored.getCreatedAt());
+        assertEquals(6.25, restored.getLatitude());
+        assertNull(restored.getMileage());
+        assertNull(restored.getUpdatedAt());
+    }
+
+    @Test
+    void upsertAndRemove_ShouldLeavePreviousVersionUntouched() {
+        FleetColumnStore original = FleetColumnStore.of(List.of(vehicle(1L, "AAA111"), vehicle(2L, "BBB222")));
+
+        VehicleResponse changed = vehicle(1L, "AAA111");
+        changed.setStatus(VehicleStatus.MAINTENANCE);
+        FleetColumnStore updated = original.upsert(changed).remove(2L);
+
+        assertEquals(2, original.size());
+        assertEquals(VehicleStatus.AVAILABLE, original.status(original.rowOf(1L)));
+        assertEquals(1, updated.size());
+        assertEquals(VehicleStatus.MAINTENANCE, updated.status(updated.rowOf(1L)));
+        assertEquals(-1, updated.rowOf(2L));
+    }
+
+    @Test
+    void randomOperations_ShouldMatchReferenceMap() {
+        Random random = new Random(7);
+        Map<Long, String> reference = new HashMap<>();
+        FleetColumnStore store = FleetColumnStore.of(List.of());
+
+        for (int i = 0; i < 20_000; i++) {
+            long id = 1 + random.nextInt(3_000);
+            if (random.nextInt(4) == 0) {
+                store = store.remove(id);
+                reference.remove(id);
+            } else {
+                String plate = "P" + id + "-" + i;
+                store = store.upsert(vehicle(id, plate));
+                reference.put(id, plate);
+            }
+        }
+
+        assertEquals(reference.size(), store.size());
+        for (Map.Entry<Long, String> entry : reference.entrySet()) {
+            int row = store.rowOf(entry.getKey());
+            assertEquals(entry.getKey(), store.id(row));
+            assertEquals(entry.getValue(), store.licensePlate(row));
+        }
+        for (long id = 1; id <= 3_000; id++) {
+            if (!reference.containsKey(id)) {
+                assertEquals(-1, store.rowOf(id));
+            }
+        }
+    }
+
+    @Test
+    void bulkLoad_ShouldIndexEveryRowAcrossChunks() {
+        List<VehicleResponse> vehicles = new ArrayList<>();
+        for (long id = 1; id <= FleetColumnStore.CHUNK_SIZE * 3L + 17; id++) {
+            vehicles.add(vehicle(id * 31, "P" + id));
+        }
+
+        FleetColumnStore store = FleetColumnStore.of(vehicles);
+
+        assertEquals(vehicles.size(), store.size());
+        for (VehicleResponse vehicle : vehicles) {
+            assertEquals(vehicle.getLicensePlate(), store.licensePlate(store.rowOf(vehicle.getId())));
+        }
+    }
+
+    private static VehicleResponse vehicle(long id, String plate) {
+        VehicleResponse vehicle = new VehicleResponse();
+        vehicle.setId(id);
+        vehicle.setLicensePlate(plate);
+        vehicle.setBrand("Toyota");
+        vehicle.setModel("Hiace");
+        vehicle.setYear(2020);
+        vehicle.setCapacity(15);
+        vehicle.setStatus(VehicleStatus.AVAILABLE);
+        vehicle.setLatitude(6.25);
+        vehicle.setLongitude(-75.56);
+        return vehicle;
+    }
+}
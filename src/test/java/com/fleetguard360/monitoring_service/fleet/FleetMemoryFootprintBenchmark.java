@@ -0,0 +1,81 @@
+package com.fleetguard360.monitoring_service.fleet;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import com.fleetguard360.monitoring_service.dto.VehicleResponse;
+import com.fleetguard360.monitoring_service.model.FuelType;
+import com.fleetguard360.monitoring_service.model.Vehicle;
+import com.fleetguard360.monitoring_service.model.VehicleStatus;
+
+/**
+ * Compara la memoria de 1M vehículos como entidades Vehicle frente al FleetColumnStore.
+ *
+ * No forma parte de la suite normal (el nombre no termina en Test); se ejecuta con:
+ * mvn test -Dtest=FleetMemoryFootprintBenchmark -Dfleet.benchmark.size=1000000
+ */
+class FleetMemoryFootprintBenchmark {
+
+    private static final String[] BRANDS = {"Mercedes-Benz", "Chevrolet", "Toyota", "Hino", "Volkswagen", "Renault"};
+    private static final String[] MODELS = {"Sprinter", "NPR", "Hiace", "Dutro", "Crafter", "Master", "Coaster"};
+    private static final String[] COLORS = {"Blanco", "Gris", "Azul", "Rojo", "Negro"};
+
+    @Test
+    void compareFootprint() {
+        int size = Integer.getInteger("fleet.benchmark.size", 1_000_000);
+
+        List<Vehicle> entities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entities.add(entity(i + 1L));
+        }
+        long entityBytes = GraphLayout.parseInstance(entities).totalSize();
+
+        List<VehicleResponse> responses = new ArrayList<>(size);
+        for (Vehicle entity : entities) {
+            responses.add(VehicleResponse.from(entity));
+        }
+        entities = null;
+        FleetColumnStore store = FleetColumnStore.of(responses);
+        responses = null;
+        long storeBytes = GraphLayout.parseInstance(store).totalSize();
+
+        System.out.printf("Vehículos: %,d%n", size);
+        System.out.printf("Entidades Vehicle: %,d bytes (%.1f bytes/vehículo)%n", entityBytes, (double) entityBytes / size);
+        System.out.printf("FleetColumnStore:  %,d bytes (%.1f bytes/vehículo)%n", storeBytes, (double) storeBytes / size);
+        System.out.printf("Reducción: %.2fx%n", (double) entityBytes / storeBytes);
+
+        assertTrue(storeBytes < entityBytes);
+    }
+
+    private static Vehicle entity(long id) {
+        int n = (int) id;
+        Vehicle vehicle = new Vehicle(String.format("%s%03d", platePrefix(n), n % 1000), MODELS[n % MODELS.length],
+                10 + n % 40, VehicleStatus.values()[n % VehicleStatus.values().length]);
+        vehicle.setId(id);
+        vehicle.setBrand(BRANDS[n % BRANDS.length]);
+        vehicle.setYear(2000 + n % 25);
+        vehicle.setFuelType(FuelType.values()[n % FuelType.values().length]);
+        vehicle.setMileage(n % 300_000);
+        vehicle.setColor(COLORS[n % COLORS.length]);
+        vehicle.setUpdatedAt(LocalDateTime.now());
+        vehicle.setCreatedBy("admin");
+        vehicle.setUpdatedBy("admin");
+        return vehicle;
+    }
+
+    private static String platePrefix(int n) {
+        int block = n / 1000;
+        char[] letters = new char[3];
+        for (int i = 2; i >= 0; i--) {
+            letters[i] = (char) ('A' + block % 26);
+            block /= 26;
+        }
+        return new String(letters);
+    }
+}
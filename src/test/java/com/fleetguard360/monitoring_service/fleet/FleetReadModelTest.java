@@ -0,0 +1,189 @@
+package com.fleetguard360.monitoring_service.fleet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fleetguard360.monitoring_service.dto.VehicleChangeNotification;
+import com.fleetguard360.monitoring_service.dto.VehicleResponse;
+import com.fleetguard360.monitoring_service.event.VehicleChangeType;
+import com.fleetguard360.monitoring_service.event.VehicleChangedEvent;
+import com.fleetguard360.monitoring_service.model.FuelType;
+import com.fleetguard360.monitoring_service.model.Vehicle;
+import com.fleetguard360.monitoring_service.model.VehicleStatus;
+import com.fleetguard360.monitoring_service.repository.VehicleRepository;
+
+class FleetReadModelTest {
+
+    private VehicleRepository vehicleRepository;
+
+    private FleetReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        vehicleRepository = mock(VehicleRepository.class);
+        readModel = new FleetReadModel(vehicleRepository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void currentSnapshot_BeforeHydration_IsNull() {
+        assertNull(readModel.currentSnapshot());
+    }
+
+    @Test
+    void hydrate_ShouldServeActiveVehiclesOrderedByPlate() {
+        when(vehicleRepository.findAll()).thenReturn(List.of(
+                vehicle(1L, "ZZZ999", VehicleStatus.AVAILABLE),
+                vehicle(2L, "AAA111", VehicleStatus.IN_USE),
+                vehicle(3L, "MMM555", VehicleStatus.INACTIVE)));
+
+        readModel.hydrate();
+
+        FleetSnapshot snapshot = readModel.currentSnapshot();
+        assertEquals(3, snapshot.getAllVehicles().size());
+        assertEquals(List.of("AAA111", "ZZZ999"),
+                snapshot.getActiveVehicles().stream().map(VehicleResponse::getLicensePlate).toList());
+        assertEquals(1, snapshot.getVehiclesByStatus(VehicleStatus.AVAILABLE).size());
+        assertEquals(0, snapshot.getVehiclesByStatus(VehicleStatus.MAINTENANCE).size());
+    }
+
+    @Test
+    void onVehicleChanged_ShouldPublishNewSnapshotAndKeepOldOneIntact() {
+        when(vehicleRepository.findAll()).thenReturn(List.of(vehicle(1L, "ABC123", VehicleStatus.AVAILABLE)));
+        readModel.hydrate();
+        FleetSnapshot before = readModel.currentSnapshot();
+
+        VehicleResponse updated = VehicleResponse.from(vehicle(1L, "ABC123", VehicleStatus.MAINTENANCE));
+        readModel.onVehicleChanged(new VehicleChangedEvent(VehicleChangeType.STATUS_CHANGED,
+                before.get(1L), updated, "admin"));
+
+        FleetSnapshot after = readModel.currentSnapshot();
+        assertNotSame(before, after);
+        assertEquals(VehicleStatus.AVAILABLE, before.get(1L).getStatus());
+        assertEquals(1, after.getVehiclesByStatus(VehicleStatus.MAINTENANCE).size());
+        assertEquals(0, after.getVehiclesByStatus(VehicleStatus.AVAILABLE).size());
+    }
+
+    @Test
+    void onVehicleChanged_OlderThanCurrentState_IsIgnored() {
+        Vehicle current = vehicle(1L, "ABC123", VehicleStatus.MAINTENANCE);
+        current.setUpdatedAt(LocalDateTime.now());
+        when(vehicleRepository.findAll()).thenReturn(List.of(current));
+        readModel.hydrate();
+        FleetSnapshot hydrated = readModel.currentSnapshot();
+
+        Vehicle stale = vehicle(1L, "ABC123", VehicleStatus.AVAILABLE);
+        stale.setUpdatedAt(current.getUpdatedAt().minusMinutes(1));
+        readModel.onVehicleChanged(new VehicleChangedEvent(VehicleChangeType.UPDATED,
+                null, VehicleResponse.from(stale), "admin"));
+
+        assertSame(hydrated, readModel.currentSnapshot());
+    }
+
+    @Test
+    void onVehicleChanged_Purged_RemovesVehicle() {
+        when(vehicleRepository.findAll()).thenReturn(List.of(vehicle(1L, "ABC123", VehicleStatus.AVAILABLE)));
+        readModel.hydrate();
+
+        VehicleResponse last = readModel.currentSnapshot().get(1L);
+        readModel.onVehicleChanged(new VehicleChangedEvent(VehicleChangeType.PURGED, last, last, "admin"));
+
+        assertNull(readModel.currentSnapshot().get(1L));
+        assertEquals(0, readModel.currentSnapshot().size());
+    }
+
+    @Test
+    void onVehicleChangeNotification_FromAnotherNode_IsApplied() {
+        when(vehicleRepository.findAll()).thenReturn(List.of(vehicle(1L, "ABC123", VehicleStatus.AVAILABLE)));
+        readModel.hydrate();
+
+        // Creado en otro nodo: este solo lo ve a través del feed del outbox
+        VehicleResponse created = VehicleResponse.from(vehicle(2L, "XYZ999", VehicleStatus.AVAILABLE));
+        readModel.onVehicleChangeNotification(new VehicleChangeNotification(1L, VehicleChangeType.CREATED,
+                2L, LocalDateTime.now(), created));
+        // El mismo cambio recibido otra vez no lo duplica
+        readModel.onVehicleChangeNotification(new VehicleChangeNotification(1L, VehicleChangeType.CREATED,
+                2L, LocalDateTime.now(), created));
+
+        assertEquals(2, readModel.currentSnapshot().size());
+        assertEquals("XYZ999", readModel.currentSnapshot().get(2L).getLicensePlate());
+    }
+
+    private static Vehicle vehicle(Long id, String plate, VehicleStatus status) {
+        Vehicle vehicle = new Vehicle(plate, "Sprinter", 15, status);
+        vehicle.setId(id);
+        return vehicle;
+    }
+
+    @Test
+    void search_ShouldCombineIndexesAndFollowIncrementalChanges() {
+        Vehicle diesel = vehicle(1L, "AAA111", VehicleStatus.AVAILABLE);
+        diesel.setFuelType(FuelType.DIESEL);
+        diesel.setBrand("Toyota");
+        diesel.setYear(2019);
+        Vehicle gasoline = vehicle(2L, "BBB222", VehicleStatus.AVAILABLE);
+        gasoline.setFuelType(FuelType.GASOLINE);
+        gasoline.setBrand("Chevrolet");
+        gasoline.setYear(2021);
+        gasoline.setCapacity(35);
+        when(vehicleRepository.findAll()).thenReturn(List.of(diesel, gasoline));
+        readModel.hydrate();
+
+        FleetFilter available = new FleetFilter().statuses(List.of(VehicleStatus.AVAILABLE));
+        FleetFilter toyotaDiesel = new FleetFilter().fuelTypes(List.of(FuelType.DIESEL)).brands(List.of("toyota"));
+        FleetFilter large = new FleetFilter().capacity(30, null).years(2020, 2022);
+
+        assertEquals(2, readModel.currentSnapshot().search(available).cardinality());
+        assertArrayEquals(new long[] {1L}, readModel.currentSnapshot().search(toyotaDiesel).toArray());
+        assertArrayEquals(new long[] {2L}, readModel.currentSnapshot().search(large).toArray());
+
+        VehicleResponse inUse = readModel.currentSnapshot().get(1L);
+        inUse.setStatus(VehicleStatus.IN_USE);
+        readModel.onVehicleChanged(new VehicleChangedEvent(VehicleChangeType.STATUS_CHANGED, null, inUse, "admin"));
+
+        assertArrayEquals(new long[] {2L}, readModel.currentSnapshot().search(available).toArray());
+        assertArrayEquals(new long[] {1L}, readModel.currentSnapshot().search(
+                new FleetFilter().statuses(List.of(VehicleStatus.IN_USE))).toArray());
+    }
+
+    @Test
+    void facets_ShouldCountEveryDimensionUnderFilter() {
+        Vehicle first = vehicle(1L, "AAA111", VehicleStatus.AVAILABLE);
+        first.setFuelType(FuelType.DIESEL);
+        first.setBrand("Toyota");
+        first.setYear(2019);
+        Vehicle second = vehicle(2L, "BBB222", VehicleStatus.IN_USE);
+        second.setFuelType(FuelType.DIESEL);
+        second.setBrand("Toyota");
+        second.setYear(2021);
+        Vehicle third = vehicle(3L, "CCC333", VehicleStatus.AVAILABLE);
+        third.setFuelType(FuelType.ELECTRIC);
+        third.setBrand("BYD");
+        third.setYear(2021);
+        when(vehicleRepository.findAll()).thenReturn(List.of(first, second, third));
+        readModel.hydrate();
+
+        FleetFacets facets = FleetFacets.compute(readModel.currentSnapshot(),
+                new FleetFilter().fuelTypes(List.of(FuelType.DIESEL)));
+
+        assertEquals(2, facets.getTotal());
+        assertEquals(1, facets.getStatuses().get(VehicleStatus.AVAILABLE));
+        assertEquals(1, facets.getStatuses().get(VehicleStatus.IN_USE));
+        assertEquals(0, facets.getStatuses().get(VehicleStatus.MAINTENANCE));
+        assertEquals(0, facets.getFuelTypes().get(FuelType.ELECTRIC));
+        assertEquals(Map.of("Toyota", 2), facets.getBrands());
+        assertEquals(List.of(2019, 2021), List.copyOf(facets.getYears().keySet()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.fleetguard360.monitoring_service.fleet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class IdBitmapTest {
+
+    @Test
+    void addAndRemove_ShouldBePersistent() {
+        IdBitmap original = IdBitmap.of(1, 5, 70_000);
+        IdBitmap added = original.add(9);
+        IdBitmap removed = added.remove(70_000);
+
+        assertEquals(3, original.cardinality());
+        assertFalse(original.contains(9));
+        assertTrue(added.contains(9));
+        assertArrayEquals(new long[] {1, 5, 9}, removed.toArray());
+        assertSame(added, added.add(9));
+    }
+
+    @Test
+    void setOperations_ShouldMatchReferenceAcrossContainerKinds() {
+        Random random = new Random(11);
+        TreeSet<Long> left = new TreeSet<>();
+        TreeSet<Long> right = new TreeSet<>();
+        IdBitmap.Builder leftBuilder = new IdBitmap.Builder();
+        IdBitmap rightBitmap = IdBitmap.EMPTY;
+
+        // Un bloque denso (contenedor bitmap) y valores dispersos (contenedores arreglo)
+        for (int i = 0; i < 20_000; i++) {
+            long dense = random.nextInt(30_000);
+            left.add(dense);
+            leftBuilder.add(dense);
+        }
+        for (int i = 0; i < 3_000; i++) {
+            long sparse = random.nextInt(400_000);
+            right.add(sparse);
+            rightBitmap = rightBitmap.add(sparse);
+        }
+        IdBitmap leftBitmap = leftBuilder.build();
+
+        TreeSet<Long> and = new TreeSet<>(left);
+        and.retainAll(right);
+        TreeSet<Long> or = new TreeSet<>(left);
+        or.addAll(right);
+        TreeSet<Long> andNot = new TreeSet<>(left);
+        andNot.removeAll(right);
+
+        assertArrayEquals(toArray(and), leftBitmap.and(rightBitmap).toArray());
+        assertArrayEquals(toArray(or), leftBitmap.or(rightBitmap).toArray());
+        assertArrayEquals(toArray(andNot), leftBitmap.andNot(rightBitmap).toArray());
+        assertEquals(and.size(), leftBitmap.andCardinality(rightBitmap));
+    }
+
+    @Test
+    void removingFromDenseContainer_ShouldKeepContentsAfterShrinking() {
+        IdBitmap bitmap = IdBitmap.EMPTY;
+        for (long id = 0; id < IdBitmap.ARRAY_MAX + 10; id++) {
+            bitmap = bitmap.add(id);
+        }
+        for (long id = 0; id < 20; id++) {
+            bitmap = bitmap.remove(id);
+        }
+
+        assertEquals(IdBitmap.ARRAY_MAX - 10, bitmap.cardinality());
+        assertFalse(bitmap.contains(19));
+        assertTrue(bitmap.contains(20));
+    }
+
+    @Test
+    void slice_ShouldSkipWholeContainers() {
+        IdBitmap bitmap = IdBitmap.of(3, 65_536, 65_540, 200_000, 200_001);
+
+        assertArrayEquals(new long[] {65_540, 200_000}, bitmap.slice(2, 2));
+        assertEquals(0, bitmap.slice(10, 5).length);
+        assertThrows(IllegalArgumentException.class, () -> bitmap.slice(-1, 5));
+    }
+
+    private static long[] toArray(TreeSet<Long> values) {
+        return values.stream().mapToLong(Long::longValue).toArray();
+    }
+}
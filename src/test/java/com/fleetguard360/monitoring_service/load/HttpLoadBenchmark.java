@@ -0,0 +1,180 @@
+package com.fleetguard360.monitoring_service.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fleetguard360.monitoring_service.fleet.FleetReadModel;
+import com.fleetguard360.monitoring_service.model.Role;
+import com.fleetguard360.monitoring_service.model.User;
+import com.fleetguard360.monitoring_service.repository.RoleRepository;
+import com.fleetguard360.monitoring_service.repository.UserRepository;
+
+/**
+ * Arnés de carga HTTP de extremo a extremo contra la aplicación completa con el perfil "test" (H2).
+ *
+ * Arranca el servicio en un puerto aleatorio, siembra load.vehicles vehículos y los usuarios
+ * necesarios, y ejecuta una mezcla de login, listado, detalle, alta, cambio de estado y
+ * sondeo del mapa. No necesita red ni servicios externos. Al terminar imprime la tabla de
+ * latencias por endpoint y deja los histogramas en load.report-dir.
+ *
+ * No forma parte de la suite normal (el nombre no termina en Test); se ejecuta con:
+ * mvn test -Pload-test -Dload.rate=300 -Dload.duration-seconds=60 -Dload.p99-max-ms=250
+ * Con load.p99-max-ms (o load.p99-max-ms.&lt;operación&gt;, p. ej. load.p99-max-ms.detail=50)
+ * el build falla si algún p99 supera el umbral, o si algún endpoint supera
+ * load.max-error-percent de errores. El coste BCrypt se fija con -Dapp.security.bcrypt.cost.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;NON_KEYWORDS=YEAR",
+        "spring.jpa.show-sql=false",
+        // El log por petición a consola distorsiona las latencias
+        "logging.level.com.fleetguard360=WARN",
+        "logging.level.org.hibernate=WARN",
+        // Todo el tráfico sale de 127.0.0.1: el limitador de login mediría la cuota, no el servicio
+        "app.security.rate-limit.ip.capacity=1000000",
+        "app.security.rate-limit.ip.per-minute=100000000",
+        "app.security.rate-limit.username.capacity=1000000",
+        "app.security.rate-limit.username.per-minute=100000000"
+})
+@ActiveProfiles("test")
+class HttpLoadBenchmark {
+
+    private static final String PASSWORD = "Load#Test360";
+
+    private static final String INSERT_VEHICLE = "INSERT INTO vehicles (license_plate, model, brand, year, capacity, "
+            + "status, fuel_type, mileage, color, created_at, updated_at, created_by, latitude, longitude) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] BRANDS = {"Chevrolet", "Mercedes-Benz", "Volvo", "Hino", "Hyundai", "Volkswagen"};
+    private static final String[] MODELS = {"NPR", "Sprinter", "B270F", "Serie 300", "County", "Crafter"};
+    private static final String[] STATUSES = {"AVAILABLE", "AVAILABLE", "IN_USE", "MAINTENANCE", "OUT_OF_SERVICE"};
+    private static final String[] FUEL_TYPES = {"DIESEL", "GASOLINE", "ELECTRIC", "HYBRID"};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private FleetReadModel fleetReadModel;
+
+    @Test
+    void runMixedWorkload() throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        System.out.println("Carga: " + settings);
+
+        seedVehicles(settings.getVehicles());
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<String> usernames = seedUsers("load-user-", settings.getUsers(), "USER", hash);
+        List<String> admins = seedUsers("load-admin-", settings.getAdmins(), "ADMIN", hash);
+        List<String> loginUsernames = seedUsers("load-login-", settings.getLoginUsers(), "USER", hash);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        URI baseUri = URI.create("http://localhost:" + port);
+        long[] vehicleIds = jdbcTemplate.queryForList("SELECT id FROM vehicles", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+
+        LoadGenerator generator = new LoadGenerator(client, baseUri, settings,
+                login(client, baseUri, usernames), login(client, baseUri, admins), loginUsernames, PASSWORD,
+                vehicleIds, settings.getVehicles());
+        LatencyReport report = generator.run();
+
+        System.out.println(report.summary());
+        report.write(settings.getReportDir());
+        System.out.println("Histogramas en " + settings.getReportDir().toAbsolutePath());
+
+        List<String> violations = report.violations(settings);
+        assertTrue(violations.isEmpty(), "Regresión de latencia o errores: " + violations);
+    }
+
+    private void seedVehicles(int count) {
+        SplittableRandom random = new SplittableRandom(360);
+        LocalDateTime base = LocalDateTime.now().minusDays(365);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] {
+                    LoadGenerator.licensePlate(i), MODELS[random.nextInt(MODELS.length)],
+                    BRANDS[random.nextInt(BRANDS.length)], 1995 + random.nextInt(31), 1 + random.nextInt(60),
+                    STATUSES[random.nextInt(STATUSES.length)], FUEL_TYPES[random.nextInt(FUEL_TYPES.length)],
+                    random.nextInt(400_000), "Blanco", Timestamp.valueOf(base.plusMinutes(i)),
+                    Timestamp.valueOf(base.plusMinutes(i)), "load-test",
+                    6.2 + random.nextDouble() * 0.1, -75.6 + random.nextDouble() * 0.1});
+        }
+        jdbcTemplate.batchUpdate(INSERT_VEHICLE, rows);
+        // La siembra no pasa por VehicleService: el modelo de lectura se recarga a mano
+        fleetReadModel.hydrate();
+    }
+
+    private List<String> seedUsers(String prefix, int count, String roleName, String hash) {
+        Role role = roleRepository.findByName(roleName)
+                .orElseThrow(() -> new IllegalStateException("Rol no inicializado: " + roleName));
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername(prefix + i);
+            user.setPassword(hash);
+            user.setEnabled(true);
+            user.setRoles(Set.of(role));
+            users.add(user);
+        }
+        return userRepository.saveAll(users).stream()
+                .map(User::getUsername)
+                .toList();
+    }
+
+    /**
+     * Inicia sesión con cada usuario y devuelve sus cookies de sesión
+     */
+    private static List<String> login(HttpClient client, URI baseUri, List<String> usernames) throws Exception {
+        List<String> cookies = new ArrayList<>(usernames.size());
+        for (String username : usernames) {
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}"))
+                    .build();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            assertEquals(200, response.statusCode(), "Login de siembra fallido para " + username);
+            String cookie = response.headers().allValues("Set-Cookie").stream()
+                    .filter(value -> value.startsWith("JSESSIONID="))
+                    .map(value -> value.substring(0, value.indexOf(';') > 0 ? value.indexOf(';') : value.length()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Login sin cookie de sesión: " + username));
+            cookies.add(cookie);
+        }
+        return cookies;
+    }
+}
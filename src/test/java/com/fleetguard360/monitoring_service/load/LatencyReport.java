@@ -0,0 +1,107 @@
+package com.fleetguard360.monitoring_service.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Informe de latencias por endpoint de una ejecución del arnés de carga.
+ *
+ * Los histogramas se registran en microsegundos y se presentan en milisegundos. Además del
+ * resumen, write() deja un fichero .hgrm por endpoint con la distribución completa de
+ * percentiles, que se puede graficar o comparar entre ejecuciones.
+ */
+final class LatencyReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<LoadOperation, Histogram> histograms;
+
+    private final Map<LoadOperation, LongAdder> errors;
+
+    private final Duration duration;
+
+    LatencyReport(Map<LoadOperation, Histogram> histograms, Map<LoadOperation, LongAdder> errors, Duration duration) {
+        this.histograms = histograms;
+        this.errors = errors;
+        this.duration = duration;
+    }
+
+    /**
+     * Tabla de resumen: peticiones, errores, throughput y percentiles por endpoint
+     */
+    String summary() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-34s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Total", "Errores", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Map.Entry<LoadOperation, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            out.append(String.format(Locale.ROOT, "%-34s %8d %7d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().endpoint(),
+                    histogram.getTotalCount(),
+                    errors.get(entry.getKey()).sum(),
+                    histogram.getTotalCount() / Math.max(1.0, duration.toMillis() / 1000.0),
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / MICROS_PER_MILLI));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Escribe summary.txt y un .hgrm por endpoint en el directorio indicado
+     */
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("summary.txt"), summary(), StandardCharsets.UTF_8);
+        for (Map.Entry<LoadOperation, Histogram> entry : histograms.entrySet()) {
+            Path file = directory.resolve(entry.getKey().key() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), true, StandardCharsets.UTF_8)) {
+                entry.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    /**
+     * Endpoints con más errores de los tolerados o cuyo p99 supera su umbral
+     */
+    List<String> violations(LoadSettings settings) {
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<LoadOperation, Histogram> entry : histograms.entrySet()) {
+            LoadOperation operation = entry.getKey();
+            long total = entry.getValue().getTotalCount();
+            double errorPercent = total > 0 ? 100.0 * errors.get(operation).sum() / total : 0;
+            if (errorPercent > settings.getMaxErrorPercent()) {
+                violations.add(String.format(Locale.ROOT, "%s: %.2f%% de errores > %.2f%%",
+                        operation.endpoint(), errorPercent, settings.getMaxErrorPercent()));
+            }
+
+            long threshold = settings.p99MaxMillis(operation);
+            if (threshold <= 0) {
+                continue;
+            }
+            if (total == 0) {
+                violations.add(operation.endpoint() + ": sin peticiones medidas");
+                continue;
+            }
+            double p99 = millis(entry.getValue(), 99);
+            if (p99 > threshold) {
+                violations.add(String.format(Locale.ROOT, "%s: p99 %.2f ms > %d ms", operation.endpoint(), p99, threshold));
+            }
+        }
+        return violations;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,239 @@
+package com.fleetguard360.monitoring_service.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga HTTP con latencias por endpoint en histogramas HdrHistogram.
+ *
+ * En lazo abierto las peticiones se programan a ritmo fijo y la latencia se mide desde el
+ * instante en que la petición debía salir, no desde que salió: si el servicio se atasca, la
+ * espera acumulada aparece en los percentiles en lugar de esconderse (omisión coordinada).
+ * Las respuestas de las peticiones programadas durante el calentamiento no se registran.
+ */
+final class LoadGenerator {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final String[] STATUSES = {"AVAILABLE", "IN_USE", "MAINTENANCE"};
+
+    private static final String[] MODELS = {"NPR", "Sprinter", "B270F", "County", "Crafter"};
+
+    private final HttpClient client;
+
+    private final URI baseUri;
+
+    private final LoadSettings settings;
+
+    private final List<String> sessions;
+
+    private final List<String> adminSessions;
+
+    private final List<String> loginUsernames;
+
+    private final String password;
+
+    private final long[] vehicleIds;
+
+    private final LoadOperation[] operations;
+
+    private final int[] cumulativeWeights;
+
+    private final AtomicInteger nextPlate;
+
+    private final Map<LoadOperation, Histogram> histograms = new EnumMap<>(LoadOperation.class);
+
+    private final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+
+    private volatile long measureStartNanos = Long.MAX_VALUE;
+
+    /**
+     * @param sessions cookies de sesión de usuarios con rol USER
+     * @param adminSessions cookies de sesión de usuarios con rol ADMIN (creación y cambio de estado)
+     * @param loginUsernames usuarios reservados para la operación de login
+     * @param vehicleIds IDs existentes para detalle y cambio de estado
+     * @param firstFreePlate índice de placa a partir del cual crear vehículos sin colisiones
+     */
+    LoadGenerator(HttpClient client, URI baseUri, LoadSettings settings, List<String> sessions,
+                  List<String> adminSessions, List<String> loginUsernames, String password,
+                  long[] vehicleIds, int firstFreePlate) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.settings = settings;
+        this.sessions = new ArrayList<>(sessions);
+        this.sessions.addAll(adminSessions);
+        this.adminSessions = adminSessions;
+        this.loginUsernames = loginUsernames;
+        this.password = password;
+        this.vehicleIds = vehicleIds;
+        this.nextPlate = new AtomicInteger(firstFreePlate);
+
+        Map<LoadOperation, Integer> mix = settings.getMix();
+        this.operations = mix.keySet().toArray(new LoadOperation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        for (LoadOperation operation : operations) {
+            histograms.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Ejecuta el calentamiento y la medición y devuelve el informe de la fase medida
+     */
+    LatencyReport run() throws InterruptedException {
+        long start = System.nanoTime();
+        measureStartNanos = start + settings.getWarmup().toNanos();
+        long end = measureStartNanos + settings.getDuration().toNanos();
+
+        if (settings.isOpenLoop()) {
+            runOpenLoop(start, end);
+        } else {
+            runClosedLoop(end);
+        }
+        return new LatencyReport(histograms, errors, settings.getDuration());
+    }
+
+    private void runOpenLoop(long start, long end) throws InterruptedException {
+        int concurrency = settings.getConcurrency();
+        Semaphore inFlight = new Semaphore(concurrency);
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.getRatePerSecond();
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // Si hay demasiadas peticiones en vuelo se espera; el retraso cuenta en la latencia
+            inFlight.acquire();
+            LoadOperation operation = nextOperation(random);
+            client.sendAsync(request(operation, random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        complete(operation, intended, response, error);
+                        inFlight.release();
+                    });
+        }
+        if (!inFlight.tryAcquire(concurrency, REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Peticiones sin completar al terminar la carga");
+        }
+    }
+
+    private void runClosedLoop(long end) throws InterruptedException {
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < settings.getConcurrency(); worker++) {
+                SplittableRandom random = new SplittableRandom(42 + worker);
+                workers.execute(() -> {
+                    while (System.nanoTime() < end) {
+                        LoadOperation operation = nextOperation(random);
+                        long started = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request(operation, random),
+                                    HttpResponse.BodyHandlers.discarding());
+                            complete(operation, started, response, null);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        } catch (Exception e) {
+                            complete(operation, started, null, e);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    private void complete(LoadOperation operation, long intendedNanos, HttpResponse<?> response, Throwable error) {
+        if (intendedNanos < measureStartNanos) {
+            return;
+        }
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNanos);
+        histograms.get(operation).recordValue(Math.max(1, latencyMicros));
+        if (error != null || response.statusCode() >= 400) {
+            errors.get(operation).increment();
+        }
+    }
+
+    private LoadOperation nextOperation(SplittableRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private HttpRequest request(LoadOperation operation, SplittableRandom random) {
+        return switch (operation) {
+            case LOGIN -> json(builder("/api/auth/login"), "POST", String.format(
+                    "{\"username\":\"%s\",\"password\":\"%s\"}", pick(loginUsernames, random), password));
+            case LIST -> authenticated(builder("/api/vehicles"), sessions, random).GET().build();
+            case DETAIL -> authenticated(builder("/api/vehicles/" + pickVehicle(random)), sessions, random).GET().build();
+            case CREATE -> json(authenticated(builder("/api/vehicles"), adminSessions, random), "POST", String.format(
+                    "{\"licensePlate\":\"%s\",\"model\":\"%s\",\"brand\":\"Carga\",\"year\":2022,\"capacity\":%d,\"status\":\"AVAILABLE\"}",
+                    licensePlate(nextPlate.getAndIncrement()), MODELS[random.nextInt(MODELS.length)], 10 + random.nextInt(40)));
+            case STATUS -> json(authenticated(builder("/api/vehicles/" + pickVehicle(random) + "/status"), adminSessions, random),
+                    "PATCH", "{\"status\":\"" + STATUSES[random.nextInt(STATUSES.length)] + "\"}");
+            case MAP -> authenticated(builder("/map/vehicles"), sessions, random).GET().build();
+        };
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private static HttpRequest.Builder authenticated(HttpRequest.Builder builder, List<String> cookies,
+                                                     SplittableRandom random) {
+        return builder.header("Cookie", pick(cookies, random));
+    }
+
+    private static HttpRequest json(HttpRequest.Builder builder, String method, String body) {
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private long pickVehicle(SplittableRandom random) {
+        return vehicleIds[random.nextInt(vehicleIds.length)];
+    }
+
+    private static String pick(List<String> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    /**
+     * Placa única con el formato ABC123 para el índice dado (26³ × 1000 combinaciones)
+     */
+    static String licensePlate(int index) {
+        int letters = index / 1000;
+        return String.format("%c%c%c%03d", 'A' + letters / (26 * 26) % 26, 'A' + letters / 26 % 26,
+                'A' + letters % 26, index % 1000);
+    }
+}
@@ -0,0 +1,39 @@
+package com.fleetguard360.monitoring_service.load;
+
+/**
+ * Operaciones de la mezcla de carga; cada una se reporta como un endpoint
+ */
+enum LoadOperation {
+
+    LOGIN("login", "POST /api/auth/login", false),
+    LIST("list", "GET /api/vehicles", false),
+    DETAIL("detail", "GET /api/vehicles/{id}", false),
+    CREATE("create", "POST /api/vehicles", true),
+    STATUS("status", "PATCH /api/vehicles/{id}/status", true),
+    MAP("map", "GET /map/vehicles", false);
+
+    private final String key;
+
+    private final String endpoint;
+
+    private final boolean requiresAdmin;
+
+    LoadOperation(String key, String endpoint, boolean requiresAdmin) {
+        this.key = key;
+        this.endpoint = endpoint;
+        this.requiresAdmin = requiresAdmin;
+    }
+
+    static LoadOperation fromKey(String key) {
+        for (LoadOperation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Operación de carga desconocida: " + key);
+    }
+
+    String key() { return key; }
+    String endpoint() { return endpoint; }
+    boolean requiresAdmin() { return requiresAdmin; }
+}
@@ -0,0 +1,129 @@
+package com.fleetguard360.monitoring_service.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parámetros del arnés de carga, leídos de propiedades del sistema (-Dload.*).
+ *
+ * load.rate &gt; 0 genera carga en lazo abierto (llegadas a ritmo fijo, independientes de las
+ * respuestas); load.rate=0 usa lazo cerrado con load.concurrency clientes sin pausa.
+ * En lazo abierto load.concurrency acota las peticiones en vuelo.
+ */
+final class LoadSettings {
+
+    private static final String DEFAULT_MIX = "login:2,list:20,detail:35,create:3,status:5,map:35";
+
+    private final int vehicles;
+    private final int users;
+    private final int admins;
+    private final int loginUsers;
+    private final double ratePerSecond;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<LoadOperation, Integer> mix;
+    private final long p99MaxMillis;
+    private final Map<LoadOperation, Long> p99MaxMillisByOperation;
+    private final double maxErrorPercent;
+    private final Path reportDir;
+
+    private LoadSettings(int vehicles, int users, int admins, int loginUsers, double ratePerSecond, int concurrency,
+                         Duration warmup, Duration duration, Map<LoadOperation, Integer> mix, long p99MaxMillis,
+                         Map<LoadOperation, Long> p99MaxMillisByOperation, double maxErrorPercent, Path reportDir) {
+        this.vehicles = vehicles;
+        this.users = users;
+        this.admins = admins;
+        this.loginUsers = loginUsers;
+        this.ratePerSecond = ratePerSecond;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.mix = mix;
+        this.p99MaxMillis = p99MaxMillis;
+        this.p99MaxMillisByOperation = p99MaxMillisByOperation;
+        this.maxErrorPercent = maxErrorPercent;
+        this.reportDir = reportDir;
+    }
+
+    static LoadSettings fromSystemProperties() {
+        Map<LoadOperation, Long> thresholds = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : LoadOperation.values()) {
+            String value = System.getProperty("load.p99-max-ms." + operation.key());
+            if (value != null && !value.isBlank()) {
+                thresholds.put(operation, Long.parseLong(value.trim()));
+            }
+        }
+        return new LoadSettings(
+                Integer.getInteger("load.vehicles", 1000),
+                Integer.getInteger("load.users", 20),
+                Integer.getInteger("load.admins", 4),
+                Integer.getInteger("load.login-users", 20),
+                Double.parseDouble(System.getProperty("load.rate", "200")),
+                Integer.getInteger("load.concurrency", 64),
+                Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("load.duration-seconds", 30)),
+                parseMix(System.getProperty("load.mix", DEFAULT_MIX)),
+                Long.getLong("load.p99-max-ms", 0),
+                thresholds,
+                Double.parseDouble(System.getProperty("load.max-error-percent", "1")),
+                Path.of(System.getProperty("load.report-dir", "target/load-test")));
+    }
+
+    /**
+     * Interpreta "login:2,list:20,..."; las operaciones omitidas no se ejecutan
+     */
+    static Map<LoadOperation, Integer> parseMix(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Entrada de load.mix inválida: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(LoadOperation.fromKey(parts[0].trim().toLowerCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("load.mix no contiene ninguna operación");
+        }
+        return weights;
+    }
+
+    /**
+     * Umbral de p99 para la operación; 0 si no hay umbral
+     */
+    long p99MaxMillis(LoadOperation operation) {
+        return p99MaxMillisByOperation.getOrDefault(operation, p99MaxMillis);
+    }
+
+    boolean isOpenLoop() { return ratePerSecond > 0; }
+
+    int getVehicles() { return vehicles; }
+    int getUsers() { return Math.max(1, users); }
+    int getAdmins() { return Math.max(1, admins); }
+    int getLoginUsers() { return Math.max(1, loginUsers); }
+    double getRatePerSecond() { return ratePerSecond; }
+    int getConcurrency() { return Math.max(1, concurrency); }
+    Duration getWarmup() { return warmup; }
+    Duration getDuration() { return duration; }
+    Map<LoadOperation, Integer> getMix() { return mix; }
+    double getMaxErrorPercent() { return maxErrorPercent; }
+    Path getReportDir() { return reportDir; }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "vehículos=%d usuarios=%d admins=%d login-users=%d %s concurrencia=%d calentamiento=%ds duración=%ds mezcla=%s",
+                vehicles, getUsers(), getAdmins(), getLoginUsers(),
+                isOpenLoop() ? "lazo abierto " + ratePerSecond + " req/s" : "lazo cerrado",
+                getConcurrency(), warmup.toSeconds(), duration.toSeconds(), mix);
+    }
+}
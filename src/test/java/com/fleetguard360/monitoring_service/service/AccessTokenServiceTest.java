@@ -0,0 +1,113 @@
+package com.fleetguard360.monitoring_service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.fleetguard360.monitoring_service.config.RoleAuthority;
+import com.fleetguard360.monitoring_service.repository.RevokedTokenRepository;
+import com.fleetguard360.monitoring_service.repository.UserRepository;
+
+class AccessTokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private static final List<GrantedAuthority> AUTHORITIES =
+            List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final AtomicInteger tokenGeneration = new AtomicInteger();
+
+    private TokenRevocationList revocationList;
+    private UserRepository userRepository;
+    private AccessTokenService accessTokenService;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(Mockito.mock(RevokedTokenRepository.class), 3600, 1000, 0.001);
+        userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findTokenGeneration(ArgumentMatchers.anyString()))
+                .thenAnswer(invocation -> Optional.of(tokenGeneration.get()));
+        Mockito.when(userRepository.incrementTokenGeneration(ArgumentMatchers.anyString()))
+                .thenAnswer(invocation -> {
+                    tokenGeneration.incrementAndGet();
+                    return 1;
+                });
+        accessTokenService = new AccessTokenService(true, SECRET, 900, 86400, revocationList, userRepository);
+    }
+
+    @Test
+    void verifyAccessToken_ShouldReturnUsernameAndAuthorities() {
+        AccessTokenService.TokenPair tokens = accessTokenService.issue("admin|ops", AUTHORITIES);
+
+        AccessTokenService.VerifiedToken token = accessTokenService.verifyAccessToken(tokens.getAccessToken());
+
+        assertNotNull(token);
+        assertEquals("admin|ops", token.getUsername());
+        assertEquals(List.of(RoleAuthority.of("ADMIN"), RoleAuthority.of("USER")), token.getAuthorities());
+        assertEquals(900, tokens.getExpiresIn());
+    }
+
+    @Test
+    void verify_ShouldRejectTamperedForeignAndMismatchedTokens() {
+        AccessTokenService.TokenPair tokens = accessTokenService.issue("admin", AUTHORITIES);
+        String access = tokens.getAccessToken();
+        String tampered = (access.charAt(0) == 'A' ? 'B' : 'A') + access.substring(1);
+        AccessTokenService otherNode = new AccessTokenService(true, SECRET.replace('0', 'x'), 900, 86400, revocationList, userRepository);
+
+        assertNull(accessTokenService.verifyAccessToken(tampered));
+        assertNull(accessTokenService.verifyAccessToken("not-a-token"));
+        assertNull(otherNode.verifyAccessToken(access));
+        assertNull(accessTokenService.verifyAccessToken(tokens.getRefreshToken()));
+        assertNull(accessTokenService.verifyRefreshToken(access));
+    }
+
+    @Test
+    void verify_ShouldRejectExpiredAndRevokedTokens() {
+        AccessTokenService expiring = new AccessTokenService(true, SECRET, 0, 86400, revocationList, userRepository);
+        assertNull(expiring.verifyAccessToken(expiring.issue("admin", AUTHORITIES).getAccessToken()));
+
+        AccessTokenService.TokenPair tokens = accessTokenService.issue("admin", AUTHORITIES);
+        AccessTokenService.VerifiedToken refresh = accessTokenService.verifyRefreshToken(tokens.getRefreshToken());
+
+        assertTrue(accessTokenService.revoke(refresh));
+        assertFalse(accessTokenService.revoke(refresh));
+        assertNull(accessTokenService.verifyRefreshToken(tokens.getRefreshToken()));
+        assertNotNull(accessTokenService.verifyAccessToken(tokens.getAccessToken()));
+    }
+
+    @Test
+    void logout_ShouldRevokeEveryRefreshTokenOfTheUser() {
+        AccessTokenService.TokenPair current = accessTokenService.issue("admin", AUTHORITIES);
+        AccessTokenService.TokenPair otherDevice = accessTokenService.issue("admin", AUTHORITIES);
+
+        accessTokenService.logout(accessTokenService.verifyAccessToken(current.getAccessToken()), null);
+
+        assertNull(accessTokenService.verifyAccessToken(current.getAccessToken()));
+        assertNull(accessTokenService.verifyRefreshToken(current.getRefreshToken()));
+        assertNull(accessTokenService.verifyRefreshToken(otherDevice.getRefreshToken()));
+        // Los emitidos después del logout pertenecen a la nueva generación
+        assertNotNull(accessTokenService.verifyRefreshToken(
+                accessTokenService.issue("admin", AUTHORITIES).getRefreshToken()));
+    }
+
+    @Test
+    void verifyRefreshToken_ShouldRejectUnknownUser() {
+        AccessTokenService.TokenPair tokens = accessTokenService.issue("admin", AUTHORITIES);
+        Mockito.when(userRepository.findTokenGeneration("admin")).thenReturn(Optional.empty());
+
+        assertNull(accessTokenService.verifyRefreshToken(tokens.getRefreshToken()));
+    }
+}
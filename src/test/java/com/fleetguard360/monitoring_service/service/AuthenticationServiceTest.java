@@ -4,27 +4,32 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import com.fleetguard360.monitoring_service.model.LoginHistory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
 import com.fleetguard360.monitoring_service.model.User;
-import com.fleetguard360.monitoring_service.repository.LoginHistoryRepository;
 import com.fleetguard360.monitoring_service.repository.UserRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,16 +39,27 @@ class AuthenticationServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private LoginHistoryRepository loginHistoryRepository;
+    private LoginHistoryWriter loginHistoryWriter;
+
+    @Mock
+    private CredentialStuffingDetector stuffingDetector;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
-    @InjectMocks
     private AuthenticationService authenticationService;
 
     private User user;
 
     @BeforeEach
     void setUp() {
+        UserAccountCache userAccountCache = new UserAccountCache(userRepository,
+                new ConcurrentMapCacheManager(UserAccountCache.CACHE_NAME));
+        authenticationService = new AuthenticationService(userRepository, loginHistoryWriter, userAccountCache,
+                new LoginLockoutTracker(3, 30, 15, 15, 4), stuffingDetector,
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class));
+
         user = new User();
+        user.setId(1L);
         user.setUsername("admin");
         user.setFailedAttempts(0);
         user.setLockTime(null);
@@ -71,23 +87,33 @@ class AuthenticationServiceTest {
     void recordFailedAttempt_ShouldIncreaseFailedAttempts() {
         when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
 
+        authenticationService.recordFailedAttempt("admin", "127.0.0.1");
         authenticationService.recordFailedAttempt("admin", "127.0.0.1");
 
-        assertEquals(1, user.getFailedAttempts());
-        verify(userRepository).save(user);
-        verify(loginHistoryRepository).save(any(LoginHistory.class));
+        // Los intentos se cuentan en memoria; no hay escritura sobre users antes del bloqueo
+        assertFalse(authenticationService.isUserLocked("admin"));
+        verify(userRepository, never()).updateLockState(any(), anyInt(), any());
+        verify(userRepository, never()).save(any());
+        verify(loginHistoryWriter, times(2)).record(1L, "admin", "127.0.0.1", false);
     }
 
     @Test
     void recordFailedAttempt_ShouldLockUserAfterMaxAttempts() {
-        user.setFailedAttempts(2);
         when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
 
+        authenticationService.recordFailedAttempt("admin", "127.0.0.1");
+        authenticationService.recordFailedAttempt("admin", "127.0.0.1");
+        authenticationService.recordFailedAttempt("admin", "127.0.0.1");
         authenticationService.recordFailedAttempt("admin", "127.0.0.1");
 
-        assertNotNull(user.getLockTime());
-        assertEquals(3, user.getFailedAttempts());
-        verify(userRepository).save(user);
+        assertTrue(authenticationService.isUserLocked("admin"));
+        assertEquals(1.0, meterRegistry.get("auth.lockouts").tag("scope", "user").counter().count());
+        assertEquals(4.0, meterRegistry.get("auth.login.attempts")
+                .tags("outcome", "failure", "known_user", "true").counter().count());
+        // Solo se persiste la transición a bloqueado
+        ArgumentCaptor<LocalDateTime> lockTime = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(userRepository).updateLockState(eq("admin"), eq(3), lockTime.capture());
+        assertNotNull(lockTime.getValue());
     }
 
     @Test
@@ -98,7 +124,10 @@ class AuthenticationServiceTest {
                 authenticationService.recordFailedAttempt("unknown", "127.0.0.1")
         );
 
-        verify(loginHistoryRepository).save(any(LoginHistory.class));
+        verify(loginHistoryWriter).record(null, "unknown", "127.0.0.1", false);
+        verify(stuffingDetector).record("unknown", "127.0.0.1", false);
+        assertEquals(1.0, meterRegistry.get("auth.login.attempts")
+                .tags("outcome", "failure", "known_user", "false").counter().count());
     }
 
     // ------------------------------------------------------------
@@ -111,10 +140,62 @@ class AuthenticationServiceTest {
 
         authenticationService.recordSuccessfulLogin("admin", "127.0.0.1");
 
-        assertEquals(0, user.getFailedAttempts());
-        assertNull(user.getLockTime());
-        verify(userRepository, atLeastOnce()).save(user);
-        verify(loginHistoryRepository).save(any(LoginHistory.class));
+        verify(userRepository).updateLockState("admin", 0, null);
+        verify(loginHistoryWriter).record(1L, "admin", "127.0.0.1", true);
+    }
+
+    @Test
+    void loginPath_ShouldReadUserFromDatabaseOnce() {
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+
+        assertFalse(authenticationService.isAccountLocked("admin"));
+        authenticationService.recordSuccessfulLogin("admin", "127.0.0.1");
+        authenticationService.resetFailedAttempts("admin");
+
+        verify(userRepository, times(1)).findByUsername("admin");
+        verify(userRepository, never()).updateLockState(any(), anyInt(), any());
+        verify(userRepository, never()).findById(any());
+        verify(loginHistoryWriter).record(1L, "admin", "127.0.0.1", true);
+    }
+
+    @Test
+    void recordFailedAttempt_WhenUserLocked_ShouldInvalidateCachedLockState() {
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+        assertFalse(authenticationService.isUserLocked("admin"));
+
+        authenticationService.recordFailedAttempt("admin", "127.0.0.1");
+        authenticationService.recordFailedAttempt("admin", "127.0.0.1");
+        authenticationService.recordFailedAttempt("admin", "127.0.0.1");
+        authenticationService.isUserLocked("admin");
+
+        verify(userRepository, times(2)).findByUsername("admin");
+    }
+
+    @Test
+    void recordFailedAttempt_CaseVariants_ShouldShareOneWindow() {
+        // La base de datos resuelve las tres variantes a la misma cuenta
+        when(userRepository.findByUsername(any())).thenReturn(Optional.of(user));
+
+        authenticationService.recordFailedAttempt("Admin", "127.0.0.1");
+        authenticationService.recordFailedAttempt("ADMIN", "127.0.0.1");
+        authenticationService.recordFailedAttempt("admin", "127.0.0.1");
+
+        verify(userRepository).updateLockState(eq("admin"), eq(3), any());
+        assertTrue(authenticationService.isUserLocked("aDmIn"));
+        // La invalidación alcanza a todas las variantes, no solo a la que provocó el bloqueo
+        verify(userRepository, times(2)).findByUsername(any());
+    }
+
+    @Test
+    void isAccountLocked_ShouldLockSourceIpAcrossUsers() {
+        when(userRepository.findByUsername(any())).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 30; i++) {
+            authenticationService.recordFailedAttempt("user" + i, "10.0.0.9");
+        }
+
+        assertTrue(authenticationService.isAccountLocked("admin", "10.0.0.9"));
+        assertFalse(authenticationService.isAccountLocked("admin", "10.0.0.10"));
     }
 
     @Test
@@ -164,15 +245,13 @@ class AuthenticationServiceTest {
 
         authenticationService.resetFailedAttempts("admin");
 
-        assertEquals(0, user.getFailedAttempts());
-        assertNull(user.getLockTime());
-        verify(userRepository).save(user);
+        verify(userRepository).updateLockState("admin", 0, null);
     }
 
     @Test
     void resetFailedAttempts_ShouldDoNothingIfUserNotFound() {
         when(userRepository.findByUsername("unknown")).thenReturn(Optional.empty());
         authenticationService.resetFailedAttempts("unknown");
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).updateLockState(any(), anyInt(), any());
     }
 }
@@ -0,0 +1,95 @@
+package com.fleetguard360.monitoring_service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.fleetguard360.monitoring_service.dto.LoginThreatReport;
+
+class CredentialStuffingDetectorTest {
+
+    private static final long WINDOW_MILLIS = 300_000;
+
+    private static final long NOW = (System.currentTimeMillis() / WINDOW_MILLIS + 1) * WINDOW_MILLIS;
+
+    private final CredentialStuffingDetector detector =
+            new CredentialStuffingDetector(300, 4, 1024, 16, 8, 50, 10, 50, 5, 4);
+
+    @Test
+    void isSuspiciousIp_ShouldFlagIpTryingManyUsernames() {
+        for (int i = 0; i < 12; i++) {
+            detector.record("user" + i, "203.0.113.7", false, NOW);
+        }
+        detector.record("admin", "10.0.0.1", false, NOW);
+
+        assertTrue(detector.isSuspiciousIp("203.0.113.7", NOW));
+        assertFalse(detector.isSuspiciousIp("10.0.0.1", NOW));
+    }
+
+    @Test
+    void isSuspiciousUsername_ShouldFlagAccountAttackedFromManyIps() {
+        for (int i = 0; i < 6; i++) {
+            detector.record("ghost", "10.0.0." + i, false, NOW);
+        }
+
+        assertTrue(detector.isSuspiciousUsername("ghost", NOW));
+        assertFalse(detector.isSuspiciousUsername("admin", NOW));
+    }
+
+    @Test
+    void record_ShouldIgnoreSuccessfulAttemptsForSignals() {
+        for (int i = 0; i < 60; i++) {
+            detector.record("admin", "10.0.0.1", true, NOW);
+        }
+
+        assertFalse(detector.isSuspiciousIp("10.0.0.1", NOW));
+        assertEquals(60, detector.report(10, NOW).getAttempts());
+    }
+
+    @Test
+    void windows_ShouldKeepPreviousWindowAndForgetOlderOnes() {
+        for (int i = 0; i < 12; i++) {
+            detector.record("user" + i, "203.0.113.7", false, NOW);
+        }
+
+        assertTrue(detector.isSuspiciousIp("203.0.113.7", NOW + WINDOW_MILLIS));
+        assertFalse(detector.isSuspiciousIp("203.0.113.7", NOW + 2 * WINDOW_MILLIS));
+    }
+
+    @Test
+    void isSuspicious_UnderHighVolume_ShouldDiscountSketchOvercount() {
+        CredentialStuffingDetector narrow = new CredentialStuffingDetector(300, 4, 16, 16, 8, 20, 1000, 20, 1000, 4);
+        for (int i = 0; i < 2_000; i++) {
+            narrow.record("user" + i, "10.1." + (i / 250) + "." + (i % 250), false, NOW);
+        }
+        for (int i = 0; i < 3; i++) {
+            narrow.record("admin", "198.51.100.1", false, NOW);
+        }
+        for (int i = 0; i < 200; i++) {
+            narrow.record("victim", "203.0.113.7", false, NOW);
+        }
+
+        assertFalse(narrow.isSuspiciousIp("198.51.100.1", NOW));
+        assertFalse(narrow.isSuspiciousUsername("admin", NOW));
+        assertTrue(narrow.isSuspiciousIp("203.0.113.7", NOW));
+        assertTrue(narrow.isSuspiciousUsername("victim", NOW));
+    }
+
+    @Test
+    void report_ShouldRankTopOffenders() {
+        for (int i = 0; i < 12; i++) {
+            detector.record("user" + i, "203.0.113.7", false, NOW);
+        }
+        detector.record("admin", "10.0.0.1", false, NOW);
+
+        LoginThreatReport report = detector.report(10, NOW);
+
+        assertEquals(13, report.getFailures());
+        assertEquals("203.0.113.7", report.getTopIps().get(0).getKey());
+        assertEquals(12, report.getTopIps().get(0).getFailures());
+        assertTrue(report.getTopIps().get(0).isSuspicious());
+        assertEquals(2, report.getTopIps().size());
+    }
+}
@@ -6,6 +6,11 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -15,12 +20,19 @@ import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import com.fleetguard360.monitoring_service.config.AdaptiveBCryptPasswordEncoder;
+import com.fleetguard360.monitoring_service.config.RoleAuthority;
+import com.fleetguard360.monitoring_service.config.RoleMaskHolder;
 import com.fleetguard360.monitoring_service.model.Role;
 import com.fleetguard360.monitoring_service.model.User;
 import com.fleetguard360.monitoring_service.repository.UserRepository;
@@ -30,7 +42,6 @@ class CustomUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
     private CustomUserDetailsService customUserDetailsService;
 
     private User user;
@@ -38,11 +49,15 @@ class CustomUserDetailsServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        customUserDetailsService = new CustomUserDetailsService(
+                new UserAccountCache(userRepository, new ConcurrentMapCacheManager(UserAccountCache.CACHE_NAME)),
+                new LoginLockoutTracker(3, 30, 15, 15, 4), userRepository);
 
         Role roleUser = new Role();
         roleUser.setName("USER");
 
         user = new User();
+        user.setId(1L);
         user.setUsername("testuser");
         user.setPassword("password123");
         user.setEnabled(true);
@@ -61,6 +76,8 @@ class CustomUserDetailsServiceTest {
         assertTrue(userDetails.isAccountNonLocked());
         assertTrue(userDetails.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_USER")));
+        // La máscara de roles viaja ya calculada con el principal
+        assertEquals(RoleAuthority.of("USER").getBit(), ((RoleMaskHolder) userDetails).getRoleMask());
     }
 
     @Test
@@ -87,15 +104,27 @@ class CustomUserDetailsServiceTest {
         user.setFailedAttempts(3);
 
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
-        when(userRepository.save(any(User.class))).thenReturn(user);
 
         UserDetails userDetails = customUserDetailsService.loadUserByUsername("testuser");
 
         assertNotNull(userDetails);
         assertTrue(userDetails.isAccountNonLocked());
-        verify(userRepository).save(user);
-        assertNull(user.getLockTime());
-        assertEquals(0, user.getFailedAttempts());
+        // El camino de lectura no escribe en la base de datos
+        verify(userRepository, never()).updateLockState(any(), anyInt(), any());
+    }
+
+    @Test
+    void loadUserByUsername_RepeatedCalls_ServedFromCache() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+
+        customUserDetailsService.loadUserByUsername("testuser");
+        customUserDetailsService.loadUserByUsername("testuser");
+        User entity = customUserDetailsService.loadUserEntityByUsername("testuser");
+
+        verify(userRepository, times(1)).findByUsername("testuser");
+        assertEquals(1L, entity.getId());
+        assertNull(entity.getPassword());
+        assertEquals("USER", entity.getRoles().iterator().next().getName());
     }
 
     @Test
@@ -114,4 +143,27 @@ class CustomUserDetailsServiceTest {
         assertThrows(UsernameNotFoundException.class,
             () -> customUserDetailsService.loadUserEntityByUsername("ghost"));
     }
+
+    @Test
+    void successfulLogin_WithWeakerHash_ShouldRehashAndInvalidateCache() {
+        user.setPassword(new AdaptiveBCryptPasswordEncoder(4).encode("secret123"));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(userRepository.updatePassword(eq("testuser"), anyString())).thenReturn(1);
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(customUserDetailsService);
+        provider.setPasswordEncoder(new AdaptiveBCryptPasswordEncoder(5));
+        provider.setUserDetailsPasswordService(customUserDetailsService);
+        Authentication authentication = provider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("testuser", "secret123"));
+
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(userRepository).updatePassword(eq("testuser"), hash.capture());
+        assertTrue(hash.getValue().startsWith("$2a$05$"));
+        // El principal con el hash nuevo conserva la máscara de roles
+        assertEquals(RoleAuthority.of("USER").getBit(), ((RoleMaskHolder) authentication.getPrincipal()).getRoleMask());
+
+        // La caché se invalidó: el siguiente login vuelve a leer el usuario
+        customUserDetailsService.loadUserByUsername("testuser");
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
 }
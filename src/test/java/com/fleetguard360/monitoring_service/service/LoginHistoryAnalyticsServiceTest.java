@@ -0,0 +1,149 @@
+package com.fleetguard360.monitoring_service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.fleetguard360.monitoring_service.dto.HourlyFailureCount;
+import com.fleetguard360.monitoring_service.dto.IpActivitySummary;
+import com.fleetguard360.monitoring_service.dto.LoginAttemptResponse;
+import com.fleetguard360.monitoring_service.dto.UserFailureSummary;
+import com.fleetguard360.monitoring_service.exception.BusinessException;
+
+class LoginHistoryAnalyticsServiceTest {
+
+    private static final LocalDate DAY1 = LocalDate.of(2026, 10, 18);
+    private static final LocalDate DAY2 = LocalDate.of(2026, 10, 19);
+
+    private JdbcTemplate jdbcTemplate;
+    private LoginHistoryPartitions partitions;
+    private LoginHistoryAnalyticsService analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:login-history-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        partitions = new LoginHistoryPartitions(jdbcTemplate, 30);
+        analyticsService = new LoginHistoryAnalyticsService(jdbcTemplate, partitions, 31);
+
+        insert(DAY1.atTime(23, 10), "admin", "10.0.0.1", false);
+        insert(DAY1.atTime(23, 20), "admin", "10.0.0.2", false);
+        insert(DAY2.atTime(0, 5), "admin", "10.0.0.1", false);
+        insert(DAY2.atTime(0, 30), "admin", "10.0.0.1", true);
+        insert(DAY2.atTime(1, 0), "operador", "10.0.0.1", false);
+        insert(DAY2.atTime(1, 15), "ghost", "10.0.0.9", false);
+    }
+
+    @Test
+    void findAttempts_ShouldSpanPartitionsNewestFirst() {
+        List<LoginAttemptResponse> attempts = analyticsService.findAttempts("admin",
+                DAY1.atStartOfDay(), DAY2.atTime(12, 0), 3);
+
+        assertEquals(3, attempts.size());
+        assertEquals(DAY2.atTime(0, 30), attempts.get(0).getLoginTime());
+        assertTrue(attempts.get(0).isSuccess());
+        assertEquals(DAY1.atTime(23, 20), attempts.get(2).getLoginTime());
+    }
+
+    @Test
+    void failuresPerHour_ShouldGroupByDayAndHour() {
+        List<HourlyFailureCount> counts = analyticsService.failuresPerHour(DAY1.atStartOfDay(), DAY2.atTime(12, 0));
+
+        assertEquals(3, counts.size());
+        assertEquals(DAY1.atTime(23, 0), counts.get(0).getHour());
+        assertEquals(2, counts.get(0).getFailures());
+        assertEquals(DAY2.atTime(1, 0), counts.get(2).getHour());
+        assertEquals(2, counts.get(2).getFailures());
+    }
+
+    @Test
+    void topSourceIps_ShouldRankByFailures() {
+        List<IpActivitySummary> ips = analyticsService.topSourceIps(DAY1.atStartOfDay(), DAY2.atTime(12, 0), 2);
+
+        assertEquals(2, ips.size());
+        assertEquals("10.0.0.1", ips.get(0).getIpAddress());
+        assertEquals(4, ips.get(0).getAttempts());
+        assertEquals(3, ips.get(0).getFailures());
+        assertEquals(2, ips.get(0).getDistinctUsernames());
+    }
+
+    @Test
+    void repeatedFailures_ShouldApplyThreshold() {
+        List<UserFailureSummary> users = analyticsService.repeatedFailures(DAY1.atStartOfDay(), DAY2.atTime(12, 0), 2, 10);
+
+        assertEquals(1, users.size());
+        assertEquals("admin", users.get(0).getUsername());
+        assertEquals(3, users.get(0).getFailures());
+        assertEquals(2, users.get(0).getDistinctIps());
+        assertEquals(DAY2.atTime(0, 5), users.get(0).getLastFailure());
+    }
+
+    @Test
+    void queries_ShouldRejectInvalidOrOversizedRanges() {
+        assertThrows(BusinessException.class,
+                () -> analyticsService.topSourceIps(DAY2.atStartOfDay(), DAY1.atStartOfDay(), 10));
+        assertThrows(BusinessException.class,
+                () -> analyticsService.topSourceIps(DAY2.minusDays(40).atStartOfDay(), DAY2.atStartOfDay(), 10));
+    }
+
+    @Test
+    void dropExpired_ShouldDropWholePartitionsOutsideRetention() {
+        partitions.tableFor(DAY2.minusDays(45));
+
+        assertEquals(1, partitions.dropExpired(DAY2));
+
+        assertFalse(partitions.existingDays(DAY2.minusDays(60), DAY2).contains(DAY2.minusDays(45)));
+        assertEquals(List.of(DAY1, DAY2), partitions.existingDays(DAY2.minusDays(60), DAY2));
+    }
+
+    @Test
+    void migrateLegacy_ShouldMoveRetainedRowsIntoPartitionsAndDropTable() {
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(100))");
+        jdbcTemplate.execute("INSERT INTO users (id, username) VALUES (1, 'admin')");
+        jdbcTemplate.execute("CREATE TABLE " + LoginHistoryPartitions.LEGACY_TABLE + " (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "user_id BIGINT, username VARCHAR(100), ip_address VARCHAR(255) NOT NULL, "
+                + "login_time TIMESTAMP(6) NOT NULL, success BOOLEAN NOT NULL)");
+        // Filas anteriores a la columna username: se completa desde users
+        insertLegacy(1L, null, DAY1.atTime(8, 0), false);
+        insertLegacy(1L, "admin", DAY2.minusDays(3).atTime(9, 30), true);
+        insertLegacy(1L, "admin", DAY2.minusDays(45).atTime(10, 0), false);
+
+        assertEquals(2, partitions.migrateLegacy(DAY2));
+
+        assertEquals(0, partitions.migrateLegacy(DAY2));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES "
+                + "WHERE LOWER(TABLE_NAME) = ?", Integer.class, LoginHistoryPartitions.LEGACY_TABLE));
+        assertFalse(partitions.existingDays(DAY2.minusDays(60), DAY2).contains(DAY2.minusDays(45)));
+
+        List<LoginAttemptResponse> attempts = analyticsService.findAttempts("admin",
+                DAY2.minusDays(3).atStartOfDay(), DAY2.atTime(12, 0), 10);
+        assertEquals(DAY2.minusDays(3).atTime(9, 30), attempts.get(attempts.size() - 1).getLoginTime());
+        // La fila sin username cuenta para admin junto a sus tres fallos de las particiones
+        assertEquals(4, analyticsService.repeatedFailures(DAY1.atStartOfDay(), DAY2.atTime(12, 0), 2, 10)
+                .get(0).getFailures());
+    }
+
+    private void insertLegacy(Long userId, String username, LocalDateTime time, boolean success) {
+        jdbcTemplate.update("INSERT INTO " + LoginHistoryPartitions.LEGACY_TABLE
+                        + " (user_id, username, ip_address, login_time, success) VALUES (?, ?, ?, ?, ?)",
+                userId, username, "10.0.0.5", Timestamp.valueOf(time), success);
+    }
+
+    private void insert(LocalDateTime time, String username, String ip, boolean success) {
+        jdbcTemplate.update("INSERT INTO " + partitions.tableFor(time.toLocalDate())
+                        + " (user_id, username, ip_address, login_time, hour_of_day, success) VALUES (?, ?, ?, ?, ?, ?)",
+                null, username, ip, Timestamp.valueOf(time), time.getHour(), success);
+    }
+}
@@ -0,0 +1,96 @@
+package com.fleetguard360.monitoring_service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class LoginHistoryWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private LoginHistoryPartitions partitions;
+
+    @Test
+    void flush_ShouldWriteQueuedAttemptsInSingleMultiRowInsert() {
+        LoginHistoryWriter writer = new LoginHistoryWriter(jdbcTemplate, partitions, 10, 100, 250,
+                LoginHistoryWriter.OverflowPolicy.DROP_OLDEST);
+        when(partitions.tableFor(any(LocalDate.class))).thenReturn("login_history_20261019");
+        writer.record(1L, "admin", "10.0.0.1", true);
+        writer.record(null, "ghost", null, false);
+
+        writer.flush();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(1)).update(sql.capture(), args.capture());
+        assertTrue(sql.getValue().startsWith("INSERT INTO login_history_20261019"));
+        assertEquals(12, args.getValue().length);
+        assertNull(args.getValue()[6]);
+        assertEquals("ghost", args.getValue()[7]);
+        assertEquals("unknown", args.getValue()[8]);
+        assertEquals(2, writer.getWrittenCount());
+    }
+
+    @Test
+    void record_WhenFullWithDropOldest_ShouldKeepMostRecentAttempts() {
+        LoginHistoryWriter writer = new LoginHistoryWriter(jdbcTemplate, partitions, 2, 100, 250,
+                LoginHistoryWriter.OverflowPolicy.DROP_OLDEST);
+        when(partitions.tableFor(any(LocalDate.class))).thenReturn("login_history_20261019");
+        writer.record(1L, "first", "10.0.0.1", false);
+        writer.record(1L, "second", "10.0.0.1", false);
+        writer.record(1L, "third", "10.0.0.1", false);
+
+        writer.flush();
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(anyString(), args.capture());
+        assertEquals("second", args.getValue()[1]);
+        assertEquals("third", args.getValue()[7]);
+        assertEquals(1, writer.getDroppedCount());
+    }
+
+    @Test
+    void record_WhenFullWithDropNewest_ShouldDiscardIncomingAttempt() {
+        LoginHistoryWriter writer = new LoginHistoryWriter(jdbcTemplate, partitions, 2, 100, 250,
+                LoginHistoryWriter.OverflowPolicy.DROP_NEWEST);
+        writer.record(1L, "first", "10.0.0.1", false);
+        writer.record(1L, "second", "10.0.0.1", false);
+        writer.record(1L, "third", "10.0.0.1", false);
+
+        assertEquals(2, writer.getQueueSize());
+        assertEquals(1, writer.getDroppedCount());
+    }
+
+    @Test
+    void record_AfterStop_ShouldWriteImmediately() {
+        LoginHistoryWriter writer = new LoginHistoryWriter(jdbcTemplate, partitions, 10, 100, 250,
+                LoginHistoryWriter.OverflowPolicy.DROP_OLDEST);
+        when(partitions.tableFor(any(LocalDate.class))).thenReturn("login_history_20261019");
+        writer.start();
+        writer.stop();
+
+        writer.record(1L, "late", "10.0.0.1", false);
+
+        assertEquals(0, writer.getQueueSize());
+        assertEquals(1, writer.getWrittenCount());
+        assertTrue(writer.getPhase() < WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+    }
+}
@@ -0,0 +1,108 @@
+package com.fleetguard360.monitoring_service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class LoginLockoutTrackerTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private final LoginLockoutTracker tracker = new LoginLockoutTracker(3, 5, 15, 15, 4);
+
+    @Test
+    void recordFailure_ShouldLockOnlyOnceWhenThresholdReached() {
+        long now = 1_000 * MINUTE;
+
+        assertFalse(tracker.recordFailure("admin", "10.0.0.1", now).isUserLocked());
+        assertFalse(tracker.recordFailure("admin", "10.0.0.1", now).isUserLocked());
+        assertTrue(tracker.recordFailure("admin", "10.0.0.1", now).isUserLocked());
+        assertFalse(tracker.recordFailure("admin", "10.0.0.1", now).isUserLocked());
+
+        assertTrue(tracker.isUserLocked("admin", now + 14 * MINUTE));
+        assertFalse(tracker.isUserLocked("admin", now + 15 * MINUTE));
+    }
+
+    @Test
+    void recordFailure_CaseVariantsShouldShareWindow() {
+        long now = 1_000 * MINUTE;
+
+        tracker.recordFailure("Admin", null, now);
+        tracker.recordFailure("ADMIN ", null, now);
+        assertTrue(tracker.recordFailure("admin", null, now).isUserLocked());
+        assertTrue(tracker.isUserLocked("AdMiN", now));
+
+        tracker.reset("ADMIN");
+        assertFalse(tracker.isUserLocked("admin", now));
+    }
+
+    @Test
+    void recordFailure_ShouldForgetFailuresOutsideWindow() {
+        long now = 1_000 * MINUTE;
+
+        tracker.recordFailure("admin", null, now);
+        tracker.recordFailure("admin", null, now + MINUTE);
+        LoginLockoutTracker.FailureOutcome outcome = tracker.recordFailure("admin", null, now + 20 * MINUTE);
+
+        assertEquals(1, outcome.getUserFailures());
+        assertFalse(outcome.isUserLocked());
+    }
+
+    @Test
+    void recordFailure_ShouldLockIpAcrossUsernames() {
+        long now = 1_000 * MINUTE;
+
+        for (int i = 0; i < 4; i++) {
+            assertFalse(tracker.recordFailure(null, "10.0.0.1", now).isIpLocked());
+        }
+        assertTrue(tracker.recordFailure(null, "10.0.0.1", now).isIpLocked());
+        assertTrue(tracker.isIpLocked("10.0.0.1", now));
+        assertFalse(tracker.isIpLocked("10.0.0.2", now));
+    }
+
+    @Test
+    void purgeIdle_ShouldDropInactiveUnlockedEntries() {
+        long now = 1_000 * MINUTE;
+        tracker.recordFailure("admin", "10.0.0.1", now);
+
+        assertEquals(0, tracker.purgeIdle(now + MINUTE));
+        assertEquals(2, tracker.purgeIdle(now + 16 * MINUTE));
+        assertEquals(0, tracker.getTrackedUsers());
+        assertEquals(0, tracker.getTrackedIps());
+    }
+
+    @Test
+    void recordFailure_ConcurrentFailuresReportSingleTransition() throws Exception {
+        LoginLockoutTracker concurrent = new LoginLockoutTracker(50, 1000, 15, 15, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger transitions = new AtomicInteger();
+        long now = 1_000 * MINUTE;
+
+        for (int i = 0; i < 200; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    if (concurrent.recordFailure("admin", null, now).isUserLocked()) {
+                        transitions.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, transitions.get());
+    }
+}
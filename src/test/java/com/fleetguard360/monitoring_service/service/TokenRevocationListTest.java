@@ -0,0 +1,93 @@
+package com.fleetguard360.monitoring_service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.fleetguard360.monitoring_service.model.RevokedToken;
+import com.fleetguard360.monitoring_service.repository.RevokedTokenRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationList revocationList;
+
+    private long inOneHour;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(revokedTokenRepository, 600, 100, 0.001);
+        inOneHour = System.currentTimeMillis() / 1000 + 3600;
+    }
+
+    @Test
+    void revoke_ShouldPersistAndBeSeenOnlyForRevokedIds() {
+        assertFalse(revocationList.isRevoked("jti-1"));
+
+        assertTrue(revocationList.revoke("jti-1", inOneHour));
+        assertFalse(revocationList.revoke("jti-1", inOneHour));
+
+        assertTrue(revocationList.isRevoked("jti-1"));
+        assertFalse(revocationList.isRevoked("jti-2"));
+        verify(revokedTokenRepository).insert(eq("jti-1"), eq(inOneHour), any(LocalDateTime.class));
+    }
+
+    @Test
+    void revoke_ShouldUseOneFilterGenerationPerExpiryHorizon() {
+        revocationList.revoke("a", inOneHour);
+        revocationList.revoke("b", inOneHour + 1);
+        revocationList.revoke("c", inOneHour + 7200);
+
+        assertEquals(2, revocationList.getGenerationCount());
+        assertFalse(revocationList.revoke("expired", System.currentTimeMillis() / 1000 - 1));
+    }
+
+    @Test
+    void initialize_ShouldReloadPersistedRevocations() {
+        when(revokedTokenRepository.findByExpiresAtGreaterThan(anyLong()))
+                .thenReturn(List.of(new RevokedToken("persisted", inOneHour)));
+
+        revocationList.initialize();
+
+        assertTrue(revocationList.isRevoked("persisted"));
+        assertEquals(1, revocationList.size());
+    }
+
+    @Test
+    void revoke_WhenRevokedByAnotherNode_ShouldReturnFalse() {
+        when(revokedTokenRepository.insert(eq("jti-1"), anyLong(), any(LocalDateTime.class)))
+                .thenThrow(new DataIntegrityViolationException("clave duplicada"));
+
+        assertFalse(revocationList.revoke("jti-1", inOneHour));
+        assertTrue(revocationList.isRevoked("jti-1"));
+    }
+
+    @Test
+    void revoke_WhenStoreUnavailable_ShouldFailClosed() {
+        when(revokedTokenRepository.insert(eq("jti-1"), anyLong(), any(LocalDateTime.class)))
+                .thenThrow(new DataAccessResourceFailureException("sin conexión"));
+
+        assertFalse(revocationList.revoke("jti-1", inOneHour));
+        assertTrue(revocationList.isRevoked("jti-1"));
+        assertFalse(revocationList.revoke("jti-1", inOneHour));
+    }
+}
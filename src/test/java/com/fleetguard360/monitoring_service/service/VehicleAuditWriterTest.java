@@ -0,0 +1,105 @@
+package com.fleetguard360.monitoring_service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fleetguard360.monitoring_service.dto.VehicleResponse;
+import com.fleetguard360.monitoring_service.event.VehicleChangeType;
+import com.fleetguard360.monitoring_service.event.VehicleChangedEvent;
+import com.fleetguard360.monitoring_service.model.VehicleStatus;
+
+@ExtendWith(MockitoExtension.class)
+class VehicleAuditWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private VehicleAuditWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new VehicleAuditWriter(jdbcTemplate, 4, 100, 500);
+    }
+
+    @Test
+    void onVehicleChanged_ShouldEnqueueOnlyChangedFields() {
+        VehicleResponse before = vehicle(VehicleStatus.AVAILABLE, 1000);
+        VehicleResponse after = vehicle(VehicleStatus.MAINTENANCE, 1500);
+
+        writer.onVehicleChanged(new VehicleChangedEvent(VehicleChangeType.UPDATED, before, after, "admin"));
+
+        assertEquals(2, writer.getQueueSize());
+    }
+
+    @Test
+    void flush_ShouldWriteQueuedEntriesInSingleMultiRowInsert() {
+        VehicleResponse before = vehicle(VehicleStatus.AVAILABLE, 1000);
+        VehicleResponse after = vehicle(VehicleStatus.MAINTENANCE, 1500);
+        writer.onVehicleChanged(new VehicleChangedEvent(VehicleChangeType.UPDATED, before, after, "admin"));
+
+        writer.flush();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(1)).update(sql.capture(), args.capture());
+        assertTrue(sql.getValue().startsWith("INSERT INTO vehicle_audit_history"));
+        assertEquals(14, args.getValue().length);
+        assertEquals("status", args.getValue()[2]);
+        assertEquals("AVAILABLE", args.getValue()[3]);
+        assertEquals("MAINTENANCE", args.getValue()[4]);
+        assertEquals(2, writer.getWrittenCount());
+    }
+
+    @Test
+    void onVehicleChanged_WhenQueueIsFull_ShouldDropInsteadOfBlocking() {
+        VehicleResponse created = vehicle(VehicleStatus.AVAILABLE, 1000);
+
+        writer.onVehicleChanged(new VehicleChangedEvent(VehicleChangeType.CREATED, null, created, "admin"));
+
+        assertEquals(4, writer.getQueueSize());
+        assertTrue(writer.getDroppedCount() > 0);
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void onVehicleChanged_AfterStop_ShouldWriteImmediately() {
+        writer.start();
+        writer.stop();
+
+        writer.onVehicleChanged(new VehicleChangedEvent(VehicleChangeType.UPDATED,
+                vehicle(VehicleStatus.AVAILABLE, 1000), vehicle(VehicleStatus.MAINTENANCE, 1000), "admin"));
+
+        assertEquals(0, writer.getQueueSize());
+        assertEquals(1, writer.getWrittenCount());
+    }
+
+    @Test
+    void getPhase_ShouldStopAfterWebServer() {
+        assertTrue(writer.getPhase() < WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+    }
+
+    private VehicleResponse vehicle(VehicleStatus status, int mileage) {
+        VehicleResponse vehicle = new VehicleResponse();
+        vehicle.setId(7L);
+        vehicle.setLicensePlate("ABC123");
+        vehicle.setBrand("Toyota");
+        vehicle.setModel("Hiace");
+        vehicle.setStatus(status);
+        vehicle.setMileage(mileage);
+        return vehicle;
+    }
+}
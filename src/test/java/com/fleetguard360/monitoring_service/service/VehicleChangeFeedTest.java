@@ -0,0 +1,145 @@
+package com.fleetguard360.monitoring_service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fleetguard360.monitoring_service.dto.VehicleChangeFeedResponse;
+import com.fleetguard360.monitoring_service.dto.VehicleChangeNotification;
+import com.fleetguard360.monitoring_service.dto.VehicleResponse;
+import com.fleetguard360.monitoring_service.event.VehicleChangeType;
+import com.fleetguard360.monitoring_service.model.VehicleOutboxEvent;
+import com.fleetguard360.monitoring_service.repository.VehicleOutboxRepository;
+
+@ExtendWith(MockitoExtension.class)
+class VehicleChangeFeedTest {
+
+    @Mock
+    private VehicleOutboxRepository outboxRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private VehicleChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        changeFeed = new VehicleChangeFeed(outboxRepository, objectMapper, eventPublisher, 3);
+        changeFeed.initialize(0);
+    }
+
+    @Test
+    void publish_ShouldServeChangesFromBufferInOrder() {
+        changeFeed.publish(List.of(notification(1), notification(2)));
+
+        VehicleChangeFeedResponse response = changeFeed.read(0, 10);
+
+        assertEquals(2, response.getChanges().size());
+        assertEquals(1, response.getChanges().get(0).getSequence());
+        assertEquals(2, response.getLastSequence());
+        verify(eventPublisher, times(2)).publishEvent(any(VehicleChangeNotification.class));
+        verify(outboxRepository, never()).findBySequenceGreaterThanOrderBySequenceAsc(any(), any());
+    }
+
+    @Test
+    void read_WhenUpToDate_ShouldReturnEmptyWithSameSequence() {
+        changeFeed.publish(List.of(notification(1)));
+
+        VehicleChangeFeedResponse response = changeFeed.read(1, 10);
+
+        assertTrue(response.getChanges().isEmpty());
+        assertEquals(1, response.getLastSequence());
+    }
+
+    @Test
+    void read_WhenBehindBuffer_ShouldFallBackToOutbox() throws Exception {
+        changeFeed.publish(List.of(notification(1), notification(2), notification(3), notification(4)));
+
+        VehicleOutboxEvent stored = new VehicleOutboxEvent(7L, VehicleChangeType.CREATED,
+                objectMapper.writeValueAsString(vehicle()));
+        stored.setSequence(1L);
+        when(outboxRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(stored));
+
+        VehicleChangeFeedResponse response = changeFeed.read(0, 1);
+
+        assertEquals(1, response.getChanges().size());
+        assertEquals(7L, response.getChanges().get(0).getVehicleId());
+        assertEquals("ABC123", response.getChanges().get(0).getVehicle().getLicensePlate());
+    }
+
+    @Test
+    void read_WhenRequestedSequenceWasPurged_ShouldAskForResync() throws Exception {
+        changeFeed.publish(List.of(notification(1), notification(2), notification(3), notification(4), notification(5)));
+
+        VehicleOutboxEvent oldestRetained = new VehicleOutboxEvent(7L, VehicleChangeType.UPDATED,
+                objectMapper.writeValueAsString(vehicle()));
+        oldestRetained.setSequence(2L);
+        when(outboxRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(oldestRetained));
+
+        VehicleChangeFeedResponse response = changeFeed.read(0, 10);
+
+        assertTrue(response.isResyncRequired());
+        assertTrue(response.getChanges().isEmpty());
+        assertEquals(5, response.getLastSequence());
+    }
+
+    @Test
+    void poll_WhenResyncRequired_ShouldNotWait() {
+        changeFeed.publish(List.of(notification(1), notification(2), notification(3), notification(4)));
+        when(outboxRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        DeferredResult<VehicleChangeFeedResponse> result = changeFeed.poll(0, 10, 30000);
+
+        assertTrue(result.hasResult());
+        assertTrue(((VehicleChangeFeedResponse) result.getResult()).isResyncRequired());
+    }
+
+    @Test
+    void poll_ShouldCompleteWhenNewChangesArePublished() {
+        DeferredResult<VehicleChangeFeedResponse> result = changeFeed.poll(0, 10, 30000);
+        assertFalse(result.hasResult());
+
+        changeFeed.publish(List.of(notification(1)));
+
+        assertTrue(result.hasResult());
+        VehicleChangeFeedResponse response = (VehicleChangeFeedResponse) result.getResult();
+        assertEquals(1, response.getChanges().size());
+        assertEquals(1, response.getLastSequence());
+    }
+
+    private VehicleChangeNotification notification(long sequence) {
+        return new VehicleChangeNotification(sequence, VehicleChangeType.UPDATED, 7L, LocalDateTime.now(), vehicle());
+    }
+
+    private VehicleResponse vehicle() {
+        VehicleResponse vehicle = new VehicleResponse();
+        vehicle.setId(7L);
+        vehicle.setLicensePlate("ABC123");
+        return vehicle;
+    }
+}
@@ -0,0 +1,122 @@
+package com.fleetguard360.monitoring_service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.fleetguard360.monitoring_service.dto.VehicleChangeFeedResponse;
+import com.fleetguard360.monitoring_service.event.VehicleChangeType;
+import com.fleetguard360.monitoring_service.model.VehicleOutboxEvent;
+import com.fleetguard360.monitoring_service.repository.VehicleOutboxCursorRepository;
+import com.fleetguard360.monitoring_service.repository.VehicleOutboxRepository;
+
+/**
+ * Relay con varios nodos: el cursor bloqueado con SKIP LOCKED deja publicar a un solo nodo, y
+ * el feed de cada nodo sigue el outbox, así que ve los lotes publicados por cualquiera.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox_relay;NON_KEYWORDS=YEAR",
+        "spring.jpa.show-sql=false",
+        "app.vehicles.outbox.poll-interval-ms=3600000",
+        "app.vehicles.changes.tail-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class VehicleOutboxRelayTest {
+
+    private static final String PAYLOAD = "{\"id\":7,\"licensePlate\":\"ABC123\"}";
+
+    @Autowired
+    private VehicleOutboxRelay relay;
+
+    @Autowired
+    private VehicleChangeFeed changeFeed;
+
+    @Autowired
+    private VehicleOutboxRepository outboxRepository;
+
+    @Autowired
+    private VehicleOutboxCursorRepository cursorRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Lo que haya dejado pendiente otro test
+        transactionTemplate.execute(status -> relay.publishBatch());
+        changeFeed.tail();
+    }
+
+    @Test
+    void relay_WhenAnotherNodeHoldsTheCursor_ShouldSkipRound() throws Exception {
+        outboxRepository.save(new VehicleOutboxEvent(7L, VehicleChangeType.UPDATED, PAYLOAD));
+        long before = changeFeed.getLastSequence();
+
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> otherNode = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    assertTrue(cursorRepository.claim(VehicleOutboxRelay.CURSOR_ID).isPresent());
+                    claimed.countDown();
+                    await(release);
+                }));
+        assertTrue(claimed.await(5, TimeUnit.SECONDS));
+
+        // MySQL salta la fila con SKIP LOCKED; H2 no lo admite y espera hasta el timeout del bloqueo
+        assertTimeoutPreemptively(Duration.ofSeconds(5), relay::relay);
+        assertEquals(before, cursorRepository.findById(VehicleOutboxRelay.CURSOR_ID).orElseThrow().getLastSequence());
+        assertEquals(1, outboxRepository.findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, 10)).size());
+
+        release.countDown();
+        otherNode.get(5, TimeUnit.SECONDS);
+
+        relay.relay();
+        assertEquals(before + 1, cursorRepository.findById(VehicleOutboxRelay.CURSOR_ID).orElseThrow().getLastSequence());
+        assertEquals(before + 1, changeFeed.getLastSequence());
+    }
+
+    @Test
+    void tail_ShouldWakePollsForEventsRelayedByAnyNode() {
+        long after = changeFeed.getLastSequence();
+        DeferredResult<VehicleChangeFeedResponse> result = changeFeed.poll(after, 10, 30000);
+        assertFalse(result.hasResult());
+
+        // Otro nodo publica: este solo lo ve a través del outbox
+        outboxRepository.save(new VehicleOutboxEvent(7L, VehicleChangeType.UPDATED, PAYLOAD));
+        transactionTemplate.execute(status -> relay.publishBatch());
+        changeFeed.tail();
+
+        assertTrue(result.hasResult());
+        VehicleChangeFeedResponse response = (VehicleChangeFeedResponse) result.getResult();
+        assertEquals(1, response.getChanges().size());
+        assertEquals(after + 1, response.getLastSequence());
+        assertEquals("ABC123", response.getChanges().get(0).getVehicle().getLicensePlate());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
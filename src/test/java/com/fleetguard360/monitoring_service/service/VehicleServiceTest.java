@@ -2,21 +2,31 @@ package com.fleetguard360.monitoring_service.service;
 
 import com.fleetguard360.monitoring_service.dto.CreateVehicleRequest;
 import com.fleetguard360.monitoring_service.dto.UpdateVehicleRequest;
+import com.fleetguard360.monitoring_service.dto.VehicleBatchResponse;
 import com.fleetguard360.monitoring_service.dto.VehicleResponse;
+import com.fleetguard360.monitoring_service.dto.VehicleSearchRequest;
+import com.fleetguard360.monitoring_service.dto.VehicleSearchResponse;
+import com.fleetguard360.monitoring_service.event.VehicleChangeType;
+import com.fleetguard360.monitoring_service.event.VehicleChangedEvent;
 import com.fleetguard360.monitoring_service.exception.BusinessException;
 import com.fleetguard360.monitoring_service.exception.DuplicateResourceException;
 import com.fleetguard360.monitoring_service.exception.ResourceNotFoundException;
+import com.fleetguard360.monitoring_service.fleet.FleetReadModel;
+import com.fleetguard360.monitoring_service.fleet.FleetSnapshot;
 import com.fleetguard360.monitoring_service.model.Vehicle;
 import com.fleetguard360.monitoring_service.model.VehicleStatus;
 import com.fleetguard360.monitoring_service.repository.VehicleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.LongStream;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +37,15 @@ class VehicleServiceTest {
     @Mock
     private VehicleRepository vehicleRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private VehicleQueryCoalescer queryCoalescer = new VehicleQueryCoalescer(new FleetChangeTracker(), 0);
+
+    @Mock
+    private FleetReadModel fleetReadModel;
+
     @InjectMocks
     private VehicleService vehicleService;
 
@@ -60,6 +79,11 @@ class VehicleServiceTest {
         assertNotNull(response);
         assertEquals("ABC123", response.getLicensePlate());
         verify(vehicleRepository).save(any(Vehicle.class));
+
+        ArgumentCaptor<VehicleChangedEvent> event = ArgumentCaptor.forClass(VehicleChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(VehicleChangeType.CREATED, event.getValue().getType());
+        assertEquals(1L, event.getValue().getVehicleId());
     }
 
     @Test
@@ -99,12 +123,38 @@ class VehicleServiceTest {
 
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         when(vehicleRepository.existsByLicensePlateAndIdNot("XYZ789", 1L)).thenReturn(false);
-        when(vehicleRepository.save(any(Vehicle.class))).thenReturn(vehicle);
+        when(vehicleRepository.saveAndFlush(any(Vehicle.class))).thenReturn(vehicle);
 
         VehicleResponse response = vehicleService.updateVehicle(1L, request);
 
         assertNotNull(response);
-        verify(vehicleRepository).save(any(Vehicle.class));
+        verify(vehicleRepository).saveAndFlush(any(Vehicle.class));
+    }
+
+    @Test
+    void updateVehicle_ShouldPublishUpdatedAtSetOnFlush() {
+        UpdateVehicleRequest request = new UpdateVehicleRequest();
+        request.setLicensePlate("ABC123");
+        request.setModel("NPR");
+        request.setStatus(VehicleStatus.AVAILABLE);
+        LocalDateTime before = LocalDateTime.of(2024, 1, 1, 8, 0);
+        LocalDateTime flushed = LocalDateTime.of(2024, 1, 1, 9, 0);
+        vehicle.setUpdatedAt(before);
+
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        // Simula @PreUpdate, que solo se ejecuta al hacer flush
+        when(vehicleRepository.saveAndFlush(vehicle)).thenAnswer(invocation -> {
+            vehicle.setUpdatedAt(flushed);
+            return vehicle;
+        });
+
+        VehicleResponse response = vehicleService.updateVehicle(1L, request);
+
+        ArgumentCaptor<VehicleChangedEvent> event = ArgumentCaptor.forClass(VehicleChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(flushed, response.getUpdatedAt());
+        assertEquals(flushed, event.getValue().getVehicle().getUpdatedAt());
+        assertEquals(before, event.getValue().getPrevious().getUpdatedAt());
     }
 
     @Test
@@ -125,7 +175,7 @@ class VehicleServiceTest {
 
         vehicleService.deleteVehicle(1L);
 
-        verify(vehicleRepository).save(vehicle);
+        verify(vehicleRepository).saveAndFlush(vehicle);
         assertEquals(VehicleStatus.INACTIVE, vehicle.getStatus());
     }
 
@@ -135,7 +185,8 @@ class VehicleServiceTest {
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
 
         assertThrows(BusinessException.class, () -> vehicleService.deleteVehicle(1L));
-        verify(vehicleRepository, never()).save(any());
+        verify(vehicleRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -150,15 +201,28 @@ class VehicleServiceTest {
     @Test
     void changeVehicleStatus_Success() {
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
-        when(vehicleRepository.save(any(Vehicle.class))).thenReturn(vehicle);
+        when(vehicleRepository.saveAndFlush(any(Vehicle.class))).thenReturn(vehicle);
 
         VehicleResponse response = vehicleService.changeVehicleStatus(1L, VehicleStatus.MAINTENANCE);
 
         assertNotNull(response);
-        verify(vehicleRepository).save(vehicle);
+        verify(vehicleRepository).saveAndFlush(vehicle);
         assertEquals(VehicleStatus.MAINTENANCE, vehicle.getStatus());
     }
 
+    @Test
+    void searchVehicles_WithPageBeyondIntRange_ShouldReturnEmptyPage() {
+        when(fleetReadModel.currentSnapshot()).thenReturn(FleetSnapshot.from(List.of(VehicleResponse.from(vehicle))));
+        VehicleSearchRequest request = new VehicleSearchRequest();
+        request.setPage(Integer.MAX_VALUE / 2);
+        request.setSize(VehicleSearchRequest.MAX_PAGE_SIZE);
+
+        VehicleSearchResponse response = vehicleService.searchVehicles(request);
+
+        assertTrue(response.getVehicles().isEmpty());
+        assertEquals(1, response.getTotal());
+    }
+
     @Test
     void getAvailableVehicles_ReturnsList() {
         when(vehicleRepository.findAvailableVehicles()).thenReturn(List.of(vehicle));
@@ -178,4 +242,58 @@ class VehicleServiceTest {
         assertEquals(1, vehicles.size());
         assertEquals("ABC123", vehicles.get(0).getLicensePlate());
     }
+
+    @Test
+    void getMapVehicles_IncludesLocation() {
+        vehicle.setLatitude(6.25);
+        vehicle.setLongitude(-75.56);
+        when(vehicleRepository.findAll()).thenReturn(List.of(vehicle));
+
+        List<VehicleResponse> vehicles = vehicleService.getMapVehicles();
+
+        assertEquals(1, vehicles.size());
+        assertEquals(6.25, vehicles.get(0).getLatitude());
+        assertEquals(-75.56, vehicles.get(0).getLongitude());
+    }
+
+    @Test
+    void getVehiclesByIds_PreservesRequestOrderAndReportsMissing() {
+        Vehicle second = new Vehicle("XYZ789", "NPR", 20, VehicleStatus.MAINTENANCE);
+        second.setId(2L);
+        when(vehicleRepository.findAllById(List.of(2L, 99L, 1L))).thenReturn(List.of(vehicle, second));
+
+        VehicleBatchResponse response = vehicleService.getVehiclesByIds(List.of(2L, 99L, 1L, 2L));
+
+        assertEquals(4, response.getResults().size());
+        assertEquals("XYZ789", response.getResults().get(0).getVehicle().getLicensePlate());
+        assertFalse(response.getResults().get(1).isFound());
+        assertEquals("ABC123", response.getResults().get(2).getVehicle().getLicensePlate());
+        assertEquals(2L, response.getResults().get(3).getId());
+        assertEquals(List.of(99L), response.getMissing());
+        assertEquals(3, response.getFound());
+    }
+
+    @Test
+    void getVehiclesByIds_LargeRequest_UsesChunkedQueries() {
+        List<Long> ids = LongStream.rangeClosed(1, 1200).boxed().toList();
+        when(vehicleRepository.findAllById(anyList())).thenReturn(List.of(vehicle));
+
+        VehicleBatchResponse response = vehicleService.getVehiclesByIds(ids);
+
+        verify(vehicleRepository, times(3)).findAllById(anyList());
+        assertEquals(1200, response.getResults().size());
+        assertEquals(1199, response.getMissing().size());
+    }
+
+    @Test
+    void getAvailableVehicles_WhenReadModelReady_ServesFromSnapshot() {
+        FleetSnapshot snapshot = mock(FleetSnapshot.class);
+        when(snapshot.getVehiclesByStatus(VehicleStatus.AVAILABLE)).thenReturn(List.of(VehicleResponse.from(vehicle)));
+        when(fleetReadModel.currentSnapshot()).thenReturn(snapshot);
+
+        List<VehicleResponse> vehicles = vehicleService.getAvailableVehicles();
+
+        assertEquals(1, vehicles.size());
+        verifyNoInteractions(vehicleRepository);
+    }
 }
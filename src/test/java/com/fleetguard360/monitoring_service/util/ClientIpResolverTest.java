@@ -0,0 +1,62 @@
+package com.fleetguard360.monitoring_service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class ClientIpResolverTest {
+
+    private final ClientIpResolver resolver = new ClientIpResolver(List.of("127.0.0.1", "10.0.0.0/8"));
+
+    @Test
+    void resolve_FromUntrustedPeer_ShouldIgnoreForwardedHeaders() {
+        MockHttpServletRequest request = request("198.51.100.20");
+        request.addHeader("X-Forwarded-For", "203.0.113.7");
+        request.addHeader("X-Real-IP", "203.0.113.8");
+
+        assertEquals("198.51.100.20", resolver.resolve(request));
+    }
+
+    @Test
+    void resolve_ShouldTakeRightMostUntrustedHop() {
+        MockHttpServletRequest request = request("10.0.0.5");
+        // El cliente falsifica el primer valor; el proxy añade la IP real de la conexión
+        request.addHeader("X-Forwarded-For", "1.2.3.4, 203.0.113.7, 10.0.0.9");
+
+        assertEquals("203.0.113.7", resolver.resolve(request));
+    }
+
+    @Test
+    void resolve_ShouldStopAtMalformedHop() {
+        MockHttpServletRequest request = request("127.0.0.1");
+        request.addHeader("X-Forwarded-For", "203.0.113.7, unknown, 10.0.0.9");
+
+        assertEquals("10.0.0.9", resolver.resolve(request));
+    }
+
+    @Test
+    void resolve_WithoutForwardedFor_ShouldUseRealIpFromTrustedProxy() {
+        MockHttpServletRequest request = request("127.0.0.1");
+        request.addHeader("X-Real-IP", "2001:db8::1");
+
+        assertEquals("2001:db8::1", resolver.resolve(request));
+    }
+
+    @Test
+    void resolve_WithoutTrustedProxies_ShouldUseRemoteAddress() {
+        ClientIpResolver direct = new ClientIpResolver(List.of());
+        MockHttpServletRequest request = request("127.0.0.1");
+        request.addHeader("X-Forwarded-For", "203.0.113.7");
+
+        assertEquals("127.0.0.1", direct.resolve(request));
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
@@ -0,0 +1,52 @@
+package com.fleetguard360.monitoring_service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void add_BeyondInitialCapacity_ShouldGrowWithoutFalseNegatives() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+
+        for (int i = 0; i < 1000; i++) {
+            String key = "token-" + i;
+            filter.add(ScalableBloomFilter.hash(key, 0), ScalableBloomFilter.hash(key, 1) | 1);
+        }
+
+        assertTrue(filter.stageCount() > 1);
+        for (int i = 0; i < 1000; i++) {
+            String key = "token-" + i;
+            assertTrue(filter.mightContain(ScalableBloomFilter.hash(key, 0), ScalableBloomFilter.hash(key, 1) | 1));
+        }
+    }
+
+    @Test
+    void mightContain_ShouldKeepFalsePositiveRateBounded() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(500, 0.01);
+        for (int i = 0; i < 2000; i++) {
+            String key = "revoked-" + i;
+            filter.add(ScalableBloomFilter.hash(key, 0), ScalableBloomFilter.hash(key, 1) | 1);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            String key = "active-" + i;
+            if (filter.mightContain(ScalableBloomFilter.hash(key, 0), ScalableBloomFilter.hash(key, 1) | 1)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < probes * 0.02, "falsos positivos: " + falsePositives);
+    }
+
+    @Test
+    void mightContain_WhenEmpty_ShouldBeFalse() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(16, 0.001);
+
+        assertEquals(false, filter.mightContain(1L, 3L));
+    }
+}
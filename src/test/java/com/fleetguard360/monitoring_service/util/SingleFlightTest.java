@@ -0,0 +1,102 @@
+package com.fleetguard360.monitoring_service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallers_ShareSingleExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlight<String> singleFlight = new SingleFlight<>(() -> 0L, 0);
+
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("active", () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return List.of("ABC123");
+                })));
+            }
+
+            // Esperar a que todos los hilos estén bloqueados en la misma ejecución
+            Thread.sleep(200);
+            release.countDown();
+
+            List<String> first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<List<String>> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void completedResult_IsReusedWithinWindowWhileVersionUnchanged() {
+        AtomicLong version = new AtomicLong();
+        AtomicInteger executions = new AtomicInteger();
+        SingleFlight<String> singleFlight = new SingleFlight<>(version::get, TimeUnit.SECONDS.toNanos(30));
+
+        singleFlight.execute("available", executions::incrementAndGet);
+        singleFlight.execute("available", executions::incrementAndGet);
+        assertEquals(1, executions.get());
+
+        version.incrementAndGet();
+        singleFlight.execute("available", executions::incrementAndGet);
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void differentKeys_ExecuteIndependently() {
+        AtomicInteger executions = new AtomicInteger();
+        SingleFlight<String> singleFlight = new SingleFlight<>(() -> 0L, TimeUnit.SECONDS.toNanos(30));
+
+        singleFlight.execute("active", executions::incrementAndGet);
+        singleFlight.execute("available", executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void failedExecution_IsNotShared() {
+        AtomicInteger executions = new AtomicInteger();
+        SingleFlight<String> singleFlight = new SingleFlight<>(() -> 0L, TimeUnit.SECONDS.toNanos(30));
+
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("active", () -> {
+            executions.incrementAndGet();
+            throw new IllegalStateException("db down");
+        }));
+
+        Integer result = singleFlight.execute("active", executions::incrementAndGet);
+        assertEquals(2, result);
+        assertTrue(singleFlight.size() <= 1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
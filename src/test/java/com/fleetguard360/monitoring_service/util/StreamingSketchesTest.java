@@ -0,0 +1,54 @@
+package com.fleetguard360.monitoring_service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class StreamingSketchesTest {
+
+    @Test
+    void countMinSketch_ShouldNeverUnderestimate() {
+        CountMinSketch sketch = new CountMinSketch(4, 256);
+        for (int i = 0; i < 2_000; i++) {
+            String key = "ip-" + (i % 500);
+            sketch.add(ScalableBloomFilter.hash(key, 1), ScalableBloomFilter.hash(key, 2), 1);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            String key = "ip-" + i;
+            long estimate = sketch.estimate(ScalableBloomFilter.hash(key, 1), ScalableBloomFilter.hash(key, 2));
+            assertTrue(estimate >= 4, "Subestimado: " + key);
+        }
+        assertEquals(256, sketch.getWidth());
+    }
+
+    @Test
+    void hyperLogLog_ShouldEstimateCardinalityWithinError() {
+        HyperLogLog hll = new HyperLogLog(10);
+        for (int i = 0; i < 10_000; i++) {
+            hll.add(ScalableBloomFilter.hash("user-" + i, 7));
+            hll.add(ScalableBloomFilter.hash("user-" + i, 7));
+        }
+
+        long estimate = hll.estimate();
+
+        assertTrue(Math.abs(estimate - 10_000) < 1_000, "Estimación fuera de rango: " + estimate);
+    }
+
+    @Test
+    void spaceSavingTopK_ShouldKeepHeavyHittersInFixedCapacity() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(4, 6);
+        for (int i = 0; i < 100; i++) {
+            topK.offer("heavy", ScalableBloomFilter.hash("user-" + (i % 7), 3));
+            topK.offer("noise-" + i, 0);
+        }
+
+        SpaceSavingTopK.Entry top = topK.top(1).get(0);
+
+        assertEquals("heavy", top.getKey());
+        assertEquals(100, top.getCount());
+        assertEquals(7, topK.distinct("heavy"));
+        assertEquals(4, topK.top(10).size());
+    }
+}